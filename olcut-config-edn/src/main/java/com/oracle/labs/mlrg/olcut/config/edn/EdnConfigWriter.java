@@ -31,6 +31,7 @@ package com.oracle.labs.mlrg.olcut.config.edn;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoader;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriter;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriterException;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
 import com.oracle.labs.mlrg.olcut.config.property.Property;
@@ -142,6 +143,9 @@ public class EdnConfigWriter implements ConfigWriter {
                 lRes.add(cnMapper.write(c.getCanonicalName()));
             }
             res = lRes;
+        } else if(p instanceof ArrayProperty) {
+            // edn has no packed array representation, so write it as a list
+            res = new ArrayList<Object>(((ArrayProperty) p).getStringList());
         } else if(p instanceof SimpleProperty) {
             res = ((SimpleProperty) p).getValue();
         } else {
@@ -426,7 +426,7 @@ public class EdnLoader implements ConfigLoader {
                 }
                 rpd.add(key, MapProperty.createFromStringMap(map));
             } else if(valObj instanceof List<?>) {
-                List<SimpleProperty> stringListItems = new ArrayList<>();
+                List<String> stringListItems = new ArrayList<>();
                 List<Class<?>> classListItems = new ArrayList<>();
                 for(Object itm: (List<?>) valObj) {
                     if(itm instanceof List<?>) {
@@ -446,12 +446,12 @@ public class EdnLoader implements ConfigLoader {
                             || itm instanceof Double
                             || itm instanceof Boolean
                             || itm instanceof Character) {
-                        stringListItems.add(new SimpleProperty(itm.toString()));
+                        stringListItems.add(itm.toString());
                     } else {
                         throw new ConfigLoaderException("Unexpected type for property value " + valObj.getClass().toString() + " with value " + valObj );//+ "\n" + String.join(" ", ((List) valObj).getClass().getCanonicalName()));
                     }
                 }
-                rpd.add(key, classListItems.isEmpty() ? new ListProperty(stringListItems) : new ListProperty(stringListItems, classListItems));
+                rpd.add(key, ListProperty.createFromStringList(stringListItems, classListItems));
             } else if(valObj instanceof Symbol
                     || valObj instanceof String
                     || valObj instanceof Integer
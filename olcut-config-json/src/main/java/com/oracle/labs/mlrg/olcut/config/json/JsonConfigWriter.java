@@ -32,6 +32,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoader;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriter;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriterException;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
 import com.oracle.labs.mlrg.olcut.config.property.Property;
@@ -154,6 +155,14 @@ public class JsonConfigWriter implements ConfigWriter {
                             writer.writeEndObject();
                         }
                         writer.writeEndArray();
+                    } else if (value instanceof ArrayProperty) {
+                        //
+                        // Packed primitive array, written as base64
+                        ArrayProperty array = (ArrayProperty) value;
+                        writer.writeObjectFieldStart(key);
+                        writer.writeStringField(ConfigLoader.TYPE, array.getType().getTypeName());
+                        writer.writeStringField(ConfigLoader.PROPERTYARRAY, array.toBase64());
+                        writer.writeEndObject();
                     } else if (value instanceof MapProperty) {
                         //
                         // Must be a string,string map
@@ -38,6 +38,7 @@ import com.oracle.labs.mlrg.olcut.config.io.ConfigLoader;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoaderException;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.GlobalProperties;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
@@ -280,7 +281,7 @@ public class JsonLoader implements ConfigLoader {
                 String propName = e.getKey();
                 if (e.getValue() instanceof ArrayNode) {
                     // Must be list
-                    ArrayList<SimpleProperty> listOutput = new ArrayList<>();
+                    ArrayList<String> listOutput = new ArrayList<>();
                     ArrayList<Class<?>> classListOutput = new ArrayList<>();
                     ArrayNode listNode = (ArrayNode) e.getValue();
                     for (JsonNode element : listNode) {
@@ -295,7 +296,7 @@ public class JsonLoader implements ConfigLoader {
                                 String value = elementEntry.getValue().textValue();
                                 switch (elementName) {
                                     case ConfigLoader.ITEM:
-                                        listOutput.add(new SimpleProperty(value));
+                                        listOutput.add(value);
                                         break;
                                     case ConfigLoader.TYPE:
                                         try {
@@ -314,27 +315,30 @@ public class JsonLoader implements ConfigLoader {
                             }
                         }
                     }
-                    ListProperty listProp;
-                    if (classListOutput.isEmpty()) {
-                        listProp = new ListProperty(listOutput);
-                    } else {
-                        listProp = new ListProperty(listOutput,classListOutput);
+                    rpd.add(propName, ListProperty.createFromStringList(listOutput,classListOutput));
+                } else if (isPropertyArray(e.getValue())) {
+                    // Packed primitive array
+                    JsonNode arrayNode = e.getValue();
+                    try {
+                        rpd.add(propName, ArrayProperty.fromBase64(arrayNode.get(ConfigLoader.TYPE).textValue(),
+                                arrayNode.get(ConfigLoader.PROPERTYARRAY).textValue()));
+                    } catch (IllegalArgumentException ex) {
+                        throw new ConfigLoaderException(ex, "Invalid propertyarray in component " + curComponent + ", property " + propName + ", " + ex.getMessage());
                     }
-                    rpd.add(propName, listProp);
                 } else if (e.getValue() instanceof ObjectNode) {
                     // Must be map
-                    Map<String, SimpleProperty> mapOutput = new HashMap<>();
+                    Map<String, String> mapOutput = new HashMap<>();
                     Iterator<Entry<String, JsonNode>> mapElementItr = e.getValue().fields();
                     while (mapElementItr.hasNext()) {
                         Entry<String, JsonNode> mapEntry = mapElementItr.next();
                         if (mapEntry.getValue().isTextual()) {
-                            mapOutput.put(mapEntry.getKey(), new SimpleProperty(mapEntry.getValue().textValue()));
+                            mapOutput.put(mapEntry.getKey(), mapEntry.getValue().textValue());
                         } else {
                             throw new ConfigLoaderException("Invalid value in component " + curComponent + ", propertymap " + propName + ", node = " + e.getValue().toString() +
                                     ", all OLCUT property map values must be strings, other types are not parsed.");
                         }
                     }
-                    rpd.add(propName, new MapProperty(mapOutput));
+                    rpd.add(propName, MapProperty.createFromStringMap(mapOutput));
                 } else {
                     // Generic property.
                     if (e.getValue().isTextual()) {
@@ -372,6 +376,23 @@ public class JsonLoader implements ConfigLoader {
         }
     }
 
+    /**
+     * Checks if the node is a packed array, i.e., an object with exactly two text fields,
+     * "type" and "propertyarray". Maps with exactly those two keys are indistinguishable
+     * from a packed array and so can't be written in json.
+     * @param node The node to check.
+     * @return True if the node is a packed array.
+     */
+    private static boolean isPropertyArray(JsonNode node) {
+        if ((node instanceof ObjectNode) && (node.size() == 2)) {
+            JsonNode type = node.get(ConfigLoader.TYPE);
+            JsonNode data = node.get(ConfigLoader.PROPERTYARRAY);
+            return (type != null) && type.isTextual() && (data != null) && data.isTextual();
+        } else {
+            return false;
+        }
+    }
+
     protected void parseSerializedObject(ObjectNode node) {
         JsonNode name = node.get(ConfigLoader.NAME);
         JsonNode type = node.get(ConfigLoader.TYPE);
@@ -28,23 +28,35 @@
 
 package com.oracle.labs.mlrg.olcut.config.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
 import com.oracle.labs.mlrg.olcut.provenance.io.MarshalledProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.io.ObjectMarshalledProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerialization;
 import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerializationException;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -94,6 +106,32 @@ public final class JsonProvenanceSerialization implements ProvenanceSerializatio
         }
     }
 
+    @Override
+    public List<ObjectMarshalledProvenance> deserializeFromStream(InputStream stream) throws ProvenanceSerializationException, IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(stream)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ProvenanceSerializationException("Failed to parse JSON, expected an array of provenances, found " + parser.currentToken());
+            }
+            // Read each provenance as it's encountered rather than materializing the whole JSON tree
+            List<ObjectMarshalledProvenance> output = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                MarshalledProvenance mp = mapper.readValue(parser, MarshalledProvenance.class);
+                if (mp instanceof ObjectMarshalledProvenance) {
+                    output.add((ObjectMarshalledProvenance) mp);
+                } else {
+                    throw new IllegalArgumentException("Invalid provenance found, expected ObjectMarshalledProvenance, found " + mp);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new ProvenanceSerializationException("Failed to parse JSON, expected a provenance object, found " + parser.currentToken());
+            }
+            return output;
+        } catch (JsonParseException | JsonMappingException e) {
+            throw new ProvenanceSerializationException("Failed to parse JSON",e);
+        }
+    }
+
     /**
      * Converts the list of {@link MarshalledProvenance}s to a list of {@link ObjectMarshalledProvenance}s.
      * <p>
@@ -130,4 +168,26 @@ public final class JsonProvenanceSerialization implements ProvenanceSerializatio
             writer.println(serializeToString(marshalledProvenances));
         }
     }
+
+    @Override
+    public void marshalAndSerialize(ObjectProvenance provenance, Path path) throws IOException {
+        try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(path))) {
+            serialize(provenance, bos);
+        }
+    }
+
+    @Override
+    public void serialize(ObjectProvenance provenance, OutputStream stream) throws IOException {
+        ObjectWriter writer = mapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Writes each element of the array as it's marshalled
+        try (SequenceWriter sequenceWriter = writer.writeValuesAsArray(stream)) {
+            Iterator<ObjectMarshalledProvenance> itr = ProvenanceUtil.marshalProvenanceIterator(provenance);
+            while (itr.hasNext()) {
+                sequenceWriter.write(itr.next());
+            }
+        }
+        stream.flush();
+    }
 }
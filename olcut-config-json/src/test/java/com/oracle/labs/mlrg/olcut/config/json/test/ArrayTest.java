@@ -33,12 +33,14 @@ import com.oracle.labs.mlrg.olcut.test.config.ArrayConfigurable;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
 import com.oracle.labs.mlrg.olcut.config.PropertyException;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static com.oracle.labs.mlrg.olcut.config.ConfigurationManager.createModuleResourceString;
+import static com.oracle.labs.mlrg.olcut.util.IOUtil.replaceBackSlashes;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -71,4 +73,24 @@ public class ArrayTest {
         }, "Invalid character array parsed, should have thrown PropertyException.");
     }
 
+    @Test
+    public void packedArrayRoundTrip() throws IOException {
+        ArrayConfigurable ac = new ArrayConfigurable();
+        ac.intArray = new int[]{Integer.MIN_VALUE,0,Integer.MAX_VALUE};
+        ac.doubleArray = new double[]{Double.MIN_VALUE,Double.NaN,-0.0,0.1};
+        ac.charArray = new char[]{'a','b','c'};
+
+        ConfigurationManager cm = new ConfigurationManager();
+        cm.importConfigurable(ac, "packed");
+        File f = File.createTempFile("packed", ".json");
+        f.deleteOnExit();
+        cm.save(f, true);
+
+        ConfigurationManager cm2 = new ConfigurationManager(replaceBackSlashes(f.toString()));
+        ArrayConfigurable output = (ArrayConfigurable) cm2.lookup("packed");
+        assertArrayEquals(ac.intArray, output.intArray);
+        assertArrayEquals(ac.doubleArray, output.doubleArray);
+        assertArrayEquals(ac.charArray, output.charArray);
+    }
+
 }
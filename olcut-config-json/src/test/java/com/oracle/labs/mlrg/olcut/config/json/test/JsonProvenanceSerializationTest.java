@@ -42,7 +42,10 @@ import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.SplittableRandom;
 
@@ -103,4 +106,21 @@ public class JsonProvenanceSerializationTest {
         assertEquals(objProv,unmarshalledProvenance);
     }
 
+    @Test
+    public void streamingTest() throws ProvenanceSerializationException, IOException {
+        ConfigurationManager cm1 = new ConfigurationManager(createModuleResourceString(this.getClass(), "example-provenance-config.xml"));
+        ExampleProvenancableConfigurable e = (ExampleProvenancableConfigurable) cm1.lookup("example-config");
+        assertNotNull(e, "Failed to load example config");
+
+        ObjectProvenance provenance = e.getProvenance();
+        List<ObjectMarshalledProvenance> marshalledProvenances = ProvenanceUtil.marshalProvenance(provenance);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        marshaller.serialize(provenance, bos);
+        byte[] bytes = bos.toByteArray();
+
+        assertEquals(marshalledProvenances, marshaller.deserializeFromStream(new ByteArrayInputStream(bytes)));
+        assertEquals(marshalledProvenances, marshaller.deserializeFromString(new String(bytes, StandardCharsets.UTF_8)));
+        assertEquals(provenance, marshaller.deserialize(new ByteArrayInputStream(bytes)));
+    }
 }
@@ -28,16 +28,19 @@
 
 package com.oracle.labs.mlrg.olcut.config.protobuf;
 
+import com.google.protobuf.ByteString;
 import com.oracle.labs.mlrg.olcut.config.SerializedObject;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoader;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriter;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriterException;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
 import com.oracle.labs.mlrg.olcut.config.property.Property;
 import com.oracle.labs.mlrg.olcut.config.property.SimpleProperty;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.ComponentProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.ConfigProto;
+import com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyListProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyMapProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.SerializedObjectProto;
@@ -137,6 +140,15 @@ public final class ProtoConfigWriter implements ConfigWriter {
                     listBuilder.addType(c.getName());
                 }
                 componentBuilder.addListProperty(listBuilder.build());
+            } else if (value instanceof ArrayProperty) {
+                //
+                // Packed primitive array
+                ArrayProperty array = (ArrayProperty) value;
+                PropertyArrayProto.Builder arrayBuilder = PropertyArrayProto.newBuilder();
+                arrayBuilder.setName(key);
+                arrayBuilder.setType(array.getType().getTypeName());
+                arrayBuilder.setData(ByteString.copyFrom(array.toBytes()));
+                componentBuilder.addArrayProperty(arrayBuilder.build());
             } else if (value instanceof MapProperty) {
                 //
                 // Must be a string,string map
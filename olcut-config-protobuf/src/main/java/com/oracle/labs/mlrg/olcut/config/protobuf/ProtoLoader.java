@@ -36,6 +36,7 @@ import com.oracle.labs.mlrg.olcut.config.SerializedObject;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoader;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoaderException;
 import com.oracle.labs.mlrg.olcut.config.io.URLLoader;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.GlobalProperties;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
@@ -43,6 +44,7 @@ import com.oracle.labs.mlrg.olcut.config.property.SimpleProperty;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.ComponentProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.ConfigFileProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.ConfigProto;
+import com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyListProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyMapProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.SerializedObjectProto;
@@ -59,7 +61,6 @@ import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -278,22 +279,22 @@ public final class ProtoLoader implements ConfigLoader {
         // Read out map properties
         for (PropertyMapProto e : component.getMapPropertyList()) {
             // Must be map
-            Map<String, SimpleProperty> mapOutput = new HashMap<>();
-            for (Map.Entry<String,String> mapProp : e.getElementsMap().entrySet()) {
-                mapOutput.put(mapProp.getKey(), new SimpleProperty(mapProp.getValue()));
+            rpd.add(e.getName(), MapProperty.createFromStringMap(e.getElementsMap()));
+        }
+
+        // Read out packed array properties
+        for (PropertyArrayProto e : component.getArrayPropertyList()) {
+            try {
+                rpd.add(e.getName(), ArrayProperty.fromBytes(ArrayProperty.ElementType.fromTypeName(e.getType()), e.getData().toByteArray()));
+            } catch (IllegalArgumentException ex) {
+                throw new ConfigLoaderException(ex, "Invalid propertyarray '" + e.getName() + "' in component '" + name + "', " + ex.getMessage());
             }
-            rpd.add(e.getName(), new MapProperty(mapOutput));
         }
 
         // Read out list properties
         for (PropertyListProto e : component.getListPropertyList()) {
-            List<SimpleProperty> listOutput = new ArrayList<>();
             List<Class<?>> classListOutput = new ArrayList<>();
 
-            for (String item : e.getItemList()) {
-                listOutput.add(new SimpleProperty(item));
-            }
-
             for (String listType : e.getTypeList()) {
                 try {
                     classListOutput.add(Class.forName(listType));
@@ -303,13 +304,7 @@ public final class ProtoLoader implements ConfigLoader {
                 }
             }
 
-            ListProperty listProp;
-            if (classListOutput.isEmpty()) {
-                listProp = new ListProperty(listOutput);
-            } else {
-                listProp = new ListProperty(listOutput,classListOutput);
-            }
-            rpd.add(e.getName(), listProp);
+            rpd.add(e.getName(), ListProperty.createFromStringList(e.getItemList(),classListOutput));
         }
         rpdMap.put(rpd.getName(),rpd);
     }
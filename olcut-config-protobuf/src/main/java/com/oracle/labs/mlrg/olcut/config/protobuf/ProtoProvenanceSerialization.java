@@ -28,6 +28,7 @@
 
 package com.oracle.labs.mlrg.olcut.config.protobuf;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.google.protobuf.TextFormat;
@@ -36,6 +37,8 @@ import com.oracle.labs.mlrg.olcut.config.protobuf.protos.MapProvenanceProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.ObjectProvenanceProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.RootProvenanceProto;
 import com.oracle.labs.mlrg.olcut.config.protobuf.protos.SimpleProvenanceProto;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
 import com.oracle.labs.mlrg.olcut.provenance.io.FlatMarshalledProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.io.ListMarshalledProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.io.MapMarshalledProvenance;
@@ -49,13 +52,17 @@ import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -64,6 +71,11 @@ import java.util.Map;
  * <p>
  * Uses {@link Base64} to encode and decode binary protobufs into and out of Strings if requested, though it
  * is preferable to use protobuf's built-in text format.
+ * <p>
+ * The streaming {@link #serialize(ObjectProvenance, OutputStream)} method writes a separate
+ * {@link RootProvenanceProto} for each marshalled object, one after the other. As protobuf merges
+ * concatenated messages by appending their repeated fields (in both the binary and text formats),
+ * the output parses as a single {@link RootProvenanceProto}.
  */
 public final class ProtoProvenanceSerialization implements ProvenanceSerialization {
 
@@ -88,15 +100,21 @@ public final class ProtoProvenanceSerialization implements ProvenanceSerializati
 
     @Override
     public List<ObjectMarshalledProvenance> deserializeFromFile(Path path) throws IOException {
+        try (InputStream is = Files.newInputStream(path)) {
+            return deserializeFromStream(is);
+        }
+    }
+
+    @Override
+    public List<ObjectMarshalledProvenance> deserializeFromStream(InputStream stream) throws IOException {
         try {
-            InputStream is = Files.newInputStream(path);
             RootProvenanceProto proto;
             if (textFormat) {
                 RootProvenanceProto.Builder protoBuilder = RootProvenanceProto.newBuilder();
-                TextFormat.getParser().merge(new InputStreamReader(is,StandardCharsets.UTF_8), protoBuilder);
+                TextFormat.getParser().merge(new InputStreamReader(stream,StandardCharsets.UTF_8), protoBuilder);
                 proto = protoBuilder.build();
             } else {
-                proto = RootProvenanceProto.parseFrom(is);
+                proto = RootProvenanceProto.parseFrom(stream);
             }
             return deserializeFromProto(proto);
         } catch (InvalidProtocolBufferException | TextFormat.ParseException e) {
@@ -396,4 +414,45 @@ public final class ProtoProvenanceSerialization implements ProvenanceSerializati
             }
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void marshalAndSerialize(ObjectProvenance provenance, Path path) throws IOException {
+        try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(path))) {
+            serialize(provenance, bos);
+        }
+    }
+
+    @Override
+    public void serialize(ObjectProvenance provenance, OutputStream stream) throws IOException {
+        MutableLong counter = new MutableLong(0);
+        Iterator<ObjectMarshalledProvenance> itr = ProvenanceUtil.marshalProvenanceIterator(provenance);
+        if (textFormat) {
+            Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+            TextFormat.Printer printer = TextFormat.printer();
+            while (itr.hasNext()) {
+                printer.print(serializeSingle(counter, itr.next()), writer);
+            }
+            writer.flush();
+        } else {
+            CodedOutputStream codedStream = CodedOutputStream.newInstance(stream);
+            while (itr.hasNext()) {
+                serializeSingle(counter, itr.next()).writeTo(codedStream);
+            }
+            codedStream.flush();
+        }
+        stream.flush();
+    }
+
+    /**
+     * Serializes a single marshalled provenance (and the flat provenances it contains) into a protobuf,
+     * using the supplied counter to index the messages.
+     * @param counter The index counter, shared across all the provenances in the stream.
+     * @param omp The provenance to serialize.
+     * @return A protobuf encoding the provenance.
+     */
+    private static RootProvenanceProto serializeSingle(MutableLong counter, ObjectMarshalledProvenance omp) {
+        RootProvenanceProto.Builder builder = RootProvenanceProto.newBuilder();
+        convertProvenance(builder, counter, omp);
+        return builder.build();
+    }
+}
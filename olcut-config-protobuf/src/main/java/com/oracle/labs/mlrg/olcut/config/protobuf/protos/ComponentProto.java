@@ -29,6 +29,7 @@ private static final long serialVersionUID = 0L;
     override_ = "";
     serialized_ = "";
     entries_ = "";
+    arrayProperty_ = java.util.Collections.emptyList();
   }
 
   @java.lang.Override
@@ -509,6 +510,47 @@ java.lang.String defaultValue) {
     }
   }
 
+  public static final int ARRAY_PROPERTY_FIELD_NUMBER = 12;
+  @SuppressWarnings("serial")
+  private java.util.List<com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto> arrayProperty_;
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  @java.lang.Override
+  public java.util.List<com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto> getArrayPropertyList() {
+    return arrayProperty_;
+  }
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  @java.lang.Override
+  public java.util.List<? extends com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProtoOrBuilder> 
+      getArrayPropertyOrBuilderList() {
+    return arrayProperty_;
+  }
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  @java.lang.Override
+  public int getArrayPropertyCount() {
+    return arrayProperty_.size();
+  }
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  @java.lang.Override
+  public com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto getArrayProperty(int index) {
+    return arrayProperty_.get(index);
+  }
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  @java.lang.Override
+  public com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProtoOrBuilder getArrayPropertyOrBuilder(
+      int index) {
+    return arrayProperty_.get(index);
+  }
+
   private byte memoizedIsInitialized = -1;
   @java.lang.Override
   public final boolean isInitialized() {
@@ -559,6 +601,9 @@ java.lang.String defaultValue) {
     if (((bitField0_ & 0x00000040) != 0)) {
       com.google.protobuf.GeneratedMessageV3.writeString(output, 11, entries_);
     }
+    for (int i = 0; i < arrayProperty_.size(); i++) {
+      output.writeMessage(12, arrayProperty_.get(i));
+    }
     getUnknownFields().writeTo(output);
   }
 
@@ -613,6 +658,10 @@ java.lang.String defaultValue) {
     if (((bitField0_ & 0x00000040) != 0)) {
       size += com.google.protobuf.GeneratedMessageV3.computeStringSize(11, entries_);
     }
+    for (int i = 0; i < arrayProperty_.size(); i++) {
+      size += com.google.protobuf.CodedOutputStream
+        .computeMessageSize(12, arrayProperty_.get(i));
+    }
     size += getUnknownFields().getSerializedSize();
     memoizedSize = size;
     return size;
@@ -671,6 +720,8 @@ java.lang.String defaultValue) {
       if (!getEntries()
           .equals(other.getEntries())) return false;
     }
+    if (!getArrayPropertyList()
+        .equals(other.getArrayPropertyList())) return false;
     if (!getUnknownFields().equals(other.getUnknownFields())) return false;
     return true;
   }
@@ -727,6 +778,10 @@ java.lang.String defaultValue) {
       hash = (37 * hash) + ENTRIES_FIELD_NUMBER;
       hash = (53 * hash) + getEntries().hashCode();
     }
+    if (getArrayPropertyCount() > 0) {
+      hash = (37 * hash) + ARRAY_PROPERTY_FIELD_NUMBER;
+      hash = (53 * hash) + getArrayPropertyList().hashCode();
+    }
     hash = (29 * hash) + getUnknownFields().hashCode();
     memoizedHashCode = hash;
     return hash;
@@ -908,6 +963,13 @@ java.lang.String defaultValue) {
       leaseTime_ = 0L;
       serialized_ = "";
       entries_ = "";
+      if (arrayPropertyBuilder_ == null) {
+        arrayProperty_ = java.util.Collections.emptyList();
+      } else {
+        arrayProperty_ = null;
+        arrayPropertyBuilder_.clear();
+      }
+      bitField0_ = (bitField0_ & ~0x00000800);
       return this;
     }
 
@@ -959,6 +1021,15 @@ java.lang.String defaultValue) {
       } else {
         result.mapProperty_ = mapPropertyBuilder_.build();
       }
+      if (arrayPropertyBuilder_ == null) {
+        if (((bitField0_ & 0x00000800) != 0)) {
+          arrayProperty_ = java.util.Collections.unmodifiableList(arrayProperty_);
+          bitField0_ = (bitField0_ & ~0x00000800);
+        }
+        result.arrayProperty_ = arrayProperty_;
+      } else {
+        result.arrayProperty_ = arrayPropertyBuilder_.build();
+      }
     }
 
     private void buildPartial0(com.oracle.labs.mlrg.olcut.config.protobuf.protos.ComponentProto result) {
@@ -1135,6 +1206,32 @@ java.lang.String defaultValue) {
         bitField0_ |= 0x00000400;
         onChanged();
       }
+      if (arrayPropertyBuilder_ == null) {
+        if (!other.arrayProperty_.isEmpty()) {
+          if (arrayProperty_.isEmpty()) {
+            arrayProperty_ = other.arrayProperty_;
+            bitField0_ = (bitField0_ & ~0x00000800);
+          } else {
+            ensureArrayPropertyIsMutable();
+            arrayProperty_.addAll(other.arrayProperty_);
+          }
+          onChanged();
+        }
+      } else {
+        if (!other.arrayProperty_.isEmpty()) {
+          if (arrayPropertyBuilder_.isEmpty()) {
+            arrayPropertyBuilder_.dispose();
+            arrayPropertyBuilder_ = null;
+            arrayProperty_ = other.arrayProperty_;
+            bitField0_ = (bitField0_ & ~0x00000800);
+            arrayPropertyBuilder_ = 
+              com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                 getArrayPropertyFieldBuilder() : null;
+          } else {
+            arrayPropertyBuilder_.addAllMessages(other.arrayProperty_);
+          }
+        }
+      }
       this.mergeUnknownFields(other.getUnknownFields());
       onChanged();
       return this;
@@ -1236,6 +1333,19 @@ java.lang.String defaultValue) {
               bitField0_ |= 0x00000400;
               break;
             } // case 90
+            case 98: {
+              com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto m =
+                  input.readMessage(
+                      com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.parser(),
+                      extensionRegistry);
+              if (arrayPropertyBuilder_ == null) {
+                ensureArrayPropertyIsMutable();
+                arrayProperty_.add(m);
+              } else {
+                arrayPropertyBuilder_.addMessage(m);
+              }
+              break;
+            } // case 98
             default: {
               if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                 done = true; // was an endgroup tag
@@ -2367,6 +2477,246 @@ java.lang.String defaultValue) {
       onChanged();
       return this;
     }
+
+    private java.util.List<com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto> arrayProperty_ =
+      java.util.Collections.emptyList();
+    private void ensureArrayPropertyIsMutable() {
+      if (!((bitField0_ & 0x00000800) != 0)) {
+        arrayProperty_ = new java.util.ArrayList<com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto>(arrayProperty_);
+        bitField0_ |= 0x00000800;
+       }
+    }
+
+    private com.google.protobuf.RepeatedFieldBuilderV3<
+        com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProtoOrBuilder> arrayPropertyBuilder_;
+
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public java.util.List<com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto> getArrayPropertyList() {
+      if (arrayPropertyBuilder_ == null) {
+        return java.util.Collections.unmodifiableList(arrayProperty_);
+      } else {
+        return arrayPropertyBuilder_.getMessageList();
+      }
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public int getArrayPropertyCount() {
+      if (arrayPropertyBuilder_ == null) {
+        return arrayProperty_.size();
+      } else {
+        return arrayPropertyBuilder_.getCount();
+      }
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto getArrayProperty(int index) {
+      if (arrayPropertyBuilder_ == null) {
+        return arrayProperty_.get(index);
+      } else {
+        return arrayPropertyBuilder_.getMessage(index);
+      }
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public Builder setArrayProperty(
+        int index, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto value) {
+      if (arrayPropertyBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureArrayPropertyIsMutable();
+        arrayProperty_.set(index, value);
+        onChanged();
+      } else {
+        arrayPropertyBuilder_.setMessage(index, value);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public Builder setArrayProperty(
+        int index, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder builderForValue) {
+      if (arrayPropertyBuilder_ == null) {
+        ensureArrayPropertyIsMutable();
+        arrayProperty_.set(index, builderForValue.build());
+        onChanged();
+      } else {
+        arrayPropertyBuilder_.setMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public Builder addArrayProperty(com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto value) {
+      if (arrayPropertyBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureArrayPropertyIsMutable();
+        arrayProperty_.add(value);
+        onChanged();
+      } else {
+        arrayPropertyBuilder_.addMessage(value);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public Builder addArrayProperty(
+        int index, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto value) {
+      if (arrayPropertyBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureArrayPropertyIsMutable();
+        arrayProperty_.add(index, value);
+        onChanged();
+      } else {
+        arrayPropertyBuilder_.addMessage(index, value);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public Builder addArrayProperty(
+        com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder builderForValue) {
+      if (arrayPropertyBuilder_ == null) {
+        ensureArrayPropertyIsMutable();
+        arrayProperty_.add(builderForValue.build());
+        onChanged();
+      } else {
+        arrayPropertyBuilder_.addMessage(builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public Builder addArrayProperty(
+        int index, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder builderForValue) {
+      if (arrayPropertyBuilder_ == null) {
+        ensureArrayPropertyIsMutable();
+        arrayProperty_.add(index, builderForValue.build());
+        onChanged();
+      } else {
+        arrayPropertyBuilder_.addMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public Builder addAllArrayProperty(
+        java.lang.Iterable<? extends com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto> values) {
+      if (arrayPropertyBuilder_ == null) {
+        ensureArrayPropertyIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, arrayProperty_);
+        onChanged();
+      } else {
+        arrayPropertyBuilder_.addAllMessages(values);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public Builder clearArrayProperty() {
+      if (arrayPropertyBuilder_ == null) {
+        arrayProperty_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000800);
+        onChanged();
+      } else {
+        arrayPropertyBuilder_.clear();
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public Builder removeArrayProperty(int index) {
+      if (arrayPropertyBuilder_ == null) {
+        ensureArrayPropertyIsMutable();
+        arrayProperty_.remove(index);
+        onChanged();
+      } else {
+        arrayPropertyBuilder_.remove(index);
+      }
+      return this;
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder getArrayPropertyBuilder(
+        int index) {
+      return getArrayPropertyFieldBuilder().getBuilder(index);
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProtoOrBuilder getArrayPropertyOrBuilder(
+        int index) {
+      if (arrayPropertyBuilder_ == null) {
+        return arrayProperty_.get(index);  } else {
+        return arrayPropertyBuilder_.getMessageOrBuilder(index);
+      }
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public java.util.List<? extends com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProtoOrBuilder> 
+         getArrayPropertyOrBuilderList() {
+      if (arrayPropertyBuilder_ != null) {
+        return arrayPropertyBuilder_.getMessageOrBuilderList();
+      } else {
+        return java.util.Collections.unmodifiableList(arrayProperty_);
+      }
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder addArrayPropertyBuilder() {
+      return getArrayPropertyFieldBuilder().addBuilder(
+          com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.getDefaultInstance());
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder addArrayPropertyBuilder(
+        int index) {
+      return getArrayPropertyFieldBuilder().addBuilder(
+          index, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.getDefaultInstance());
+    }
+    /**
+     * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+     */
+    public java.util.List<com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder> 
+         getArrayPropertyBuilderList() {
+      return getArrayPropertyFieldBuilder().getBuilderList();
+    }
+    private com.google.protobuf.RepeatedFieldBuilderV3<
+        com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProtoOrBuilder> 
+        getArrayPropertyFieldBuilder() {
+      if (arrayPropertyBuilder_ == null) {
+        arrayPropertyBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+            com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto.Builder, com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProtoOrBuilder>(
+                arrayProperty_,
+                ((bitField0_ & 0x00000800) != 0),
+                getParentForChildren(),
+                isClean());
+        arrayProperty_ = null;
+      }
+      return arrayPropertyBuilder_;
+    }
     @java.lang.Override
     public final Builder setUnknownFields(
         final com.google.protobuf.UnknownFieldSet unknownFields) {
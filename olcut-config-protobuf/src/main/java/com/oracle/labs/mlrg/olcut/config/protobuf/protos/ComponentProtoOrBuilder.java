@@ -202,4 +202,28 @@ java.lang.String defaultValue);
    */
   com.google.protobuf.ByteString
       getEntriesBytes();
+
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  java.util.List<com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto> 
+      getArrayPropertyList();
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProto getArrayProperty(int index);
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  int getArrayPropertyCount();
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  java.util.List<? extends com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProtoOrBuilder> 
+      getArrayPropertyOrBuilderList();
+  /**
+   * <code>repeated .olcut.PropertyArrayProto array_property = 12;</code>
+   */
+  com.oracle.labs.mlrg.olcut.config.protobuf.protos.PropertyArrayProtoOrBuilder getArrayPropertyOrBuilder(
+      int index);
 }
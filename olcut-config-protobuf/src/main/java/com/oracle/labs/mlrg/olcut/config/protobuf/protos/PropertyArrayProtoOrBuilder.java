@@ -0,0 +1,40 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: olcut_proto.proto
+
+// Protobuf Java Version: 3.25.5
+package com.oracle.labs.mlrg.olcut.config.protobuf.protos;
+
+public interface PropertyArrayProtoOrBuilder extends
+    // @@protoc_insertion_point(interface_extends:olcut.PropertyArrayProto)
+    com.google.protobuf.MessageOrBuilder {
+
+  /**
+   * <code>string name = 1;</code>
+   * @return The name.
+   */
+  java.lang.String getName();
+  /**
+   * <code>string name = 1;</code>
+   * @return The bytes for name.
+   */
+  com.google.protobuf.ByteString
+      getNameBytes();
+
+  /**
+   * <code>string type = 2;</code>
+   * @return The type.
+   */
+  java.lang.String getType();
+  /**
+   * <code>string type = 2;</code>
+   * @return The bytes for type.
+   */
+  com.google.protobuf.ByteString
+      getTypeBytes();
+
+  /**
+   * <code>bytes data = 3;</code>
+   * @return The data.
+   */
+  com.google.protobuf.ByteString getData();
+}
@@ -37,11 +37,14 @@ import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.Provenance;
 import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
 import com.oracle.labs.mlrg.olcut.provenance.io.ObjectMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerializationException;
 import com.oracle.labs.mlrg.olcut.test.provenance.ExampleProvenancableConfigurable;
 import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -123,4 +126,33 @@ public class ProtoProvenanceSerializationTest {
         serde(marshalledProvenance,objProv,binMarshaller,binPath);
     }
 
+    @Test
+    public void streamingTest() throws IOException, ProvenanceSerializationException {
+        ConfigurationManager cm1 = new ConfigurationManager(createModuleResourceString(this.getClass(), "example-provenance-config.xml"));
+        ExampleProvenancableConfigurable e = (ExampleProvenancableConfigurable) cm1.lookup("example-config");
+        assertNotNull(e, "Failed to load example config");
+
+        ObjectProvenance provenance = e.getProvenance();
+        List<ObjectMarshalledProvenance> marshalledProvenances = ProvenanceUtil.marshalProvenance(provenance);
+
+        streamingSerde(marshalledProvenances,provenance,textMarshaller,textPath);
+        streamingSerde(marshalledProvenances,provenance,binMarshaller,binPath);
+
+        // The binary stream is a single valid RootProvenanceProto
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        binMarshaller.serialize(provenance, bos);
+        RootProvenanceProto proto = RootProvenanceProto.parseFrom(bos.toByteArray());
+        assertEquals(marshalledProvenances, binMarshaller.deserializeFromProto(proto));
+    }
+
+    private static void streamingSerde(List<ObjectMarshalledProvenance> marshalledProvenances, ObjectProvenance provenance, ProtoProvenanceSerialization marshaller, Path tmpPath) throws IOException, ProvenanceSerializationException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        marshaller.serialize(provenance, bos);
+        byte[] bytes = bos.toByteArray();
+        assertEquals(marshalledProvenances, marshaller.deserializeFromStream(new ByteArrayInputStream(bytes)));
+        assertEquals(provenance, marshaller.deserialize(new ByteArrayInputStream(bytes)));
+
+        marshaller.marshalAndSerialize(provenance, tmpPath);
+        assertEquals(marshalledProvenances, marshaller.deserializeFromFile(tmpPath));
+    }
 }
@@ -29,6 +29,7 @@
 package com.oracle.labs.mlrg.olcut.config.protobuf.test;
 
 import com.oracle.labs.mlrg.olcut.config.protobuf.ProtoConfigFactory;
+import com.oracle.labs.mlrg.olcut.test.config.ArrayConfigurable;
 import com.oracle.labs.mlrg.olcut.test.config.BasicConfigurable;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
@@ -48,6 +49,7 @@ import java.util.Map;
 
 import static com.oracle.labs.mlrg.olcut.config.ConfigurationManager.createModuleResourceString;
 import static com.oracle.labs.mlrg.olcut.util.IOUtil.replaceBackSlashes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -91,6 +93,23 @@ public class SaveTest {
         assertEquals(l1, l2);
     }
 
+    @Test
+    public void savePackedArrays() throws IOException {
+        ArrayConfigurable ac = new ArrayConfigurable();
+        ac.byteArray = new byte[]{-1,0,1};
+        ac.longArray = new long[]{Long.MIN_VALUE,0,Long.MAX_VALUE};
+        ac.floatArray = new float[]{Float.NaN,-0.0f,0.1f};
+
+        ConfigurationManager cm1 = new ConfigurationManager();
+        cm1.importConfigurable(ac, "packed");
+        cm1.save(f, true);
+        ConfigurationManager cm2 = new ConfigurationManager(replaceBackSlashes(f.toString()));
+        ArrayConfigurable output = (ArrayConfigurable) cm2.lookup("packed");
+        assertArrayEquals(ac.byteArray, output.byteArray);
+        assertArrayEquals(ac.longArray, output.longArray);
+        assertArrayEquals(ac.floatArray, output.floatArray);
+    }
+
     @Test
     public void saveAllWithInstantiation() throws IOException {
         ConfigurationManager cm1 = new ConfigurationManager(createModuleResourceString(this.getClass(), "basicConfig.pb"));
@@ -34,6 +34,7 @@ import com.oracle.labs.mlrg.olcut.provenance.Provenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.IntProvenance;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,4 +65,23 @@ public abstract class ProvenanceTestUtils {
             return new ListProvenance<>(listProv);
         }
     }
+
+    /**
+     * Builds a two level {@link ExampleProvenancableConfigurable} whose root refers to the
+     * same leaf twice, so the leaf provenance is shared within the tree.
+     * @param value The double field of the leaf.
+     * @param mapValue The map value of the leaf.
+     * @return The root configurable.
+     */
+    public static ExampleProvenancableConfigurable constructExample(double value, String mapValue) {
+        ExampleProvenancableConfigurable leaf = new ExampleProvenancableConfigurable();
+        leaf.doubleField = value;
+        leaf.map.put("key", mapValue);
+        leaf.postConfig();
+        ExampleProvenancableConfigurable root = new ExampleProvenancableConfigurable();
+        root.intArrayField = new int[]{1,2,3};
+        root.examples = Arrays.asList(leaf, leaf);
+        root.postConfig();
+        return root;
+    }
 }
@@ -29,17 +29,26 @@
 package com.oracle.labs.mlrg.olcut.test.config_tests;
 
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
 
 import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
 import com.oracle.labs.mlrg.olcut.config.PropertyException;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
+import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
+import com.oracle.labs.mlrg.olcut.config.property.Property;
 import com.oracle.labs.mlrg.olcut.test.config.ArrayConfigurable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static com.oracle.labs.mlrg.olcut.config.ConfigurationManager.createModuleResourceString;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 /**
@@ -65,4 +74,84 @@ public class ArrayTest {
         }, "Invalid character array parsed, should have thrown PropertyException.");
     }
 
+    @Test
+    public void packedArrayTest() {
+        ConfigurationManager cm = new ConfigurationManager(createModuleResourceString(this.getClass(), "arrayConfig.xml"));
+        ArrayConfigurable ac = (ArrayConfigurable) cm.lookup("packed");
+        assertArrayEquals(new int[]{1,2,3},ac.intArray, "int array not equal");
+        assertArrayEquals(new float[]{1.1f,2.3f,3.5f},ac.floatArray, "float array not equal");
+        assertArrayEquals(new double[]{1e-16,2e-16,3.16},ac.doubleArray, "double array not equal");
+        assertNull(ac.longArray);
+    }
+
+    @Test
+    public void packedArrayMismatchTest() {
+        ConfigurationManager cm = new ConfigurationManager(createModuleResourceString(this.getClass(), "arrayConfig.xml"));
+        assertThrows(PropertyException.class, () -> cm.lookup("packed-mismatch"),
+                "Packed int array assigned to a double array field, should have thrown PropertyException.");
+    }
+
+    @Test
+    public void packedArrayRoundTrip(@TempDir Path tmp) throws IOException {
+        ArrayConfigurable ac = new ArrayConfigurable();
+        ac.byteArray = new byte[]{-128,0,127};
+        ac.shortArray = new short[]{Short.MIN_VALUE,0,Short.MAX_VALUE};
+        ac.intArray = new int[]{Integer.MIN_VALUE,0,Integer.MAX_VALUE};
+        ac.longArray = new long[]{Long.MIN_VALUE,0,Long.MAX_VALUE};
+        ac.floatArray = new float[]{Float.MIN_VALUE,Float.NaN,Float.NEGATIVE_INFINITY,0.1f};
+        ac.doubleArray = new double[]{Double.MIN_VALUE,-0.0,Double.MAX_VALUE,0.1};
+        ac.charArray = new char[]{'a','\u00e9','\u4e2d'};
+
+        ConfigurationManager cm = new ConfigurationManager();
+        cm.setPackedArrayThreshold(0);
+        String name = cm.importConfigurable(ac, "imported");
+        Property prop = cm.getConfigurationData(name).get().getProperties().get("doubleArray");
+        assertTrue(prop instanceof ArrayProperty);
+
+        File f = tmp.resolve("packed.xml").toFile();
+        cm.save(f, true);
+        checkArrays(ac, f);
+    }
+
+    @Test
+    public void unpackedArrayRoundTrip(@TempDir Path tmp) throws IOException {
+        ArrayConfigurable ac = new ArrayConfigurable();
+        ac.intArray = new int[]{Integer.MIN_VALUE,0,Integer.MAX_VALUE};
+        ac.floatArray = new float[]{Float.MIN_VALUE,Float.NaN,Float.NEGATIVE_INFINITY,0.1f};
+        ac.doubleArray = new double[]{Double.MIN_VALUE,-0.0,Double.MAX_VALUE,0.1};
+        ac.charArray = new char[]{'a','\u00e9','\u4e2d'};
+
+        // Arrays are exported as lists by default
+        ConfigurationManager cm = new ConfigurationManager();
+        String name = cm.importConfigurable(ac, "imported");
+        Map<String, Property> props = cm.getConfigurationData(name).get().getProperties();
+        assertTrue(props.get("doubleArray") instanceof ListProperty);
+        assertTrue(props.get("charArray") instanceof ListProperty);
+
+        File f = tmp.resolve("unpacked.xml").toFile();
+        cm.save(f, true);
+        checkArrays(ac, f);
+
+        // Only arrays at or above the threshold are packed
+        ConfigurationManager thresholdCM = new ConfigurationManager();
+        thresholdCM.setPackedArrayThreshold(4);
+        name = thresholdCM.importConfigurable(ac, "imported");
+        props = thresholdCM.getConfigurationData(name).get().getProperties();
+        assertTrue(props.get("intArray") instanceof ListProperty);
+        assertTrue(props.get("doubleArray") instanceof ArrayProperty);
+        assertThrows(IllegalArgumentException.class, () -> thresholdCM.setPackedArrayThreshold(-1));
+    }
+
+    private static void checkArrays(ArrayConfigurable ac, File f) {
+        ConfigurationManager cm = new ConfigurationManager(f.toString());
+        ArrayConfigurable output = (ArrayConfigurable) cm.lookup("imported");
+        assertArrayEquals(ac.byteArray, output.byteArray);
+        assertArrayEquals(ac.shortArray, output.shortArray);
+        assertArrayEquals(ac.intArray, output.intArray);
+        assertArrayEquals(ac.longArray, output.longArray);
+        assertArrayEquals(ac.floatArray, output.floatArray);
+        assertArrayEquals(ac.doubleArray, output.doubleArray);
+        assertArrayEquals(ac.charArray, output.charArray);
+    }
+
 }
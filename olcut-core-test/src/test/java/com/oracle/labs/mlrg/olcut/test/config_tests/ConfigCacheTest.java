@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.config_tests;
+
+import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
+import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.config.SerializedObject;
+import com.oracle.labs.mlrg.olcut.config.io.ConfigCache;
+import com.oracle.labs.mlrg.olcut.config.io.ConfigLoader;
+import com.oracle.labs.mlrg.olcut.config.io.ConfigLoaderException;
+import com.oracle.labs.mlrg.olcut.config.io.ConfigWriter;
+import com.oracle.labs.mlrg.olcut.config.io.ConfigWriterException;
+import com.oracle.labs.mlrg.olcut.config.io.FileFormatFactory;
+import com.oracle.labs.mlrg.olcut.config.io.URLLoader;
+import com.oracle.labs.mlrg.olcut.config.property.GlobalProperties;
+import com.oracle.labs.mlrg.olcut.config.property.SimpleProperty;
+import com.oracle.labs.mlrg.olcut.config.xml.XMLConfigFactory;
+import com.oracle.labs.mlrg.olcut.test.config.StringConfigurable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the JVM-wide parsed configuration cache.
+ */
+public class ConfigCacheTest {
+
+    private static final String CONFIG = "<config>\n" +
+            "    <property name=\"val\" value=\"%s\"/>\n" +
+            "    <component name=\"a\" type=\"com.oracle.labs.mlrg.olcut.test.config.StringConfigurable\">\n" +
+            "        <property name=\"one\" value=\"${val}\"/>\n" +
+            "        <property name=\"two\" value=\"b\"/>\n" +
+            "        <property name=\"three\" value=\"c\"/>\n" +
+            "    </component>\n" +
+            "</config>\n";
+
+    @TempDir
+    public Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        ConfigCache.setEnabled(true);
+        ConfigCache.setValidation(ConfigCache.Validation.TIMESTAMP);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ConfigCache.setEnabled(false);
+    }
+
+    private Path writeConfig(String value) throws IOException {
+        return writeConfig(tempDir.resolve("cacheConfig.xml"), value);
+    }
+
+    private static Path writeConfig(Path config, String value) throws IOException {
+        Files.write(config, String.format(CONFIG, value).getBytes(StandardCharsets.UTF_8));
+        return config;
+    }
+
+    @Test
+    public void reuseParsedConfig() throws IOException {
+        Path config = writeConfig("a");
+        ConfigurationManager first = new ConfigurationManager(config.toString());
+        ConfigurationManager second = new ConfigurationManager(config.toString());
+        assertEquals(1, ConfigCache.getMissCount());
+        assertEquals(1, ConfigCache.getHitCount());
+        assertEquals(1, ConfigCache.size());
+
+        StringConfigurable firstA = (StringConfigurable) first.lookup("a");
+        StringConfigurable secondA = (StringConfigurable) second.lookup("a");
+        assertEquals("a", firstA.one);
+        assertEquals("a", secondA.one);
+        assertEquals("b", secondA.two);
+    }
+
+    @Test
+    public void overridesAreLocal() throws IOException {
+        Path config = writeConfig("a");
+        ConfigurationManager first = new ConfigurationManager(config.toString());
+        first.overrideConfigurableProperty("a", "two", new SimpleProperty("overridden"));
+        first.setGlobalProperty("val", "changed");
+        ConfigurationManager second = new ConfigurationManager(config.toString());
+        assertEquals(1, ConfigCache.getHitCount());
+
+        StringConfigurable firstA = (StringConfigurable) first.lookup("a");
+        StringConfigurable secondA = (StringConfigurable) second.lookup("a");
+        assertEquals("changed", firstA.one);
+        assertEquals("overridden", firstA.two);
+        assertEquals("a", secondA.one);
+        assertEquals("b", secondA.two);
+    }
+
+    @Test
+    public void modifiedFileIsReparsed() throws IOException {
+        Path config = writeConfig("a");
+        ConfigurationManager first = new ConfigurationManager(config.toString());
+        assertEquals("a", ((StringConfigurable) first.lookup("a")).one);
+
+        writeConfig("changed");
+        Files.setLastModifiedTime(config, FileTime.fromMillis(Files.getLastModifiedTime(config).toMillis() + 5000));
+        ConfigurationManager second = new ConfigurationManager(config.toString());
+        assertEquals(0, ConfigCache.getHitCount());
+        assertEquals(2, ConfigCache.getMissCount());
+        assertEquals("changed", ((StringConfigurable) second.lookup("a")).one);
+    }
+
+    @Test
+    public void contentHashValidation() throws IOException {
+        ConfigCache.setValidation(ConfigCache.Validation.CONTENT_HASH);
+        Path config = writeConfig("a");
+        new ConfigurationManager(config.toString());
+        new ConfigurationManager(config.toString());
+        assertEquals(1, ConfigCache.getHitCount());
+
+        FileTime time = Files.getLastModifiedTime(config);
+        writeConfig("b");
+        Files.setLastModifiedTime(config, time);
+        ConfigurationManager third = new ConfigurationManager(config.toString());
+        assertEquals(1, ConfigCache.getHitCount());
+        assertEquals("b", ((StringConfigurable) third.lookup("a")).one);
+    }
+
+    @Test
+    public void disabledByDefault() throws IOException {
+        ConfigCache.setEnabled(false);
+        Path config = writeConfig("a");
+        new ConfigurationManager(config.toString());
+        new ConfigurationManager(config.toString());
+        assertEquals(0, ConfigCache.size());
+        assertEquals(0, ConfigCache.getHitCount());
+    }
+    @Test
+    public void modifiedWhileParsing() throws IOException {
+        ConfigurationManager.addFileFormatFactory(new RacyConfigFactory());
+        Path config = writeConfig(tempDir.resolve("cacheConfig.racy"), "a");
+        ConfigurationManager first = new ConfigurationManager(config.toString());
+        assertEquals("a", ((StringConfigurable) first.lookup("a")).one);
+        assertEquals(0, ConfigCache.size());
+
+        ConfigurationManager second = new ConfigurationManager(config.toString());
+        assertEquals(0, ConfigCache.getHitCount());
+        assertEquals("changed", ((StringConfigurable) second.lookup("a")).one);
+    }
+
+    /**
+     * Parses XML files, then rewrites them to simulate an edit racing with the parse.
+     */
+    private static final class RacyConfigFactory implements FileFormatFactory {
+        private final XMLConfigFactory xml = new XMLConfigFactory();
+
+        @Override
+        public String getExtension() {
+            return "racy";
+        }
+
+        @Override
+        public ConfigLoader getLoader(URLLoader parent, Map<String, ConfigurationData> rpdMap, Map<String, ConfigurationData> existingRPD, Map<String, SerializedObject> serializedObjects, GlobalProperties globalProperties) throws ConfigLoaderException {
+            ConfigLoader loader = xml.getLoader(parent, rpdMap, existingRPD, serializedObjects, globalProperties);
+            return new ConfigLoader() {
+                @Override
+                public void load(URL url) throws ConfigLoaderException {
+                    loader.load(url);
+                    try {
+                        Path path = Path.of(url.toURI());
+                        FileTime time = Files.getLastModifiedTime(path);
+                        writeConfig(path, "changed");
+                        Files.setLastModifiedTime(path, FileTime.fromMillis(time.toMillis() + 5000));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (URISyntaxException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+
+                @Override
+                public void load(InputStream stream) throws ConfigLoaderException {
+                    loader.load(stream);
+                }
+            };
+        }
+
+        @Override
+        public ConfigWriter getWriter(OutputStream os) throws ConfigWriterException {
+            return xml.getWriter(os);
+        }
+    }
+}
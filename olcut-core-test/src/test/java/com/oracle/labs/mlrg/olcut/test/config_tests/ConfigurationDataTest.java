@@ -30,15 +30,28 @@ package com.oracle.labs.mlrg.olcut.test.config_tests;
 
 import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
+import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
+import com.oracle.labs.mlrg.olcut.config.property.SimpleProperty;
 import com.oracle.labs.mlrg.olcut.test.config.AllFieldsConfigurable;
 import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.oracle.labs.mlrg.olcut.config.ConfigurationManager.createModuleResourceString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -112,4 +125,49 @@ public class ConfigurationDataTest {
         assertTrue(ConfigurationData.structuralEquals(a, b, aName, bName));
     }
 
+    private static ConfigurationData legacyData() {
+        ConfigurationData cd = new ConfigurationData("legacy", "com.oracle.labs.mlrg.olcut.test.config.ArrayConfigurable");
+        cd.add("intArray", new ListProperty(Arrays.asList(new SimpleProperty("1"), new SimpleProperty("2"), new SimpleProperty("3")), Collections.singletonList(String.class)));
+        Map<String, SimpleProperty> map = new HashMap<>();
+        map.put("a", new SimpleProperty("first"));
+        map.put("b", new SimpleProperty("second"));
+        cd.add("map", new MapProperty(map));
+        cd.add("simple", new SimpleProperty("value"));
+        return cd;
+    }
+
+    @Test
+    public void serializationRoundTrip() throws IOException, ClassNotFoundException {
+        ConfigurationData cd = legacyData();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(cd);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ConfigurationData output = (ConfigurationData) ois.readObject();
+            assertEquals(cd, output);
+            // Properties added after deserialization are staged as usual
+            output.add("extra", new SimpleProperty("more"));
+            assertEquals(4, output.getProperties().size());
+            assertEquals(3, cd.getProperties().size());
+        }
+
+        // Written by a release before the properties were stored packed
+        try (ObjectInputStream ois = new ObjectInputStream(ConfigurationDataTest.class.getResourceAsStream("legacy-configuration-data.ser"))) {
+            ConfigurationData output = (ConfigurationData) ois.readObject();
+            assertEquals(cd, output);
+            assertEquals(Arrays.asList("1", "2", "3"), ((ListProperty) output.get("intArray").get()).getStringList());
+        }
+    }
+
+    @Test
+    public void addReplacesProperty() {
+        ConfigurationData cd = legacyData();
+        ConfigurationData copy = cd.copy();
+        cd.add("simple", new SimpleProperty("other"));
+        assertEquals("other", ((SimpleProperty) cd.get("simple").get()).getValue());
+        assertEquals("value", ((SimpleProperty) copy.get("simple").get()).getValue());
+        assertEquals(3, cd.getProperties().size());
+        assertFalse(cd.equals(copy));
+    }
 }
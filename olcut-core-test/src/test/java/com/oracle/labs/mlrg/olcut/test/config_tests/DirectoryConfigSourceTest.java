@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.config_tests;
+
+import com.oracle.labs.mlrg.olcut.config.Configurable;
+import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.config.PropertyException;
+import com.oracle.labs.mlrg.olcut.config.io.ConfigLoaderException;
+import com.oracle.labs.mlrg.olcut.config.io.DirectoryConfigSource;
+import com.oracle.labs.mlrg.olcut.config.property.SimpleProperty;
+import com.oracle.labs.mlrg.olcut.test.config.SimpleConfigurable;
+import com.oracle.labs.mlrg.olcut.test.config.StringConfigurable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for loading components on demand from a {@link DirectoryConfigSource}.
+ */
+public class DirectoryConfigSourceTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private static void writeFile(Path file, String components) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, ("<config>\n" + components + "</config>\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String simple(String name, int value) {
+        return "<component name=\"" + name + "\" type=\"com.oracle.labs.mlrg.olcut.test.config.SimpleConfigurable\">\n" +
+                "    <property name=\"simple\" value=\"" + value + "\"/>\n" +
+                "</component>\n";
+    }
+
+    private void populate() throws IOException {
+        writeFile(tempDir.resolve("a/simple-1.xml"), simple("simple-1", 1));
+        writeFile(tempDir.resolve("a/simple-2.xml"), simple("simple-2", 2));
+        writeFile(tempDir.resolve("b/c/pair.xml"), simple("simple-3", 3) +
+                "<component name=\"string\" type=\"com.oracle.labs.mlrg.olcut.test.config.StringConfigurable\">\n" +
+                "    <property name=\"one\" value=\"hello\"/>\n" +
+                "</component>\n");
+        Files.write(tempDir.resolve("README.txt"), "not a config file".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void lazyLookup() throws IOException {
+        populate();
+        DirectoryConfigSource source = new DirectoryConfigSource(tempDir);
+        assertTrue(Files.exists(tempDir.resolve(DirectoryConfigSource.INDEX_FILE_NAME)));
+
+        ConfigurationManager cm = new ConfigurationManager();
+        cm.addConfigSource(source);
+        assertEquals(new HashSet<>(List.of("simple-1", "simple-2", "simple-3", "string")), cm.getComponentNames());
+        assertTrue(cm.containsConfigurable("simple-2"));
+        assertFalse(cm.getConfigurationData("simple-1").isEmpty());
+
+        SimpleConfigurable two = (SimpleConfigurable) cm.lookup("simple-2");
+        assertEquals(2, two.simple);
+        StringConfigurable str = (StringConfigurable) cm.lookup("string");
+        assertEquals("hello", str.one);
+        assertThrows(PropertyException.class, () -> cm.lookup("missing"));
+    }
+
+    @Test
+    public void listAllUsesIndex() throws IOException {
+        populate();
+        ConfigurationManager cm = new ConfigurationManager();
+        cm.addConfigSource(new DirectoryConfigSource(tempDir));
+        List<String> simpleNames = cm.listAll(SimpleConfigurable.class);
+        assertEquals(new HashSet<>(List.of("simple-1", "simple-2", "simple-3")), new HashSet<>(simpleNames));
+        assertEquals(4, cm.listAll(Configurable.class).size());
+    }
+
+    @Test
+    public void removeSourceComponent() throws IOException {
+        populate();
+        ConfigurationManager cm = new ConfigurationManager();
+        cm.addConfigSource(new DirectoryConfigSource(tempDir));
+        assertTrue(cm.removeConfigurable("simple-1"));
+        assertFalse(cm.containsConfigurable("simple-1"));
+        assertFalse(cm.getComponentNames().contains("simple-1"));
+        assertThrows(PropertyException.class, () -> cm.lookup("simple-1"));
+    }
+
+    @Test
+    public void sourceSharedBetweenManagers() throws IOException {
+        populate();
+        DirectoryConfigSource source = new DirectoryConfigSource(tempDir);
+        ConfigurationManager first = new ConfigurationManager();
+        first.addConfigSource(source);
+        ConfigurationManager second = new ConfigurationManager();
+        second.addConfigSource(source);
+
+        first.overrideConfigurableProperty("simple-1", "simple", new SimpleProperty("10"));
+        assertEquals(10, ((SimpleConfigurable) first.lookup("simple-1")).simple);
+        assertEquals(1, ((SimpleConfigurable) second.lookup("simple-1")).simple);
+    }
+
+    @Test
+    public void staleIndex() throws IOException {
+        populate();
+        DirectoryConfigSource.buildIndex(tempDir);
+        Files.delete(tempDir.resolve("a/simple-1.xml"));
+        writeFile(tempDir.resolve("a/simple-4.xml"), simple("simple-4", 4));
+
+        DirectoryConfigSource stale = new DirectoryConfigSource(tempDir);
+        Set<String> names = stale.getComponentNames();
+        assertTrue(names.contains("simple-1"));
+        assertFalse(names.contains("simple-4"));
+        assertThrows(ConfigLoaderException.class, () -> stale.getConfigurationData("simple-1"));
+
+        DirectoryConfigSource rebuilt = new DirectoryConfigSource(tempDir, true);
+        assertFalse(rebuilt.contains("simple-1"));
+        assertTrue(rebuilt.getConfigurationData("simple-4").isPresent());
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
+import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
+import com.oracle.labs.mlrg.olcut.provenance.ConfiguredObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.Provenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.provenance.io.BinaryProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.io.ObjectMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.BooleanArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.BooleanProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.CharArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.CharProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.FloatArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.LongArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.LongProvenance;
+import com.oracle.labs.mlrg.olcut.test.config.AllFieldsConfigurable;
+import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArrayProvenanceTest {
+
+    @Test
+    public void testExtraction() {
+        AllFieldsConfigurable ac = AllFieldsConfigurable.generateConfigurable();
+        Map<String, Provenance> params = ac.getProvenance().getConfiguredParameters();
+
+        Provenance intProv = params.get("intArrayField");
+        assertTrue(intProv instanceof IntArrayProvenance);
+        assertArrayEquals(ac.intArrayField, ((IntArrayProvenance) intProv).getArray());
+        assertEquals("123456,23456,3456", ((IntArrayProvenance) intProv).getValue());
+
+        assertTrue(params.get("doubleArrayField") instanceof DoubleArrayProvenance);
+        assertTrue(params.get("booleanArrayField") instanceof BooleanArrayProvenance);
+        assertEquals("123", ((CharArrayProvenance) params.get("charArrayField")).getValue());
+        for (String name : new String[]{"byteArrayField","shortArrayField","longArrayField","floatArrayField"}) {
+            assertTrue(params.get(name) instanceof ArrayProvenance, name);
+        }
+    }
+
+    @Test
+    public void testParse() {
+        DoubleArrayProvenance doubles = new DoubleArrayProvenance("d", new double[]{1e-16, -0.0, Double.NaN, Double.POSITIVE_INFINITY, 3.16});
+        assertEquals(doubles, DoubleArrayProvenance.parse("d", doubles.getValue()));
+        assertEquals(doubles.hashCode(), DoubleArrayProvenance.parse("d", doubles.getValue()).hashCode());
+
+        FloatArrayProvenance floats = new FloatArrayProvenance("f", new float[]{1.1f, Float.MIN_VALUE});
+        assertEquals(floats, FloatArrayProvenance.parse("f", floats.getValue()));
+
+        LongArrayProvenance longs = new LongArrayProvenance("l", new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE});
+        assertEquals(longs, LongArrayProvenance.parse("l", longs.getValue()));
+
+        CharArrayProvenance chars = new CharArrayProvenance("c", new char[]{'a', ',', ' '});
+        assertEquals(chars, CharArrayProvenance.parse("c", chars.getValue()));
+
+        IntArrayProvenance empty = new IntArrayProvenance("i", new int[0]);
+        assertEquals("", empty.getValue());
+        assertEquals(empty, IntArrayProvenance.parse("i", ""));
+
+        assertNotEquals(empty, new IntArrayProvenance("j", new int[0]));
+        assertNotEquals(new IntArrayProvenance("i", new int[]{1, 2}), new IntArrayProvenance("i", new int[]{2, 1}));
+    }
+
+    @Test
+    public void testLegacyListEquivalence() {
+        // Primitive array fields used to be recorded as a list of per-element provenances.
+        IntArrayProvenance ints = new IntArrayProvenance("i", new int[]{3, -1, 7});
+        ListProvenance<IntProvenance> legacyInts = new ListProvenance<>(Arrays.asList(new IntProvenance("i", 3), new IntProvenance("i", -1), new IntProvenance("i", 7)));
+        assertEquals(ints, legacyInts);
+        assertEquals(legacyInts, ints);
+        assertEquals(legacyInts.hashCode(), ints.hashCode());
+        assertNotEquals(ints, new ListProvenance<>(Arrays.asList(new IntProvenance("i", 3), new IntProvenance("i", -1))));
+        assertNotEquals(ints, new ListProvenance<>(Arrays.asList(new IntProvenance("j", 3), new IntProvenance("j", -1), new IntProvenance("j", 7))));
+        assertNotEquals(new ListProvenance<>(Arrays.asList(new LongProvenance("i", 3), new LongProvenance("i", -1), new LongProvenance("i", 7))), ints);
+
+        DoubleArrayProvenance doubles = new DoubleArrayProvenance("d", new double[]{0.5, Double.NaN});
+        ListProvenance<DoubleProvenance> legacyDoubles = new ListProvenance<>(Arrays.asList(new DoubleProvenance("d", 0.5), new DoubleProvenance("d", Double.NaN)));
+        assertEquals(legacyDoubles, doubles);
+        assertEquals(legacyDoubles.hashCode(), doubles.hashCode());
+
+        CharArrayProvenance chars = new CharArrayProvenance("c", new char[]{'a', 'b'});
+        ListProvenance<CharProvenance> legacyChars = new ListProvenance<>(Arrays.asList(new CharProvenance("c", 'a'), new CharProvenance("c", 'b')));
+        assertEquals(legacyChars, chars);
+        assertEquals(legacyChars.hashCode(), chars.hashCode());
+
+        BooleanArrayProvenance booleans = new BooleanArrayProvenance("b", new boolean[]{true, false});
+        ListProvenance<BooleanProvenance> legacyBooleans = new ListProvenance<>(Arrays.asList(new BooleanProvenance("b", true), new BooleanProvenance("b", false)));
+        assertEquals(legacyBooleans, booleans);
+        assertEquals(legacyBooleans.hashCode(), booleans.hashCode());
+
+        // Null and empty arrays were recorded as an empty list.
+        ListProvenance<IntProvenance> emptyList = new ListProvenance<>();
+        IntArrayProvenance empty = new IntArrayProvenance("i", new int[0]);
+        assertEquals(emptyList, empty);
+        assertEquals(empty, emptyList);
+        assertEquals(emptyList.hashCode(), empty.hashCode());
+
+        // Fingerprints match, so the fingerprint of a provenance doesn't depend on its age.
+        assertEquals(wrap(legacyInts).fingerprint(), wrap(ints).fingerprint());
+        assertEquals(wrap(legacyDoubles).fingerprint(), wrap(doubles).fingerprint());
+        assertEquals(wrap(emptyList).fingerprint(), wrap(empty).fingerprint());
+        assertNotEquals(wrap(legacyInts).fingerprint(), wrap(doubles).fingerprint());
+    }
+
+    private static ObjectProvenance wrap(Provenance prov) {
+        return new SimpleObjectProvenance(new ListProvenance<>(Collections.singletonList(prov)));
+    }
+
+    @Test
+    public void testDefensiveCopy() {
+        int[] array = new int[]{1, 2, 3};
+        IntArrayProvenance prov = new IntArrayProvenance("i", array);
+        int hash = prov.hashCode();
+        array[0] = 5;
+        prov.getArray()[1] = 5;
+        assertEquals(1, prov.get(0));
+        assertEquals(2, prov.get(1));
+        assertEquals(hash, prov.hashCode());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        AllFieldsConfigurable ac = AllFieldsConfigurable.generateConfigurable();
+        ConfiguredObjectProvenance prov = ac.getProvenance();
+
+        List<ObjectMarshalledProvenance> marshalled = ProvenanceUtil.marshalProvenance(prov);
+        assertEquals(prov, ProvenanceUtil.unmarshalProvenance(marshalled));
+
+        BinaryProvenanceSerialization serialization = new BinaryProvenanceSerialization(false);
+        String serialized = serialization.serializeToString(marshalled);
+        assertEquals(prov, ProvenanceUtil.unmarshalProvenance(serialization.deserializeFromString(serialized)));
+
+        List<ConfigurationData> configs = ProvenanceUtil.extractConfiguration(prov);
+        ConfigurationData data = configs.stream().filter(c -> c.getName().equals("allfieldsconfigurable-0")).findFirst().get();
+        assertEquals(ArrayProperty.fromArray(ac.intArrayField).toListProperty(), data.get("intArrayField").get());
+        assertEquals(ArrayProperty.fromArray(ac.charArrayField).toListProperty(), data.get("charArrayField").get());
+        ConfigurationManager cm = new ConfigurationManager();
+        cm.addConfiguration(configs);
+        AllFieldsConfigurable newAC = (AllFieldsConfigurable) cm.lookup("allfieldsconfigurable-0");
+        assertArrayEquals(ac.intArrayField, newAC.intArrayField);
+        assertArrayEquals(ac.doubleArrayField, newAC.doubleArrayField);
+        assertArrayEquals(ac.charArrayField, newAC.charArrayField);
+        assertArrayEquals(ac.booleanArrayField, newAC.booleanArrayField);
+        assertEquals(prov.getConfiguredParameters().get("floatArrayField"), newAC.getProvenance().getConfiguredParameters().get("floatArrayField"));
+    }
+}
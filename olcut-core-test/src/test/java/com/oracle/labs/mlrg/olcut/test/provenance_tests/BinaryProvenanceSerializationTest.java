@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.Provenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.provenance.io.BinaryProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.io.ObjectMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerializationException;
+import com.oracle.labs.mlrg.olcut.provenance.io.XMLProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.BooleanProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ByteProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.CharProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DateProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.EnumProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.FloatProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.HashProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.LongProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ShortProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
+import com.oracle.labs.mlrg.olcut.test.config.AllFieldsConfigurable;
+import com.oracle.labs.mlrg.olcut.test.provenance.ExampleProvenancableConfigurable;
+import com.oracle.labs.mlrg.olcut.test.provenance.ProvenanceTestUtils;
+import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.oracle.labs.mlrg.olcut.config.ConfigurationManager.createModuleResourceString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class BinaryProvenanceSerializationTest {
+    private final BinaryProvenanceSerialization marshaller = new BinaryProvenanceSerialization(false);
+    private final BinaryProvenanceSerialization compressedMarshaller = new BinaryProvenanceSerialization(true);
+
+    private static void serde(ObjectProvenance provenance, BinaryProvenanceSerialization marshaller) throws ProvenanceSerializationException, IOException {
+        List<ObjectMarshalledProvenance> marshalledProvenances = ProvenanceUtil.marshalProvenance(provenance);
+
+        String str = marshaller.serializeToString(marshalledProvenances);
+        assertEquals(marshalledProvenances, marshaller.deserializeFromString(str));
+        assertEquals(provenance, marshaller.deserializeAndUnmarshal(str));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        marshaller.serialize(provenance, bos);
+        assertEquals(marshalledProvenances, marshaller.deserializeFromStream(new ByteArrayInputStream(bos.toByteArray())));
+
+        Path path = Files.createTempFile("olcut-binary-provenance", "." + marshaller.getFileExtension());
+        path.toFile().deleteOnExit();
+        marshaller.serializeToFile(marshalledProvenances, path);
+        assertEquals(provenance, marshaller.deserializeAndUnmarshal(path));
+        marshaller.marshalAndSerialize(provenance, path);
+        assertEquals(marshalledProvenances, marshaller.deserializeFromFile(path));
+    }
+
+    @Test
+    public void marshallingTest() throws ProvenanceSerializationException, IOException {
+        ConfigurationManager cm1 = new ConfigurationManager(createModuleResourceString(this.getClass(), "example-provenance-config.xml"));
+        ExampleProvenancableConfigurable e = (ExampleProvenancableConfigurable) cm1.lookup("example-config");
+        assertNotNull(e, "Failed to load example config");
+
+        ObjectProvenance provenance = e.getProvenance();
+
+        serde(provenance, marshaller);
+        serde(provenance, compressedMarshaller);
+    }
+
+    @Test
+    public void allFieldsTest() throws ProvenanceSerializationException, IOException {
+        ConfigurationManager cm = new ConfigurationManager(createModuleResourceString(this.getClass(), "/com/oracle/labs/mlrg/olcut/test/config_tests/allConfig.xml"));
+        AllFieldsConfigurable afc = (AllFieldsConfigurable) cm.lookup("all-config");
+        ObjectProvenance provenance = afc.getProvenance();
+        cm.close();
+
+        serde(provenance, marshaller);
+        serde(provenance, compressedMarshaller);
+
+        // The binary form should be considerably smaller than the XML
+        List<ObjectMarshalledProvenance> marshalledProvenances = ProvenanceUtil.marshalProvenance(provenance);
+        int xmlSize = new XMLProvenanceSerialization(false).serializeToString(marshalledProvenances).length();
+        int binarySize = Base64.getDecoder().decode(marshaller.serializeToString(marshalledProvenances)).length;
+        assertTrue(binarySize * 2 < xmlSize, "Binary size " + binarySize + ", XML size " + xmlSize);
+    }
+
+    @Test
+    public void primitivesTest() throws ProvenanceSerializationException, IOException {
+        List<Provenance> list = new ArrayList<>(Arrays.asList(
+                new BooleanProvenance("bool", true),
+                new BooleanProvenance("bool", false),
+                new ByteProvenance("byte", Byte.MIN_VALUE),
+                new ShortProvenance("short", (short) -12345),
+                new CharProvenance("char", 'é'),
+                new IntProvenance("int", Integer.MIN_VALUE),
+                new IntProvenance("int", 42),
+                new LongProvenance("long", Long.MAX_VALUE),
+                new FloatProvenance("float", Float.NaN),
+                new DoubleProvenance("double", -0.0),
+                new DoubleProvenance("double", 1e-300),
+                new StringProvenance("string", "café 😀"),
+                new StringProvenance("string", ""),
+                new EnumProvenance<>("enum", DayOfWeek.TUESDAY),
+                new HashProvenance(ProvenanceUtil.HashType.SHA256, "hash", ProvenanceUtil.hashList(ProvenanceUtil.HashType.SHA256, List.of())),
+                new HashProvenance(ProvenanceUtil.HashType.MD5, "hash", "not-hex"),
+                new DateProvenance("date", LocalDate.of(2020, 2, 29))
+        ));
+        SimpleObjectProvenance provenance = new SimpleObjectProvenance(new ListProvenance<>(list));
+
+        serde(provenance, marshaller);
+        serde(provenance, compressedMarshaller);
+    }
+
+    @Test
+    public void recursiveMarshallingTest() throws ProvenanceSerializationException, IOException {
+        Provenance prov = ProvenanceTestUtils.constructProvenance(new SplittableRandom(42),5,3,"prov");
+        assertNotNull(prov);
+
+        SimpleObjectProvenance objProv = new SimpleObjectProvenance((ListProvenance<?>)prov);
+
+        serde(objProv, marshaller);
+        serde(objProv, compressedMarshaller);
+    }
+
+    @Test
+    public void largeCompressedTest() throws ProvenanceSerializationException, IOException {
+        // Large enough to span multiple compressed blocks
+        SplittableRandom rng = new SplittableRandom(1);
+        List<Provenance> list = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            list.add(ProvenanceTestUtils.constructProvenance(rng,5,3,"prov"));
+        }
+        SimpleObjectProvenance objProv = new SimpleObjectProvenance(new ListProvenance<>(list));
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        marshaller.serialize(objProv, bos);
+        assertTrue(bos.size() > BinaryProvenanceSerialization.BLOCK_SIZE);
+        serde(objProv, compressedMarshaller);
+    }
+
+    @Test
+    public void invalidInputTest() throws IOException {
+        assertThrows(ProvenanceSerializationException.class, () -> marshaller.deserializeFromString("not base64!"));
+        assertThrows(ProvenanceSerializationException.class, () -> marshaller.deserializeFromString(Base64.getEncoder().encodeToString(new byte[]{1,2,3,4,5,6})));
+
+        ConfigurationManager cm1 = new ConfigurationManager(createModuleResourceString(this.getClass(), "example-provenance-config.xml"));
+        ExampleProvenancableConfigurable e = (ExampleProvenancableConfigurable) cm1.lookup("example-config");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        compressedMarshaller.serialize(e.getProvenance(), bos);
+        byte[] truncated = Arrays.copyOf(bos.toByteArray(), bos.size() / 2);
+        assertThrows(IOException.class, () -> compressedMarshaller.deserializeFromStream(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    public void corruptLengthTest() {
+        byte[] maxLength = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        byte[] header = {'O', 'L', 'P', 'V', BinaryProvenanceSerialization.VERSION, 0};
+        byte[] compressedHeader = {'O', 'L', 'P', 'V', BinaryProvenanceSerialization.VERSION, 1};
+
+        // An object name claiming to be 2GB long
+        byte[] string = concat(header, new byte[]{1, 0}, maxLength);
+        assertThrows(EOFException.class, () -> marshaller.deserializeFromStream(new ByteArrayInputStream(string)));
+
+        // An int array claiming to have 2^31 - 1 elements
+        byte[] array = concat(header, new byte[]{1, 0, 1, 'a', 0, 1, 'b', 0, 1, 'c', 1, 0, 1, 'k', 17, 0, 1, 'x'}, maxLength, new byte[]{2, 4});
+        assertThrows(EOFException.class, () -> marshaller.deserializeFromStream(new ByteArrayInputStream(array)));
+
+        // A compressed block longer than the maximum
+        byte[] block = concat(compressedHeader, new byte[]{100}, maxLength);
+        assertThrows(IOException.class, () -> marshaller.deserializeFromStream(new ByteArrayInputStream(block)));
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (byte[] a : arrays) {
+            bos.writeBytes(a);
+        }
+        return bos.toByteArray();
+    }
+}
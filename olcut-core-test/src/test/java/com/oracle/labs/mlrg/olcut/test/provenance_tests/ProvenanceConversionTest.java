@@ -33,6 +33,7 @@ import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.Provenance;
 import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
 import com.oracle.labs.mlrg.olcut.test.config.AllFieldsConfigurable;
+import com.oracle.labs.mlrg.olcut.config.Configurable;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
 import com.oracle.labs.mlrg.olcut.config.PropertySheet;
@@ -44,6 +45,8 @@ import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.SplittableRandom;
 import java.util.logging.Level;
@@ -51,7 +54,10 @@ import java.util.logging.Logger;
 
 import static com.oracle.labs.mlrg.olcut.config.ConfigurationManager.createModuleResourceString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  *
@@ -101,6 +107,40 @@ public class ProvenanceConversionTest {
         assertEquals(e,newE);
     }
 
+    @Test
+    public void bulkConversionTest() {
+        String config = createModuleResourceString(this.getClass(), "/com/oracle/labs/mlrg/olcut/test/config_tests/allConfig.xml");
+        AllFieldsConfigurable first = (AllFieldsConfigurable) new ConfigurationManager(config).lookup("all-config");
+        AllFieldsConfigurable second = (AllFieldsConfigurable) new ConfigurationManager(config).lookup("all-config");
+        AllFieldsConfigurable modified = (AllFieldsConfigurable) new ConfigurationManager(config).lookup("all-config");
+        modified.stringField = "apes";
+
+        // Duplicate configurations inside a single provenance are merged too
+        int singleSize = ProvenanceUtil.extractConfigurations(Collections.singletonList(first.getProvenance())).configurations.size();
+        assertTrue(singleSize < ProvenanceUtil.extractConfiguration(first.getProvenance()).size());
+
+        // Identical provenances collapse to a single set of configurations
+        ProvenanceUtil.MergedConfiguration merged = ProvenanceUtil.extractConfigurations(Arrays.asList(first.getProvenance(), second.getProvenance()));
+        assertEquals(singleSize, merged.configurations.size());
+        assertEquals(2, merged.rootNames.size());
+        assertEquals(merged.rootNames.get(0), merged.rootNames.get(1));
+
+        // Only the root differs, the sub-components are shared
+        merged = ProvenanceUtil.extractConfigurations(Arrays.asList(first.getProvenance(), modified.getProvenance()));
+        assertEquals(singleSize + 1, merged.configurations.size());
+        assertNotEquals(merged.rootNames.get(0), merged.rootNames.get(1));
+
+        List<Configurable> objects = ProvenanceUtil.reconstructObjects(Arrays.asList(first.getProvenance(), second.getProvenance(), modified.getProvenance()));
+        assertEquals(3, objects.size());
+        AllFieldsConfigurable newFirst = (AllFieldsConfigurable) objects.get(0);
+        AllFieldsConfigurable newModified = (AllFieldsConfigurable) objects.get(2);
+        assertEquals(first, newFirst);
+        assertSame(newFirst, objects.get(1));
+        assertEquals("apes", newModified.stringField);
+        assertSame(newFirst.configurableField, newModified.configurableField);
+        assertSame(newFirst.configurableSubclassField, newModified.configurableSubclassField);
+    }
+
     @Test
     public void marshallingTest() {
         ConfigurationManager cm1 = new ConfigurationManager(createModuleResourceString(this.getClass(), "example-provenance-config.xml"));
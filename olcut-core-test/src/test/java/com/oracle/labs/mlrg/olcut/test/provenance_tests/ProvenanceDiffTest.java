@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.MapProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.Provenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceDiff;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
+import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
+import com.oracle.labs.mlrg.olcut.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProvenanceDiffTest {
+
+    private static MapProvenance<Provenance> trainer(String name, double learningRate, int epochs) {
+        Map<String, Provenance> map = new HashMap<>();
+        map.put("name", new StringProvenance("name", name));
+        map.put("learning-rate", new DoubleProvenance("learning-rate", learningRate));
+        map.put("epochs", new IntProvenance("epochs", epochs));
+        return new MapProvenance<>(map);
+    }
+
+    private static ObjectProvenance wrap(List<? extends Provenance> elements) {
+        return new SimpleObjectProvenance(new ListProvenance<>(new ArrayList<>(elements)));
+    }
+
+    @Test
+    public void equalTest() {
+        ObjectProvenance a = wrap(List.of(trainer("a", 0.1, 5), trainer("b", 0.2, 10)));
+        ObjectProvenance b = wrap(List.of(trainer("a", 0.1, 5), trainer("b", 0.2, 10)));
+        assertTrue(ProvenanceUtil.diff(a, a).isEmpty());
+        assertTrue(ProvenanceUtil.diff(a, b).isEmpty());
+    }
+
+    @Test
+    public void changedTest() {
+        ObjectProvenance a = wrap(List.of(trainer("a", 0.1, 5), trainer("b", 0.2, 10)));
+        ObjectProvenance b = wrap(List.of(trainer("a", 0.1, 5), trainer("b", 0.3, 10)));
+        List<ProvenanceDiff> diffs = ProvenanceUtil.diff(a, b);
+        assertEquals(1, diffs.size());
+        ProvenanceDiff diff = diffs.get(0);
+        assertEquals(ProvenanceDiff.Kind.CHANGED, diff.getKind());
+        assertEquals("prov[1].learning-rate", diff.getPath());
+        assertEquals(new DoubleProvenance("learning-rate", 0.2), diff.getBefore());
+        assertEquals(new DoubleProvenance("learning-rate", 0.3), diff.getAfter());
+    }
+
+    @Test
+    public void addedRemovedTest() {
+        Map<String, Provenance> before = new HashMap<>(trainer("a", 0.1, 5).getMap());
+        before.put("seed", new IntProvenance("seed", 1));
+        Map<String, Provenance> after = new HashMap<>(trainer("a", 0.1, 5).getMap());
+        after.put("momentum", new DoubleProvenance("momentum", 0.9));
+
+        List<ProvenanceDiff> diffs = ProvenanceUtil.diff(wrap(List.of(new MapProvenance<>(before))), wrap(List.of(new MapProvenance<>(after))));
+        assertEquals(2, diffs.size());
+        ProvenanceDiff removed = diffs.stream().filter(d -> d.getKind() == ProvenanceDiff.Kind.REMOVED).findFirst().get();
+        assertEquals("prov[0].seed", removed.getPath());
+        assertNull(removed.getAfter());
+        ProvenanceDiff added = diffs.stream().filter(d -> d.getKind() == ProvenanceDiff.Kind.ADDED).findFirst().get();
+        assertEquals("prov[0].momentum", added.getPath());
+        assertNull(added.getBefore());
+        assertEquals(new DoubleProvenance("momentum", 0.9), added.getAfter());
+    }
+
+    @Test
+    public void listMatchingTest() {
+        ObjectProvenance a = wrap(List.of(trainer("a", 0.1, 5), trainer("b", 0.2, 10), trainer("c", 0.3, 15)));
+
+        // Reordering is not a difference
+        ObjectProvenance reordered = wrap(List.of(trainer("c", 0.3, 15), trainer("a", 0.1, 5), trainer("b", 0.2, 10)));
+        assertTrue(ProvenanceUtil.diff(a, reordered).isEmpty());
+
+        // Elements are matched by content rather than position
+        ObjectProvenance inserted = wrap(List.of(trainer("z", 0.5, 1), trainer("a", 0.1, 5), trainer("b", 0.2, 10), trainer("c", 0.3, 15)));
+        List<ProvenanceDiff> diffs = ProvenanceUtil.diff(a, inserted);
+        assertEquals(1, diffs.size());
+        assertEquals(ProvenanceDiff.Kind.ADDED, diffs.get(0).getKind());
+        assertEquals("prov[0]", diffs.get(0).getPath());
+
+        diffs = ProvenanceUtil.diff(inserted, a);
+        assertEquals(1, diffs.size());
+        assertEquals(ProvenanceDiff.Kind.REMOVED, diffs.get(0).getKind());
+        assertEquals("prov[0]", diffs.get(0).getPath());
+
+        // Differing primitive elements are reported as changes
+        ObjectProvenance strings = wrap(List.of(new StringProvenance("x", "a"), new StringProvenance("x", "b")));
+        ObjectProvenance otherStrings = wrap(List.of(new StringProvenance("x", "b"), new StringProvenance("x", "c")));
+        diffs = ProvenanceUtil.diff(strings, otherStrings);
+        assertEquals(1, diffs.size());
+        assertEquals(ProvenanceDiff.Kind.CHANGED, diffs.get(0).getKind());
+        assertEquals("prov[0]", diffs.get(0).getPath());
+        assertEquals(new StringProvenance("x", "c"), diffs.get(0).getAfter());
+    }
+
+    @Test
+    public void sharedReferenceTest() {
+        MapProvenance<Provenance> shared = trainer("shared", 0.1, 5);
+        MapProvenance<Provenance> changed = trainer("shared", 0.1, 6);
+        ObjectProvenance a = wrap(Collections.nCopies(100, shared));
+        ObjectProvenance b = wrap(Collections.nCopies(100, changed));
+        List<ProvenanceDiff> diffs = ProvenanceUtil.diff(a, b);
+        // The shared pair of nodes is only compared once
+        assertEquals(1, diffs.size());
+        assertEquals("prov[0].epochs", diffs.get(0).getPath());
+    }
+
+    @Test
+    public void pruningTest() {
+        AtomicInteger equalsCalls = new AtomicInteger();
+        List<MapProvenance<Provenance>> members = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            members.add(trainer("member-" + i, i * 1e-3, i));
+        }
+        CountingProvenance first = new CountingProvenance(new ListProvenance<>(members), equalsCalls);
+        CountingProvenance second = new CountingProvenance(new ListProvenance<>(members), equalsCalls);
+
+        // The same instance in both trees is skipped without calling equals
+        List<ProvenanceDiff> diffs = ProvenanceUtil.diff(wrap(List.of(first, trainer("a", 0.1, 5))), wrap(List.of(first, trainer("a", 0.1, 6))));
+        assertEquals(1, diffs.size());
+        assertEquals("prov[1].epochs", diffs.get(0).getPath());
+        assertEquals(0, equalsCalls.get());
+
+        // Equal but distinct branches are checked with equals once and not descended into
+        diffs = ProvenanceUtil.diff(wrap(List.of(first, trainer("a", 0.1, 5))), wrap(List.of(second, trainer("a", 0.1, 6))));
+        assertEquals(1, diffs.size());
+        assertEquals("prov[1].epochs", diffs.get(0).getPath());
+        assertEquals(1, equalsCalls.get());
+    }
+
+    @Test
+    public void largeTest() {
+        int size = 100_000;
+        List<MapProvenance<Provenance>> before = new ArrayList<>(size);
+        List<MapProvenance<Provenance>> after = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            before.add(trainer("member-" + i, i * 1e-6, i));
+            after.add(trainer("member-" + i, i * 1e-6, i == 54321 ? -1 : i));
+        }
+        List<ProvenanceDiff> diffs = ProvenanceUtil.diff(wrap(before), wrap(after));
+        assertEquals(1, diffs.size());
+        assertEquals("prov[54321].epochs", diffs.get(0).getPath());
+        assertEquals(new IntProvenance("epochs", -1), diffs.get(0).getAfter());
+    }
+
+    /**
+     * An object provenance which counts the calls to equals.
+     */
+    private static final class CountingProvenance implements ObjectProvenance {
+        private final ListProvenance<?> prov;
+        private final AtomicInteger equalsCalls;
+
+        CountingProvenance(ListProvenance<?> prov, AtomicInteger equalsCalls) {
+            this.prov = prov;
+            this.equalsCalls = equalsCalls;
+        }
+
+        @Override
+        public String getClassName() {
+            return CountingProvenance.class.getName();
+        }
+
+        @Override
+        public Iterator<Pair<String, Provenance>> iterator() {
+            return Collections.singletonList(new Pair<>("prov", (Provenance) prov)).iterator();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            equalsCalls.incrementAndGet();
+            if (this == o) return true;
+            if (!(o instanceof CountingProvenance)) return false;
+            return prov.equals(((CountingProvenance) o).prov);
+        }
+
+        @Override
+        public int hashCode() {
+            return prov.hashCode();
+        }
+    }
+}
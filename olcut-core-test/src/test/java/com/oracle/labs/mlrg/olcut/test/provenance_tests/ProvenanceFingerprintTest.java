@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.MapProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.Provenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.provenance.io.ObjectMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
+import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
+import com.oracle.labs.mlrg.olcut.test.provenance.TestProvenancableConfigurable;
+import com.oracle.labs.mlrg.olcut.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.oracle.labs.mlrg.olcut.test.provenance.ProvenanceTestUtils.constructExample;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ProvenanceFingerprintTest {
+
+    private static ObjectProvenance wrap(Provenance... elements) {
+        return new SimpleObjectProvenance(new ListProvenance<>(Arrays.asList(elements)));
+    }
+
+    @Test
+    public void testEquality() {
+        ObjectProvenance first = constructExample(1.5, "a").getProvenance();
+        ObjectProvenance second = constructExample(1.5, "a").getProvenance();
+        ObjectProvenance third = constructExample(2.5, "a").getProvenance();
+        ObjectProvenance fourth = constructExample(1.5, "b").getProvenance();
+        assertEquals(first, second);
+        assertEquals(first.fingerprint(), second.fingerprint());
+        assertNotEquals(first.fingerprint(), third.fingerprint());
+        assertNotEquals(first.fingerprint(), fourth.fingerprint());
+        assertEquals(64, first.fingerprint().length());
+        assertEquals(128, first.fingerprint(ProvenanceUtil.HashType.SHA512).length());
+        assertEquals(first.fingerprint(ProvenanceUtil.HashType.SHA512), second.fingerprint(ProvenanceUtil.HashType.SHA512));
+    }
+
+    @Test
+    public void testSkeletal() {
+        ObjectProvenance first = new TestProvenancableConfigurable(3, Arrays.asList(1, 2)).getProvenance();
+        ObjectProvenance second = new TestProvenancableConfigurable(3, Arrays.asList(1, 2)).getProvenance();
+        ObjectProvenance third = new TestProvenancableConfigurable(3, Arrays.asList(2, 1)).getProvenance();
+        assertEquals(first.fingerprint(), second.fingerprint());
+        assertNotEquals(first.fingerprint(), third.fingerprint());
+        // Memoized on the immutable provenance
+        assertSame(first.fingerprint(), first.fingerprint());
+    }
+
+    @Test
+    public void testSharedNodes() {
+        // Each level has two distinct parents of the level below, so there are 2^depth paths to the base.
+        int depth = 24;
+        List<CountingProvenance> nodes = new ArrayList<>();
+        CountingProvenance previous = new CountingProvenance(new IntProvenance("base", 0));
+        nodes.add(previous);
+        for (int i = 0; i < depth; i++) {
+            CountingProvenance left = new CountingProvenance(previous);
+            CountingProvenance right = new CountingProvenance(previous, new IntProvenance("level", i));
+            previous = new CountingProvenance(left, right);
+            nodes.add(left);
+            nodes.add(right);
+            nodes.add(previous);
+        }
+        assertEquals(64, previous.fingerprint().length());
+        for (CountingProvenance node : nodes) {
+            assertEquals(1, node.iterations);
+        }
+        assertEquals(128, previous.fingerprint(ProvenanceUtil.HashType.SHA512).length());
+        for (CountingProvenance node : nodes) {
+            assertEquals(2, node.iterations);
+        }
+    }
+
+    @Test
+    public void testOrder() {
+        Map<String, Provenance> forward = new LinkedHashMap<>();
+        forward.put("a", new IntProvenance("a", 1));
+        forward.put("b", new StringProvenance("b", "value"));
+        forward.put("c", new DoubleProvenance("c", 0.5));
+        Map<String, Provenance> backward = new LinkedHashMap<>();
+        backward.put("c", new DoubleProvenance("c", 0.5));
+        backward.put("b", new StringProvenance("b", "value"));
+        backward.put("a", new IntProvenance("a", 1));
+
+        // Map entries are order independent
+        assertEquals(wrap(new MapProvenance<>(forward)).fingerprint(), wrap(new MapProvenance<>(backward)).fingerprint());
+
+        // Lists are ordered
+        StringProvenance x = new StringProvenance("x", "1");
+        StringProvenance y = new StringProvenance("x", "2");
+        assertNotEquals(wrap(x, y).fingerprint(), wrap(y, x).fingerprint());
+
+        // Keys and values are not ambiguous
+        assertNotEquals(wrap(new StringProvenance("ab", "c")).fingerprint(), wrap(new StringProvenance("a", "bc")).fingerprint());
+        assertNotEquals(wrap(new StringProvenance("x", "1")).fingerprint(), wrap(new IntProvenance("x", 1)).fingerprint());
+    }
+
+    @Test
+    public void testStable() {
+        // The fingerprint must not change between releases or JVMs as it's used for persistent cache keys
+        ObjectProvenance prov = wrap(new StringProvenance("name", "value"), new IntProvenance("count", 3));
+        assertEquals("954A66F2365AB0ECEA90C9642BB9417DDC6821EB95C4155016262CFBDF11634C", prov.fingerprint());
+    }
+
+    @Test
+    public void testMarshalledRoundTrip() {
+        ObjectProvenance prov = constructExample(3.0, "c").getProvenance();
+        List<ObjectMarshalledProvenance> marshalled = ProvenanceUtil.marshalProvenance(prov);
+        ObjectProvenance unmarshalled = ProvenanceUtil.unmarshalProvenance(marshalled);
+        assertEquals(prov.fingerprint(), unmarshalled.fingerprint());
+    }
+
+    /**
+     * An object provenance which counts how many times its fields are read.
+     */
+    private static final class CountingProvenance implements ObjectProvenance {
+        private final List<Pair<String, Provenance>> fields = new ArrayList<>();
+        private int iterations;
+
+        CountingProvenance(Provenance... children) {
+            for (int i = 0; i < children.length; i++) {
+                fields.add(new Pair<>("field-" + i, children[i]));
+            }
+        }
+
+        @Override
+        public String getClassName() {
+            return CountingProvenance.class.getName();
+        }
+
+        @Override
+        public Iterator<Pair<String, Provenance>> iterator() {
+            iterations++;
+            return fields.iterator();
+        }
+    }
+}
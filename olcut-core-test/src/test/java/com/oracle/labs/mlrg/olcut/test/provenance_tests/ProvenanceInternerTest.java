@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.MapProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceInterner;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerializationException;
+import com.oracle.labs.mlrg.olcut.provenance.io.XMLProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
+import com.oracle.labs.mlrg.olcut.test.config.AllFieldsConfigurable;
+import com.oracle.labs.mlrg.olcut.test.provenance.ExampleProvenancableConfigurable.ExampleProvenance;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.oracle.labs.mlrg.olcut.config.ConfigurationManager.createModuleResourceString;
+import static com.oracle.labs.mlrg.olcut.test.provenance.ProvenanceTestUtils.constructExample;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ProvenanceInternerTest {
+
+    @Test
+    public void testPrimitivesAndContainers() {
+        ProvenanceInterner interner = new ProvenanceInterner();
+        StringProvenance a = new StringProvenance("name", "value");
+        StringProvenance b = new StringProvenance("name", "value");
+        assertNotSame(a, b);
+        assertSame(a, interner.intern(a));
+        assertSame(a, interner.intern(b));
+        assertNull(interner.intern(null));
+
+        Map<String,StringProvenance> map = new HashMap<>();
+        map.put("first", new StringProvenance("name", "value"));
+        MapProvenance<StringProvenance> mapProv = interner.intern(new MapProvenance<>(map));
+        assertSame(a, mapProv.getMap().get("first"));
+
+        ListProvenance<StringProvenance> listProv = interner.intern(new ListProvenance<>(Arrays.asList(new StringProvenance("name", "value"))));
+        assertSame(a, listProv.getList().get(0));
+    }
+
+    @Test
+    public void testObjectProvenance() {
+        ProvenanceInterner interner = new ProvenanceInterner();
+        ExampleProvenance first = constructExample(1.0, "shared").getProvenance();
+        ExampleProvenance second = constructExample(1.0, "shared").getProvenance();
+        ExampleProvenance third = constructExample(2.0, "shared").getProvenance();
+
+        ExampleProvenance internedFirst = interner.intern(first);
+        assertSame(internedFirst, interner.intern(second));
+        assertEquals(first, internedFirst);
+
+        // The third provenance differs in the leaf double, but shares the map and int list.
+        ExampleProvenance internedThird = interner.intern(third);
+        assertEquals(third, internedThird);
+        ExampleProvenance firstLeaf = (ExampleProvenance) ((ListProvenance<?>) internedFirst.getConfiguredParameters().get("examples")).getList().get(0);
+        ExampleProvenance thirdLeaf = (ExampleProvenance) ((ListProvenance<?>) internedThird.getConfiguredParameters().get("examples")).getList().get(0);
+        assertNotSame(firstLeaf, thirdLeaf);
+        assertSame(firstLeaf.getConfiguredParameters().get("map"), thirdLeaf.getConfiguredParameters().get("map"));
+        assertSame(internedFirst.getConfiguredParameters().get("intArrayField"), internedThird.getConfiguredParameters().get("intArrayField"));
+    }
+
+    @Test
+    public void testUnmarshalWithInterner() throws ProvenanceSerializationException {
+        ConfigurationManager cm = new ConfigurationManager(createModuleResourceString(this.getClass(), "/com/oracle/labs/mlrg/olcut/test/config_tests/allConfig.xml"));
+        AllFieldsConfigurable afc = (AllFieldsConfigurable) cm.lookup("all-config");
+        ObjectProvenance provenance = afc.getProvenance();
+        cm.close();
+
+        XMLProvenanceSerialization serialization = new XMLProvenanceSerialization(true);
+        String xml = serialization.marshalAndSerialize(provenance);
+
+        ProvenanceInterner interner = new ProvenanceInterner();
+        ObjectProvenance first = serialization.deserializeAndUnmarshal(xml, interner);
+        ObjectProvenance second = serialization.deserializeAndUnmarshal(xml, interner);
+        assertEquals(provenance, first);
+        assertSame(first, second);
+        assertSame(first, ProvenanceUtil.unmarshalProvenance(ProvenanceUtil.marshalProvenance(provenance), interner));
+
+        int size = interner.size();
+        interner.clear();
+        assertEquals(0, interner.size());
+        assertNotSame(first, ProvenanceUtil.unmarshalProvenance(ProvenanceUtil.marshalProvenance(provenance), interner));
+        assertEquals(size, interner.size());
+    }
+}
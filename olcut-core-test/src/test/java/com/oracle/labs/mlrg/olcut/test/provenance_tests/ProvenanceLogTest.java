@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.Provenance;
+import com.oracle.labs.mlrg.olcut.provenance.io.BinaryProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceLog;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerializationException;
+import com.oracle.labs.mlrg.olcut.provenance.io.XMLProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.test.provenance.ProvenanceTestUtils;
+import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProvenanceLogTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private static List<ObjectProvenance> generate(int numRecords) {
+        SplittableRandom rng = new SplittableRandom(12345);
+        List<ObjectProvenance> output = new ArrayList<>();
+        for (int i = 0; i < numRecords; i++) {
+            Provenance prov = ProvenanceTestUtils.constructProvenance(rng, 3, 3, "prov");
+            output.add(new SimpleObjectProvenance((ListProvenance<?>) prov));
+        }
+        return output;
+    }
+
+    private static List<Long> write(Path path, ProvenanceSerialization serialization, List<ObjectProvenance> provenances) throws IOException, ProvenanceSerializationException {
+        List<Long> offsets = new ArrayList<>();
+        try (ProvenanceLog log = ProvenanceLog.open(path, serialization)) {
+            for (int i = 0; i < provenances.size(); i++) {
+                offsets.add(log.append("record-" + i, provenances.get(i)));
+            }
+        }
+        return offsets;
+    }
+
+    private static void check(ProvenanceLog log, List<ObjectProvenance> provenances) throws IOException, ProvenanceSerializationException {
+        assertEquals(provenances.size(), log.size());
+        List<ObjectProvenance> streamed = log.stream().map(r -> {
+            try {
+                return r.getProvenance();
+            } catch (ProvenanceSerializationException e) {
+                throw new IllegalStateException(e);
+            }
+        }).collect(Collectors.toList());
+        assertEquals(provenances, streamed);
+        for (int i = 0; i < provenances.size(); i++) {
+            assertEquals(provenances.get(i), log.get("record-" + i).get().getProvenance());
+        }
+    }
+
+    @Test
+    public void appendAndReadTest() throws IOException, ProvenanceSerializationException {
+        for (ProvenanceSerialization serialization : List.of(new XMLProvenanceSerialization(false), new BinaryProvenanceSerialization(true))) {
+            Path path = tempDir.resolve("log-" + serialization.getFileExtension());
+            List<ObjectProvenance> provenances = generate(50);
+            List<Long> offsets = write(path, serialization, provenances.subList(0, 30));
+
+            // Reopen and append the rest
+            try (ProvenanceLog log = ProvenanceLog.open(path, serialization)) {
+                assertEquals(30, log.size());
+                for (int i = 30; i < provenances.size(); i++) {
+                    offsets.add(log.append("record-" + i, provenances.get(i)));
+                }
+                check(log, provenances);
+                for (int i = 0; i < offsets.size(); i++) {
+                    ProvenanceLog.Record record = log.read(offsets.get(i));
+                    assertEquals("record-" + i, record.getId());
+                    assertEquals(offsets.get(i), record.getOffset());
+                    assertEquals(provenances.get(i), record.getProvenance());
+                }
+                assertFalse(log.get("missing").isPresent());
+            }
+
+            try (ProvenanceLog log = ProvenanceLog.openReadOnly(path, serialization)) {
+                check(log, provenances);
+                assertThrows(IllegalStateException.class, () -> log.append("other", provenances.get(0)));
+            }
+        }
+    }
+
+    @Test
+    public void parallelStreamTest() throws IOException, ProvenanceSerializationException {
+        Path path = tempDir.resolve("parallel.log");
+        BinaryProvenanceSerialization serialization = new BinaryProvenanceSerialization(false);
+        List<ObjectProvenance> provenances = generate(500);
+        write(path, serialization, provenances);
+        try (ProvenanceLog log = ProvenanceLog.openReadOnly(path, serialization)) {
+            List<String> ids = log.stream().parallel().map(ProvenanceLog.Record::getId).collect(Collectors.toList());
+            assertEquals(500, ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                assertEquals("record-" + i, ids.get(i));
+            }
+            assertTrue(log.spliterator().trySplit() != null);
+        }
+    }
+
+    @Test
+    public void indexRecoveryTest() throws IOException, ProvenanceSerializationException {
+        Path path = tempDir.resolve("recovery.log");
+        BinaryProvenanceSerialization serialization = new BinaryProvenanceSerialization(false);
+        List<ObjectProvenance> provenances = generate(20);
+        write(path, serialization, provenances);
+        Path indexPath;
+        try (ProvenanceLog log = ProvenanceLog.open(path, serialization)) {
+            indexPath = log.getIndexPath();
+        }
+
+        // Missing index
+        Files.delete(indexPath);
+        try (ProvenanceLog log = ProvenanceLog.openReadOnly(path, serialization)) {
+            check(log, provenances);
+        }
+        assertFalse(Files.exists(indexPath));
+        try (ProvenanceLog log = ProvenanceLog.open(path, serialization)) {
+            check(log, provenances);
+        }
+        assertTrue(Files.exists(indexPath));
+
+        // Truncated index
+        long indexSize = Files.size(indexPath);
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.WRITE)) {
+            channel.truncate(indexSize - 5);
+        }
+        try (ProvenanceLog log = ProvenanceLog.open(path, serialization)) {
+            check(log, provenances);
+        }
+        assertEquals(indexSize, Files.size(indexPath));
+    }
+
+    @Test
+    public void tornWriteTest() throws IOException, ProvenanceSerializationException {
+        Path path = tempDir.resolve("torn.log");
+        BinaryProvenanceSerialization serialization = new BinaryProvenanceSerialization(false);
+        List<ObjectProvenance> provenances = generate(10);
+        write(path, serialization, provenances);
+        long size = Files.size(path);
+
+        // Simulate a crash part way through appending a record
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x4F, 0x4C, 0x50, 0x52, 0, 0, 0, 5, 0, 0}));
+        }
+        try (ProvenanceLog log = ProvenanceLog.openReadOnly(path, serialization)) {
+            check(log, provenances);
+        }
+        try (ProvenanceLog log = ProvenanceLog.open(path, serialization)) {
+            check(log, provenances);
+        }
+        assertEquals(size, Files.size(path));
+    }
+
+    @Test
+    public void corruptionTest() throws IOException, ProvenanceSerializationException {
+        Path path = tempDir.resolve("corrupt.log");
+        BinaryProvenanceSerialization serialization = new BinaryProvenanceSerialization(false);
+        List<ObjectProvenance> provenances = generate(5);
+        List<Long> offsets = write(path, serialization, provenances);
+
+        // Flip a byte in the payload of the second record
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = offsets.get(1) + 20;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, position);
+            b.put(0, (byte) (b.get(0) ^ 0xFF));
+            channel.write(b.rewind(), position);
+        }
+        try (ProvenanceLog log = ProvenanceLog.openReadOnly(path, serialization)) {
+            assertEquals(5, log.size());
+            assertEquals(provenances.get(0), log.read(offsets.get(0)).getProvenance());
+            assertThrows(ProvenanceSerializationException.class, () -> log.read(offsets.get(1)));
+            assertThrows(ProvenanceSerializationException.class, () -> log.read(offsets.get(1) + 1));
+        }
+
+        assertThrows(ProvenanceSerializationException.class, () -> ProvenanceLog.open(path, new XMLProvenanceSerialization(false)));
+    }
+}
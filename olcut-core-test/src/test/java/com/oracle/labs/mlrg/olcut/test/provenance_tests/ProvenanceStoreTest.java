@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.MapProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.Provenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.provenance.io.BinaryProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceLog;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerializationException;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.HashProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.store.ProvenanceStore;
+import com.oracle.labs.mlrg.olcut.provenance.store.Query;
+import com.oracle.labs.mlrg.olcut.test.provenance.ProvenanceTestUtils;
+import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProvenanceStoreTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private static String datasetHash(int i) {
+        return "ABCDEF0" + (i % 3);
+    }
+
+    private static double learningRate(int i) {
+        return i * 0.01;
+    }
+
+    private static int epochs(int i) {
+        return i % 5;
+    }
+
+    private static ObjectProvenance generate(int i) {
+        Map<String, Provenance> dataset = new HashMap<>();
+        dataset.put("hash", new HashProvenance(ProvenanceUtil.HashType.SHA256, "hash", datasetHash(i)));
+        dataset.put("name", new StringProvenance("name", "dataset-" + (i % 3)));
+        Map<String, Provenance> trainer = new HashMap<>();
+        trainer.put("learning-rate", new DoubleProvenance("learning-rate", learningRate(i)));
+        trainer.put("epochs", new IntProvenance("epochs", epochs(i)));
+        trainer.put("dataset", new MapProvenance<>(dataset));
+        return new SimpleObjectProvenance(new ListProvenance<>(Collections.singletonList(new MapProvenance<>(trainer))));
+    }
+
+    private static ProvenanceStore open(Path dir, int flushThreshold) throws IOException, ProvenanceSerializationException {
+        return ProvenanceStore.open(dir, new BinaryProvenanceSerialization(true), flushThreshold);
+    }
+
+    private static void add(ProvenanceStore store, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            assertEquals(i, store.add("model-" + i, generate(i)));
+        }
+    }
+
+    private static int[] expected(int numRecords, IntPredicate predicate) {
+        return IntStream.range(0, numRecords).filter(predicate).toArray();
+    }
+
+    private static void checkQueries(ProvenanceStore store, int numRecords) throws IOException {
+        assertEquals(numRecords, store.size());
+
+        assertArrayEquals(expected(numRecords, i -> true),
+                store.search(Query.term("class-name", ProvenanceTestUtils.class.getName())));
+        assertArrayEquals(expected(numRecords, i -> datasetHash(i).equals("ABCDEF01")),
+                store.search(Query.term("prov.dataset.hash", "ABCDEF01")));
+        assertArrayEquals(expected(numRecords, i -> epochs(i) == 3),
+                store.search(Query.term("prov.epochs", "3")));
+        assertArrayEquals(expected(numRecords, i -> learningRate(i) > 0.1),
+                store.search(Query.greaterThan("prov.learning-rate", 0.1)));
+        assertArrayEquals(expected(numRecords, i -> (epochs(i) >= 1) && (epochs(i) < 3)),
+                store.search(Query.range("prov.epochs", 1, true, 3, false)));
+        assertArrayEquals(expected(numRecords, i -> epochs(i) <= 1),
+                store.search(Query.atMost("prov.epochs", 1)));
+        assertEquals(0, store.search(Query.term("prov.dataset.hash", "missing")).length);
+        assertEquals(0, store.search(Query.term("missing.path", "3")).length);
+
+        // Wildcards
+        assertArrayEquals(expected(numRecords, i -> datasetHash(i).equals("ABCDEF02")),
+                store.search(Query.term("**.hash", "ABCDEF02")));
+        assertArrayEquals(expected(numRecords, i -> datasetHash(i).equals("ABCDEF02")),
+                store.search(Query.term("prov.*.hash", "ABCDEF02")));
+        assertEquals(0, store.search(Query.term("*.hash", "ABCDEF02")).length);
+        assertArrayEquals(expected(numRecords, i -> learningRate(i) >= 0.2),
+                store.search(Query.atLeast("**.learning-rate", 0.2)));
+
+        // Boolean combinations
+        IntPredicate auditPredicate = i -> datasetHash(i).equals("ABCDEF00") && (learningRate(i) > 0.1);
+        Query audit = Query.and(Query.term("**.dataset.hash", "ABCDEF00"), Query.greaterThan("**.learning-rate", 0.1));
+        assertArrayEquals(expected(numRecords, auditPredicate), store.search(audit));
+        assertEquals(IntStream.of(expected(numRecords, auditPredicate)).mapToObj(i -> "model-" + i).collect(Collectors.toList()),
+                store.searchIds(audit));
+        assertArrayEquals(expected(numRecords, i -> (epochs(i) == 0) || (epochs(i) == 4)),
+                store.search(Query.or(Query.term("prov.epochs", "0"), Query.term("prov.epochs", "4"))));
+        assertArrayEquals(expected(numRecords, i -> !datasetHash(i).equals("ABCDEF00")),
+                store.search(Query.not(Query.term("prov.dataset.hash", "ABCDEF00"))));
+        assertArrayEquals(expected(numRecords, i -> (epochs(i) == 2) && !datasetHash(i).equals("ABCDEF01")),
+                store.search(Query.and(Query.term("prov.epochs", "2"), Query.not(Query.term("prov.dataset.hash", "ABCDEF01")))));
+    }
+
+    @Test
+    public void queryTest() throws IOException, ProvenanceSerializationException {
+        try (ProvenanceStore store = open(tempDir.resolve("store"), 30)) {
+            add(store, 0, 100);
+            assertEquals(3, store.getNumSegments());
+            checkQueries(store, 100);
+            for (int i = 0; i < 100; i += 17) {
+                assertEquals("model-" + i, store.getId(i));
+                assertEquals(generate(i), store.getProvenance(i));
+            }
+        }
+    }
+
+    @Test
+    public void incrementalTest() throws IOException, ProvenanceSerializationException {
+        Path dir = tempDir.resolve("store");
+        try (ProvenanceStore store = open(dir, 1000)) {
+            add(store, 0, 50);
+            checkQueries(store, 50);
+        }
+        try (ProvenanceStore store = open(dir, 1000)) {
+            assertEquals(1, store.getNumSegments());
+            checkQueries(store, 50);
+            add(store, 50, 75);
+            checkQueries(store, 75);
+            store.flush();
+            assertEquals(2, store.getNumSegments());
+        }
+        try (ProvenanceStore store = open(dir, 1000)) {
+            checkQueries(store, 75);
+            assertEquals(generate(60), store.getProvenance(60));
+        }
+    }
+
+    @Test
+    public void reindexTest() throws IOException, ProvenanceSerializationException {
+        Path dir = tempDir.resolve("store");
+        try (ProvenanceStore store = open(dir, 1000)) {
+            add(store, 0, 20);
+        }
+        // Append records to the log without indexing them, as if the store crashed before flushing
+        try (ProvenanceLog log = ProvenanceLog.open(dir.resolve(ProvenanceStore.LOG_FILE_NAME), new BinaryProvenanceSerialization(true))) {
+            for (int i = 20; i < 45; i++) {
+                log.append("model-" + i, generate(i));
+            }
+        }
+        try (ProvenanceStore store = open(dir, 10)) {
+            checkQueries(store, 45);
+        }
+    }
+
+    @Test
+    public void compactTest() throws IOException, ProvenanceSerializationException {
+        Path dir = tempDir.resolve("store");
+        try (ProvenanceStore store = open(dir, 10)) {
+            add(store, 0, 55);
+            assertEquals(5, store.getNumSegments());
+            store.compact();
+            assertEquals(1, store.getNumSegments());
+            checkQueries(store, 55);
+        }
+        List<String> segmentFiles = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "segment-*")) {
+            stream.forEach(p -> segmentFiles.add(p.getFileName().toString()));
+        }
+        assertEquals(1, segmentFiles.size());
+
+        // Unreferenced segments are removed on open
+        Path orphan = dir.resolve("segment-999.seg");
+        Files.write(orphan, new byte[]{1, 2, 3});
+        try (ProvenanceStore store = open(dir, 10)) {
+            assertFalse(Files.exists(orphan));
+            assertTrue(Files.exists(dir.resolve(segmentFiles.get(0))));
+            checkQueries(store, 55);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.Provenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceException;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceInterner;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.provenance.io.FlatMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.io.ListMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.io.ObjectMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.io.SimpleMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
+import com.oracle.labs.mlrg.olcut.test.provenance.ProvenanceTestUtils;
+import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProvenanceUnmarshalTest {
+
+    private static final String PROV_CLASS = SimpleObjectProvenance.class.getName();
+
+    private static ObjectMarshalledProvenance object(String name, List<FlatMarshalledProvenance> elements) {
+        return new ObjectMarshalledProvenance(name, Collections.singletonMap("prov", new ListMarshalledProvenance(elements)), ProvenanceTestUtils.class.getName(), PROV_CLASS);
+    }
+
+    private static SimpleMarshalledProvenance reference(String name) {
+        return new SimpleMarshalledProvenance("prov", name, PROV_CLASS, true, "");
+    }
+
+    private static SimpleMarshalledProvenance string(String value) {
+        return new SimpleMarshalledProvenance(new StringProvenance("prov", value));
+    }
+
+    @Test
+    public void testDeepChain() {
+        int depth = 50000;
+        // Root first, each object refers to the next one.
+        List<ObjectMarshalledProvenance> marshalled = new ArrayList<>();
+        for (int i = 0; i < depth - 1; i++) {
+            marshalled.add(object("obj-" + i, Collections.singletonList(reference("obj-" + (i + 1)))));
+        }
+        marshalled.add(object("obj-" + (depth - 1), Collections.singletonList(string("leaf"))));
+
+        ObjectProvenance cur = ProvenanceUtil.unmarshalProvenance(marshalled);
+        int count = 1;
+        while (true) {
+            ListProvenance<?> list = (ListProvenance<?>) cur.iterator().next().getB();
+            Provenance child = list.getList().get(0);
+            if (child instanceof ObjectProvenance) {
+                cur = (ObjectProvenance) child;
+                count++;
+            } else {
+                assertEquals(new StringProvenance("prov", "leaf"), child);
+                break;
+            }
+        }
+        assertEquals(depth, count);
+    }
+
+    @Test
+    public void testWideGraph() {
+        int width = 500;
+        List<SimpleObjectProvenance> children = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            List<StringProvenance> leaf = new ArrayList<>();
+            leaf.add(new StringProvenance("prov", "child-" + i));
+            leaf.add(new StringProvenance("prov", "shared"));
+            children.add(new SimpleObjectProvenance(new ListProvenance<>(leaf)));
+        }
+        SimpleObjectProvenance root = new SimpleObjectProvenance(new ListProvenance<>(children));
+
+        List<ObjectMarshalledProvenance> marshalled = ProvenanceUtil.marshalProvenance(root);
+        assertEquals(width + 1, marshalled.size());
+        assertEquals(root, ProvenanceUtil.unmarshalProvenance(marshalled));
+
+        ProvenanceInterner interner = new ProvenanceInterner();
+        SimpleObjectProvenance interned = (SimpleObjectProvenance) ProvenanceUtil.unmarshalProvenance(marshalled, interner);
+        assertEquals(root, interned);
+        ListProvenance<?> first = (ListProvenance<?>) ((ObjectProvenance) ((ListProvenance<?>) interned.iterator().next().getB()).getList().get(0)).iterator().next().getB();
+        ListProvenance<?> last = (ListProvenance<?>) ((ObjectProvenance) ((ListProvenance<?>) interned.iterator().next().getB()).getList().get(width - 1)).iterator().next().getB();
+        assertSame(first.getList().get(1), last.getList().get(1));
+    }
+
+    @Test
+    public void testSharedReferences() {
+        // A diamond, both middle objects refer to the same leaf.
+        List<ObjectMarshalledProvenance> marshalled = new ArrayList<>();
+        List<FlatMarshalledProvenance> rootElements = new ArrayList<>();
+        rootElements.add(reference("left"));
+        rootElements.add(reference("right"));
+        marshalled.add(object("root", rootElements));
+        marshalled.add(object("left", Collections.singletonList(reference("leaf"))));
+        marshalled.add(object("right", Collections.singletonList(reference("leaf"))));
+        marshalled.add(object("leaf", Collections.singletonList(string("leaf"))));
+        // Unreachable objects are ignored.
+        marshalled.add(object("unused", Collections.singletonList(reference("missing"))));
+
+        ObjectProvenance root = ProvenanceUtil.unmarshalProvenance(marshalled);
+        List<?> children = ((ListProvenance<?>) root.iterator().next().getB()).getList();
+        Provenance leftLeaf = ((ListProvenance<?>) ((ObjectProvenance) children.get(0)).iterator().next().getB()).getList().get(0);
+        Provenance rightLeaf = ((ListProvenance<?>) ((ObjectProvenance) children.get(1)).iterator().next().getB()).getList().get(0);
+        assertSame(leftLeaf, rightLeaf);
+    }
+
+    @Test
+    public void testInvalidGraphs() {
+        List<ObjectMarshalledProvenance> cycle = new ArrayList<>();
+        cycle.add(object("a", Collections.singletonList(reference("b"))));
+        cycle.add(object("b", Collections.singletonList(reference("c"))));
+        cycle.add(object("c", Collections.singletonList(reference("a"))));
+        ProvenanceException e = assertThrows(ProvenanceException.class, () -> ProvenanceUtil.unmarshalProvenance(cycle));
+        assertTrue(e.getMessage().contains("refers to an object called a"), e.getMessage());
+
+        List<ObjectMarshalledProvenance> missing = new ArrayList<>();
+        missing.add(object("a", Collections.singletonList(reference("b"))));
+        assertThrows(ProvenanceException.class, () -> ProvenanceUtil.unmarshalProvenance(missing));
+
+        List<ObjectMarshalledProvenance> unknownClass = new ArrayList<>();
+        unknownClass.add(new ObjectMarshalledProvenance("a", Collections.emptyMap(), "Unknown", "com.example.UnknownProvenance"));
+        assertThrows(ProvenanceException.class, () -> ProvenanceUtil.unmarshalProvenance(unknownClass));
+
+        List<ObjectMarshalledProvenance> notProvenance = new ArrayList<>();
+        notProvenance.add(new ObjectMarshalledProvenance("a", Collections.emptyMap(), "String", String.class.getName()));
+        assertThrows(ProvenanceException.class, () -> ProvenanceUtil.unmarshalProvenance(notProvenance));
+    }
+}
@@ -48,6 +48,7 @@ import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
 import com.oracle.labs.mlrg.olcut.provenance.impl.NullConfiguredProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.io.ObjectMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.test.provenance.ExampleProvenancableConfigurable;
 import com.oracle.labs.mlrg.olcut.test.provenance.TestProvenancableConfigurable;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -101,6 +102,38 @@ public class ProvenanceUtilTest {
         assertEquals(afc, mpc.afc);
     }
 
+    @Test
+    public void testMarshalSharedSubgraphs() {
+        // Each level refers to the level below twice, so the provenance is a DAG with 2^depth paths.
+        ExampleProvenancableConfigurable cur = new ExampleProvenancableConfigurable();
+        cur.postConfig();
+        int depth = 40;
+        for (int i = 0; i < depth; i++) {
+            ExampleProvenancableConfigurable next = new ExampleProvenancableConfigurable();
+            next.doubleField = i;
+            next.examples = Arrays.asList(cur, cur);
+            next.postConfig();
+            cur = next;
+        }
+
+        List<ObjectMarshalledProvenance> marshalled = ProvenanceUtil.marshalProvenance(cur.getProvenance());
+        assertEquals(depth + 1, marshalled.size());
+        assertEquals(depth + 1, marshalled.stream().map(ObjectMarshalledProvenance::getName).distinct().count());
+
+        // Equal but distinct provenances are also shared.
+        ExampleProvenancableConfigurable first = new ExampleProvenancableConfigurable();
+        first.postConfig();
+        ExampleProvenancableConfigurable second = new ExampleProvenancableConfigurable();
+        second.postConfig();
+        ExampleProvenancableConfigurable root = new ExampleProvenancableConfigurable();
+        root.examples = Arrays.asList(first, second);
+        root.postConfig();
+        marshalled = ProvenanceUtil.marshalProvenance(root.getProvenance());
+        assertEquals(2, marshalled.size());
+        ObjectProvenance unmarshalled = ProvenanceUtil.unmarshalProvenance(marshalled);
+        assertEquals(root.getProvenance(), unmarshalled);
+    }
+
     public static class MyProvenancableClass implements Serializable {
         private static final long serialVersionUID = 1L;
         public AllFieldsConfigurable afc;
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil.HashType;
+import com.oracle.labs.mlrg.olcut.provenance.ResourceHashCache;
+import com.oracle.labs.mlrg.olcut.provenance.TreeHashState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceHashCacheTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testHashResource() throws IOException {
+        // Larger than the read buffer, and not a multiple of it
+        byte[] large = randomBytes((3 << 20) + 12345, 1);
+        Path largeFile = tempDir.resolve("large.bin");
+        Files.write(largeFile, large);
+        Path emptyFile = tempDir.resolve("empty.bin");
+        Files.write(emptyFile, new byte[0]);
+        for (HashType type : HashType.values()) {
+            assertEquals(ProvenanceUtil.hashArray(type, large), ProvenanceUtil.hashResource(type, largeFile));
+            assertEquals(ProvenanceUtil.hashArray(type, large), ProvenanceUtil.hashResource(type, largeFile.toFile()));
+            assertEquals(ProvenanceUtil.hashArray(type, large), ProvenanceUtil.hashResource(type, largeFile.toUri().toURL()));
+            assertEquals(ProvenanceUtil.hashArray(type, new byte[0]), ProvenanceUtil.hashResource(type, emptyFile));
+        }
+    }
+
+    private static byte[] sha256(byte prefix, byte[]... inputs) throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        md.update(prefix);
+        for (byte[] input : inputs) {
+            md.update(input);
+        }
+        return md.digest();
+    }
+
+    @Test
+    public void testTreeHash() throws IOException, NoSuchAlgorithmException {
+        int chunk = 4 * 1024 * 1024;
+        byte[] data = randomBytes(2 * chunk + 1000, 6);
+        Path file = tempDir.resolve("tree.bin");
+        Files.write(file, data);
+
+        // Three leaves, the first two are combined and the third is promoted
+        byte[] first = sha256((byte) 0, Arrays.copyOfRange(data, 0, chunk));
+        byte[] second = sha256((byte) 0, Arrays.copyOfRange(data, chunk, 2 * chunk));
+        byte[] third = sha256((byte) 0, Arrays.copyOfRange(data, 2 * chunk, data.length));
+        byte[] root = sha256((byte) 1, sha256((byte) 1, first, second), third);
+        String expected = ProvenanceUtil.bytesToHexString(root);
+
+        // The parallel file hash and the sequential digest agree
+        assertEquals(expected, ProvenanceUtil.hashResource(HashType.SHA256_TREE, file));
+        assertEquals(expected, ProvenanceUtil.hashArray(HashType.SHA256_TREE, data));
+        assertNotEquals(ProvenanceUtil.hashArray(HashType.SHA256, data), expected);
+
+        // Exactly two chunks
+        byte[] exact = Arrays.copyOf(data, 2 * chunk);
+        Path exactFile = tempDir.resolve("exact.bin");
+        Files.write(exactFile, exact);
+        String exactHash = ProvenanceUtil.bytesToHexString(sha256((byte) 1, first, second));
+        assertEquals(exactHash, ProvenanceUtil.hashResource(HashType.SHA256_TREE, exactFile));
+        assertEquals(exactHash, ProvenanceUtil.hashArray(HashType.SHA256_TREE, exact));
+
+        // The empty input is a single empty leaf
+        assertEquals(ProvenanceUtil.bytesToHexString(sha256((byte) 0)), ProvenanceUtil.hashArray(HashType.SHA256_TREE, new byte[0]));
+        assertTrue(HashType.SHA256_TREE.isTree());
+        assertFalse(HashType.SHA256.isTree());
+    }
+
+    @Test
+    public void testTreeHashResume() throws IOException {
+        int chunk = 4 * 1024 * 1024;
+        byte[] data = randomBytes(2 * chunk + 1000, 7);
+        Path file = tempDir.resolve("resume.bin");
+        Files.write(file, data);
+        String expected = ProvenanceUtil.hashResource(HashType.SHA256_TREE, file);
+
+        // Only complete chunks are hashed, and the state survives saving and restoring
+        TreeHashState state = TreeHashState.empty().update(file, chunk + 10);
+        assertEquals(1, state.getNumLeaves());
+        assertEquals(chunk, state.getOffset());
+        TreeHashState restored = TreeHashState.fromBytes(state.toBytes());
+        assertEquals(1, restored.getNumLeaves());
+        assertEquals(expected, restored.finish(file));
+
+        // The incomplete final chunk is left for finish
+        TreeHashState full = restored.update(file, Long.MAX_VALUE);
+        assertEquals(2, full.getNumLeaves());
+        assertEquals(expected, full.finish(file));
+        assertEquals(expected, TreeHashState.empty().finish(file));
+        Path emptyFile = tempDir.resolve("empty.bin");
+        Files.write(emptyFile, new byte[0]);
+        assertEquals(ProvenanceUtil.hashArray(HashType.SHA256_TREE, new byte[0]), TreeHashState.empty().finish(emptyFile));
+
+        // A file shorter than the state can't be resumed
+        Path shortFile = tempDir.resolve("short.bin");
+        Files.write(shortFile, Arrays.copyOf(data, chunk - 1));
+        assertThrows(IOException.class, () -> full.finish(shortFile));
+        assertThrows(IllegalArgumentException.class, () -> TreeHashState.fromBytes(Arrays.copyOf(full.toBytes(), 20)));
+    }
+
+    @Test
+    public void testCache() throws IOException {
+        byte[] data = randomBytes(100000, 2);
+        Path file = tempDir.resolve("data.bin");
+        Files.write(file, data);
+        Path cacheDir = tempDir.resolve("cache");
+        ResourceHashCache cache = new ResourceHashCache(cacheDir);
+
+        assertFalse(cache.get(HashType.SHA256, file).isPresent());
+        String hash = cache.hash(HashType.SHA256, file);
+        assertEquals(ProvenanceUtil.hashArray(HashType.SHA256, data), hash);
+        assertEquals(hash, cache.hash(HashType.SHA256, file));
+        assertEquals(hash, cache.get(HashType.SHA256, file).get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getLookupCount());
+
+        // Hash types are cached separately
+        assertFalse(cache.get(HashType.MD5, file).isPresent());
+        assertEquals(ProvenanceUtil.hashArray(HashType.MD5, data), cache.hash(HashType.MD5, file));
+
+        // Another cache on the same directory (e.g., in another process) sees the entries
+        ResourceHashCache other = new ResourceHashCache(cacheDir);
+        assertEquals(hash, other.get(HashType.SHA256, file).get());
+
+        // Modifying the file invalidates the entry
+        byte[] newData = randomBytes(100000, 3);
+        Files.write(file, newData);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5000));
+        assertFalse(cache.get(HashType.SHA256, file).isPresent());
+        String newHash = cache.hash(HashType.SHA256, file);
+        assertNotEquals(hash, newHash);
+        assertEquals(ProvenanceUtil.hashArray(HashType.SHA256, newData), newHash);
+        assertEquals(newHash, other.get(HashType.SHA256, file).get());
+
+        cache.invalidate(HashType.SHA256, file);
+        assertFalse(cache.get(HashType.SHA256, file).isPresent());
+    }
+
+    @Test
+    public void testExtendedAttributes() throws IOException {
+        byte[] data = randomBytes(5000, 4);
+        Path file = tempDir.resolve("xattr.bin");
+        Files.write(file, data);
+        // Extended attributes may not be supported, in which case only the directory is used
+        ResourceHashCache cache = new ResourceHashCache(tempDir.resolve("xattr-cache"), true);
+        String hash = cache.hash(HashType.SHA1, file);
+        assertEquals(ProvenanceUtil.hashArray(HashType.SHA1, data), hash);
+        assertEquals(hash, cache.get(HashType.SHA1, file).get());
+    }
+
+    @Test
+    public void testProvenanceUtilCache() throws IOException {
+        byte[] data = randomBytes(20000, 5);
+        Path file = tempDir.resolve("util.bin");
+        Files.write(file, data);
+        ResourceHashCache previous = ProvenanceUtil.getHashCache().orElse(null);
+        ResourceHashCache cache = new ResourceHashCache(tempDir.resolve("util-cache"));
+        try {
+            ProvenanceUtil.setHashCache(cache);
+            String hash = ProvenanceUtil.hashResource(HashType.SHA512, file);
+            assertEquals(hash, ProvenanceUtil.hashResource(HashType.SHA512, file.toFile()));
+            assertEquals(hash, ProvenanceUtil.hashResource(HashType.SHA512, file.toUri().toURL()));
+            assertEquals(ProvenanceUtil.hashArray(HashType.SHA512, data), hash);
+            assertEquals(3, cache.getLookupCount());
+            assertEquals(2, cache.getHitCount());
+            assertTrue(ProvenanceUtil.getHashCache().isPresent());
+        } finally {
+            ProvenanceUtil.setHashCache(previous);
+        }
+    }
+}
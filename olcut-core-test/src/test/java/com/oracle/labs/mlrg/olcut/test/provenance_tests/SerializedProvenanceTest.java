@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.test.provenance_tests;
+
+import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.provenance.ConfiguredObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.PrimitiveProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.impl.SkeletalConfiguredObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.io.BinaryProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.io.SerializedProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
+import com.oracle.labs.mlrg.olcut.test.config.AllFieldsConfigurable;
+import com.oracle.labs.mlrg.olcut.test.provenance.ExampleProvenancableConfigurable;
+import com.oracle.labs.mlrg.olcut.test.provenance.SimpleObjectProvenance;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.oracle.labs.mlrg.olcut.config.ConfigurationManager.createModuleResourceString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SerializedProvenanceTest {
+
+    private static byte[] serialize(Object o) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        }
+    }
+
+    private static AllFieldsConfigurable loadAllFields() {
+        ConfigurationManager cm = new ConfigurationManager(createModuleResourceString(SerializedProvenanceTest.class, "/com/oracle/labs/mlrg/olcut/test/config_tests/allConfig.xml"));
+        return (AllFieldsConfigurable) cm.lookup("all-config");
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        ObjectProvenance prov = loadAllFields().getProvenance();
+        byte[] bytes = serialize(prov);
+        Object output = deserialize(bytes);
+        assertEquals(prov.getClass(), output.getClass());
+        assertEquals(prov, output);
+
+        // Written via the proxy, and smaller than the default form
+        try (InputStream is = SerializedProvenanceTest.class.getResourceAsStream("legacy-provenance.ser")) {
+            assertNotNull(is);
+            assertTrue(bytes.length < is.readAllBytes().length / 2, "Expected the compact form to be less than half the size, found " + bytes.length);
+        }
+
+        // Shared references within the stream are preserved
+        List<ObjectProvenance> list = new ArrayList<>();
+        list.add(prov);
+        list.add(prov);
+        @SuppressWarnings("unchecked")
+        List<ObjectProvenance> outputList = (List<ObjectProvenance>) deserialize(serialize(list));
+        assertEquals(prov, outputList.get(0));
+        assertSame(outputList.get(0), outputList.get(1));
+    }
+
+    @Test
+    public void testReplace() throws Exception {
+        ExampleProvenancableConfigurable e = new ExampleProvenancableConfigurable();
+        e.postConfig();
+        ObjectProvenance prov = e.getProvenance();
+        Object replaced = SerializedProvenance.replace(prov);
+        assertTrue(replaced instanceof SerializedProvenance);
+        assertEquals(prov, deserialize(serialize(replaced)));
+
+        // Provenances which can't be unmarshalled use the default serialized form
+        List<PrimitiveProvenance<?>> elements = new ArrayList<>();
+        elements.add(new StringProvenance("prov", "a"));
+        elements.add(new CustomProvenance("prov", "b"));
+        SimpleObjectProvenance custom = new SimpleObjectProvenance(new ListProvenance<>(elements));
+        assertSame(custom, SerializedProvenance.replace(custom));
+        assertEquals(custom, deserialize(serialize(SerializedProvenance.replace(custom))));
+
+        // Provenance classes without a Map constructor use the default serialized form
+        NoMapConstructorProvenance noMap = new NoMapConstructorProvenance(e);
+        assertSame(noMap, SerializedProvenance.replace(noMap));
+        Object output = deserialize(serialize(noMap));
+        assertEquals(NoMapConstructorProvenance.class, output.getClass());
+        assertEquals(noMap, output);
+    }
+
+    @Test
+    public void testCorruptLength() throws Exception {
+        ExampleProvenancableConfigurable e = new ExampleProvenancableConfigurable();
+        e.postConfig();
+        ObjectProvenance prov = e.getProvenance();
+        byte[] bytes = serialize(SerializedProvenance.replace(prov));
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        new BinaryProvenanceSerialization(false).serialize(prov, payload);
+        byte[] payloadBytes = payload.toByteArray();
+        assertTrue(payloadBytes.length < 1024, "Payload must fit in one block, found " + payloadBytes.length);
+        int n = payloadBytes.length;
+        int offset = indexOf(bytes, new byte[]{0, 0, (byte) (n >>> 8), (byte) n}) + 4;
+        assertTrue(offset >= 4);
+        // Replace the payload length with a huge value, reading must fail without allocating it.
+        bytes[offset - 4] = 0x7f;
+        bytes[offset - 3] = (byte) 0xff;
+        bytes[offset - 2] = (byte) 0xff;
+        bytes[offset - 1] = (byte) 0xff;
+        assertThrows(InvalidObjectException.class, () -> deserialize(bytes));
+    }
+
+    private static int indexOf(byte[] array, byte[] target) {
+        outer:
+        for (int i = 0; i <= array.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (array[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    @Test
+    public void testLegacyStream() throws Exception {
+        // Written with the default serialized form by OLCUT before the proxy and array provenances were added
+        byte[] legacy;
+        try (InputStream is = SerializedProvenanceTest.class.getResourceAsStream("legacy-provenance.ser")) {
+            assertNotNull(is);
+            legacy = is.readAllBytes();
+        }
+        ConfiguredObjectProvenance prov = (ConfiguredObjectProvenance) deserialize(legacy);
+        // Primitive arrays were recorded as lists of primitive provenances
+        assertTrue(prov.getConfiguredParameters().get("intArrayField") instanceof ListProvenance);
+        ConfiguredObjectProvenance current = loadAllFields().getProvenance();
+        assertTrue(current.getConfiguredParameters().get("intArrayField") instanceof IntArrayProvenance);
+        assertEquals(current, prov);
+        assertEquals(prov, current);
+        assertEquals(current.hashCode(), prov.hashCode());
+        assertEquals(current.fingerprint(), prov.fingerprint());
+    }
+
+    /**
+     * A provenance class which can't be unmarshalled as it doesn't have a Map constructor.
+     */
+    public static final class NoMapConstructorProvenance extends SkeletalConfiguredObjectProvenance {
+        private static final long serialVersionUID = 1L;
+
+        public NoMapConstructorProvenance(ExampleProvenancableConfigurable host) {
+            super(host, "Example");
+        }
+    }
+
+    /**
+     * A primitive provenance type unknown to the marshalling code.
+     */
+    public static final class CustomProvenance implements PrimitiveProvenance<String> {
+        private static final long serialVersionUID = 1L;
+        private final String key;
+        private final String value;
+
+        public CustomProvenance(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CustomProvenance)) return false;
+            CustomProvenance that = (CustomProvenance) o;
+            return key.equals(that.key) && value.equals(that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+}
@@ -33,12 +33,20 @@ package com.oracle.labs.mlrg.olcut.config;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoader;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriter;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriterException;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
 import com.oracle.labs.mlrg.olcut.config.property.Property;
 import com.oracle.labs.mlrg.olcut.config.property.SimpleProperty;
+import com.oracle.labs.mlrg.olcut.util.ArrayMap;
 import com.oracle.labs.mlrg.olcut.util.Util;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
@@ -60,19 +68,46 @@ import java.util.stream.IntStream;
 /**
  * Carrier for property data. Principally a {@link Map} from {@link String} to {@link Property}, and
  * a class name.
+ * <p>
+ * The properties are stored in an immutable {@link ArrayMap}, so copies share their property storage.
+ * Properties added by {@link #add} are staged in a mutable map and frozen into the ArrayMap when
+ * the properties are next read. The name, class name and property names are interned.
+ * <p>
+ * The serialized form is the same as in earlier releases, with the properties written as a {@link HashMap}.
  */
 public final class ConfigurationData implements Serializable {
     private static final Logger logger = Logger.getLogger(ConfigurationData.class.getName());
 
     private static final long serialVersionUID = 1L;
 
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("name", String.class),
+            new ObjectStreamField("className", String.class),
+            new ObjectStreamField("properties", Map.class),
+            new ObjectStreamField("serializedForm", String.class),
+            new ObjectStreamField("exportable", boolean.class),
+            new ObjectStreamField("importable", boolean.class),
+            new ObjectStreamField("leaseTime", long.class),
+            new ObjectStreamField("entriesName", String.class)
+    };
+
     public static final long DEFAULT_LEASE_TIME = -1;
 
     private final String name;
 
     private final String className;
 
-    private final Map<String, Property> properties;
+    private ArrayMap<Property> properties;
+
+    /**
+     * Properties added since the last read, or null if there aren't any.
+     */
+    private transient volatile Map<String, Property> staged;
+
+    /**
+     * The instance read from a serialized stream.
+     */
+    private transient ConfigurationData deserialized;
     
     /**
      * A URL for a resource indicating from where the component can be
@@ -146,9 +181,9 @@ public final class ConfigurationData implements Serializable {
      * @param leaseTime How long before the Jini registrar needs to have the object renewed.
      */
     public ConfigurationData(String name, String className, Map<String, Property> properties, String serializedForm, String entriesName, boolean exportable, boolean importable, long leaseTime) {
-        this.name = name;
-        this.className = className;
-        this.properties = new HashMap<>(properties);
+        this.name = name == null ? null : name.intern();
+        this.className = className == null ? null : className.intern();
+        this.properties = ArrayMap.copyOf(properties);
         this.serializedForm = serializedForm;
         this.entriesName = entriesName;
         this.exportable = exportable;
@@ -162,8 +197,27 @@ public final class ConfigurationData implements Serializable {
      * @param propName  the name of the property
      * @param propValue the value of the property
      */
-    public void add(String propName, Property propValue) {
-        properties.put(propName, propValue);
+    public synchronized void add(String propName, Property propValue) {
+        if (staged == null) {
+            staged = new HashMap<>(properties);
+        }
+        staged.put(propName, propValue);
+    }
+
+    /**
+     * Freezes any staged properties into the property map and returns it.
+     * @return The properties.
+     */
+    private ArrayMap<Property> frozen() {
+        if (staged != null) {
+            synchronized (this) {
+                if (staged != null) {
+                    properties = ArrayMap.copyOf(staged);
+                    staged = null;
+                }
+            }
+        }
+        return properties;
     }
 
     /** @return Returns the className. */
@@ -222,7 +276,7 @@ public final class ConfigurationData implements Serializable {
 
     /** @return Returns an unmodifiable view on the properties. */
     public Map<String, Property> getProperties() {
-        return Collections.unmodifiableMap(properties);
+        return frozen();
     }
 
     /**
@@ -232,7 +286,7 @@ public final class ConfigurationData implements Serializable {
      * @return The {@link Optional#of} the property value or optional empty.
      */
     public Optional<Property> get(String propertyName) {
-        Property value = properties.get(propertyName);
+        Property value = frozen().get(propertyName);
         if (value == null) {
             return Optional.empty();
         } else {
@@ -247,16 +301,16 @@ public final class ConfigurationData implements Serializable {
      * @return true if the map already contains this property
      */
     public boolean contains(String propName) {
-        return properties.containsKey(propName);
+        return frozen().containsKey(propName);
     }
 
     /**
-     * Copies this ConfigurationData. The copy is disconnected from the original as
-     * it contains a different map (though all the elements are immutable and the same references).
+     * Copies this ConfigurationData. The copy is disconnected from the original, as adding
+     * a property replaces the (immutable) property map rather than modifying it.
      * @return A copy of this object.
      */
     public ConfigurationData copy() {
-        return new ConfigurationData(name,className,properties,serializedForm,entriesName,exportable,importable,leaseTime);
+        return new ConfigurationData(name,className,frozen(),serializedForm,entriesName,exportable,importable,leaseTime);
     }
 
     @Override
@@ -269,14 +323,14 @@ public final class ConfigurationData implements Serializable {
                 leaseTime == that.leaseTime &&
                 name.equals(that.name) &&
                 className.equals(that.className) &&
-                properties.equals(that.properties) &&
+                frozen().equals(that.frozen()) &&
                 Objects.equals(serializedForm, that.serializedForm) &&
                 Objects.equals(entriesName, that.entriesName);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, className, properties, serializedForm, exportable, importable, leaseTime, entriesName);
+        return Objects.hash(name, className, frozen(), serializedForm, exportable, importable, leaseTime, entriesName);
     }
 
     @Override
@@ -284,7 +338,7 @@ public final class ConfigurationData implements Serializable {
         return "ConfigurationData(" +
                 "name='" + name + '\'' +
                 ", className='" + className + '\'' +
-                ", properties=" + properties +
+                ", properties=" + frozen() +
                 ", serializedForm='" + serializedForm + '\'' +
                 ", exportable=" + exportable +
                 ", importable=" + importable +
@@ -293,6 +347,35 @@ public final class ConfigurationData implements Serializable {
                 ')';
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("name", name);
+        fields.put("className", className);
+        fields.put("properties", new HashMap<>(frozen()));
+        fields.put("serializedForm", serializedForm);
+        fields.put("exportable", exportable);
+        fields.put("importable", importable);
+        fields.put("leaseTime", leaseTime);
+        fields.put("entriesName", entriesName);
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked") // The properties field is always a Map<String,Property>.
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        Map<String, Property> props = (Map<String, Property>) fields.get("properties", null);
+        if (props == null) {
+            throw new InvalidObjectException("Missing properties");
+        }
+        deserialized = new ConfigurationData((String) fields.get("name", null), (String) fields.get("className", null),
+                props, (String) fields.get("serializedForm", null), (String) fields.get("entriesName", null),
+                fields.get("exportable", false), fields.get("importable", false), fields.get("leaseTime", DEFAULT_LEASE_TIME));
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        return deserialized;
+    }
+
     /**
      * Supporting class for {@link ConfigurationData#structuralEquals(List, List, String, String)}. This class defines
      * equality semantics for an instance of {@link ConfigurationData} by checking className equality and checking for
@@ -320,13 +403,14 @@ public final class ConfigurationData implements Serializable {
             this.listProperties = new HashMap<>();
             this.listClassProperties = new HashMap<>();
             this.mapProperties = new HashMap<>();
-            for(Map.Entry<String, Property> propertyEntry: referencedCD.properties.entrySet()) {
+            for(Map.Entry<String, Property> propertyEntry: referencedCD.getProperties().entrySet()) {
                 String propName = propertyEntry.getKey();
                 Property prop = propertyEntry.getValue();
                 if(prop instanceof SimpleProperty) {
                     this.simpleProperties.put(propName, new DerefedProperty(contextMap, (SimpleProperty) prop, propName, ""));
-                } else if (prop instanceof ListProperty) {
-                    ListProperty listProperty = (ListProperty) prop;
+                } else if ((prop instanceof ListProperty) || (prop instanceof ArrayProperty)) {
+                    // Packed arrays are compared as lists so they match the same values written as a propertylist
+                    ListProperty listProperty = prop instanceof ArrayProperty ? ((ArrayProperty) prop).toListProperty() : (ListProperty) prop;
                     this.listProperties.put(propName,
                             IntStream.range(0, listProperty.getSimpleList().size())
                                     .mapToObj(i ->
@@ -669,7 +753,7 @@ public final class ConfigurationData implements Serializable {
         }
 
         Map<String,Property> writtenProperties = new HashMap<>();
-        for (Map.Entry<String,Property> p : properties.entrySet()) {
+        for (Map.Entry<String,Property> p : frozen().entrySet()) {
             if (!redactedFields.contains(p.getKey())) {
                 writtenProperties.put(p.getKey(),p.getValue());
             }
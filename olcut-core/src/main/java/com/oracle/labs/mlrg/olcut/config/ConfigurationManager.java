@@ -29,10 +29,12 @@
 package com.oracle.labs.mlrg.olcut.config;
 
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoaderException;
+import com.oracle.labs.mlrg.olcut.config.io.ConfigSource;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriter;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriterException;
 import com.oracle.labs.mlrg.olcut.config.io.FileFormatFactory;
 import com.oracle.labs.mlrg.olcut.config.io.URLLoader;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.GlobalProperties;
 import com.oracle.labs.mlrg.olcut.config.property.GlobalProperty;
 import com.oracle.labs.mlrg.olcut.config.property.ImmutableGlobalProperties;
@@ -212,8 +214,14 @@ public class ConfigurationManager implements Closeable {
 
     private final LinkedList<URL> configURLs = new LinkedList<>();
 
+    private final List<ConfigSource> configSources = new ArrayList<>();
+
+    private final Set<String> removedSourceComponents = new HashSet<>();
+
     private String[] unnamedArguments = new String[0];
 
+    private int packedArrayThreshold = Integer.MAX_VALUE;
+
     private String usage;
 
     private MBeanServer mbs;
@@ -1176,13 +1184,13 @@ public class ConfigurationManager implements Closeable {
      * @param value The value to set it to.
      */
     public void overrideConfigurableProperty(String componentName, String propertyName, Property value) {
-        ConfigurationData rpd = configurationDataMap.get(componentName);
+        ConfigurationData rpd = getOrLoadConfigurationData(componentName);
         if (rpd != null) {
             if (!symbolTable.containsKey(componentName)) {
                 StoredFieldType type = getStoredFieldType(rpd.getClassName(), propertyName);
                 if ((type == StoredFieldType.STRING) && (value instanceof SimpleProperty)) {
                     rpd.add(propertyName, value);
-                } else if ((type == StoredFieldType.LIST) && (value instanceof ListProperty)) {
+                } else if ((type == StoredFieldType.LIST) && ((value instanceof ListProperty) || (value instanceof ArrayProperty))) {
                     rpd.add(propertyName, value);
                 } else if ((type == StoredFieldType.MAP) && (value instanceof MapProperty)) {
                     rpd.add(propertyName, value);
@@ -1223,7 +1231,7 @@ public class ConfigurationManager implements Closeable {
      * associated with the given instance name.
      */
     public Optional<ConfigurationData> getConfigurationData(String instanceName) {
-        ConfigurationData data = configurationDataMap.get(instanceName);
+        ConfigurationData data = getOrLoadConfigurationData(instanceName);
         if (data == null) {
             return Optional.empty();
         } else {
@@ -1239,7 +1247,52 @@ public class ConfigurationManager implements Closeable {
      * @return True if it contains a {@link Configurable} called instanceName.
      */
     public boolean containsConfigurable(String instanceName) {
-        return configurationDataMap.containsKey(instanceName);
+        if (configurationDataMap.containsKey(instanceName)) {
+            return true;
+        } else if (!removedSourceComponents.contains(instanceName)) {
+            for (ConfigSource source : configSources) {
+                if (source.contains(instanceName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a {@link ConfigSource} which is consulted when a component is requested
+     * which isn't present in this configuration manager.
+     * <p>
+     * Components are loaded from the source on first use, and then stored in this
+     * configuration manager. Sources are consulted in the order they were added,
+     * and components already known to the configuration manager take precedence.
+     * Only {@link #getComponentNames()}, {@link #listAll(Class)} and the single component
+     * lookups consult sources, the bulk lookup methods operate on the loaded components.
+     * @param source The source to add.
+     */
+    public void addConfigSource(ConfigSource source) {
+        configSources.add(source);
+    }
+
+    /**
+     * Gets the configuration data for the supplied instance name, loading it from a
+     * {@link ConfigSource} if it's not already present.
+     * @param instanceName The instance name.
+     * @return The configuration data, or null if it's not found.
+     */
+    private ConfigurationData getOrLoadConfigurationData(String instanceName) {
+        ConfigurationData data = configurationDataMap.get(instanceName);
+        if ((data == null) && !removedSourceComponents.contains(instanceName)) {
+            for (ConfigSource source : configSources) {
+                Optional<ConfigurationData> loaded = source.getConfigurationData(instanceName);
+                if (loaded.isPresent()) {
+                    data = loaded.get();
+                    configurationDataMap.put(instanceName, data);
+                    break;
+                }
+            }
+        }
+        return data;
     }
 
     /**
@@ -1269,7 +1322,7 @@ public class ConfigurationManager implements Closeable {
         if(!symbolTable.containsKey(instanceName)) {
             // if it is not in the symbol table, so construct
             // it based upon our raw property data
-            ConfigurationData rpd = configurationDataMap.get(instanceName);
+            ConfigurationData rpd = getOrLoadConfigurationData(instanceName);
             if(rpd != null) {
                 String className = rpd.getClassName();
                 try {
@@ -1320,7 +1373,15 @@ public class ConfigurationManager implements Closeable {
      * @return all component named registered to this instance of <code>ConfigurationManager</code>
      */
     public Set<String> getComponentNames() {
-        return new HashSet<>(configurationDataMap.keySet());
+        Set<String> names = new HashSet<>(configurationDataMap.keySet());
+        for (ConfigSource source : configSources) {
+            for (String name : source.getComponentNames()) {
+                if (!removedSourceComponents.contains(name)) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
     }
 
     /**
@@ -1655,6 +1716,27 @@ public class ConfigurationManager implements Closeable {
             }
         }
 
+        //
+        // Check the names in the config sources which haven't been loaded yet.
+        Set<String> seen = new HashSet<>(configurationDataMap.keySet());
+        seen.addAll(removedSourceComponents);
+        for (ConfigSource source : configSources) {
+            for (String name : source.getComponentNames()) {
+                if (seen.add(name)) {
+                    String className = source.getClassName(name).orElse(null);
+                    try {
+                        Class<?> pclass = Class.forName(className);
+                        if (c.isAssignableFrom(pclass)) {
+                            ret.add(name);
+                        }
+                    } catch(ClassNotFoundException ex) {
+                        logger.warning(String.format("No class %s found in ConfigurationManager",
+                                className));
+                    }
+                }
+            }
+        }
+
         return ret;
     }
 
@@ -1683,8 +1765,14 @@ public class ConfigurationManager implements Closeable {
      * @return <code>true</code> if a configurable was removed, or <code>false</code> otherwise.
      */
     public boolean removeConfigurable(String name) {
-        if (configurationDataMap.containsKey(name)) {
+        if (containsConfigurable(name)) {
             configurationDataMap.remove(name);
+            for (ConfigSource source : configSources) {
+                if (source.contains(name)) {
+                    removedSourceComponents.add(name);
+                    break;
+                }
+            }
 
             if (symbolTable.containsKey(name)) {
                 PropertySheet<? extends Configurable> ps = symbolTable.remove(name);
@@ -1748,6 +1836,7 @@ public class ConfigurationManager implements Closeable {
             throw new IllegalArgumentException("tried to override existing instantiated component name");
         }
 
+        removedSourceComponents.remove(instanceName);
         configurationDataMap.put(instanceName, newData);
     }
 
@@ -1819,6 +1908,32 @@ public class ConfigurationManager implements Closeable {
         }
     }
 
+    /**
+     * Sets the minimum length at which primitive array fields are exported
+     * as packed {@link ArrayProperty}s by {@link #importConfigurable}.
+     * <p>
+     * Shorter arrays are exported as {@link ListProperty}s, which are human readable
+     * and can be loaded by older versions of OLCUT. Packing is disabled by default.
+     *
+     * @param packedArrayThreshold The minimum array length to pack, use 0 to pack all
+     *                             primitive arrays and {@link Integer#MAX_VALUE} to disable packing.
+     */
+    public void setPackedArrayThreshold(int packedArrayThreshold) {
+        if (packedArrayThreshold < 0) {
+            throw new IllegalArgumentException("Packed array threshold must be non-negative, found " + packedArrayThreshold);
+        }
+        this.packedArrayThreshold = packedArrayThreshold;
+    }
+
+    /**
+     * Gets the minimum length at which primitive array fields are exported as packed
+     * {@link ArrayProperty}s.
+     * @return The packed array threshold.
+     */
+    public int getPackedArrayThreshold() {
+        return packedArrayThreshold;
+    }
+
     protected String getStrippedComponentName(String propertyName) {
         assert propertyName != null;
 
@@ -2104,48 +2219,15 @@ public class ConfigurationManager implements Closeable {
                             Class<?> arrayComponentType = fieldClass.getComponentType();
                             if (Configurable.class.isAssignableFrom(arrayComponentType)) {
                                 m.put(propertyName, importCollection(Configurable.class, name, propertyName, Arrays.asList((Configurable[]) field.get(configurable))));
-                            } else {
-                                List<String> stringList = new ArrayList<>();
+                            } else if (String.class.isAssignableFrom(arrayComponentType)) {
+                                m.put(propertyName, ListProperty.createFromStringList(Arrays.asList((String[]) field.get(configurable))));
+                            } else if (arrayComponentType.isPrimitive()) {
                                 //
-                                // Primitive array
-                                if (byte.class.isAssignableFrom(arrayComponentType)) {
-                                    for (byte b : (byte[]) field.get(configurable)) {
-                                        stringList.add("" + b);
-                                    }
-                                } else if (char.class.isAssignableFrom(arrayComponentType)) {
-                                    for (char c : (char[]) field.get(configurable)) {
-                                        stringList.add("" + c);
-                                    }
-                                } else if (short.class.isAssignableFrom(arrayComponentType)) {
-                                    for (short s : (short[]) field.get(configurable)) {
-                                        stringList.add("" + s);
-                                    }
-                                } else if (int.class.isAssignableFrom(arrayComponentType)) {
-                                    for (int i : (int[]) field.get(configurable)) {
-                                        stringList.add("" + i);
-                                    }
-                                } else if (long.class.isAssignableFrom(arrayComponentType)) {
-                                    for (long l : (long[]) field.get(configurable)) {
-                                        stringList.add("" + l);
-                                    }
-                                } else if (float.class.isAssignableFrom(arrayComponentType)) {
-                                    for (float f : (float[]) field.get(configurable)) {
-                                        stringList.add("" + f);
-                                    }
-                                } else if (double.class.isAssignableFrom(arrayComponentType)) {
-                                    for (double d : (double[]) field.get(configurable)) {
-                                        stringList.add("" + d);
-                                    }
-                                } else if (boolean.class.isAssignableFrom(arrayComponentType)) {
-                                    for (boolean b : (boolean[]) field.get(configurable)) {
-                                        stringList.add("" + b);
-                                    }
-                                } else if (String.class.isAssignableFrom(arrayComponentType)) {
-                                    stringList.addAll(Arrays.asList((String[]) field.get(configurable)));
-                                } else {
-                                    throw new PropertyException(name, "Unsupported array type " + fieldClass.toString());
-                                }
-                                m.put(propertyName, ListProperty.createFromStringList(stringList));
+                                // Large primitive arrays are stored packed if requested, otherwise as a list of Strings.
+                                ArrayProperty array = ArrayProperty.fromArray(field.get(configurable));
+                                m.put(propertyName, array.size() >= packedArrayThreshold ? array : array.toListProperty());
+                            } else {
+                                throw new PropertyException(name, "Unsupported array type " + fieldClass.toString());
                             }
                         } else if (FieldType.mapTypes.contains(ft)) {
                             @SuppressWarnings("unchecked")
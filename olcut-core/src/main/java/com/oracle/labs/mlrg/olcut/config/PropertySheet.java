@@ -69,10 +69,10 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
 import com.oracle.labs.mlrg.olcut.config.property.Property;
-import com.oracle.labs.mlrg.olcut.config.property.SimpleProperty;
 import com.oracle.labs.mlrg.olcut.util.IOUtil;
 
 import javax.management.MBeanServer;
@@ -424,12 +424,18 @@ public class PropertySheet<T extends Configurable> {
                 //
                 // We'll handle things that have list or arrays with items separately.
                 if (FieldType.arrayTypes.contains(ft)) {
-                    ListProperty vals = (ListProperty) ps.propValues.get(f.getName());
-                    f.set(o, parseArrayField(ps.getConfigurationManager(), ps.getInstanceName(), f.getName(), f.getType(), ft, vals));
+                    Property prop = ps.propValues.get(f.getName());
+                    if (prop instanceof ArrayProperty) {
+                        f.set(o, parseArrayField(ps.getInstanceName(), f.getName(), f.getType(), (ArrayProperty) prop));
+                    } else {
+                        ListProperty vals = (ListProperty) prop;
+                        f.set(o, parseArrayField(ps.getConfigurationManager(), ps.getInstanceName(), f.getName(), f.getType(), ft, vals));
+                    }
                 } else if (FieldType.listTypes.contains(ft)) {
                     List<Class<?>> genericList = getGenericClass(f);
                     if (genericList.size() == 1) {
-                        ListProperty vals = (ListProperty) ps.propValues.get(f.getName());
+                        Property prop = ps.propValues.get(f.getName());
+                        ListProperty vals = prop instanceof ArrayProperty ? ((ArrayProperty) prop).toListProperty() : (ListProperty) prop;
                         f.set(o, parseListField(ps.getConfigurationManager(), ps.getInstanceName(), f.getName(), f.getType(), genericList.get(0), ft, vals));
                     } else {
                         f.setAccessible(accessible);
@@ -483,8 +489,8 @@ public class PropertySheet<T extends Configurable> {
         FieldType genericft = FieldType.getFieldType(genericType);
         if (genericft != null) {
             Map<String,Object> map = new HashMap<>();
-            for (Map.Entry<String, SimpleProperty> e : input.getMap().entrySet()) {
-                String newVal = cm.getImmutableGlobalProperties().replaceGlobalProperties(instanceName, fieldName, e.getValue().getValue());
+            for (Map.Entry<String, String> e : input.getStringMap().entrySet()) {
+                String newVal = cm.getImmutableGlobalProperties().replaceGlobalProperties(instanceName, fieldName, e.getValue());
                 map.put(e.getKey(), parseSimpleField(cm, instanceName, fieldName, genericType, genericft, newVal));
             }
             return map;
@@ -493,6 +499,25 @@ public class PropertySheet<T extends Configurable> {
         }
     }
 
+    /**
+     * Injects a packed array into a primitive array field.
+     * <p>
+     * Packed arrays do not support global property substitution, and the element
+     * type must exactly match the field type.
+     * @param instanceName The component name.
+     * @param fieldName The field name.
+     * @param fieldClass The field type.
+     * @param input The packed array.
+     * @return A fresh primitive array.
+     */
+    static Object parseArrayField(String instanceName, String fieldName, Class<?> fieldClass, ArrayProperty input) {
+        if (input.getType().getArrayClass() != fieldClass) {
+            throw new PropertyException(instanceName, fieldName, "Packed array of type " + input.getType().getTypeName()
+                    + " can't be assigned to a field of type " + fieldClass.getSimpleName());
+        }
+        return input.getArray();
+    }
+
     @SuppressWarnings("unchecked")
     static Object parseArrayField(ConfigurationManager cm, String instanceName, String fieldName, Class<?> fieldClass, FieldType ft, ListProperty input) {
         //
@@ -502,8 +527,8 @@ public class PropertySheet<T extends Configurable> {
         List<String> replaced = new ArrayList<>();
         List<Class<?>> removeList = new ArrayList<>();
         List<Class<?>> classVals = new ArrayList<>(input.getClassList());
-        for (SimpleProperty val : input.getSimpleList()) {
-            replaced.add(cm.getImmutableGlobalProperties().replaceGlobalProperties(instanceName, fieldName, val.getValue()));
+        for (String val : input.getStringList()) {
+            replaced.add(cm.getImmutableGlobalProperties().replaceGlobalProperties(instanceName, fieldName, val));
         }
 
         //
@@ -645,8 +670,8 @@ public class PropertySheet<T extends Configurable> {
         List<String> replaced = new ArrayList<>();
         List<Class<?>> removeList = new ArrayList<>();
         List<Class<?>> classVals = new ArrayList<>(input.getClassList());
-        for (SimpleProperty val : input.getSimpleList()) {
-            replaced.add(cm.getImmutableGlobalProperties().replaceGlobalProperties(instanceName, fieldName, val.getValue()));
+        for (String val : input.getStringList()) {
+            replaced.add(cm.getImmutableGlobalProperties().replaceGlobalProperties(instanceName, fieldName, val));
         }
 
         //
@@ -895,8 +920,8 @@ public class PropertySheet<T extends Configurable> {
      * Gets the raw value associated with this name
      *
      * @param name the name
-     * @return the value as an object (it could be a SimpleProperty, a ListProperty, or a MapProperty
-     * depending upon the property type)
+     * @return the value as an object (it could be a SimpleProperty, a ListProperty, a MapProperty,
+     * or an ArrayProperty depending upon the property type)
      */
     public Property getProperty(String name) {
         return propValues.get(name);
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.config.io;
+
+import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
+import com.oracle.labs.mlrg.olcut.config.SerializedObject;
+import com.oracle.labs.mlrg.olcut.config.property.GlobalProperties;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An opt-in, JVM-wide cache of parsed configuration files.
+ * <p>
+ * When enabled, {@link URLLoader} consults this cache before invoking the format specific
+ * {@link ConfigLoader}s. Entries are keyed on the list of URLs supplied to the loader, and
+ * record every URL which was read while parsing them (including any files pulled in via
+ * {@code <file>} elements). An entry is only reused if all of those URLs are unchanged,
+ * as judged by the current {@link Validation} mode.
+ * <p>
+ * The cached {@link ConfigurationData}, {@link GlobalProperties} and {@link SerializedObject}
+ * declarations are never handed out directly. Each loader receives fresh maps containing
+ * shallow copies which share the immutable {@link com.oracle.labs.mlrg.olcut.config.property.Property}
+ * instances, so modifications made by a {@link com.oracle.labs.mlrg.olcut.config.ConfigurationManager}
+ * (e.g., command line overrides) stay local to that manager.
+ * <p>
+ * The cache is disabled by default, and can be enabled either programmatically via
+ * {@link #setEnabled(boolean)} or by setting the system property {@value #ENABLE_PROPERTY} to true.
+ */
+public final class ConfigCache {
+    private static final Logger logger = Logger.getLogger(ConfigCache.class.getName());
+
+    /**
+     * The system property which enables the cache at startup.
+     */
+    public static final String ENABLE_PROPERTY = "olcut.config.cache";
+
+    /**
+     * The ways a cached entry can be checked against the underlying resources.
+     */
+    public enum Validation {
+        /**
+         * Compares the modification time and size of file URLs, falling back to
+         * a content hash for other URL protocols.
+         */
+        TIMESTAMP,
+        /**
+         * Compares a hash of the resource contents for all URLs.
+         */
+        CONTENT_HASH
+    }
+
+    private static final Map<List<String>, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+
+    private static final AtomicLong misses = new AtomicLong();
+
+    private static volatile boolean enabled = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean(ENABLE_PROPERTY));
+
+    private static volatile Validation validation = Validation.TIMESTAMP;
+
+    private ConfigCache() {}
+
+    /**
+     * Turns the cache on or off. Turning it off also empties it.
+     * @param enable True if the cache should be used.
+     */
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+        if (!enable) {
+            clear();
+        }
+    }
+
+    /**
+     * Is the cache currently in use?
+     * @return True if the cache is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the validation mode used for new entries. Entries created under a different
+     * mode are treated as stale.
+     * @param newValidation The validation mode.
+     */
+    public static void setValidation(Validation newValidation) {
+        validation = newValidation;
+    }
+
+    /**
+     * Gets the current validation mode.
+     * @return The validation mode.
+     */
+    public static Validation getValidation() {
+        return validation;
+    }
+
+    /**
+     * Removes all entries from the cache, and resets the hit and miss counters.
+     */
+    public static void clear() {
+        cache.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * The number of cached entries.
+     * @return The number of entries.
+     */
+    public static int size() {
+        return cache.size();
+    }
+
+    /**
+     * The number of loads which were satisfied by the cache.
+     * @return The hit count.
+     */
+    public static long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * The number of loads which had to invoke the parser.
+     * @return The miss count.
+     */
+    public static long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Builds the cache key for a list of URLs.
+     * @param urls The URLs.
+     * @return The key.
+     */
+    static List<String> key(List<URL> urls) {
+        List<String> key = new ArrayList<>(urls.size());
+        for (URL u : urls) {
+            key.add(u.toExternalForm());
+        }
+        return Collections.unmodifiableList(key);
+    }
+
+    /**
+     * Copies a valid cached entry for the supplied key into the output containers.
+     * @param key The cache key.
+     * @param rpdMap The configuration data output.
+     * @param serializedObjects The serialized object output.
+     * @param globalProperties The global properties output.
+     * @return True if the entry was present and valid, false otherwise.
+     */
+    static boolean restore(List<String> key, Map<String, ConfigurationData> rpdMap,
+                           Map<String, SerializedObject> serializedObjects, GlobalProperties globalProperties) {
+        CacheEntry entry = cache.get(key);
+        if ((entry == null) || !entry.isValid()) {
+            if (entry != null) {
+                cache.remove(key, entry);
+            }
+            misses.incrementAndGet();
+            return false;
+        }
+        for (Map.Entry<String, ConfigurationData> e : entry.data.entrySet()) {
+            rpdMap.put(e.getKey(), e.getValue().copy());
+        }
+        for (SerializedObject<?> o : entry.serializedObjects) {
+            serializedObjects.put(o.getName(), new SerializedObject<>(o.getName(), o.getLocation(), o.getClassName()));
+        }
+        globalProperties.putAll(entry.globalProperties);
+        hits.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Stores a freshly parsed configuration in the cache.
+     * <p>
+     * Each loaded URL is stamped again and compared against the stamp taken before
+     * it was parsed, so a resource modified during parsing isn't cached under a
+     * fresh stamp. If any of the loaded URLs can't be stamped, or was modified,
+     * then the configuration is not cached.
+     * @param key The cache key.
+     * @param loadedURLs Every URL read while parsing.
+     * @param stamper The stamper used to stamp each URL before it was parsed.
+     * @param rpdMap The parsed configuration data.
+     * @param serializedObjects The parsed serialized objects.
+     * @param globalProperties The parsed global properties.
+     */
+    static void store(List<String> key, List<URL> loadedURLs, Stamper stamper, Map<String, ConfigurationData> rpdMap,
+                      Map<String, SerializedObject> serializedObjects, GlobalProperties globalProperties) {
+        List<String> stamps = new ArrayList<>(loadedURLs.size());
+        for (int i = 0; i < loadedURLs.size(); i++) {
+            URL u = loadedURLs.get(i);
+            String before = stamper.stamps.get(i);
+            String after = stamp(u, stamper.validation);
+            if ((before == null) || !before.equals(after)) {
+                logger.log(Level.FINE, "Not caching configuration as " + u + " was modified while it was parsed");
+                return;
+            }
+            stamps.add(after);
+        }
+        Map<String, ConfigurationData> data = new HashMap<>();
+        for (Map.Entry<String, ConfigurationData> e : rpdMap.entrySet()) {
+            data.put(e.getKey(), e.getValue().copy());
+        }
+        List<SerializedObject<?>> objects = new ArrayList<>();
+        for (SerializedObject<?> o : serializedObjects.values()) {
+            objects.add(new SerializedObject<>(o.getName(), o.getLocation(), o.getClassName()));
+        }
+        cache.put(key, new CacheEntry(stamper.validation, new ArrayList<>(loadedURLs), stamps, data, objects,
+                new GlobalProperties(globalProperties)));
+    }
+
+    /**
+     * Computes a stamp describing the current state of the resource.
+     * @param url The resource.
+     * @param validation The validation mode.
+     * @return The stamp, or null if the resource couldn't be inspected.
+     */
+    private static String stamp(URL url, Validation validation) {
+        if ((validation == Validation.TIMESTAMP) && url.getProtocol().equals("file")) {
+            try {
+                Path path = Paths.get(url.toURI());
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                return "t:" + attrs.lastModifiedTime().toMillis() + ":" + attrs.size();
+            } catch (URISyntaxException | IOException | IllegalArgumentException e) {
+                logger.log(Level.FINE, "Failed to read attributes of " + url, e);
+                return null;
+            }
+        }
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[16384];
+            int count;
+            try (InputStream is = new BufferedInputStream(url.openStream())) {
+                while ((count = is.read(buffer)) > 0) {
+                    md.update(buffer, 0, count);
+                }
+            }
+            return "h:" + Base64.getEncoder().encodeToString(md.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            logger.log(Level.FINE, "Failed to hash " + url, e);
+            return null;
+        }
+    }
+
+    /**
+     * Records the stamps of resources before they are parsed, using the validation
+     * mode in force when loading started.
+     */
+    static final class Stamper {
+        final Validation validation = ConfigCache.validation;
+        final List<String> stamps = new ArrayList<>();
+
+        /**
+         * Stamps the resource, this must be called before the resource is read.
+         * @param url The resource about to be parsed.
+         */
+        void stamp(URL url) {
+            stamps.add(ConfigCache.stamp(url, validation));
+        }
+    }
+
+    /**
+     * A single parsed configuration along with the stamps of the resources it was read from.
+     */
+    private static final class CacheEntry {
+        final Validation validation;
+        final List<URL> sources;
+        final List<String> stamps;
+        final Map<String, ConfigurationData> data;
+        final List<SerializedObject<?>> serializedObjects;
+        final GlobalProperties globalProperties;
+
+        CacheEntry(Validation validation, List<URL> sources, List<String> stamps, Map<String, ConfigurationData> data,
+                   List<SerializedObject<?>> serializedObjects, GlobalProperties globalProperties) {
+            this.validation = validation;
+            this.sources = sources;
+            this.stamps = stamps;
+            this.data = data;
+            this.serializedObjects = serializedObjects;
+            this.globalProperties = globalProperties;
+        }
+
+        boolean isValid() {
+            if (validation != ConfigCache.validation) {
+                return false;
+            }
+            for (int i = 0; i < sources.size(); i++) {
+                if (!stamps.get(i).equals(stamp(sources.get(i), validation))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
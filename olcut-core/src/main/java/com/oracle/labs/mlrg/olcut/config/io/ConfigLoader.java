@@ -41,6 +41,7 @@ public interface ConfigLoader {
     public static final String PROPERTY = "property";
     public static final String PROPERTYLIST = "propertylist";
     public static final String PROPERTYMAP = "propertymap";
+    public static final String PROPERTYARRAY = "propertyarray";
     public static final String NAME = "name";
     public static final String KEY = "key";
     public static final String VALUE = "value";
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.config.io;
+
+import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A source of {@link ConfigurationData} which is consulted by a
+ * {@link com.oracle.labs.mlrg.olcut.config.ConfigurationManager} when it
+ * is asked for a component it has not already loaded.
+ * <p>
+ * This allows very large sets of component definitions to be loaded on demand
+ * rather than eagerly parsed into the configuration manager. Sources should be
+ * able to answer {@link #getComponentNames} and {@link #getClassName} without
+ * loading the full component definition.
+ * <p>
+ * Implementations must be thread safe, as a single source may be shared
+ * between multiple configuration managers.
+ */
+public interface ConfigSource {
+
+    /**
+     * Returns the names of all the components this source can supply.
+     * @return The component names.
+     */
+    public Set<String> getComponentNames();
+
+    /**
+     * Returns the class name of the named component, without loading the
+     * rest of its definition if possible.
+     * @param name The component name.
+     * @return The class name, or {@link Optional#empty} if the component is unknown.
+     */
+    public Optional<String> getClassName(String name);
+
+    /**
+     * Loads the named component.
+     * <p>
+     * Each call returns a fresh copy, so the caller is free to modify it.
+     * @param name The component name.
+     * @return The configuration, or {@link Optional#empty} if the component is unknown.
+     * @throws ConfigLoaderException If the component's definition could not be read.
+     */
+    public Optional<ConfigurationData> getConfigurationData(String name) throws ConfigLoaderException;
+
+    /**
+     * Does this source know about the named component?
+     * @param name The component name.
+     * @return True if the component can be supplied by this source.
+     */
+    default public boolean contains(String name) {
+        return getClassName(name).isPresent();
+    }
+}
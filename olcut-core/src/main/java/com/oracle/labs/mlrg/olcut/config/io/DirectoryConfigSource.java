@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.config.io;
+
+import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
+import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link ConfigSource} backed by a directory tree of configuration files.
+ * <p>
+ * Each file may contain one or more component definitions in any format with a registered
+ * {@link FileFormatFactory}. The names and classes of the components are recorded in an
+ * index file ({@value #INDEX_FILE_NAME}) at the root of the tree, which is built on first
+ * use if it's not present. Component definitions are only parsed when first requested,
+ * after which they are cached in this source.
+ * <p>
+ * The index is not updated automatically when files are added or removed, use
+ * {@link #buildIndex(Path)} or the rebuild flag on the constructor to refresh it.
+ * Global properties and serialized objects declared in the component files are ignored.
+ */
+public final class DirectoryConfigSource implements ConfigSource {
+    private static final Logger logger = Logger.getLogger(DirectoryConfigSource.class.getName());
+
+    /**
+     * The name of the index file written into the root of the directory tree.
+     */
+    public static final String INDEX_FILE_NAME = "olcut-component-index.txt";
+
+    private static final String INDEX_HEADER = "# OLCUT component index - name, class name, relative path";
+
+    private final Path root;
+
+    private final Map<String, IndexEntry> index;
+
+    private final Map<String, ConfigurationData> loaded = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a source from the supplied directory, building the index if it doesn't exist.
+     * @param root The root of the directory tree.
+     * @throws ConfigLoaderException If the index could not be read or built.
+     */
+    public DirectoryConfigSource(Path root) throws ConfigLoaderException {
+        this(root, false);
+    }
+
+    /**
+     * Creates a source from the supplied directory.
+     * @param root The root of the directory tree.
+     * @param rebuildIndex If true rebuild the index even if one exists.
+     * @throws ConfigLoaderException If the index could not be read or built.
+     */
+    public DirectoryConfigSource(Path root, boolean rebuildIndex) throws ConfigLoaderException {
+        if (!Files.isDirectory(root)) {
+            throw new ConfigLoaderException("Config source root " + root + " is not a directory");
+        }
+        this.root = root;
+        Path indexPath = root.resolve(INDEX_FILE_NAME);
+        if (rebuildIndex || !Files.exists(indexPath)) {
+            buildIndex(root);
+        }
+        this.index = Collections.unmodifiableMap(readIndex(indexPath));
+    }
+
+    /**
+     * The root of the directory tree.
+     * @return The root directory.
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public Set<String> getComponentNames() {
+        return index.keySet();
+    }
+
+    @Override
+    public Optional<String> getClassName(String name) {
+        IndexEntry entry = index.get(name);
+        return entry == null ? Optional.empty() : Optional.of(entry.className);
+    }
+
+    @Override
+    public boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    @Override
+    public Optional<ConfigurationData> getConfigurationData(String name) throws ConfigLoaderException {
+        IndexEntry entry = index.get(name);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        ConfigurationData data = loaded.get(name);
+        if (data == null) {
+            Path file = root.resolve(entry.path);
+            for (Map.Entry<String, ConfigurationData> e : parseFile(file).entrySet()) {
+                IndexEntry other = index.get(e.getKey());
+                if ((other != null) && other.path.equals(entry.path)) {
+                    loaded.putIfAbsent(e.getKey(), e.getValue());
+                }
+            }
+            data = loaded.get(name);
+            if (data == null) {
+                throw new ConfigLoaderException("Component " + name + " is listed in the index but was not found in " + file + ", the index is stale");
+            }
+        }
+        return Optional.of(data.copy());
+    }
+
+    /**
+     * Scans the directory tree, parsing every file with a registered format, and writes
+     * the component index into the root.
+     * <p>
+     * If a component name appears in multiple files the last one in path order wins.
+     * @param root The root of the directory tree.
+     * @throws ConfigLoaderException If a file could not be parsed or the index could not be written.
+     */
+    public static void buildIndex(Path root) throws ConfigLoaderException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().equals(INDEX_FILE_NAME))
+                    .filter(p -> ConfigurationManager.getFileFormatFactory(getExtension(p)) != null)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new ConfigLoaderException(e, "Failed to scan config source directory " + root);
+        }
+
+        Path indexPath = root.resolve(INDEX_FILE_NAME);
+        Path tmpPath = root.resolve(INDEX_FILE_NAME + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmpPath, StandardCharsets.UTF_8)) {
+            writer.write(INDEX_HEADER);
+            writer.newLine();
+            for (Path file : files) {
+                String relativePath = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                for (ConfigurationData data : parseFile(file).values()) {
+                    writer.write(data.getName());
+                    writer.write('\t');
+                    writer.write(data.getClassName());
+                    writer.write('\t');
+                    writer.write(relativePath);
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new ConfigLoaderException(e, "Failed to write config source index " + tmpPath);
+        }
+        try {
+            Files.move(tmpPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ConfigLoaderException(e, "Failed to move config source index into place at " + indexPath);
+        }
+        logger.fine("Indexed " + files.size() + " files under " + root);
+    }
+
+    /**
+     * Reads the index file.
+     * @param indexPath The index file.
+     * @return A map from component name to index entry.
+     * @throws ConfigLoaderException If the index could not be read.
+     */
+    private static Map<String, IndexEntry> readIndex(Path indexPath) throws ConfigLoaderException {
+        Map<String, IndexEntry> output = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(indexPath, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] split = line.split("\t");
+                if (split.length != 3) {
+                    throw new ConfigLoaderException("Malformed line " + lineNumber + " in config source index " + indexPath);
+                }
+                output.put(split[0], new IndexEntry(split[1], split[2]));
+            }
+        } catch (IOException e) {
+            throw new ConfigLoaderException(e, "Failed to read config source index " + indexPath);
+        }
+        return output;
+    }
+
+    /**
+     * Parses a single configuration file.
+     * @param file The file to parse.
+     * @return The components defined in that file.
+     * @throws ConfigLoaderException If the file could not be parsed.
+     */
+    private static Map<String, ConfigurationData> parseFile(Path file) throws ConfigLoaderException {
+        String extension = getExtension(file);
+        FileFormatFactory factory = ConfigurationManager.getFileFormatFactory(extension);
+        if (factory == null) {
+            throw new ConfigLoaderException("No file format registered for '" + extension + "', can't load " + file);
+        }
+        URL url;
+        try {
+            url = file.toUri().toURL();
+        } catch (MalformedURLException e) {
+            throw new ConfigLoaderException(e, "Failed to convert " + file + " into a URL");
+        }
+        Queue<URL> queue = new ArrayDeque<>();
+        queue.add(url);
+        // Supplying an (empty) existing map keeps these files out of the ConfigCache,
+        // as the source keeps its own cache of the components it has loaded.
+        URLLoader loader = new URLLoader(queue, Collections.singletonMap(extension, factory), Collections.emptyMap());
+        loader.load();
+        return loader.getPropertyMap();
+    }
+
+    /**
+     * Returns the lowercased file extension of the path.
+     * @param path The path.
+     * @return The extension, or the empty string if there isn't one.
+     */
+    private static String getExtension(Path path) {
+        String filename = path.getFileName().toString();
+        int i = filename.lastIndexOf('.');
+        return i > 0 ? filename.substring(i+1).toLowerCase() : "";
+    }
+
+    /**
+     * An entry in the component index.
+     */
+    private static final class IndexEntry {
+        final String className;
+        final String path;
+
+        IndexEntry(String className, String path) {
+            this.className = className;
+            this.path = path;
+        }
+    }
+}
@@ -35,7 +35,9 @@ import com.oracle.labs.mlrg.olcut.config.property.GlobalProperties;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 
@@ -68,16 +70,42 @@ public class URLLoader {
         this.existingRPD = existingRPD;
     }
 
+    /**
+     * Loads all the URLs in the queue, along with any URLs added while processing them.
+     * <p>
+     * If the {@link ConfigCache} is enabled, and this loader doesn't depend on
+     * previously loaded configuration, then the parsed result is restored from
+     * (or recorded in) the cache.
+     * @throws ConfigLoaderException If a configuration file is malformed.
+     */
     public void load() throws ConfigLoaderException {
+        boolean useCache = ConfigCache.isEnabled() && (existingRPD == null) && !urlQueue.isEmpty();
+        List<String> key = null;
+        if (useCache) {
+            key = ConfigCache.key(new ArrayList<>(urlQueue));
+            if (ConfigCache.restore(key,rpdMap,serializedObjects,globalProperties)) {
+                urlQueue.clear();
+                return;
+            }
+        }
+        List<URL> loadedURLs = new ArrayList<>();
+        ConfigCache.Stamper stamper = useCache ? new ConfigCache.Stamper() : null;
         URL curURL;
         while (!urlQueue.isEmpty()) {
             curURL = urlQueue.poll();
+            loadedURLs.add(curURL);
+            if (useCache) {
+                stamper.stamp(curURL);
+            }
             String filename = curURL.getFile();
             int i = filename.lastIndexOf('.');
             String extension = i > 0 ? filename.substring(i+1).toLowerCase() : "";
             ConfigLoader loader = getLoader(extension);
             loader.load(curURL);
         }
+        if (useCache) {
+            ConfigCache.store(key,loadedURLs,stamper,rpdMap,serializedObjects,globalProperties);
+        }
     }
 
     public void addURL(URL url) {
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.config.property;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An ArrayProperty is a container for a primitive array.
+ * <p>
+ * The values are stored packed into a little-endian byte array, and are
+ * injected directly into primitive array fields without being converted
+ * to and from Strings. In XML and JSON the packed bytes are written as base64,
+ * in protobuf they are written as a bytes field.
+ */
+public final class ArrayProperty implements Property {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The element types which can be stored in an ArrayProperty.
+     */
+    public enum ElementType {
+        BOOLEAN(1, boolean[].class),
+        BYTE(1, byte[].class),
+        CHAR(2, char[].class),
+        SHORT(2, short[].class),
+        INT(4, int[].class),
+        LONG(8, long[].class),
+        FLOAT(4, float[].class),
+        DOUBLE(8, double[].class);
+
+        private final int width;
+        private final Class<?> arrayClass;
+
+        ElementType(int width, Class<?> arrayClass) {
+            this.width = width;
+            this.arrayClass = arrayClass;
+        }
+
+        /**
+         * The number of bytes used to store each element.
+         * @return The element width.
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * The primitive array class this element type is stored in.
+         * @return The array class.
+         */
+        public Class<?> getArrayClass() {
+            return arrayClass;
+        }
+
+        /**
+         * The name used for this type in configuration files.
+         * @return The lowercase name.
+         */
+        public String getTypeName() {
+            return name().toLowerCase(Locale.US);
+        }
+
+        /**
+         * Looks up the element type from the name used in configuration files.
+         * @param name The type name.
+         * @return The element type.
+         * @throws IllegalArgumentException If the name is not a known type.
+         */
+        public static ElementType fromTypeName(String name) {
+            return ElementType.valueOf(name.toUpperCase(Locale.US));
+        }
+
+        /**
+         * Looks up the element type for a primitive array class.
+         * @param arrayClass The array class.
+         * @return The element type, or null if the class isn't a supported primitive array.
+         */
+        public static ElementType fromArrayClass(Class<?> arrayClass) {
+            for (ElementType t : values()) {
+                if (t.arrayClass == arrayClass) {
+                    return t;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final ElementType type;
+
+    private final byte[] data;
+
+    private ArrayProperty(ElementType type, byte[] data) {
+        this.type = type;
+        this.data = data;
+    }
+
+    /**
+     * The element type of this array.
+     * @return The element type.
+     */
+    public ElementType getType() {
+        return type;
+    }
+
+    /**
+     * The number of elements in this array.
+     * @return The number of elements.
+     */
+    public int size() {
+        return data.length / type.width;
+    }
+
+    /**
+     * Returns a fresh primitive array containing the values, of the type given by {@link ElementType#getArrayClass()}.
+     * @return A primitive array.
+     */
+    public Object getArray() {
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        int size = size();
+        switch (type) {
+            case BOOLEAN: {
+                boolean[] output = new boolean[size];
+                for (int i = 0; i < size; i++) {
+                    output[i] = data[i] != 0;
+                }
+                return output;
+            }
+            case BYTE:
+                return data.clone();
+            case CHAR: {
+                char[] output = new char[size];
+                buffer.asCharBuffer().get(output);
+                return output;
+            }
+            case SHORT: {
+                short[] output = new short[size];
+                buffer.asShortBuffer().get(output);
+                return output;
+            }
+            case INT: {
+                int[] output = new int[size];
+                buffer.asIntBuffer().get(output);
+                return output;
+            }
+            case LONG: {
+                long[] output = new long[size];
+                buffer.asLongBuffer().get(output);
+                return output;
+            }
+            case FLOAT: {
+                float[] output = new float[size];
+                buffer.asFloatBuffer().get(output);
+                return output;
+            }
+            case DOUBLE: {
+                double[] output = new double[size];
+                buffer.asDoubleBuffer().get(output);
+                return output;
+            }
+            default:
+                throw new IllegalStateException("Unknown element type " + type);
+        }
+    }
+
+    /**
+     * Returns a copy of the packed little-endian bytes.
+     * @return The packed bytes.
+     */
+    public byte[] toBytes() {
+        return data.clone();
+    }
+
+    /**
+     * Returns the packed little-endian bytes encoded in base64.
+     * @return The base64 encoded values.
+     */
+    public String toBase64() {
+        return Base64.getEncoder().encodeToString(data);
+    }
+
+    /**
+     * Returns the values as Strings, in the format expected by {@link ListProperty}.
+     * <p>
+     * This is used by config formats which don't support packed arrays.
+     * @return A list of Strings.
+     */
+    public List<String> getStringList() {
+        Object array = getArray();
+        int size = size();
+        List<String> output = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            output.add(String.valueOf(Array.get(array, i)));
+        }
+        return Collections.unmodifiableList(output);
+    }
+
+    /**
+     * Converts this array into an equivalent {@link ListProperty}.
+     * @return A ListProperty containing the values as Strings.
+     */
+    public ListProperty toListProperty() {
+        return ListProperty.createFromStringList(getStringList(), Collections.emptyList());
+    }
+
+    @Override
+    public ArrayProperty copy() {
+        // The data array is never modified or exposed so it can be shared.
+        return new ArrayProperty(type, data);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ArrayProperty)) return false;
+        ArrayProperty that = (ArrayProperty) o;
+        return type == that.type && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        return getStringList().toString();
+    }
+
+    /**
+     * Creates an ArrayProperty from the supplied primitive array.
+     * @param array The primitive array.
+     * @return An ArrayProperty.
+     * @throws IllegalArgumentException If the argument is not a supported primitive array.
+     */
+    public static ArrayProperty fromArray(Object array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array must not be null");
+        }
+        ElementType type = ElementType.fromArrayClass(array.getClass());
+        if (type == null) {
+            throw new IllegalArgumentException("Unsupported array type " + array.getClass().getName());
+        }
+        int size = Array.getLength(array);
+        ByteBuffer buffer = ByteBuffer.allocate(size * type.width).order(ByteOrder.LITTLE_ENDIAN);
+        switch (type) {
+            case BOOLEAN:
+                boolean[] booleans = (boolean[]) array;
+                for (int i = 0; i < size; i++) {
+                    buffer.put(booleans[i] ? (byte) 1 : (byte) 0);
+                }
+                break;
+            case BYTE:
+                buffer.put((byte[]) array);
+                break;
+            case CHAR:
+                buffer.asCharBuffer().put((char[]) array);
+                break;
+            case SHORT:
+                buffer.asShortBuffer().put((short[]) array);
+                break;
+            case INT:
+                buffer.asIntBuffer().put((int[]) array);
+                break;
+            case LONG:
+                buffer.asLongBuffer().put((long[]) array);
+                break;
+            case FLOAT:
+                buffer.asFloatBuffer().put((float[]) array);
+                break;
+            case DOUBLE:
+                buffer.asDoubleBuffer().put((double[]) array);
+                break;
+            default:
+                throw new IllegalStateException("Unknown element type " + type);
+        }
+        return new ArrayProperty(type, buffer.array());
+    }
+
+    /**
+     * Creates an ArrayProperty from packed little-endian bytes.
+     * @param type The element type.
+     * @param bytes The packed bytes, which are copied.
+     * @return An ArrayProperty.
+     * @throws IllegalArgumentException If the number of bytes is not a multiple of the element width.
+     */
+    public static ArrayProperty fromBytes(ElementType type, byte[] bytes) {
+        if (bytes.length % type.width != 0) {
+            throw new IllegalArgumentException("Found " + bytes.length + " bytes, which is not a multiple of the width of " + type.getTypeName());
+        }
+        return new ArrayProperty(type, bytes.clone());
+    }
+
+    /**
+     * Creates an ArrayProperty from base64 encoded packed little-endian bytes.
+     * @param typeName The element type name, e.g., "double".
+     * @param base64 The base64 encoded bytes, whitespace is ignored.
+     * @return An ArrayProperty.
+     * @throws IllegalArgumentException If the type is unknown, the base64 is invalid,
+     *                                  or the number of bytes is not a multiple of the element width.
+     */
+    public static ArrayProperty fromBase64(String typeName, String base64) {
+        ElementType type = ElementType.fromTypeName(typeName.trim());
+        byte[] bytes = Base64.getMimeDecoder().decode(base64.trim());
+        if (bytes.length % type.width != 0) {
+            throw new IllegalArgumentException("Found " + bytes.length + " bytes, which is not a multiple of the width of " + typeName);
+        }
+        return new ArrayProperty(type, bytes);
+    }
+}
@@ -28,55 +28,98 @@
 
 package com.oracle.labs.mlrg.olcut.config.property;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.ObjectStreamField;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.logging.Logger;
+import java.util.RandomAccess;
 
 /**
  * A ListProperty is a container for two lists, one of {@link SimpleProperty} instances and
  * one of {@link Class} instances. The Class instances are used to look up all instances of that class and
  * insert them into the field.
+ * <p>
+ * The values are stored packed into a String array, and {@link SimpleProperty} instances are only
+ * created on demand by {@link #getSimpleList()}. Code which only needs the values should
+ * use {@link #getStringList()}.
+ * <p>
+ * The serialized form is the same as in earlier releases, a list of {@link SimpleProperty} and a list of classes.
  */
 public final class ListProperty implements Property {
     private static final long serialVersionUID = 1L;
 
-    private static final Logger logger = Logger.getLogger(ListProperty.class.getName());
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("simpleList", List.class),
+            new ObjectStreamField("classList", List.class)
+    };
 
-    private final List<SimpleProperty> simpleList;
+    private static final String[] EMPTY_STRINGS = new String[0];
 
-    private final List<Class<?>> classList;
+    private static final Class<?>[] EMPTY_CLASSES = new Class<?>[0];
+
+    private final String[] values;
+
+    private final Class<?>[] classes;
+
+    /**
+     * The instance read from a serialized stream.
+     */
+    private transient ListProperty deserialized;
 
     public ListProperty(List<SimpleProperty> simpleList, List<Class<?>> classList) {
-        this.simpleList = Collections.unmodifiableList(simpleList);
-        this.classList = Collections.unmodifiableList(classList);
+        this(unwrap(simpleList), classList.isEmpty() ? EMPTY_CLASSES : classList.toArray(EMPTY_CLASSES));
     }
 
     public ListProperty(List<SimpleProperty> simpleList) {
-        this.simpleList = Collections.unmodifiableList(simpleList);
-        this.classList = Collections.emptyList();
+        this(unwrap(simpleList), EMPTY_CLASSES);
     }
 
+    private ListProperty(String[] values, Class<?>[] classes) {
+        this.values = values;
+        this.classes = classes;
+    }
+
+    /**
+     * Returns the values as a list of {@link SimpleProperty}. The SimpleProperty instances
+     * are created on access.
+     * @return An unmodifiable list of the values.
+     */
     public List<SimpleProperty> getSimpleList() {
-        return simpleList;
+        return new SimpleListView();
+    }
+
+    /**
+     * Returns the values as a list of Strings.
+     * @return An unmodifiable list of the values.
+     */
+    public List<String> getStringList() {
+        return values.length == 0 ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(values));
     }
 
     public List<Class<?>> getClassList() {
-        return classList;
+        return classes.length == 0 ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(classes));
+    }
+
+    /**
+     * The number of values in this list, not including the classes.
+     * @return The number of values.
+     */
+    public int size() {
+        return values.length;
     }
 
     @Override
     public ListProperty copy() {
-        ArrayList<SimpleProperty> newSimpleList = new ArrayList<>();
-        for (SimpleProperty p : simpleList) {
-            newSimpleList.add(p.copy());
-        }
-        if (classList.isEmpty()) {
-            return new ListProperty(newSimpleList);
-        } else {
-            return new ListProperty(newSimpleList, new ArrayList<>(classList));
-        }
+        // The arrays are never modified so they can be shared.
+        return new ListProperty(values, classes);
     }
 
     @Override
@@ -84,27 +127,83 @@ public final class ListProperty implements Property {
         if (this == o) return true;
         if (!(o instanceof ListProperty)) return false;
         ListProperty that = (ListProperty) o;
-        return getSimpleList().equals(that.getSimpleList()) &&
-                getClassList().equals(that.getClassList());
+        return Arrays.equals(values, that.values) &&
+                Arrays.equals(classes, that.classes);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getSimpleList(), getClassList());
+        return Objects.hash(getStringList(), getClassList());
     }
 
     @Override
     public String toString() {
-        return "[" + simpleList.toString() + ", " + classList.toString() + "]";
+        return "[" + getStringList().toString() + ", " + getClassList().toString() + "]";
     }
 
     public static ListProperty createFromStringList(List<String> stringList) {
-        List<SimpleProperty> output = new ArrayList<>();
+        return new ListProperty(stringList.isEmpty() ? EMPTY_STRINGS : stringList.toArray(EMPTY_STRINGS), EMPTY_CLASSES);
+    }
+
+    /**
+     * Creates a ListProperty from the supplied values and classes without wrapping
+     * each value in a {@link SimpleProperty}.
+     * @param stringList The values.
+     * @param classList The classes.
+     * @return A ListProperty.
+     */
+    public static ListProperty createFromStringList(List<String> stringList, List<Class<?>> classList) {
+        return new ListProperty(stringList.isEmpty() ? EMPTY_STRINGS : stringList.toArray(EMPTY_STRINGS),
+                classList.isEmpty() ? EMPTY_CLASSES : classList.toArray(EMPTY_CLASSES));
+    }
+
+    private static String[] unwrap(List<SimpleProperty> simpleList) {
+        if (simpleList.isEmpty()) {
+            return EMPTY_STRINGS;
+        }
+        String[] output = new String[simpleList.size()];
+        int i = 0;
+        for (SimpleProperty p : simpleList) {
+            output[i] = p.getValue();
+            i++;
+        }
+        return output;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("simpleList", new ArrayList<>(getSimpleList()));
+        fields.put("classList", new ArrayList<>(getClassList()));
+        out.writeFields();
+    }
 
-        for (String s : stringList) {
-            output.add(new SimpleProperty(s));
+    @SuppressWarnings("unchecked") // The fields are always a List<SimpleProperty> and a List<Class<?>>.
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        List<SimpleProperty> simpleList = (List<SimpleProperty>) fields.get("simpleList", null);
+        List<Class<?>> classList = (List<Class<?>>) fields.get("classList", null);
+        if ((simpleList == null) || (classList == null)) {
+            throw new InvalidObjectException("Missing list values");
         }
+        deserialized = new ListProperty(simpleList, classList);
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        return deserialized;
+    }
 
-        return new ListProperty(output);
+    /**
+     * A view which wraps the values in {@link SimpleProperty} instances on access.
+     */
+    private final class SimpleListView extends AbstractList<SimpleProperty> implements RandomAccess {
+        @Override
+        public SimpleProperty get(int index) {
+            return new SimpleProperty(values[index]);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
     }
 }
@@ -28,35 +28,77 @@
 
 package com.oracle.labs.mlrg.olcut.config.property;
 
-import java.util.Collections;
+import com.oracle.labs.mlrg.olcut.util.ArrayMap;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.ObjectStreamField;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A MapProperty is a container for a Map from String to Property.
+ * <p>
+ * The entries are stored as an {@link ArrayMap} of Strings, and {@link SimpleProperty}
+ * instances are only created on demand by {@link #getMap()}. Code which only needs
+ * the values should use {@link #getStringMap()}.
+ * <p>
+ * The serialized form is the same as in earlier releases, a map from String to {@link SimpleProperty}.
  */
 public final class MapProperty implements Property {
     private static final long serialVersionUID = 1L;
 
-    private final Map<String,SimpleProperty> map;
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("map", Map.class)
+    };
+
+    private final ArrayMap<String> map;
+
+    /**
+     * The instance read from a serialized stream.
+     */
+    private transient MapProperty deserialized;
 
     public MapProperty(Map<String,SimpleProperty> map) {
-        this.map = Collections.unmodifiableMap(map);
+        Map<String,String> unwrapped = new HashMap<>();
+        for (Map.Entry<String,SimpleProperty> e : map.entrySet()) {
+            unwrapped.put(e.getKey(),e.getValue().getValue());
+        }
+        this.map = ArrayMap.copyOf(unwrapped);
+    }
+
+    private MapProperty(ArrayMap<String> map) {
+        this.map = map;
     }
 
+    /**
+     * Returns an unmodifiable view of this map, with the values wrapped in {@link SimpleProperty}
+     * instances on access.
+     * @return The map.
+     */
     public Map<String,SimpleProperty> getMap() {
+        return new SimplePropertyView(map);
+    }
+
+    /**
+     * Returns an unmodifiable map of the values.
+     * @return The map.
+     */
+    public Map<String,String> getStringMap() {
         return map;
     }
 
     @Override
     public MapProperty copy() {
-        Map<String,SimpleProperty> output = new HashMap<>();
-
-        for (Map.Entry<String,SimpleProperty> e : map.entrySet()) {
-            output.put(e.getKey(),e.getValue().copy());
-        }
-
-        return new MapProperty(output);
+        // The ArrayMap is immutable so it can be shared.
+        return new MapProperty(map);
     }
 
     @Override
@@ -64,7 +106,7 @@ public final class MapProperty implements Property {
         if (this == o) return true;
         if (!(o instanceof MapProperty)) return false;
         MapProperty that = (MapProperty) o;
-        return getMap().equals(that.getMap());
+        return map.equals(that.map);
     }
 
     @Override
@@ -78,12 +120,80 @@ public final class MapProperty implements Property {
     }
 
     public static MapProperty createFromStringMap(Map<String,String> input) {
-        Map<String, SimpleProperty> output = new HashMap<>();
+        return new MapProperty(ArrayMap.copyOf(input));
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("map", new HashMap<>(getMap()));
+        out.writeFields();
+    }
 
-        for (Map.Entry<String,String> e : input.entrySet()) {
-            output.put(e.getKey(),new SimpleProperty(e.getValue()));
+    @SuppressWarnings("unchecked") // The map field is always a Map<String,SimpleProperty>.
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        Map<String,SimpleProperty> input = (Map<String,SimpleProperty>) fields.get("map", null);
+        if (input == null) {
+            throw new InvalidObjectException("Missing map values");
+        }
+        deserialized = new MapProperty(input);
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        return deserialized;
+    }
+
+    /**
+     * A view which wraps the values in {@link SimpleProperty} instances on access.
+     */
+    private static final class SimplePropertyView extends AbstractMap<String,SimpleProperty> {
+        private final ArrayMap<String> map;
+
+        SimplePropertyView(ArrayMap<String> map) {
+            this.map = map;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
         }
 
-        return new MapProperty(output);
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public SimpleProperty get(Object key) {
+            String value = map.get(key);
+            return value == null ? null : new SimpleProperty(value);
+        }
+
+        @Override
+        public Set<Map.Entry<String,SimpleProperty>> entrySet() {
+            return new AbstractSet<Map.Entry<String,SimpleProperty>>() {
+                @Override
+                public Iterator<Map.Entry<String,SimpleProperty>> iterator() {
+                    Iterator<Map.Entry<String,String>> itr = map.entrySet().iterator();
+                    return new Iterator<Map.Entry<String,SimpleProperty>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return itr.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String,SimpleProperty> next() {
+                            Map.Entry<String,String> e = itr.next();
+                            return new AbstractMap.SimpleImmutableEntry<>(e.getKey(),new SimpleProperty(e.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
     }
 }
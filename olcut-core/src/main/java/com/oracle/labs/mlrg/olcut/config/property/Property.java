@@ -36,7 +36,7 @@ import java.io.Serializable;
  * Property implementations should be immutable and final.
  *
  * One day this interface will be sealed, at the moment it is implemented
- * by {@link SimpleProperty}, {@link ListProperty}, and {@link MapProperty}.
+ * by {@link SimpleProperty}, {@link ListProperty}, {@link MapProperty}, and {@link ArrayProperty}.
  * Other subclasses will not be recognised by the configuration processing machinery.
  */
 public interface Property extends Serializable {
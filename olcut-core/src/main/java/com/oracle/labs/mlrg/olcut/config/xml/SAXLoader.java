@@ -51,6 +51,7 @@ import com.oracle.labs.mlrg.olcut.config.io.ConfigLoader;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoaderException;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.GlobalProperties;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
@@ -179,7 +180,7 @@ public class SAXLoader implements ConfigLoader {
 
         Locator locator;
 
-        List<SimpleProperty> itemList = null;
+        List<String> itemList = null;
 
         List<Class<?>> classList = null;
 
@@ -187,7 +188,11 @@ public class SAXLoader implements ConfigLoader {
 
         String mapName = null;
 
-        Map<String, SimpleProperty> entryMap = null;
+        Map<String, String> entryMap = null;
+
+        String arrayName = null;
+
+        String arrayType = null;
 
         StringBuilder curItem;
 
@@ -318,6 +323,15 @@ public class SAXLoader implements ConfigLoader {
                     itemList = new ArrayList<>();
                     classList = new ArrayList<>();
                     break;
+                case PROPERTYARRAY:
+                    arrayName = attributes.getValue(ConfigLoader.NAME);
+                    arrayType = attributes.getValue(ConfigLoader.TYPE);
+                    if (attributes.getLength() != 2 || arrayName == null || arrayType == null) {
+                        throw new SAXParseException("propertyarray element must only have "
+                                + "'name' and 'type' attributes", locator);
+                    }
+                    curItem = new StringBuilder();
+                    break;
                 case ITEM:
                 case TYPE:
                     if (attributes.getLength() != 0) {
@@ -346,7 +360,7 @@ public class SAXLoader implements ConfigLoader {
                     } else if (entryMap.containsKey(key)) {
                         throw new SAXParseException("Repeated entry in map, key = " + key + " already exists", locator);
                     }
-                    entryMap.put(key.trim(), new SimpleProperty(value.trim()));
+                    entryMap.put(key.trim(), value.trim());
                     break;
                 }
                 case FILE: {
@@ -419,13 +433,13 @@ public class SAXLoader implements ConfigLoader {
                         throw new SAXParseException("Duplicate property: "
                                 + itemListName, locator);
                     } else {
-                        rpd.add(itemListName, new ListProperty(itemList,classList));
+                        rpd.add(itemListName, ListProperty.createFromStringList(itemList,classList));
                         itemList = null;
                         classList = null;
                     }
                     break;
                 case ITEM:
-                    itemList.add(new SimpleProperty(curItem.toString().trim()));
+                    itemList.add(curItem.toString().trim());
                     curItem = null;
                     break;
                 case TYPE:
@@ -437,12 +451,28 @@ public class SAXLoader implements ConfigLoader {
                                 + itemListName, locator);
                     }
                     break;
+                case PROPERTYARRAY:
+                    if (rpd.contains(arrayName) && !overriding) {
+                        throw new SAXParseException("Duplicate property: "
+                                + arrayName, locator);
+                    } else {
+                        try {
+                            rpd.add(arrayName, ArrayProperty.fromBase64(arrayType, curItem.toString()));
+                        } catch (IllegalArgumentException e) {
+                            throw new SAXParseException("Invalid propertyarray "
+                                    + arrayName + ", " + e.getMessage(), locator);
+                        }
+                        arrayName = null;
+                        arrayType = null;
+                        curItem = null;
+                    }
+                    break;
                 case PROPERTYMAP:
                     if (rpd.contains(mapName) && !overriding) {
                         throw new SAXParseException("Duplicate property: "
                                 + mapName, locator);
                     } else {
-                        rpd.add(mapName, new MapProperty(entryMap));
+                        rpd.add(mapName, MapProperty.createFromStringMap(entryMap));
                         entryMap = null;
                     }
                     break;
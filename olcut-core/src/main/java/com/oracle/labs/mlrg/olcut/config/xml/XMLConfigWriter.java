@@ -31,6 +31,7 @@ package com.oracle.labs.mlrg.olcut.config.xml;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigLoader;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriter;
 import com.oracle.labs.mlrg.olcut.config.io.ConfigWriterException;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
 import com.oracle.labs.mlrg.olcut.config.property.Property;
@@ -161,6 +162,17 @@ public class XMLConfigWriter implements ConfigWriter {
                         writer.writeCharacters("\t");
                         writer.writeEndElement();
                         writer.writeCharacters(System.lineSeparator());
+                    } else if (value instanceof ArrayProperty) {
+                        //
+                        // Packed primitive array, written as base64
+                        ArrayProperty array = (ArrayProperty) value;
+                        writer.writeCharacters("\t");
+                        writer.writeStartElement(ConfigLoader.PROPERTYARRAY);
+                        writer.writeAttribute(ConfigLoader.NAME, key);
+                        writer.writeAttribute(ConfigLoader.TYPE, array.getType().getTypeName());
+                        writer.writeCharacters(array.toBase64());
+                        writer.writeEndElement();
+                        writer.writeCharacters(System.lineSeparator());
                     } else if (value instanceof MapProperty) {
                         //
                         // Must be a string,string map
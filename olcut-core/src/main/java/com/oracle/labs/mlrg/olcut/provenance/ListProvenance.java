@@ -28,6 +28,8 @@
 
 package com.oracle.labs.mlrg.olcut.provenance;
 
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ArrayProvenance;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -43,6 +45,16 @@ public final class ListProvenance<T extends Provenance> implements Provenance, I
 
     private final List<T> list;
 
+    /**
+     * Cached hash of the list, computed on first use. Zero means it has not been computed yet.
+     */
+    private transient int cachedHash;
+
+    /**
+     * Cached fingerprint of the list using the default hash type, computed on first use.
+     */
+    private transient String cachedFingerprint;
+
     /**
      * Creates a ListProvenance from the supplied list. The
      * list is defensively copied and immutable.
@@ -77,17 +89,41 @@ public final class ListProvenance<T extends Provenance> implements Provenance, I
         return list.toString();
     }
 
+    /**
+     * Returns the memoized fingerprint of this list, or null if it has not been computed.
+     * @return The fingerprint using the default hash type.
+     */
+    String getCachedFingerprint() {
+        return cachedFingerprint;
+    }
+
+    /**
+     * Memoizes the fingerprint of this list.
+     * @param fingerprint The fingerprint using the default hash type.
+     */
+    void setCachedFingerprint(String fingerprint) {
+        cachedFingerprint = fingerprint;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
+        // Primitive array fields were recorded as lists, keep equality symmetric with the array form.
+        if (o instanceof ArrayProvenance) return o.equals(this);
         if (!(o instanceof ListProvenance)) return false;
         ListProvenance<?> that = (ListProvenance<?>) o;
-        return list.equals(that.list);
+        return hashCode() == that.hashCode() && list.equals(that.list);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(list);
+        // The list is immutable so the hash can be cached.
+        int hash = cachedHash;
+        if (hash == 0) {
+            hash = Objects.hash(list);
+            cachedHash = hash;
+        }
+        return hash;
     }
 
     /**
@@ -46,6 +46,16 @@ public final class MapProvenance<T extends Provenance> implements Provenance, It
 
     private final Map<String,T> map;
 
+    /**
+     * Cached hash of the map, computed on first use. Zero means it has not been computed yet.
+     */
+    private transient int cachedHash;
+
+    /**
+     * Cached fingerprint of the map using the default hash type, computed on first use.
+     */
+    private transient String cachedFingerprint;
+
     /**
      * Creates a MapProvenance from a map. The map is defensively copied
      * and immutable.
@@ -80,17 +90,39 @@ public final class MapProvenance<T extends Provenance> implements Provenance, It
         return map.toString();
     }
 
+    /**
+     * Returns the memoized fingerprint of this map, or null if it has not been computed.
+     * @return The fingerprint using the default hash type.
+     */
+    String getCachedFingerprint() {
+        return cachedFingerprint;
+    }
+
+    /**
+     * Memoizes the fingerprint of this map.
+     * @param fingerprint The fingerprint using the default hash type.
+     */
+    void setCachedFingerprint(String fingerprint) {
+        cachedFingerprint = fingerprint;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof MapProvenance)) return false;
         MapProvenance<?> that = (MapProvenance<?>) o;
-        return map.equals(that.map);
+        return hashCode() == that.hashCode() && map.equals(that.map);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(map);
+        // The map is immutable so the hash can be cached.
+        int hash = cachedHash;
+        if (hash == 0) {
+            hash = Objects.hash(map);
+            cachedHash = hash;
+        }
+        return hash;
     }
 
     /**
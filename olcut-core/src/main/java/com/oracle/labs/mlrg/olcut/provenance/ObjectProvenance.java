@@ -81,6 +81,29 @@ public interface ObjectProvenance extends Provenance, Iterable<Pair<String,Prove
         return sb.toString();
     }
 
+    /**
+     * Returns a stable content digest of this provenance using {@link #DEFAULT_HASH_TYPE}.
+     * <p>
+     * Unlike {@link #hashCode()} the fingerprint is stable across JVMs and doesn't depend on
+     * field or map iteration order, so it can be used as a cache key for the configuration which
+     * produced this provenance. It's computed bottom up and memoized on immutable provenance nodes.
+     * @return A hexadecimal string fingerprint.
+     */
+    default public String fingerprint() {
+        return fingerprint(DEFAULT_HASH_TYPE);
+    }
+
+    /**
+     * Returns a stable content digest of this provenance using the supplied hash type.
+     * <p>
+     * Only fingerprints using {@link #DEFAULT_HASH_TYPE} are memoized.
+     * @param hashType The hash function to use.
+     * @return A hexadecimal string fingerprint.
+     */
+    default public String fingerprint(HashType hashType) {
+        return ProvenanceFingerprint.compute(this, hashType);
+    }
+
     /**
      * Removes the specified Provenance from the supplied map and returns it. Checks that it's the right type,
      * and casts to it before returning.
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+
+/**
+ * Caches the <code>Map&lt;String,Provenance&gt;</code> constructors of {@link ObjectProvenance}
+ * subclasses as {@link MethodHandle}s, so unmarshalling and interning don't repeat the reflective
+ * constructor lookup for each object.
+ * <p>
+ * Constructors are cached per class in a {@link ClassValue}, so the cache doesn't prevent the
+ * provenance classes from being unloaded. Classes are looked up by name with {@link Class#forName(String)}
+ * each time, as the class loader already caches them.
+ */
+final class ProvenanceConstructors {
+
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(ObjectProvenance.class, Map.class);
+
+    private static final ClassValue<Entry> constructors = new ClassValue<Entry>() {
+        @Override
+        protected Entry computeValue(Class<?> type) {
+            return Entry.create(type);
+        }
+    };
+
+    private ProvenanceConstructors() {}
+
+    /**
+     * Loads the named provenance class.
+     * @param provenanceClassName The class name.
+     * @return The provenance class.
+     * @throws ProvenanceException If the class could not be found.
+     */
+    static Class<?> loadClass(String provenanceClassName) {
+        try {
+            return Class.forName(provenanceClassName);
+        } catch (ClassNotFoundException e) {
+            throw new ProvenanceException("Failed to find a class called " + provenanceClassName);
+        }
+    }
+
+    /**
+     * Checks if the provenance class has an accessible Map constructor.
+     * @param provenanceClass The provenance class.
+     * @return True if the class can be constructed by {@link #construct(Class, Map)}.
+     */
+    static boolean hasConstructor(Class<?> provenanceClass) {
+        return constructors.get(provenanceClass).constructor != null;
+    }
+
+    /**
+     * Constructs an instance of the provenance class from the arguments.
+     * @param provenanceClass The provenance class.
+     * @param arguments The constructor arguments.
+     * @return The provenance.
+     * @throws ProvenanceException If the class doesn't have an accessible Map constructor, or it threw an exception.
+     */
+    static ObjectProvenance construct(Class<?> provenanceClass, Map<String,Provenance> arguments) {
+        Entry entry = constructors.get(provenanceClass);
+        if (entry.constructor == null) {
+            throw new ProvenanceException(entry.failureMessage, entry.failureCause);
+        }
+        try {
+            return (ObjectProvenance) entry.constructor.invokeExact(arguments);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ProvenanceException("Exception thrown by " + provenanceClass.getName() + " constructor", e);
+        }
+    }
+
+    /**
+     * The cached constructor, or the reason it couldn't be found.
+     */
+    private static final class Entry {
+        final MethodHandle constructor;
+        final String failureMessage;
+        final Throwable failureCause;
+
+        private Entry(MethodHandle constructor, String failureMessage, Throwable failureCause) {
+            this.constructor = constructor;
+            this.failureMessage = failureMessage;
+            this.failureCause = failureCause;
+        }
+
+        static Entry create(Class<?> type) {
+            String className = type.getName();
+            try {
+                // Core reflection implies readability, method handle lookups don't.
+                ProvenanceConstructors.class.getModule().addReads(type.getModule());
+                MethodHandle handle = MethodHandles.lookup().unreflectConstructor(type.getConstructor(Map.class));
+                return new Entry(handle.asType(INVOKE_TYPE), null, null);
+            } catch (NoSuchMethodException e) {
+                return new Entry(null, "No constructor ObjectProvenance(Map<String,Provenance>) found in " + className, e);
+            } catch (IllegalAccessException e) {
+                return new Entry(null, "The ObjectProvenance subclass " + className + " doesn't contain a public constructor which accepts a Map", e);
+            } catch (SecurityException | IllegalArgumentException e) {
+                return new Entry(null, "Failed to instantiate " + className, e);
+            }
+        }
+    }
+}
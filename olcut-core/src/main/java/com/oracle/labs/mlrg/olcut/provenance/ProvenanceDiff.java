@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance;
+
+import com.oracle.labs.mlrg.olcut.util.Pair;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A single difference between two provenance graphs, as produced by
+ * {@link ProvenanceUtil#diff(ObjectProvenance, ObjectProvenance)}.
+ * <p>
+ * The path locates the difference from the root provenance. Fields of objects and entries of
+ * maps are appended with a '.', and list elements are appended as "[index]" using the index
+ * in the list which contains the element (i.e., the old list for removals and changes, and the
+ * new list for additions). The root itself has the empty path.
+ */
+public final class ProvenanceDiff {
+
+    /**
+     * The kind of difference.
+     */
+    public enum Kind {
+        /**
+         * The path is only present in the new provenance.
+         */
+        ADDED,
+        /**
+         * The path is only present in the old provenance.
+         */
+        REMOVED,
+        /**
+         * The path is present in both provenances with different values.
+         */
+        CHANGED
+    }
+
+    private final Kind kind;
+
+    private final String path;
+
+    private final Provenance before;
+
+    private final Provenance after;
+
+    private ProvenanceDiff(Kind kind, String path, Provenance before, Provenance after) {
+        this.kind = kind;
+        this.path = path;
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * The kind of difference.
+     * @return The kind.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * The path to the difference.
+     * @return The path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The old value, null if this difference is an addition.
+     * @return The old value.
+     */
+    public Provenance getBefore() {
+        return before;
+    }
+
+    /**
+     * The new value, null if this difference is a removal.
+     * @return The new value.
+     */
+    public Provenance getAfter() {
+        return after;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ProvenanceDiff)) return false;
+        ProvenanceDiff that = (ProvenanceDiff) o;
+        return kind == that.kind && path.equals(that.path) && Objects.equals(before, that.before) && Objects.equals(after, that.after);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, path, before, after);
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case ADDED:
+                return "ADDED " + path + " = " + after;
+            case REMOVED:
+                return "REMOVED " + path + " = " + before;
+            case CHANGED:
+            default:
+                return "CHANGED " + path + " : " + before + " -> " + after;
+        }
+    }
+
+    /**
+     * Computes the differences between two provenances.
+     * <p>
+     * Branches are pruned as soon as they compare equal, and are not descended into. Unequal
+     * branches are usually rejected by the cached hash codes without walking them, but checking
+     * that two distinct branches are equal walks them with equals, so the cost is proportional
+     * to the size of the differing branches plus the size of any equal but distinct branches.
+     * Branches which are the same instance in both provenances are skipped for free. List elements are
+     * matched by content, so reordering the elements of a list is not reported. Unmatched elements
+     * are paired with unmatched elements of the same type in order and compared recursively, any
+     * left over are reported as added or removed. Each pair of nodes is compared once, so if a
+     * shared sub-provenance differs it is only reported under the first path it was found at.
+     * @param before The old provenance.
+     * @param after The new provenance.
+     * @return The differences in depth first order.
+     */
+    static List<ProvenanceDiff> compute(ObjectProvenance before, ObjectProvenance after) {
+        List<ProvenanceDiff> output = new ArrayList<>();
+        Set<NodePair> visited = new HashSet<>();
+        Deque<Task> stack = new ArrayDeque<>();
+        stack.push(new Task("", before, after));
+        List<Task> children = new ArrayList<>();
+        while (!stack.isEmpty()) {
+            Task task = stack.pop();
+            Provenance a = task.before;
+            Provenance b = task.after;
+            if ((a == b) || ((a.hashCode() == b.hashCode()) && a.equals(b))) {
+                continue;
+            }
+            if (!visited.add(new NodePair(a, b))) {
+                continue;
+            }
+            children.clear();
+            if ((a instanceof ObjectProvenance) && (b instanceof ObjectProvenance)) {
+                ObjectProvenance objA = (ObjectProvenance) a;
+                ObjectProvenance objB = (ObjectProvenance) b;
+                if (!objA.getClassName().equals(objB.getClassName())) {
+                    output.add(new ProvenanceDiff(Kind.CHANGED, task.path, a, b));
+                } else {
+                    diffEntries(task.path, toMap(objA), toMap(objB), output, children);
+                }
+            } else if ((a instanceof MapProvenance) && (b instanceof MapProvenance)) {
+                diffEntries(task.path, ((MapProvenance<?>) a).getMap(), ((MapProvenance<?>) b).getMap(), output, children);
+            } else if ((a instanceof ListProvenance) && (b instanceof ListProvenance)) {
+                diffList(task.path, ((ListProvenance<?>) a).getList(), ((ListProvenance<?>) b).getList(), output, children);
+            } else {
+                output.add(new ProvenanceDiff(Kind.CHANGED, task.path, a, b));
+            }
+            // Push in reverse so the children are processed in order
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+        return output;
+    }
+
+    private static Map<String, Provenance> toMap(ObjectProvenance obj) {
+        Map<String, Provenance> output = new LinkedHashMap<>();
+        for (Pair<String, Provenance> p : obj) {
+            output.put(p.getA(), p.getB());
+        }
+        return output;
+    }
+
+    private static void diffEntries(String path, Map<String, ? extends Provenance> a, Map<String, ? extends Provenance> b, List<ProvenanceDiff> output, List<Task> children) {
+        for (Map.Entry<String, ? extends Provenance> e : a.entrySet()) {
+            String childPath = child(path, e.getKey());
+            Provenance other = b.get(e.getKey());
+            if (other == null) {
+                if (e.getValue() != null) {
+                    output.add(new ProvenanceDiff(Kind.REMOVED, childPath, e.getValue(), null));
+                }
+            } else if (e.getValue() == null) {
+                output.add(new ProvenanceDiff(Kind.ADDED, childPath, null, other));
+            } else {
+                children.add(new Task(childPath, e.getValue(), other));
+            }
+        }
+        for (Map.Entry<String, ? extends Provenance> e : b.entrySet()) {
+            if ((e.getValue() != null) && (a.get(e.getKey()) == null)) {
+                output.add(new ProvenanceDiff(Kind.ADDED, child(path, e.getKey()), null, e.getValue()));
+            }
+        }
+    }
+
+    private static void diffList(String path, List<? extends Provenance> a, List<? extends Provenance> b, List<ProvenanceDiff> output, List<Task> children) {
+        // Match equal elements, the cached hash codes mean only equal candidates are walked
+        Map<Provenance, Deque<Integer>> unmatchedB = new HashMap<>();
+        for (int j = 0; j < b.size(); j++) {
+            unmatchedB.computeIfAbsent(b.get(j), k -> new ArrayDeque<>()).add(j);
+        }
+        boolean[] matchedB = new boolean[b.size()];
+        List<Integer> unmatchedA = new ArrayList<>();
+        for (int i = 0; i < a.size(); i++) {
+            Deque<Integer> candidates = unmatchedB.get(a.get(i));
+            if ((candidates != null) && !candidates.isEmpty()) {
+                matchedB[candidates.poll()] = true;
+            } else {
+                unmatchedA.add(i);
+            }
+        }
+        // Pair up the remaining elements by type, in order
+        Map<String, Deque<Integer>> byType = new HashMap<>();
+        for (int j = 0; j < b.size(); j++) {
+            if (!matchedB[j]) {
+                byType.computeIfAbsent(typeKey(b.get(j)), k -> new ArrayDeque<>()).add(j);
+            }
+        }
+        for (int i : unmatchedA) {
+            Deque<Integer> candidates = byType.get(typeKey(a.get(i)));
+            String elementPath = path + "[" + i + "]";
+            if ((candidates == null) || candidates.isEmpty()) {
+                output.add(new ProvenanceDiff(Kind.REMOVED, elementPath, a.get(i), null));
+            } else {
+                int j = candidates.poll();
+                matchedB[j] = true;
+                children.add(new Task(elementPath, a.get(i), b.get(j)));
+            }
+        }
+        for (int j = 0; j < b.size(); j++) {
+            if (!matchedB[j]) {
+                output.add(new ProvenanceDiff(Kind.ADDED, path + "[" + j + "]", null, b.get(j)));
+            }
+        }
+    }
+
+    private static String typeKey(Provenance prov) {
+        if (prov instanceof ObjectProvenance) {
+            return "object:" + ((ObjectProvenance) prov).getClassName();
+        } else {
+            return prov.getClass().getName();
+        }
+    }
+
+    private static String child(String path, String key) {
+        return path.isEmpty() ? key : path + "." + key;
+    }
+
+    /**
+     * A pair of nodes to compare.
+     */
+    private static final class Task {
+        final String path;
+        final Provenance before;
+        final Provenance after;
+
+        Task(String path, Provenance before, Provenance after) {
+            this.path = path;
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    /**
+     * A pair of nodes compared by identity.
+     */
+    private static final class NodePair {
+        final Provenance before;
+        final Provenance after;
+
+        NodePair(Provenance before, Provenance after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof NodePair)) return false;
+            NodePair that = (NodePair) o;
+            return before == that.before && after == that.after;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(before) + System.identityHashCode(after);
+        }
+    }
+}
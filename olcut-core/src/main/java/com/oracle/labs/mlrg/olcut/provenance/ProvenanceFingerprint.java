@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance;
+
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil.HashType;
+import com.oracle.labs.mlrg.olcut.provenance.impl.SkeletalConfiguredObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.HashProvenance;
+import com.oracle.labs.mlrg.olcut.util.Pair;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the canonical content digest of a provenance tree.
+ * <p>
+ * Each node is digested bottom up from a tag, its type information and the fingerprints of its
+ * children, with every string length prefixed. The fields of objects and the entries of maps are
+ * sorted by key, so the fingerprint doesn't depend on iteration order, while lists are digested in
+ * order. Primitives are digested using their provenance class, key and the string form of their value,
+ * and primitive arrays are digested as the equivalent list of primitives.
+ * <p>
+ * Fingerprints using {@link ObjectProvenance#DEFAULT_HASH_TYPE} are memoized on the immutable
+ * {@link ListProvenance}, {@link MapProvenance} and {@link SkeletalConfiguredObjectProvenance} nodes.
+ * Other nodes are only memoized within a single computation, which digests each distinct node once.
+ */
+final class ProvenanceFingerprint {
+
+    private static final byte OBJECT_TAG = 'O';
+    private static final byte LIST_TAG = 'L';
+    private static final byte MAP_TAG = 'M';
+    private static final byte PRIMITIVE_TAG = 'P';
+    private static final byte NULL_TAG = 'N';
+
+    private static final Comparator<Pair<String, ? extends Provenance>> KEY_ORDER = Comparator.comparing(Pair::getA);
+
+    private final HashType hashType;
+
+    private final boolean memoize;
+
+    private final Map<Provenance, String> seen = new IdentityHashMap<>();
+
+    private ProvenanceFingerprint(HashType hashType) {
+        this.hashType = hashType;
+        this.memoize = hashType == ObjectProvenance.DEFAULT_HASH_TYPE;
+    }
+
+    /**
+     * Computes the fingerprint of the object provenance, ignoring any memoized value on the root.
+     * @param provenance The provenance.
+     * @param hashType The hash function to use.
+     * @return The hexadecimal fingerprint.
+     */
+    static String compute(ObjectProvenance provenance, HashType hashType) {
+        return new ProvenanceFingerprint(hashType).digestObject(provenance);
+    }
+
+    private String fingerprint(Provenance provenance) {
+        if (provenance == null) {
+            MessageDigest md = hashType.getDigest();
+            md.update(NULL_TAG);
+            return ProvenanceUtil.bytesToHexString(md.digest());
+        }
+        String output = seen.get(provenance);
+        if (output == null) {
+            if (memoize && (provenance instanceof SkeletalConfiguredObjectProvenance)) {
+                output = ((SkeletalConfiguredObjectProvenance) provenance).fingerprint();
+            } else if (provenance instanceof ObjectProvenance) {
+                output = digestObject((ObjectProvenance) provenance);
+            } else if (provenance instanceof ListProvenance) {
+                output = digestList((ListProvenance<?>) provenance);
+            } else if (provenance instanceof MapProvenance) {
+                output = digestMap((MapProvenance<?>) provenance);
+            } else if (provenance instanceof ArrayProvenance) {
+                output = digestArray((ArrayProvenance) provenance);
+            } else {
+                output = digestPrimitive(provenance);
+            }
+            seen.put(provenance, output);
+        }
+        return output;
+    }
+
+    private String digestObject(ObjectProvenance provenance) {
+        List<Pair<String, Provenance>> fields = new ArrayList<>();
+        for (Pair<String, Provenance> p : provenance) {
+            fields.add(p);
+        }
+        fields.sort(KEY_ORDER);
+        MessageDigest md = hashType.getDigest();
+        md.update(OBJECT_TAG);
+        update(md, provenance.getClassName());
+        updateInt(md, fields.size());
+        for (Pair<String, Provenance> p : fields) {
+            update(md, p.getA());
+            update(md, fingerprint(p.getB()));
+        }
+        return ProvenanceUtil.bytesToHexString(md.digest());
+    }
+
+    private String digestList(ListProvenance<?> provenance) {
+        if (memoize && (provenance.getCachedFingerprint() != null)) {
+            return provenance.getCachedFingerprint();
+        }
+        List<? extends Provenance> list = provenance.getList();
+        MessageDigest md = hashType.getDigest();
+        md.update(LIST_TAG);
+        updateInt(md, list.size());
+        for (Provenance p : list) {
+            update(md, fingerprint(p));
+        }
+        String output = ProvenanceUtil.bytesToHexString(md.digest());
+        if (memoize) {
+            provenance.setCachedFingerprint(output);
+        }
+        return output;
+    }
+
+    /**
+     * Digests the array as the equivalent list of primitive provenances, so it has the same
+     * fingerprint as provenance recorded before array provenances existed.
+     */
+    private String digestArray(ArrayProvenance provenance) {
+        int size = provenance.size();
+        MessageDigest md = hashType.getDigest();
+        md.update(LIST_TAG);
+        updateInt(md, size);
+        for (int i = 0; i < size; i++) {
+            update(md, digestPrimitive(provenance.getElementProvenance(i)));
+        }
+        return ProvenanceUtil.bytesToHexString(md.digest());
+    }
+
+    private String digestMap(MapProvenance<?> provenance) {
+        if (memoize && (provenance.getCachedFingerprint() != null)) {
+            return provenance.getCachedFingerprint();
+        }
+        List<Pair<String, ? extends Provenance>> entries = new ArrayList<>();
+        for (Pair<String, ? extends Provenance> p : provenance) {
+            entries.add(p);
+        }
+        entries.sort(KEY_ORDER);
+        MessageDigest md = hashType.getDigest();
+        md.update(MAP_TAG);
+        updateInt(md, entries.size());
+        for (Pair<String, ? extends Provenance> p : entries) {
+            update(md, p.getA());
+            update(md, fingerprint(p.getB()));
+        }
+        String output = ProvenanceUtil.bytesToHexString(md.digest());
+        if (memoize) {
+            provenance.setCachedFingerprint(output);
+        }
+        return output;
+    }
+
+    private String digestPrimitive(Provenance provenance) {
+        MessageDigest md = hashType.getDigest();
+        md.update(PRIMITIVE_TAG);
+        update(md, provenance.getClass().getName());
+        if (provenance instanceof PrimitiveProvenance) {
+            PrimitiveProvenance<?> primitive = (PrimitiveProvenance<?>) provenance;
+            update(md, primitive.getKey());
+            if (primitive instanceof HashProvenance) {
+                update(md, ((HashProvenance) primitive).getType().name());
+            }
+            update(md, String.valueOf(primitive.getValue()));
+        } else {
+            throw new ProvenanceException("Unexpected provenance type " + provenance.getClass().getName());
+        }
+        return ProvenanceUtil.bytesToHexString(md.digest());
+    }
+
+    private static void update(MessageDigest md, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateInt(md, bytes.length);
+        md.update(bytes);
+    }
+
+    private static void updateInt(MessageDigest md, int value) {
+        md.update((byte) (value >>> 24));
+        md.update((byte) (value >>> 16));
+        md.update((byte) (value >>> 8));
+        md.update((byte) value);
+    }
+}
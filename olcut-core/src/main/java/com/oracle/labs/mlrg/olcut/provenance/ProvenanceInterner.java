@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance;
+
+import com.oracle.labs.mlrg.olcut.util.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Canonicalizes provenance objects so that equal provenances (and equal subgraphs
+ * of provenances) are represented by a single shared instance.
+ * <p>
+ * Interning a {@link ListProvenance}, {@link MapProvenance} or {@link ObjectProvenance}
+ * interns the provenances it contains first, and rebuilds the container if any of them were
+ * replaced by a canonical instance. ObjectProvenances are rebuilt using the public
+ * <code>Map&lt;String,Provenance&gt;</code> constructor which is also used by
+ * {@link ProvenanceUtil#unmarshalProvenance(List)}. If that constructor is missing or
+ * fails then the original object is used as the canonical instance.
+ * <p>
+ * The interner holds strong references to every canonical instance, so it should be scoped
+ * to the set of provenances which are expected to share structure, and cleared or discarded
+ * when they are no longer needed. It is safe to use from multiple threads.
+ */
+public final class ProvenanceInterner {
+    private static final Logger logger = Logger.getLogger(ProvenanceInterner.class.getName());
+
+    private final Map<Provenance,Provenance> canonical = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong lookupCount = new AtomicLong();
+
+    /**
+     * Creates an empty interner.
+     */
+    public ProvenanceInterner() {}
+
+    /**
+     * Returns the canonical instance of the supplied provenance, adding it (after interning
+     * its contents) if there is no equal provenance in this interner.
+     * @param provenance The provenance to intern.
+     * @param <T> The type of the provenance.
+     * @return The canonical instance, or null if the input is null.
+     */
+    public <T extends Provenance> T intern(T provenance) {
+        if (provenance == null) {
+            return null;
+        }
+        lookupCount.incrementAndGet();
+        Provenance existing = canonical.get(provenance);
+        if (existing != null) {
+            hitCount.incrementAndGet();
+            return cast(provenance, existing);
+        }
+        Provenance rebuilt;
+        if (provenance instanceof ListProvenance) {
+            rebuilt = internList((ListProvenance<?>) provenance);
+        } else if (provenance instanceof MapProvenance) {
+            rebuilt = internMap((MapProvenance<?>) provenance);
+        } else if (provenance instanceof ObjectProvenance) {
+            rebuilt = internObject((ObjectProvenance) provenance);
+        } else {
+            rebuilt = provenance;
+        }
+        existing = canonical.putIfAbsent(rebuilt, rebuilt);
+        return cast(provenance, existing == null ? rebuilt : existing);
+    }
+
+    /**
+     * The number of canonical provenances stored in this interner.
+     * @return The number of canonical provenances.
+     */
+    public int size() {
+        return canonical.size();
+    }
+
+    /**
+     * The number of calls to {@link #intern} (including the recursive calls on the contents of
+     * lists, maps and objects) which found an existing canonical instance.
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * The number of calls to {@link #intern}, including the recursive calls on the contents of
+     * lists, maps and objects.
+     * @return The number of lookups.
+     */
+    public long getLookupCount() {
+        return lookupCount.get();
+    }
+
+    /**
+     * Removes all the canonical instances and resets the counters.
+     */
+    public void clear() {
+        canonical.clear();
+        hitCount.set(0);
+        lookupCount.set(0);
+    }
+
+    /**
+     * Returns the canonical value as the input type, falling back to the input if the
+     * canonical value is an equal provenance of an incompatible class.
+     * @param input The input provenance.
+     * @param canonicalValue The canonical provenance.
+     * @param <T> The type of the input.
+     * @return The canonical provenance if it's compatible, otherwise the input.
+     */
+    @SuppressWarnings("unchecked") // Guarded by the isInstance check
+    private static <T extends Provenance> T cast(T input, Provenance canonicalValue) {
+        if (input.getClass().isInstance(canonicalValue)) {
+            return (T) canonicalValue;
+        } else {
+            return input;
+        }
+    }
+
+    private ListProvenance<?> internList(ListProvenance<?> input) {
+        List<Provenance> output = new ArrayList<>(input.getList().size());
+        boolean changed = false;
+        for (Provenance p : input) {
+            Provenance interned = intern(p);
+            changed |= interned != p;
+            output.add(interned);
+        }
+        return changed ? new ListProvenance<>(output) : input;
+    }
+
+    private MapProvenance<?> internMap(MapProvenance<?> input) {
+        Map<String,Provenance> output = new HashMap<>();
+        boolean changed = false;
+        for (Map.Entry<String, ? extends Provenance> e : input.getMap().entrySet()) {
+            Provenance interned = intern(e.getValue());
+            changed |= interned != e.getValue();
+            output.put(e.getKey().intern(), interned);
+        }
+        return changed ? new MapProvenance<>(output) : input;
+    }
+
+    private ObjectProvenance internObject(ObjectProvenance input) {
+        Map<String,Provenance> arguments = new HashMap<>();
+        boolean changed = false;
+        for (Pair<String,Provenance> p : input) {
+            Provenance interned = intern(p.getB());
+            changed |= interned != p.getB();
+            arguments.put(p.getA(), interned);
+        }
+        if (!changed) {
+            return input;
+        }
+        try {
+            ObjectProvenance rebuilt = ProvenanceConstructors.construct(input.getClass(), arguments);
+            if (rebuilt.equals(input)) {
+                return rebuilt;
+            } else {
+                logger.log(Level.FINE, "Rebuilt provenance for " + input.getClassName() + " was not equal to the original, using the original.");
+                return input;
+            }
+        } catch (ProvenanceException e) {
+            logger.log(Level.FINE, "Failed to rebuild provenance for " + input.getClassName() + ", using the original.", e);
+            return input;
+        }
+    }
+}
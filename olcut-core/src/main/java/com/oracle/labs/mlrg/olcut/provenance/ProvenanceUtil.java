@@ -28,8 +28,10 @@
 
 package com.oracle.labs.mlrg.olcut.provenance;
 
+import com.oracle.labs.mlrg.olcut.config.Configurable;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationData;
 import com.oracle.labs.mlrg.olcut.config.ConfigurationManager;
+import com.oracle.labs.mlrg.olcut.config.property.ArrayProperty;
 import com.oracle.labs.mlrg.olcut.config.property.ListProperty;
 import com.oracle.labs.mlrg.olcut.config.property.MapProperty;
 import com.oracle.labs.mlrg.olcut.config.property.SimpleProperty;
@@ -39,7 +41,9 @@ import com.oracle.labs.mlrg.olcut.provenance.io.ListMarshalledProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.io.MapMarshalledProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.io.MarshalledProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.io.ObjectMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.io.SerializedProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.io.SimpleMarshalledProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.EnumProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.HashProvenance;
 import com.oracle.labs.mlrg.olcut.util.IOUtil;
@@ -51,14 +55,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.net.JarURLConnection;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -70,11 +77,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -88,20 +98,43 @@ public final class ProvenanceUtil {
 
     /**
      * The hash types supported for hashing resources.
+     * <p>
+     * {@link #SHA256_TREE} is a Merkle tree of SHA-256 digests over 4MB chunks, which allows
+     * files to be hashed in parallel, and large file hashes to be resumed using a {@link TreeHashState}.
+     * It produces different values to {@link #SHA256}.
      */
     public enum HashType {
-        SHA1("SHA1"), SHA256("SHA-256"), SHA512("SHA-512"), MD5("MD5");
+        SHA1("SHA1"), SHA256("SHA-256"), SHA512("SHA-512"), MD5("MD5"), SHA256_TREE("SHA-256-TREE", true);
 
         public final String name;
+        private final boolean tree;
         HashType(String name) {
+            this(name, false);
+        }
+
+        HashType(String name, boolean tree) {
             this.name = name;
+            this.tree = tree;
+        }
+
+        /**
+         * Is this a tree hash, which hashes fixed size chunks independently.
+         * @return True if this is a tree hash.
+         */
+        public boolean isTree() {
+            return tree;
         }
 
         /**
          * Returns a new instance of the appropriate MessageDigest implementation.
+         * <p>
+         * For tree hashes this computes the tree sequentially.
          * @return The message digest implementation for this hash type.
          */
         public MessageDigest getDigest() {
+            if (tree) {
+                return new TreeHash.TreeMessageDigest(name);
+            }
             try {
                 return MessageDigest.getInstance(name);
             } catch (NoSuchAlgorithmException e) {
@@ -110,6 +143,19 @@ public final class ProvenanceUtil {
         }
     }
 
+    /**
+     * The size of the buffer used when hashing files.
+     */
+    private static final int HASH_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The number of independent objects in a level of the provenance graph above which
+     * {@link #unmarshalProvenance(List, ProvenanceInterner)} builds them in parallel.
+     */
+    private static final int PARALLEL_UNMARSHAL_THRESHOLD = 64;
+
+    private static volatile ResourceHashCache hashCache = createDefaultHashCache();
+
     private ProvenanceUtil(){}
 
     /**
@@ -154,34 +200,95 @@ public final class ProvenanceUtil {
     /**
      * Hashes a file on disk by reading the bytes and passing them through the
      * appropriate {@link MessageDigest}.
+     * <p>
+     * If a {@link ResourceHashCache} is set then the hash is looked up there first,
+     * and stored there after it's computed.
      * @param hashType The type of hash to perform.
      * @param path The file.
      * @return A hexadecimal string representation of the hash.
      */
     public static String hashResource(HashType hashType, Path path) {
-        return hashResource(hashType,path.toFile());
+        try {
+            ResourceHashCache cache = hashCache;
+            if (cache != null) {
+                return cache.hash(hashType, path);
+            } else {
+                return hashFile(hashType, path);
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "IOException when reading from file " + path);
+            return bytesToHexString(hashType.getDigest().digest());
+        }
     }
 
     /**
      * Hashes a file on disk by reading the bytes and passing them through the
      * appropriate {@link MessageDigest}.
+     * <p>
+     * If a {@link ResourceHashCache} is set then the hash is looked up there first,
+     * and stored there after it's computed.
      * @param hashType The type of hash to perform.
      * @param file The file.
      * @return A hexadecimal string representation of the hash.
      */
     public static String hashResource(HashType hashType, File file) {
+        return hashResource(hashType,file.toPath());
+    }
+
+    /**
+     * Hashes a file, reading it through a large direct buffer.
+     * <p>
+     * Tree hashes read and hash the chunks of the file in parallel.
+     * @param hashType The type of hash to perform.
+     * @param path The file.
+     * @return A hexadecimal string representation of the hash.
+     * @throws IOException If the file could not be read.
+     */
+    static String hashFile(HashType hashType, Path path) throws IOException {
+        if (hashType.isTree()) {
+            return bytesToHexString(TreeHash.hashFile(path));
+        }
         MessageDigest md = hashType.getDigest();
-        byte[] buffer = new byte[16384];
-        int count;
-        try (InputStream bis = IOUtil.getInputStream(file)) {
-            while ((count = bis.read(buffer)) > 0) {
-                md.update(buffer, 0, count);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(HASH_BUFFER_SIZE, Math.max(channel.size(), 1)));
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                md.update(buffer);
+                buffer.clear();
+            }
+        }
+        return bytesToHexString(md.digest());
+    }
+
+    /**
+     * Sets the cache used by the hashResource methods for files, or disables caching if null.
+     * <p>
+     * By default the cache is disabled, unless the {@value ResourceHashCache#CACHE_DIR_ENV}
+     * environment variable names a cache directory.
+     * @param cache The cache to use, or null.
+     */
+    public static void setHashCache(ResourceHashCache cache) {
+        hashCache = cache;
+    }
+
+    /**
+     * The cache used by the hashResource methods for files, if one is set.
+     * @return The hash cache.
+     */
+    public static Optional<ResourceHashCache> getHashCache() {
+        return Optional.ofNullable(hashCache);
+    }
+
+    private static ResourceHashCache createDefaultHashCache() {
+        String dir = System.getenv(ResourceHashCache.CACHE_DIR_ENV);
+        if ((dir != null) && !dir.isEmpty()) {
+            try {
+                return new ResourceHashCache(Paths.get(dir));
+            } catch (IOException | InvalidPathException e) {
+                logger.log(Level.WARNING, "Failed to open hash cache at " + dir + ", caching is disabled", e);
             }
-            return bytesToHexString(md.digest());
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "IOException when reading from file " + file);
-            return bytesToHexString(md.digest());
         }
+        return null;
     }
 
     /**
@@ -194,6 +301,13 @@ public final class ProvenanceUtil {
      * @return A hexadecimal string representation of the hash.
      */
     public static String hashResource(HashType hashType, URL file) {
+        if (file.getProtocol().equals("file")) {
+            try {
+                return hashResource(hashType, Paths.get(file.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                logger.log(Level.FINE, "Failed to convert " + file + " into a path, reading it as a stream", e);
+            }
+        }
         MessageDigest md = hashType.getDigest();
         if (IOUtil.isDisallowedProtocol(file)) {
             logger.severe("Tried to read disallowed URL protocol: '" + file.toString() + "'");
@@ -307,6 +421,20 @@ public final class ProvenanceUtil {
         return Optional.empty();
     }
 
+    /**
+     * Computes the structural differences between two provenances.
+     * <p>
+     * Identical branches are pruned using the cached node hash codes, list elements are matched
+     * by content, and shared or repeated sub-provenances are only compared once. See
+     * {@link ProvenanceDiff} for the path format.
+     * @param before The old provenance.
+     * @param after The new provenance.
+     * @return The list of added, removed and changed paths, empty if the provenances are equal.
+     */
+    public static List<ProvenanceDiff> diff(ObjectProvenance before, ObjectProvenance after) {
+        return ProvenanceDiff.compute(before, after);
+    }
+
     /**
      * Formats a provenance object with tabs indenting each child object.
      * @param prov Tne provenance to format as a String.
@@ -552,6 +680,130 @@ public final class ProvenanceUtil {
         return output;
     }
 
+    /**
+     * Extracts the configurations from many provenances into a single list which can be loaded into one
+     * {@link ConfigurationManager}, removing duplicate configurations.
+     * <p>
+     * Each {@link ConfiguredObjectProvenance} is converted after the objects it refers to, so references
+     * are written using the names of the deduplicated configurations. Two configurations are duplicates
+     * if they have the same class and the same properties after this renaming, so structurally identical
+     * sub-components of different provenances (e.g., the same tokenizer config used by many models)
+     * appear once in the output and are instantiated once by the configuration manager. This also merges
+     * distinct objects with identical configurations inside a single provenance. The configurations
+     * are named using {@link #computeName} with ids which are unique across all the inputs.
+     * <p>
+     * Throws {@link ProvenanceException} if one of the provenances does not contain a
+     * {@link ConfiguredObjectProvenance}.
+     * @param provenances The provenances to extract configuration from.
+     * @return The merged configurations, and the component name for each input provenance.
+     */
+    public static MergedConfiguration extractConfigurations(List<? extends ObjectProvenance> provenances) {
+        List<ConfigurationData> configurations = new ArrayList<>();
+        List<String> rootNames = new ArrayList<>(provenances.size());
+        IdentityHashMap<ConfiguredObjectProvenance,Integer> canonicalIds = new IdentityHashMap<>();
+        Map<ConfigurationData,Integer> dedupMap = new HashMap<>();
+        Set<ConfiguredObjectProvenance> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (int i = 0; i < provenances.size(); i++) {
+            ProvenanceOrdering ordering = orderProvenances(provenances.get(i));
+            if (ordering.traversalOrder.isEmpty()) {
+                throw new ProvenanceException("Provenance at index " + i + " does not contain a ConfiguredObjectProvenance.");
+            }
+            ConfiguredObjectProvenance root = ordering.traversalOrder.get(0);
+
+            // Iterative post-order traversal, so each object is converted after the objects it refers to.
+            ArrayDeque<ConfiguredObjectProvenance> stack = new ArrayDeque<>();
+            if (!canonicalIds.containsKey(root)) {
+                stack.push(root);
+                inProgress.add(root);
+            }
+            while (!stack.isEmpty()) {
+                ConfiguredObjectProvenance cur = stack.peek();
+                ConfiguredObjectProvenance next = null;
+                for (ConfiguredObjectProvenance child : configuredChildren(cur)) {
+                    if (!canonicalIds.containsKey(child)) {
+                        if (inProgress.contains(child)) {
+                            throw new ProvenanceException("Found a cycle in the provenance at index " + i + " through " + child.getClassName());
+                        }
+                        next = child;
+                        break;
+                    }
+                }
+                if (next != null) {
+                    stack.push(next);
+                    inProgress.add(next);
+                } else {
+                    stack.pop();
+                    inProgress.remove(cur);
+                    // The key has a fixed name, so equal keys have the same class and properties.
+                    ConfigurationData key = extractSingleConfiguration(cur, "", canonicalIds);
+                    Integer id = dedupMap.get(key);
+                    if (id == null) {
+                        id = configurations.size();
+                        dedupMap.put(key, id);
+                        configurations.add(new ConfigurationData(computeName(cur, id), key.getClassName(), key.getProperties()));
+                    }
+                    canonicalIds.put(cur, id);
+                }
+            }
+            rootNames.add(computeName(root, canonicalIds.get(root)));
+        }
+
+        return new MergedConfiguration(configurations, rootNames);
+    }
+
+    /**
+     * Reconstructs the objects described by many provenances through a single {@link ConfigurationManager},
+     * so components which have the same configuration in multiple provenances are only instantiated once
+     * and shared between the returned objects.
+     * <p>
+     * Uses {@link #extractConfigurations(List)} to build the configuration.
+     * @param provenances The provenances to reconstruct.
+     * @return The reconstructed objects, in the same order as the provenances.
+     */
+    public static List<Configurable> reconstructObjects(List<? extends ObjectProvenance> provenances) {
+        MergedConfiguration merged = extractConfigurations(provenances);
+        ConfigurationManager cm = new ConfigurationManager();
+        cm.addConfiguration(merged.configurations);
+        List<Configurable> output = new ArrayList<>(merged.rootNames.size());
+        for (String name : merged.rootNames) {
+            output.add(cm.lookup(name));
+        }
+        cm.close();
+        return output;
+    }
+
+    /**
+     * Returns the non-null {@link ConfiguredObjectProvenance}s referred to by the configured parameters
+     * of the supplied provenance, the same ones which are written as references by
+     * {@link #extractSingleConfiguration}.
+     * @param prov The provenance.
+     * @return The configured object provenances it refers to.
+     */
+    private static List<ConfiguredObjectProvenance> configuredChildren(ConfiguredObjectProvenance prov) {
+        List<ConfiguredObjectProvenance> output = new ArrayList<>();
+        for (Provenance p : prov.getConfiguredParameters().values()) {
+            if (p instanceof ListProvenance) {
+                for (Provenance element : (ListProvenance<?>) p) {
+                    addConfiguredChild(output, element);
+                }
+            } else if (p instanceof MapProvenance) {
+                for (Pair<String, ? extends Provenance> pair : (MapProvenance<?>) p) {
+                    addConfiguredChild(output, pair.getB());
+                }
+            } else {
+                addConfiguredChild(output, p);
+            }
+        }
+        return output;
+    }
+
+    private static void addConfiguredChild(List<ConfiguredObjectProvenance> output, Provenance p) {
+        if ((p instanceof ConfiguredObjectProvenance) && !(p instanceof NullConfiguredProvenance)) {
+            output.add((ConfiguredObjectProvenance) p);
+        }
+    }
+
     /**
      * Extracts a single {@link ConfigurationData} from a ConfiguredObjectProvenance, flattening out
      * object references by replacing them with their names.
@@ -596,6 +848,9 @@ public final class ProvenanceUtil {
                 }
 
                 data.add(e.getKey(), new MapProperty(propMap));
+            } else if (prov instanceof ArrayProvenance) {
+                // Written as a list, as for configurations imported with the default packing threshold.
+                data.add(e.getKey(),ArrayProperty.fromArray(((ArrayProvenance) prov).getArray()).toListProperty());
             } else if (prov instanceof ConfiguredObjectProvenance) {
                 // Skip nulls;
                 if (!(prov instanceof NullConfiguredProvenance)) {
@@ -633,28 +888,93 @@ public final class ProvenanceUtil {
      * @return A list of marshalled objects.
      */
     public static List<ObjectMarshalledProvenance> marshalProvenance(ObjectProvenance provenance) {
-        Map<ObjectProvenance,Integer> provenanceTracker = new LinkedHashMap<>();
+        List<ObjectMarshalledProvenance> output = new ArrayList<>();
+        Iterator<ObjectMarshalledProvenance> itr = marshalProvenanceIterator(provenance);
+        while (itr.hasNext()) {
+            output.add(itr.next());
+        }
+        return output;
+    }
 
-        int counter = 0;
+    /**
+     * Lazily marshals the provenance, producing the same flattened objects in the same order as
+     * {@link #marshalProvenance(ObjectProvenance)}.
+     * <p>
+     * Each object is marshalled when it is requested from the iterator, so a serializer can write
+     * each one out before the next is created rather than holding the full marshalled list in memory.
+     * The iterator only retains the object provenances which have been found but not yet marshalled,
+     * along with the ids assigned to each distinct provenance.
+     * @param provenance The provenance to marshal.
+     * @return An iterator over the marshalled objects, the root provenance is first.
+     */
+    public static Iterator<ObjectMarshalledProvenance> marshalProvenanceIterator(ObjectProvenance provenance) {
+        return new MarshallingIterator(provenance);
+    }
 
-        // Extract all the ObjectProvenance instances from the object graph rooted at provenance
-        Queue<ObjectProvenance> processingQueue = new ArrayDeque<>();
-        processingQueue.add(provenance);
-        while (!processingQueue.isEmpty()) {
-            ObjectProvenance curProv = processingQueue.poll();
-            provenanceTracker.put(curProv,counter);
-            counter++;
-            extractProvenanceToQueue(processingQueue, curProv);
+    /**
+     * Iterator which performs a breadth first traversal of the provenance graph, marshalling each
+     * distinct object provenance as it is reached.
+     */
+    private static final class MarshallingIterator implements Iterator<ObjectMarshalledProvenance> {
+        private final MarshallingTracker tracker = new MarshallingTracker();
+        private int next = 0;
+
+        MarshallingIterator(ObjectProvenance root) {
+            tracker.getOrAdd(root);
         }
 
-        List<ObjectMarshalledProvenance> output = new ArrayList<>();
+        @Override
+        public boolean hasNext() {
+            return !tracker.pending.isEmpty();
+        }
 
-        // Marshall each provenance into a flat representation
-        for (Map.Entry<ObjectProvenance,Integer> e : provenanceTracker.entrySet()) {
-            output.add(marshalSingleProvenance(e.getKey(),computeName(e.getKey(),e.getValue()),provenanceTracker));
+        @Override
+        public ObjectMarshalledProvenance next() {
+            ObjectProvenance curProv = tracker.pending.poll();
+            if (curProv == null) {
+                throw new NoSuchElementException();
+            }
+            // Marshalling the provenance assigns ids to (and queues) any provenances it refers to.
+            ObjectMarshalledProvenance output = marshalSingleProvenance(curProv,computeName(curProv,next),tracker);
+            next++;
+            return output;
         }
+    }
 
-        return output;
+    /**
+     * Assigns ids to the distinct {@link ObjectProvenance}s found while marshalling, in the order
+     * they are found, and queues them for marshalling.
+     * <p>
+     * Lookups check object identity first, as most repeated provenances in a graph are the
+     * same instance, and only fall back to equality (which uses the cached hash codes) for
+     * equal provenances which are distinct instances.
+     */
+    private static final class MarshallingTracker {
+        private final IdentityHashMap<ObjectProvenance,Integer> identityIds = new IdentityHashMap<>();
+        private final Map<ObjectProvenance,Integer> equalityIds = new HashMap<>();
+        private final Queue<ObjectProvenance> pending = new ArrayDeque<>();
+        private int count = 0;
+
+        /**
+         * Gets the id of the supplied provenance, assigning a new one and queuing the provenance
+         * if neither it nor an equal provenance has been seen before.
+         * @param provenance The provenance to look up.
+         * @return The id.
+         */
+        int getOrAdd(ObjectProvenance provenance) {
+            Integer id = identityIds.get(provenance);
+            if (id == null) {
+                id = equalityIds.get(provenance);
+                if (id == null) {
+                    id = count;
+                    count++;
+                    equalityIds.put(provenance, id);
+                    pending.add(provenance);
+                }
+                identityIds.put(provenance, id);
+            }
+            return id;
+        }
     }
 
     /**
@@ -662,10 +982,10 @@ public final class ProvenanceUtil {
      * fields with references to their name-id tuples (generated using {@link ProvenanceUtil#computeName}.
      * @param provenance The provenance to marshal.
      * @param name The name of the provenance.
-     * @param map The map of other provenances in this object graph.
+     * @param map The ids of the other provenances in this object graph.
      * @return A single marshalled provenance.
      */
-    private static ObjectMarshalledProvenance marshalSingleProvenance(ObjectProvenance provenance, String name, Map<ObjectProvenance,Integer> map) {
+    private static ObjectMarshalledProvenance marshalSingleProvenance(ObjectProvenance provenance, String name, MarshallingTracker map) {
         Map<String, FlatMarshalledProvenance> outputMap = new HashMap<>();
 
         for (Pair<String,Provenance> e : provenance) {
@@ -683,10 +1003,10 @@ public final class ProvenanceUtil {
      * an {@link ObjectProvenance} it's converted into a reference and returns a {@link SimpleMarshalledProvenance}.
      * @param prov The provenance to convert.
      * @param key The name to give the provenance.
-     * @param map The map of ObjectProvenances in this object graph.
+     * @param map The ids of the ObjectProvenances in this object graph.
      * @return A single flattened marshalled provenance.
      */
-    private static FlatMarshalledProvenance flattenSingleProvenance(Provenance prov, String key, Map<ObjectProvenance,Integer> map) {
+    private static FlatMarshalledProvenance flattenSingleProvenance(Provenance prov, String key, MarshallingTracker map) {
         if (prov instanceof ListProvenance) {
             List<FlatMarshalledProvenance> list = new ArrayList<>();
 
@@ -705,7 +1025,7 @@ public final class ProvenanceUtil {
             return new MapMarshalledProvenance(propMap);
         } else if (prov instanceof ObjectProvenance) {
             ObjectProvenance objProv = (ObjectProvenance) prov;
-            return new SimpleMarshalledProvenance(key, computeName(objProv, map.get(objProv)), objProv);
+            return new SimpleMarshalledProvenance(key, computeName(objProv, map.getOrAdd(objProv)), objProv);
         } else if (prov instanceof HashProvenance) {
             return new SimpleMarshalledProvenance((HashProvenance) prov);
         } else if (prov instanceof EnumProvenance) {
@@ -754,109 +1074,221 @@ public final class ProvenanceUtil {
      * @return A provenance.
      */
     public static ObjectProvenance unmarshalProvenance(List<ObjectMarshalledProvenance> marshalledProvenance) {
-        Map<String,ObjectProvenance> unmarshalledObjects = new HashMap<>();
+        return unmarshalProvenance(marshalledProvenance, null);
+    }
+
+    /**
+     * Unmarshals the provenances as {@link #unmarshalProvenance(List)}, canonicalizing each
+     * provenance through the supplied interner as it is constructed, so the output shares
+     * structure with any other provenances unmarshalled using the same interner.
+     * <p>
+     * This method throws {@link ProvenanceException} when the <code>marshalledProvenance</code> list
+     * contains malformed objects, the classes are missing, or the appropriate constructors are not available.
+     * @param marshalledProvenance The marshalled provenances to unmarshall.
+     * @param interner The interner to use, if null the provenances are not interned.
+     * @return A provenance.
+     */
+    public static ObjectProvenance unmarshalProvenance(List<ObjectMarshalledProvenance> marshalledProvenance, ProvenanceInterner interner) {
         Map<String,ObjectMarshalledProvenance> marshalledObjects = new HashMap<>();
 
         for (ObjectMarshalledProvenance o : marshalledProvenance) {
             marshalledObjects.put(o.getName(),o);
         }
 
-        return unmarshalProvenance(marshalledProvenance.get(0), unmarshalledObjects, marshalledObjects);
+        ObjectMarshalledProvenance root = marshalledProvenance.get(0);
+        List<List<ObjectMarshalledProvenance>> levels = computeUnmarshalLevels(root, marshalledObjects);
+
+        // Objects in the same level don't refer to each other, so each level can be built in parallel.
+        Map<String,ObjectProvenance> unmarshalledObjects = new ConcurrentHashMap<>();
+        for (List<ObjectMarshalledProvenance> level : levels) {
+            if (level.size() >= PARALLEL_UNMARSHAL_THRESHOLD) {
+                level.parallelStream().forEach(o -> unmarshalledObjects.put(o.getName(), unmarshalObject(o, unmarshalledObjects, interner)));
+            } else {
+                for (ObjectMarshalledProvenance o : level) {
+                    unmarshalledObjects.put(o.getName(), unmarshalObject(o, unmarshalledObjects, interner));
+                }
+            }
+        }
+
+        return unmarshalledObjects.get(root.getName());
+    }
+
+    /**
+     * Interns the provenance if the interner is not null.
+     * @param interner The interner, may be null.
+     * @param provenance The provenance.
+     * @param <T> The type of the provenance.
+     * @return The canonical provenance, or the input if the interner is null.
+     */
+    private static <T extends Provenance> T maybeIntern(ProvenanceInterner interner, T provenance) {
+        return interner == null ? provenance : interner.intern(provenance);
     }
 
     /**
-     * Recursively unmarshalls a single ObjectMarshalledProvenance, updating the two maps to keep track of the
-     * state.
+     * Topologically sorts the objects reachable from the root into levels, where each
+     * object only refers to objects in earlier levels. The root is the only member of the
+     * last level.
+     * <p>
+     * Throws {@link ProvenanceException} if an object refers to an object which is not present
+     * or the references form a cycle.
+     * @param root The root marshalled provenance.
+     * @param marshalledObjects The marshalled objects by name.
+     * @return The levels.
+     */
+    private static List<List<ObjectMarshalledProvenance>> computeUnmarshalLevels(ObjectMarshalledProvenance root, Map<String,ObjectMarshalledProvenance> marshalledObjects) {
+        Map<String,Integer> levelMap = new HashMap<>();
+        Map<String,List<String>> references = new HashMap<>();
+        List<List<ObjectMarshalledProvenance>> levels = new ArrayList<>();
+
+        // Iterative post-order traversal, an object's level is one more than the deepest object it refers to.
+        // Objects which are on the stack but don't have a level yet are in progress, so referring to them is a cycle.
+        ArrayDeque<ObjectMarshalledProvenance> stack = new ArrayDeque<>();
+        stack.push(root);
+        references.put(root.getName(), collectReferences(root));
+        while (!stack.isEmpty()) {
+            ObjectMarshalledProvenance cur = stack.peek();
+            ObjectMarshalledProvenance next = null;
+            int level = 0;
+            for (String refName : references.get(cur.getName())) {
+                Integer refLevel = levelMap.get(refName);
+                if (refLevel != null) {
+                    level = Math.max(level, refLevel + 1);
+                } else if (references.containsKey(refName) || !marshalledObjects.containsKey(refName)) {
+                    throw new ProvenanceException("Invalid provenance object " + cur.getName() + " refers to an object called " + refName + " which is not present (or forms a cycle).");
+                } else {
+                    next = marshalledObjects.get(refName);
+                    break;
+                }
+            }
+            if (next != null) {
+                references.put(next.getName(), collectReferences(next));
+                stack.push(next);
+            } else {
+                stack.pop();
+                levelMap.put(cur.getName(), level);
+                while (levels.size() <= level) {
+                    levels.add(new ArrayList<>());
+                }
+                levels.get(level).add(cur);
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Collects the names of the objects referred to by the supplied object.
+     * @param omp The marshalled provenance.
+     * @return The names of the referenced objects.
+     */
+    private static List<String> collectReferences(ObjectMarshalledProvenance omp) {
+        List<String> output = new ArrayList<>();
+        ArrayDeque<FlatMarshalledProvenance> queue = new ArrayDeque<>(omp.getMap().values());
+        while (!queue.isEmpty()) {
+            FlatMarshalledProvenance fmp = queue.poll();
+            if (fmp instanceof SimpleMarshalledProvenance) {
+                SimpleMarshalledProvenance smp = (SimpleMarshalledProvenance) fmp;
+                if (smp.isReference()) {
+                    output.add(smp.getValue());
+                }
+            } else if (fmp instanceof ListMarshalledProvenance) {
+                queue.addAll(((ListMarshalledProvenance) fmp).getList());
+            } else if (fmp instanceof MapMarshalledProvenance) {
+                for (Pair<String,FlatMarshalledProvenance> tuple : (MapMarshalledProvenance) fmp) {
+                    queue.add(tuple.getB());
+                }
+            } else {
+                throw new ProvenanceException("Unexpected FlatMarshalledProvenance subclass, found " + fmp.getClass().getName());
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Checks that {@link #unmarshalProvenance(List)} can construct the named provenance class,
+     * i.e., it can be loaded, implements {@link ObjectProvenance} and has a public
+     * <code>Map&lt;String,Provenance&gt;</code> constructor.
+     * @param provenanceClassName The provenance class name.
+     * @return True if the class can be constructed from its marshalled form.
+     */
+    public static boolean hasUnmarshallingConstructor(String provenanceClassName) {
+        try {
+            Class<?> provenanceClass = ProvenanceConstructors.loadClass(provenanceClassName);
+            return ObjectProvenance.class.isAssignableFrom(provenanceClass) && ProvenanceConstructors.hasConstructor(provenanceClass);
+        } catch (ProvenanceException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Unmarshalls a single ObjectMarshalledProvenance. All the objects it refers to must
+     * already be in the unmarshalled objects map.
      * @param curProv The current marshalled provenance.
      * @param unmarshalledObjects The map of unmarshalled objects.
-     * @param marshalledObjects The map of marshalled objects.
+     * @param interner The interner to canonicalize the provenances with, may be null.
      * @return A constructed ObjectProvenance.
      * @throws ProvenanceException If the ObjectProvenance could not be constructed, or if it failed to load the class.
      */
-    private static ObjectProvenance unmarshalProvenance(ObjectMarshalledProvenance curProv, Map<String,ObjectProvenance> unmarshalledObjects, Map<String,ObjectMarshalledProvenance> marshalledObjects) throws ProvenanceException {
-        String provenanceClassName = curProv.getProvenanceClassName();
-        try {
-            Class<?> provenanceClass = Class.forName(provenanceClassName);
+    private static ObjectProvenance unmarshalObject(ObjectMarshalledProvenance curProv, Map<String,ObjectProvenance> unmarshalledObjects, ProvenanceInterner interner) throws ProvenanceException {
+        Class<?> provenanceClass = ProvenanceConstructors.loadClass(curProv.getProvenanceClassName());
 
-            if (!ObjectProvenance.class.isAssignableFrom(provenanceClass)) {
-                throw new ProvenanceException("ObjectMarshalledProvenance " + curProv + " does not represent a class which implements ObjectProvenance, found " + provenanceClass.getName());
-            }
-            Map<String, Provenance> arguments = new HashMap<>();
-
-            for (Map.Entry<String, FlatMarshalledProvenance> e : curProv.getMap().entrySet()) {
-                Provenance extractedProv = unmarshalFlat(curProv.getName(),e.getValue(),unmarshalledObjects,marshalledObjects);
-                arguments.put(e.getKey(),extractedProv);
-            }
+        if (!ObjectProvenance.class.isAssignableFrom(provenanceClass)) {
+            throw new ProvenanceException("ObjectMarshalledProvenance " + curProv + " does not represent a class which implements ObjectProvenance, found " + provenanceClass.getName());
+        }
+        Map<String, Provenance> arguments = new HashMap<>();
 
-            Constructor<?> provenanceConstructor = provenanceClass.getConstructor(Map.class);
-            ObjectProvenance provenance = (ObjectProvenance) provenanceConstructor.newInstance(arguments);
-            return provenance;
-        } catch (InstantiationException e) {
-            throw new ProvenanceException("Failed to instantiate " + provenanceClassName,e);
-        } catch (InvocationTargetException e) {
-            throw new ProvenanceException("Exception thrown by " + provenanceClassName + " constructor",e);
-        } catch (NoSuchMethodException e) {
-            throw new ProvenanceException("No constructor ObjectProvenance(Map<String,Provenance>) found in " + provenanceClassName,e);
-        } catch (IllegalAccessException e) {
-            throw new ProvenanceException("The ObjectProvenance subclass " + provenanceClassName + " doesn't contain a public constructor which accepts a Map",e);
-        } catch (ClassNotFoundException e) {
-            throw new ProvenanceException("Failed to find a class called " + provenanceClassName);
+        for (Map.Entry<String, FlatMarshalledProvenance> e : curProv.getMap().entrySet()) {
+            Provenance extractedProv = unmarshalFlat(curProv.getName(),e.getValue(),unmarshalledObjects,interner);
+            arguments.put(e.getKey(),extractedProv);
         }
+
+        return maybeIntern(interner, ProvenanceConstructors.construct(provenanceClass, arguments));
     }
 
     /**
      * Converts a FlatMarshalledProvenance into a Provenance, either by recursively calling {@link ProvenanceUtil#unmarshalFlat} on
-     * the elements of a list or map, by recursively calling {@link ProvenanceUtil#unmarshalProvenance} on an ObjectMarshalledProvenance
+     * the elements of a list or map, by looking up a referenced ObjectProvenance in the unmarshalled objects,
      * or calling {@link SimpleMarshalledProvenance#unmarshallPrimitive()} on a primitive.
      * <p>
-     * Throws provenance exception if there is a cycle or an unexpected class was found.
+     * Throws provenance exception if a referenced object has not been unmarshalled or an unexpected class was found.
      * @param hostProvName The host provenance name, used for error messages.
      * @param fmp The marshalled provenance to unmarshal.
      * @param unmarshalledObjects The current map of unmarshalled ObjectProvenances.
-     * @param marshalledObjects The current map of marshalled provenances.
+     * @param interner The interner to canonicalize the provenances with, may be null.
      * @return A provenance object.
      */
-    private static Provenance unmarshalFlat(String hostProvName, FlatMarshalledProvenance fmp, Map<String,ObjectProvenance> unmarshalledObjects, Map<String,ObjectMarshalledProvenance> marshalledObjects) {
+    private static Provenance unmarshalFlat(String hostProvName, FlatMarshalledProvenance fmp, Map<String,ObjectProvenance> unmarshalledObjects, ProvenanceInterner interner) {
         if (fmp instanceof SimpleMarshalledProvenance) {
             SimpleMarshalledProvenance smp = (SimpleMarshalledProvenance) fmp;
             if (smp.isReference()) {
                 String refName = smp.getValue();
-                if (unmarshalledObjects.containsKey(refName)) {
-                    return unmarshalledObjects.get(refName);
-                } else if (marshalledObjects.containsKey(refName)) {
-                    // Need to recurse into the object as it's not been unmarshalled.
-                    // First remove it from the list (so if we reference it again it will throw ProvenanceException).
-                    ObjectMarshalledProvenance omp = marshalledObjects.remove(refName);
-                    // Recurse into the marshalled object provenance
-                    ObjectProvenance unmarshalled = unmarshalProvenance(omp, unmarshalledObjects, marshalledObjects);
-                    // Put the unmarshalled object provenance into the map and return it.
-                    unmarshalledObjects.put(refName, unmarshalled);
+                ObjectProvenance unmarshalled = unmarshalledObjects.get(refName);
+                if (unmarshalled != null) {
                     return unmarshalled;
                 } else {
                     throw new ProvenanceException("Invalid provenance object " + hostProvName + " refers to an object called " + refName + " which is not present (or forms a cycle).");
                 }
             } else {
-                return smp.unmarshallPrimitive();
+                return maybeIntern(interner, smp.unmarshallPrimitive());
             }
         } else if (fmp instanceof ListMarshalledProvenance) {
             ListMarshalledProvenance lmp = (ListMarshalledProvenance) fmp;
-            List<Provenance> convertedList = new ArrayList<>();
+            List<Provenance> convertedList = new ArrayList<>(lmp.getList().size());
             for (FlatMarshalledProvenance smp : lmp) {
-                convertedList.add(unmarshalFlat(hostProvName,smp,unmarshalledObjects,marshalledObjects));
+                convertedList.add(unmarshalFlat(hostProvName,smp,unmarshalledObjects,interner));
             }
-            return new ListProvenance<>(convertedList);
+            return maybeIntern(interner, new ListProvenance<>(convertedList));
         } else if (fmp instanceof MapMarshalledProvenance) {
             MapMarshalledProvenance mmp = (MapMarshalledProvenance) fmp;
             Map<String,Provenance> convertedMap = new HashMap<>();
             for (Pair<String,FlatMarshalledProvenance> tuple : mmp) {
-                convertedMap.put(tuple.getA(), unmarshalFlat(hostProvName,tuple.getB(),unmarshalledObjects,marshalledObjects));
+                convertedMap.put(tuple.getA(), unmarshalFlat(hostProvName,tuple.getB(),unmarshalledObjects,interner));
             }
-            return new MapProvenance<>(convertedMap);
+            return maybeIntern(interner, new MapProvenance<>(convertedMap));
         } else {
             throw new ProvenanceException("Unexpected FlatMarshalledProvenance subclass, found " + fmp.getClass().getName());
         }
     }
-    
+
     /**
      * This method can be used for custom implementations of the writeObject method
      * used for customized object serialization to facilitate the serialization of
@@ -867,6 +1299,8 @@ public final class ProvenanceUtil {
      * serialize and deserialize correctly now or in the future. Therefore, you are
      * advised to <b>avoid using this method</b> but if you do use it, then you
      * should extensively unit test code that depends on this method.
+     * <p>
+     * The provenance is written in the compact form provided by {@link SerializedProvenance}.
      * 
      * @param provenancable The provenancable object to serialize.
      * @param outputStream The output stream to write to.
@@ -874,7 +1308,7 @@ public final class ProvenanceUtil {
      */
     public static void writeObject(Provenancable<? extends ConfiguredObjectProvenance> provenancable,  ObjectOutputStream outputStream) throws IOException {
         ObjectProvenance provenance = provenancable.getProvenance();
-        outputStream.writeObject(provenance);
+        outputStream.writeObject(SerializedProvenance.replace(provenance));
     }
 
     /**
@@ -900,6 +1334,33 @@ public final class ProvenanceUtil {
         return provenancable;
     }
 
+    /**
+     * A named tuple representing the deduplicated configurations extracted from many provenances
+     * by {@link #extractConfigurations(List)}.
+     * <p>
+     * It'll be a record one day.
+     */
+    public static final class MergedConfiguration {
+        /**
+         * The deduplicated configurations.
+         */
+        public final List<ConfigurationData> configurations;
+        /**
+         * The component name of the root object of each input provenance, in the input order.
+         */
+        public final List<String> rootNames;
+
+        /**
+         * Constructs a MergedConfiguration tuple.
+         * @param configurations The deduplicated configurations.
+         * @param rootNames The component names of the root objects.
+         */
+        MergedConfiguration(List<ConfigurationData> configurations, List<String> rootNames) {
+            this.configurations = Collections.unmodifiableList(configurations);
+            this.rootNames = Collections.unmodifiableList(rootNames);
+        }
+    }
+
     /**
      * A named tuple representing the extraction order of the {@link ConfiguredObjectProvenance}s discovered in a single {@link ObjectProvenance}.
      * <p>
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance;
+
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil.HashType;
+import com.oracle.labs.mlrg.olcut.util.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A persistent cache of file hashes, used by {@link ProvenanceUtil#hashResource} to avoid
+ * rehashing large files which haven't changed.
+ * <p>
+ * Entries are keyed by the canonical path of the file and the hash type, and are only valid
+ * while the file's size, modification time and file key (the device and inode on Unix) are
+ * unchanged. Each entry is a small file in the cache directory which is atomically replaced when
+ * written, so the cache can be shared between processes without locking. Optionally the entry is
+ * also stored as a user extended attribute on the hashed file itself, so it follows the file if the
+ * cache directory is not shared, on file systems which support them.
+ * <p>
+ * This class is thread safe.
+ */
+public final class ResourceHashCache {
+    private static final Logger logger = Logger.getLogger(ResourceHashCache.class.getName());
+
+    /**
+     * The environment variable which enables the default cache used by {@link ProvenanceUtil}.
+     * Its value is the cache directory.
+     */
+    public static final String CACHE_DIR_ENV = "OLCUT_HASH_CACHE";
+
+    private static final String ENTRY_VERSION = "1";
+
+    private static final String ENTRY_SUFFIX = ".hash";
+
+    private static final String XATTR_PREFIX = "olcut.hash.";
+
+    private final Path directory;
+
+    private final boolean useExtendedAttributes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong lookupCount = new AtomicLong();
+
+    /**
+     * Creates a cache stored in the supplied directory, which is created if necessary.
+     * @param directory The cache directory.
+     * @throws IOException If the directory could not be created.
+     */
+    public ResourceHashCache(Path directory) throws IOException {
+        this(directory, false);
+    }
+
+    /**
+     * Creates a cache stored in the supplied directory, which is created if necessary.
+     * @param directory The cache directory.
+     * @param useExtendedAttributes If true also store and look up entries in the extended attributes of the hashed files.
+     * @throws IOException If the directory could not be created.
+     */
+    public ResourceHashCache(Path directory, boolean useExtendedAttributes) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.useExtendedAttributes = useExtendedAttributes;
+    }
+
+    /**
+     * The default location for a hash cache, "hash-cache" in the OLCUT root directory.
+     * @return The default cache directory.
+     */
+    public static Path defaultLocation() {
+        return Util.getOlcutRoot().resolve("hash-cache");
+    }
+
+    /**
+     * The cache directory.
+     * @return The cache directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * The number of lookups which found a valid entry.
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * The number of lookups.
+     * @return The lookup count.
+     */
+    public long getLookupCount() {
+        return lookupCount.get();
+    }
+
+    /**
+     * Returns the hash of the file, computing and storing it if there is no valid entry.
+     * <p>
+     * The hash is only stored if the file was not modified while it was being hashed.
+     * @param hashType The hash type.
+     * @param path The file.
+     * @return The hexadecimal hash.
+     * @throws IOException If the file could not be read.
+     */
+    public String hash(HashType hashType, Path path) throws IOException {
+        FileState before = FileState.of(path);
+        Optional<String> cached = lookup(hashType, before);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        String hash = ProvenanceUtil.hashFile(hashType, path);
+        FileState after = FileState.of(path);
+        if (before.equals(after)) {
+            store(hashType, after, hash);
+        } else {
+            logger.fine("File " + path + " changed while it was hashed, not caching the hash");
+        }
+        return hash;
+    }
+
+    /**
+     * Looks up the hash of the file.
+     * @param hashType The hash type.
+     * @param path The file.
+     * @return The hash if there is a valid entry, otherwise an empty optional.
+     * @throws IOException If the file's attributes could not be read.
+     */
+    public Optional<String> get(HashType hashType, Path path) throws IOException {
+        return lookup(hashType, FileState.of(path));
+    }
+
+    /**
+     * Removes any entry for the file from the cache directory.
+     * @param hashType The hash type.
+     * @param path The file.
+     * @throws IOException If the entry could not be removed.
+     */
+    public void invalidate(HashType hashType, Path path) throws IOException {
+        Files.deleteIfExists(entryPath(hashType, path.toRealPath().toString()));
+    }
+
+    private Optional<String> lookup(HashType hashType, FileState state) {
+        lookupCount.incrementAndGet();
+        Optional<String> output = Optional.empty();
+        if (useExtendedAttributes) {
+            output = readAttribute(hashType, state).flatMap(s -> parse(s, hashType, state));
+        }
+        if (!output.isPresent()) {
+            Path entry = entryPath(hashType, state.path);
+            try {
+                if (Files.exists(entry)) {
+                    output = parse(new String(Files.readAllBytes(entry), StandardCharsets.UTF_8), hashType, state);
+                }
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Failed to read hash cache entry " + entry, e);
+            }
+        }
+        if (output.isPresent()) {
+            hitCount.incrementAndGet();
+        }
+        return output;
+    }
+
+    private void store(HashType hashType, FileState state, String hash) {
+        String entry = ENTRY_VERSION + '\t' + hashType.name() + '\t' + state.size + '\t' + state.modifiedNanos
+                + '\t' + state.fileKey + '\t' + hash + '\t' + state.path;
+        Path entryPath = entryPath(hashType, state.path);
+        Path tmpPath = null;
+        try {
+            tmpPath = Files.createTempFile(directory, entryPath.getFileName().toString(), ".tmp");
+            Files.write(tmpPath, entry.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmpPath, entryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to write hash cache entry " + entryPath, e);
+            if (tmpPath != null) {
+                try {
+                    Files.deleteIfExists(tmpPath);
+                } catch (IOException ex) {
+                    logger.log(Level.FINE, "Failed to remove temporary hash cache entry " + tmpPath, ex);
+                }
+            }
+        }
+        if (useExtendedAttributes) {
+            writeAttribute(hashType, state, entry);
+        }
+    }
+
+    /**
+     * Parses an entry, returning the hash if it matches the file state.
+     */
+    private static Optional<String> parse(String entry, HashType hashType, FileState state) {
+        String[] split = entry.split("\t", 7);
+        if ((split.length != 7) || !split[0].equals(ENTRY_VERSION) || !split[1].equals(hashType.name())) {
+            return Optional.empty();
+        }
+        try {
+            if ((Long.parseLong(split[2]) != state.size) || (Long.parseLong(split[3]) != state.modifiedNanos)
+                    || !split[4].equals(state.fileKey) || !split[6].equals(state.path)) {
+                return Optional.empty();
+            }
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        return Optional.of(split[5]);
+    }
+
+    private Path entryPath(HashType hashType, String canonicalPath) {
+        String name = ProvenanceUtil.hashArray(HashType.SHA256, (hashType.name() + '\t' + canonicalPath).getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(name + ENTRY_SUFFIX);
+    }
+
+    private static Optional<String> readAttribute(HashType hashType, FileState state) {
+        try {
+            UserDefinedFileAttributeView view = Files.getFileAttributeView(Path.of(state.path), UserDefinedFileAttributeView.class);
+            if (view != null) {
+                String name = XATTR_PREFIX + hashType.name();
+                if (view.list().contains(name)) {
+                    ByteBuffer buffer = ByteBuffer.allocate(view.size(name));
+                    view.read(name, buffer);
+                    buffer.flip();
+                    return Optional.of(StandardCharsets.UTF_8.decode(buffer).toString());
+                }
+            }
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            logger.log(Level.FINE, "Failed to read hash attribute from " + state.path, e);
+        }
+        return Optional.empty();
+    }
+
+    private static void writeAttribute(HashType hashType, FileState state, String entry) {
+        try {
+            UserDefinedFileAttributeView view = Files.getFileAttributeView(Path.of(state.path), UserDefinedFileAttributeView.class);
+            if (view != null) {
+                view.write(XATTR_PREFIX + hashType.name(), StandardCharsets.UTF_8.encode(entry));
+            }
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            logger.log(Level.FINE, "Failed to write hash attribute to " + state.path, e);
+        }
+    }
+
+    /**
+     * The attributes of a file which determine if a cache entry is valid.
+     */
+    private static final class FileState {
+        final String path;
+        final long size;
+        final long modifiedNanos;
+        final String fileKey;
+
+        private FileState(String path, long size, long modifiedNanos, String fileKey) {
+            this.path = path;
+            this.size = size;
+            this.modifiedNanos = modifiedNanos;
+            this.fileKey = fileKey;
+        }
+
+        static FileState of(Path path) throws IOException {
+            Path realPath = path.toRealPath();
+            BasicFileAttributes attributes = Files.readAttributes(realPath, BasicFileAttributes.class);
+            Object key = attributes.fileKey();
+            return new FileState(realPath.toString(), attributes.size(),
+                    attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), key == null ? "" : key.toString());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FileState)) return false;
+            FileState that = (FileState) o;
+            return size == that.size && modifiedNanos == that.modifiedNanos && path.equals(that.path) && fileKey.equals(that.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, modifiedNanos, fileKey);
+        }
+    }
+}
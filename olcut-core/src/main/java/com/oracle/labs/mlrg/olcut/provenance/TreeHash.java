@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance;
+
+import com.oracle.labs.mlrg.olcut.util.ChannelUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A Merkle tree hash built from SHA-256, used by {@link ProvenanceUtil.HashType#SHA256_TREE}.
+ * <p>
+ * The input is split into {@value #CHUNK_SIZE} byte chunks, each leaf is the SHA-256 of a 0x00 byte
+ * followed by the chunk, and each internal node is the SHA-256 of a 0x01 byte followed by its two
+ * children. Levels are combined pairwise from the left, and an odd node at the end of a level is
+ * promoted unchanged to the next level. The empty input has a single empty leaf.
+ * <p>
+ * As the chunks are independent, files are hashed in parallel using positional reads, and a file
+ * hash can be computed incrementally and resumed using a {@link TreeHashState}.
+ */
+final class TreeHash {
+
+    /**
+     * The size of each leaf chunk.
+     */
+    static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final byte LEAF_PREFIX = 0x00;
+
+    private static final byte NODE_PREFIX = 0x01;
+
+    private static final String BASE_ALGORITHM = "SHA-256";
+
+    private TreeHash() {}
+
+    private static MessageDigest baseDigest() {
+        try {
+            return MessageDigest.getInstance(BASE_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ProvenanceException("Unable to construct MessageDigest for " + BASE_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Combines the leaf digests into the root digest.
+     * @param leaves The leaf digests in input order.
+     * @return The root digest.
+     */
+    static byte[] combine(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException("Tree hash requires at least one leaf");
+        }
+        MessageDigest md = baseDigest();
+        List<byte[]> level = leaves;
+        while (level.size() > 1) {
+            List<byte[]> next = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i + 1 < level.size(); i += 2) {
+                md.update(NODE_PREFIX);
+                md.update(level.get(i));
+                md.update(level.get(i + 1));
+                next.add(md.digest());
+            }
+            if ((level.size() % 2) == 1) {
+                next.add(level.get(level.size() - 1));
+            }
+            level = next;
+        }
+        return level.get(0);
+    }
+
+    /**
+     * Hashes a file, hashing the chunks in parallel on the common fork join pool.
+     * @param path The file.
+     * @return The root digest.
+     * @throws IOException If the file could not be read.
+     */
+    static byte[] hashFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            return combine(hashChunks(channel, size, 0, numChunks(size)));
+        }
+    }
+
+    /**
+     * The number of leaves in the tree for an input of the supplied size.
+     * @param size The input size.
+     * @return The number of leaves.
+     */
+    static int numChunks(long size) {
+        return (int) Math.max(1, (size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    /**
+     * Hashes the chunks in the range, in parallel if there is more than one.
+     * @param channel The file channel.
+     * @param size The file size.
+     * @param start The first chunk, inclusive.
+     * @param end The last chunk, exclusive.
+     * @return The leaf digests.
+     * @throws IOException If the file could not be read.
+     */
+    static List<byte[]> hashChunks(FileChannel channel, long size, int start, int end) throws IOException {
+        IntStream chunks = IntStream.range(start, end);
+        if ((end - start) > 1) {
+            chunks = chunks.parallel();
+        }
+        try {
+            return chunks.mapToObj(i -> hashChunk(channel, size, i)).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static byte[] hashChunk(FileChannel channel, long size, int chunk) {
+        long offset = (long) chunk * CHUNK_SIZE;
+        int length = (int) Math.min(CHUNK_SIZE, size - offset);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            ChannelUtil.readFully(channel, offset, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        MessageDigest md = baseDigest();
+        md.update(LEAF_PREFIX);
+        md.update(buffer.array(), 0, buffer.position());
+        return md.digest();
+    }
+
+    /**
+     * A sequential {@link MessageDigest} implementation of the tree hash, for hashing
+     * streams and arrays.
+     */
+    static final class TreeMessageDigest extends MessageDigest {
+        private MessageDigest leaf = baseDigest();
+        private long leafBytes = 0;
+        private List<byte[]> leaves = new ArrayList<>();
+
+        TreeMessageDigest(String name) {
+            super(name);
+            leaf.update(LEAF_PREFIX);
+        }
+
+        @Override
+        protected void engineUpdate(byte input) {
+            if (leafBytes == CHUNK_SIZE) {
+                finishLeaf();
+            }
+            leaf.update(input);
+            leafBytes++;
+        }
+
+        @Override
+        protected void engineUpdate(byte[] input, int offset, int len) {
+            while (len > 0) {
+                if (leafBytes == CHUNK_SIZE) {
+                    finishLeaf();
+                }
+                int n = (int) Math.min(len, CHUNK_SIZE - leafBytes);
+                leaf.update(input, offset, n);
+                leafBytes += n;
+                offset += n;
+                len -= n;
+            }
+        }
+
+        private void finishLeaf() {
+            leaves.add(leaf.digest());
+            leaf.update(LEAF_PREFIX);
+            leafBytes = 0;
+        }
+
+        @Override
+        protected int engineGetDigestLength() {
+            return leaf.getDigestLength();
+        }
+
+        @Override
+        protected byte[] engineDigest() {
+            // The final chunk is always a leaf, so the empty input is a single empty leaf
+            leaves.add(leaf.digest());
+            byte[] output = combine(leaves);
+            engineReset();
+            return output;
+        }
+
+        @Override
+        protected void engineReset() {
+            leaf.reset();
+            leaf.update(LEAF_PREFIX);
+            leafBytes = 0;
+            leaves = new ArrayList<>();
+        }
+
+        @Override
+        public Object clone() throws CloneNotSupportedException {
+            TreeMessageDigest copy = (TreeMessageDigest) super.clone();
+            copy.leaf = (MessageDigest) leaf.clone();
+            copy.leaves = new ArrayList<>(leaves);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The completed leaves of a partially computed {@link ProvenanceUtil.HashType#SHA256_TREE} file hash,
+ * used to resume hashing a large file.
+ * <p>
+ * The state holds the digests of the complete chunks at the start of the file. It doesn't hold
+ * the bytes of an incomplete chunk, so hashing resumes from the end of the last complete chunk,
+ * and at most one chunk is read again. The state can be saved with {@link #toBytes()} and
+ * restored with {@link #fromBytes(byte[])}.
+ * <p>
+ * The state doesn't record which file it came from, so the caller must check that the prefix
+ * of the file covered by the state is unchanged before resuming.
+ */
+public final class TreeHashState {
+
+    private static final int DIGEST_LENGTH = 32;
+
+    private static final TreeHashState EMPTY = new TreeHashState(Collections.emptyList());
+
+    private final List<byte[]> leaves;
+
+    private TreeHashState(List<byte[]> leaves) {
+        this.leaves = leaves;
+    }
+
+    /**
+     * Returns the state before any bytes have been hashed.
+     * @return The empty state.
+     */
+    public static TreeHashState empty() {
+        return EMPTY;
+    }
+
+    /**
+     * The number of complete chunks in this state.
+     * @return The number of leaves.
+     */
+    public int getNumLeaves() {
+        return leaves.size();
+    }
+
+    /**
+     * The number of bytes from the start of the file which have been hashed.
+     * @return The offset to resume hashing from.
+     */
+    public long getOffset() {
+        return (long) leaves.size() * TreeHash.CHUNK_SIZE;
+    }
+
+    /**
+     * Hashes the complete chunks of the file after this state, reading at most {@code maxBytes} bytes.
+     * <p>
+     * Fewer bytes are read if {@code maxBytes} is not a multiple of the chunk size, or if the
+     * file ends with an incomplete chunk.
+     * @param path The file.
+     * @param maxBytes The maximum number of bytes to read.
+     * @return The state after hashing those chunks.
+     * @throws IOException If the file could not be read, or is shorter than this state.
+     */
+    public TreeHashState update(Path path, long maxBytes) throws IOException {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must be non-negative, found " + maxBytes);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = checkSize(channel, path);
+            long end = Math.min(size, getOffset() + Math.min(maxBytes, size));
+            int endChunk = (int) (end / TreeHash.CHUNK_SIZE);
+            if (endChunk <= leaves.size()) {
+                return this;
+            }
+            List<byte[]> newLeaves = new ArrayList<>(endChunk);
+            newLeaves.addAll(leaves);
+            newLeaves.addAll(TreeHash.hashChunks(channel, size, leaves.size(), endChunk));
+            return new TreeHashState(Collections.unmodifiableList(newLeaves));
+        }
+    }
+
+    /**
+     * Hashes the remainder of the file and returns the root digest, which is the same as
+     * {@link ProvenanceUtil#hashResource(ProvenanceUtil.HashType, Path)} with
+     * {@link ProvenanceUtil.HashType#SHA256_TREE} for an unchanged file.
+     * @param path The file.
+     * @return A hexadecimal string representation of the hash.
+     * @throws IOException If the file could not be read, or is shorter than this state.
+     */
+    public String finish(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = checkSize(channel, path);
+            List<byte[]> allLeaves = new ArrayList<>(leaves);
+            allLeaves.addAll(TreeHash.hashChunks(channel, size, leaves.size(), TreeHash.numChunks(size)));
+            return ProvenanceUtil.bytesToHexString(TreeHash.combine(allLeaves));
+        }
+    }
+
+    private long checkSize(FileChannel channel, Path path) throws IOException {
+        long size = channel.size();
+        if (size < getOffset()) {
+            throw new IOException("File " + path + " has " + size + " bytes, but the tree hash state covers " + getOffset() + " bytes");
+        }
+        return size;
+    }
+
+    /**
+     * Writes this state as the chunk size, the number of leaves and the leaf digests.
+     * @return The serialized state.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + (leaves.size() * DIGEST_LENGTH));
+        buffer.putInt(TreeHash.CHUNK_SIZE);
+        buffer.putInt(leaves.size());
+        for (byte[] leaf : leaves) {
+            buffer.put(leaf);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Reads a state written by {@link #toBytes()}.
+     * @param bytes The serialized state.
+     * @return The state.
+     * @throws IllegalArgumentException If the bytes are not a valid state for this chunk size.
+     */
+    public static TreeHashState fromBytes(byte[] bytes) {
+        if (bytes.length < 8) {
+            throw new IllegalArgumentException("Invalid tree hash state, found " + bytes.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int chunkSize = buffer.getInt();
+        if (chunkSize != TreeHash.CHUNK_SIZE) {
+            throw new IllegalArgumentException("Invalid tree hash state, found chunk size " + chunkSize + ", expected " + TreeHash.CHUNK_SIZE);
+        }
+        int numLeaves = buffer.getInt();
+        if ((numLeaves < 0) || ((long) numLeaves * DIGEST_LENGTH != buffer.remaining())) {
+            throw new IllegalArgumentException("Invalid tree hash state, " + numLeaves + " leaves in " + buffer.remaining() + " bytes");
+        }
+        if (numLeaves == 0) {
+            return EMPTY;
+        }
+        List<byte[]> leaves = new ArrayList<>(numLeaves);
+        for (int i = 0; i < numLeaves; i++) {
+            byte[] leaf = new byte[DIGEST_LENGTH];
+            buffer.get(leaf);
+            leaves.add(leaf);
+        }
+        return new TreeHashState(Collections.unmodifiableList(leaves));
+    }
+}
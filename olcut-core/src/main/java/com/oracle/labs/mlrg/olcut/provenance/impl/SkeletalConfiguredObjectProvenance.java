@@ -39,24 +39,38 @@ import com.oracle.labs.mlrg.olcut.provenance.PrimitiveProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.Provenancable;
 import com.oracle.labs.mlrg.olcut.provenance.Provenance;
 import com.oracle.labs.mlrg.olcut.provenance.ProvenanceException;
+import com.oracle.labs.mlrg.olcut.provenance.io.SerializedProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.BooleanArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.BooleanProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ByteArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.ByteProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.CharArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.CharProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.DateProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.DateTimeProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.EnumProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.FileProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.FloatArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.FloatProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.IntProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.LongArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.LongProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ShortArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.ShortProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.TimeProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.URLProvenance;
 
 import java.io.File;
+import java.io.ObjectStreamException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.nio.file.Path;
 import java.security.AccessController;
@@ -72,7 +86,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
@@ -98,10 +111,31 @@ public abstract class SkeletalConfiguredObjectProvenance implements ConfiguredOb
 
     protected static final String HOST_SHORT_NAME = "host-short-name";
 
+    /**
+     * Per class cache of the field extraction plans.
+     */
+    private static final ClassValue<ExtractionPlan> PLANS = new ClassValue<ExtractionPlan>() {
+        @Override
+        protected ExtractionPlan computeValue(Class<?> type) {
+            return new ExtractionPlan(type.asSubclass(Configurable.class));
+        }
+    };
+
     protected final String className;
     protected final String hostShortName;
     protected final Map<String, Provenance> configuredParameters;
 
+    /**
+     * Cached hash of the fields in this class, computed on first use.
+     * Zero means it has not been computed yet.
+     */
+    private transient int cachedHash;
+
+    /**
+     * Cached fingerprint of this provenance, computed on first use.
+     */
+    private transient String cachedFingerprint;
+
     /**
      * This constructor is used to construct a provenance automatically by inspecting the configurable
      * fields of the host object.
@@ -186,179 +220,211 @@ public abstract class SkeletalConfiguredObjectProvenance implements ConfiguredOb
     }
 
     /**
-     * Extracts the configurable fields from the host object via a pile of reflection based
-     * magic. Operates on {@link FieldType}s.
+     * Extracts the configurable fields from the host object using the cached
+     * {@link ExtractionPlan} for the host's class.
      * @param host The host object.
      * @param <T> The type of the host object.
      * @return A map containing the field names and associated provenances.
      */
     private static <T extends Configurable> Map<String, Provenance> getConfiguredFields(T host) {
-        Map<String, Provenance> map = new HashMap<>();
-        Class<? extends Configurable> hostClass = host.getClass();
-        Set<Field> fields = PropertySheet.getAllFields(hostClass);
-        try {
-            for (Field f : fields) {
-                boolean accessible = f.isAccessible();
-                f.setAccessible(true);
+        return PLANS.get(host.getClass()).extract(host);
+    }
+
+    /**
+     * Converts a field value into a provenance.
+     */
+    @FunctionalInterface
+    private interface FieldConverter {
+        /**
+         * Converts the value.
+         * @param value The field value.
+         * @return The provenance, or null if the value should not be recorded.
+         */
+        Provenance convert(Object value);
+    }
+
+    /**
+     * The configured fields of a class, along with a getter and a converter for each one.
+     * <p>
+     * Building a plan does the reflection (walking the fields, checking the annotations,
+     * computing the {@link FieldType}s and generic types), so extracting the provenance
+     * from an instance is a loop over the plan's fields. Configuration errors in the
+     * field definitions are logged once when the plan is built.
+     */
+    private static final class ExtractionPlan {
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        private final String[] names;
+        private final MethodHandle[] getters;
+        private final FieldConverter[] converters;
+
+        ExtractionPlan(Class<? extends Configurable> hostClass) {
+            List<String> nameList = new ArrayList<>();
+            List<MethodHandle> getterList = new ArrayList<>();
+            List<FieldConverter> converterList = new ArrayList<>();
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            for (Field f : PropertySheet.getAllFields(hostClass)) {
                 // if configurable and not redacted
                 Config configAnnotation = f.getAnnotation(Config.class);
                 if ((configAnnotation != null) && !configAnnotation.redact()) {
                     FieldType ft = FieldType.getFieldType(f);
                     if (ft == null) {
                         logger.log(Level.SEVERE, "Provenance and configuration not supported for field '" + f.getName() + "' of type '" + f.getType() + ", value not recorded.");
-                    } else {
-                        switch (ft) {
-                            case BOOLEAN:
-                            case BYTE:
-                            case CHAR:
-                            case SHORT:
-                            case INTEGER:
-                            case LONG:
-                            case FLOAT:
-                            case DOUBLE:
-                            case STRING:
-                            case FILE:
-                            case PATH:
-                            case URL:
-                            case DATE_TIME:
-                            case DATE:
-                            case TIME:
-                            case ENUM:
-                            case CONFIGURABLE:
-                            case ATOMIC_INTEGER:
-                            case ATOMIC_LONG:
-                                Optional<Provenance> opt = convertPrimitive(ft, f.getType(), f.getName(), f.get(host));
-                                if (opt.isPresent()) {
-                                    map.put(f.getName(), opt.get());
-                                }
-                                break;
-                            case BYTE_ARRAY:
-                            case CHAR_ARRAY:
-                            case SHORT_ARRAY:
-                            case INTEGER_ARRAY:
-                            case LONG_ARRAY:
-                            case FLOAT_ARRAY:
-                            case DOUBLE_ARRAY:
-                            case BOOLEAN_ARRAY:
-                                map.put(f.getName(), convertPrimitiveArray(ft, f, f.get(host)));
-                                break;
-                            case STRING_ARRAY:
-                            case CONFIGURABLE_ARRAY:
-                                map.put(f.getName(), convertObjectArray(ft, f, (Object[]) f.get(host)));
-                                break;
-                            case LIST:
-                            case ENUM_SET:
-                            case SET: {
-                                List<Class<?>> genericClasses = PropertySheet.getGenericClass(f);
-                                if (genericClasses.size() != 1) {
-                                    logger.log(Level.SEVERE, "Invalid configurable field definition, field not recorded - found too many or too few generic type parameters for field " + f.getName());
-                                } else {
-                                    map.put(f.getName(), convertCollection(f, (Collection) f.get(host), genericClasses.get(0)));
-                                }
-                                break;
-                            }
-                            case MAP: {
-                                List<Class<?>> genericClasses = PropertySheet.getGenericClass(f);
-                                if (genericClasses.size() != 2) {
-                                    logger.log(Level.SEVERE, "Invalid configurable field definition, field not recorded - found too many or too few generic type parameters for field " + f.getName());
-                                } else {
-                                    map.put(f.getName(), convertMap(f, (Map) f.get(host), genericClasses.get(1)));
-                                }
-                                break;
-                            }
-                            case RANDOM:
-                            default:
-                                logger.log(Level.SEVERE, "Automatic provenance not supported for field type " + ft + ", field '" + f.getName() + "' not recorded.");
-                                break;
+                        continue;
+                    }
+                    FieldConverter converter = createConverter(ft, f);
+                    if (converter == null) {
+                        continue;
+                    }
+                    try {
+                        // The Field is a copy private to this plan, so the accessible flag is left set.
+                        f.setAccessible(true);
+                        MethodHandle getter = lookup.unreflectGetter(f);
+                        if (Modifier.isStatic(f.getModifiers())) {
+                            getter = MethodHandles.dropArguments(getter, 0, Object.class);
                         }
+                        nameList.add(f.getName());
+                        getterList.add(getter.asType(GETTER_TYPE));
+                        converterList.add(converter);
+                    } catch (IllegalAccessException e) {
+                        logger.log(Level.SEVERE, "Failed to access field '" + f.getName() + "' in class " + hostClass.getName() + ", field not recorded.", e);
                     }
                 }
-                f.setAccessible(accessible);
             }
-        } catch (ClassCastException e) {
-            logger.log(Level.SEVERE, "Failed to cast field from host object " + host.toString() + ". Fields not recorded.", e);
-        } catch (IllegalAccessException e) {
-            logger.log(Level.SEVERE, "Failed to access field in host object " + host.toString() + ". Fields not recorded.", e);
+            this.names = nameList.toArray(new String[0]);
+            this.getters = getterList.toArray(new MethodHandle[0]);
+            this.converters = converterList.toArray(new FieldConverter[0]);
+        }
+
+        /**
+         * Creates the converter for a field, or returns null (after logging) if the field
+         * can't be recorded.
+         * @param ft The field type.
+         * @param f The field.
+         * @return The converter.
+         */
+        private static FieldConverter createConverter(FieldType ft, Field f) {
+            String fieldName = f.getName();
+            Class<?> fieldClass = f.getType();
+            switch (ft) {
+                case BOOLEAN:
+                case BYTE:
+                case CHAR:
+                case SHORT:
+                case INTEGER:
+                case LONG:
+                case FLOAT:
+                case DOUBLE:
+                case STRING:
+                case FILE:
+                case PATH:
+                case URL:
+                case DATE_TIME:
+                case DATE:
+                case TIME:
+                case ENUM:
+                case CONFIGURABLE:
+                case ATOMIC_INTEGER:
+                case ATOMIC_LONG:
+                    return (Object value) -> convertPrimitive(ft, fieldClass, fieldName, value).orElse(null);
+                case BYTE_ARRAY:
+                case CHAR_ARRAY:
+                case SHORT_ARRAY:
+                case INTEGER_ARRAY:
+                case LONG_ARRAY:
+                case FLOAT_ARRAY:
+                case DOUBLE_ARRAY:
+                case BOOLEAN_ARRAY:
+                    return (Object value) -> convertPrimitiveArray(ft, f, value);
+                case STRING_ARRAY:
+                case CONFIGURABLE_ARRAY:
+                    return (Object value) -> convertObjectArray(ft, f, (Object[]) value);
+                case LIST:
+                case ENUM_SET:
+                case SET: {
+                    List<Class<?>> genericClasses = PropertySheet.getGenericClass(f);
+                    if (genericClasses.size() != 1) {
+                        logger.log(Level.SEVERE, "Invalid configurable field definition, field not recorded - found too many or too few generic type parameters for field " + fieldName);
+                        return null;
+                    }
+                    Class<?> genericType = genericClasses.get(0);
+                    FieldType genericFieldType = FieldType.getFieldType(genericType);
+                    return (Object value) -> convertCollection(fieldName, (Collection<?>) value, genericFieldType, genericType);
+                }
+                case MAP: {
+                    List<Class<?>> genericClasses = PropertySheet.getGenericClass(f);
+                    if (genericClasses.size() != 2) {
+                        logger.log(Level.SEVERE, "Invalid configurable field definition, field not recorded - found too many or too few generic type parameters for field " + fieldName);
+                        return null;
+                    }
+                    Class<?> genericType = genericClasses.get(1);
+                    FieldType genericFieldType = FieldType.getFieldType(genericType);
+                    return (Object value) -> convertMap((Map<?,?>) value, genericFieldType, genericType);
+                }
+                case RANDOM:
+                default:
+                    logger.log(Level.SEVERE, "Automatic provenance not supported for field type " + ft + ", field '" + fieldName + "' not recorded.");
+                    return null;
+            }
+        }
+
+        /**
+         * Extracts the provenance of each configured field from the host.
+         * @param host The host object.
+         * @return A map containing the field names and associated provenances.
+         */
+        Map<String, Provenance> extract(Object host) {
+            Map<String, Provenance> map = new HashMap<>((int) (names.length / 0.75f) + 1);
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    Object value = getters[i].invokeExact(host);
+                    Provenance prov = converters[i].convert(value);
+                    if (prov != null) {
+                        map.put(names[i], prov);
+                    }
+                }
+            } catch (ClassCastException e) {
+                logger.log(Level.SEVERE, "Failed to cast field from host object " + host.toString() + ". Fields not recorded.", e);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ProvenanceException("Failed to read field in host object " + host.toString(), e);
+            }
+            return map;
         }
-        return map;
     }
 
     /**
-     * Converts a primitive array to a {@link ListProvenance}. Returns an
-     * empty ListProvenance if the object is null.
+     * Converts a primitive array to an {@link ArrayProvenance} which stores the
+     * array directly. Returns an empty array provenance if the object is null.
      * @param ft The field type.
      * @param f The field object.
      * @param object The object to lookup.
-     * @return A ListProvenance.
+     * @return An ArrayProvenance, or an empty ListProvenance if the field type is unsupported.
      */
-    private static ListProvenance<?> convertPrimitiveArray(FieldType ft, Field f, Object object) {
-        if (object == null) {
-            return new ListProvenance<>();
-        }
+    private static Provenance convertPrimitiveArray(FieldType ft, Field f, Object object) {
         String fieldName = f.getName();
-        ArrayList<PrimitiveProvenance> list = new ArrayList<>();
         switch (ft) {
-            case BYTE_ARRAY: {
-                byte[] array = (byte[]) object;
-                for (byte e : array) {
-                    list.add(new ByteProvenance(fieldName,e));
-                }
-                break;
-            }
-            case CHAR_ARRAY:{
-                char[] array = (char[]) object;
-                for (char e : array) {
-                    list.add(new CharProvenance(fieldName,e));
-                }
-                break;
-            }
-            case SHORT_ARRAY:{
-                short[] array = (short[]) object;
-                for (short e : array) {
-                    list.add(new ShortProvenance(fieldName,e));
-                }
-                break;
-            }
-            case INTEGER_ARRAY:{
-                int[] array = (int[]) object;
-                for (int e : array) {
-                    list.add(new IntProvenance(fieldName,e));
-                }
-                break;
-            }
-            case LONG_ARRAY:{
-                long[] array = (long[]) object;
-                for (long e : array) {
-                    list.add(new LongProvenance(fieldName,e));
-                }
-                break;
-            }
-            case FLOAT_ARRAY:{
-                float[] array = (float[]) object;
-                for (float e : array) {
-                    list.add(new FloatProvenance(fieldName,e));
-                }
-                break;
-            }
-            case DOUBLE_ARRAY:{
-                double[] array = (double[]) object;
-                for (double e : array) {
-                    list.add(new DoubleProvenance(fieldName,e));
-                }
-                break;
-            }
-            case BOOLEAN_ARRAY:{
-                boolean[] array = (boolean[]) object;
-                for (boolean e : array) {
-                    list.add(new BooleanProvenance(fieldName,e));
-                }
-                break;
-            }
+            case BYTE_ARRAY:
+                return new ByteArrayProvenance(fieldName, object == null ? new byte[0] : (byte[]) object);
+            case CHAR_ARRAY:
+                return new CharArrayProvenance(fieldName, object == null ? new char[0] : (char[]) object);
+            case SHORT_ARRAY:
+                return new ShortArrayProvenance(fieldName, object == null ? new short[0] : (short[]) object);
+            case INTEGER_ARRAY:
+                return new IntArrayProvenance(fieldName, object == null ? new int[0] : (int[]) object);
+            case LONG_ARRAY:
+                return new LongArrayProvenance(fieldName, object == null ? new long[0] : (long[]) object);
+            case FLOAT_ARRAY:
+                return new FloatArrayProvenance(fieldName, object == null ? new float[0] : (float[]) object);
+            case DOUBLE_ARRAY:
+                return new DoubleArrayProvenance(fieldName, object == null ? new double[0] : (double[]) object);
+            case BOOLEAN_ARRAY:
+                return new BooleanArrayProvenance(fieldName, object == null ? new boolean[0] : (boolean[]) object);
             default:
                 logger.log(Level.SEVERE, "Automatic provenance not supported for field type " + ft + ", field '" + f.getName() + "' not recorded.");
                 return new ListProvenance<>();
         }
-        return new ListProvenance<>(list);
     }
 
     /**
@@ -404,18 +470,17 @@ public abstract class SkeletalConfiguredObjectProvenance implements ConfiguredOb
     /**
      * Converts a collection into a ListProvenance. Returns an empty ListProvenance if
      * the collection is null.
-     * @param f The field object.
+     * @param fieldName The field name.
      * @param collection The collection to convert.
+     * @param genericFieldType The field type of the generic type bound.
      * @param genericType The generic type bound of the collection.
      * @return A ListProvenance.
      */
-    private static ListProvenance<?> convertCollection(Field f, Collection collection, Class<?> genericType) {
+    private static ListProvenance<?> convertCollection(String fieldName, Collection<?> collection, FieldType genericFieldType, Class<?> genericType) {
         if (collection == null) {
             return new ListProvenance<>();
         } else {
-            String fieldName = f.getName();
-            FieldType genericFieldType = FieldType.getFieldType(genericType);
-            List<Provenance> list = new ArrayList<>();
+            List<Provenance> list = new ArrayList<>(collection.size());
 
             for (Object o : collection) {
                 Optional<Provenance> opt = convertPrimitive(genericFieldType, genericType, fieldName, o);
@@ -429,16 +494,15 @@ public abstract class SkeletalConfiguredObjectProvenance implements ConfiguredOb
     /**
      * Converts a map into a ListProvenance. Returns an empty MapProvenance if the
      * map is null.
-     * @param f The field object.
      * @param inputMap The map to convert.
+     * @param genericFieldType The field type of the generic type bound.
      * @param genericType The generic type bound of the map value.
      * @return A MapProvenance.
      */
-    private static MapProvenance<?> convertMap(Field f, Map<?,?> inputMap, Class<?> genericType) {
+    private static MapProvenance<?> convertMap(Map<?,?> inputMap, FieldType genericFieldType, Class<?> genericType) {
         if (inputMap == null) {
             return new MapProvenance<>();
         } else {
-            FieldType genericFieldType = FieldType.getFieldType(genericType);
             Map<String, Provenance> outputMap = new HashMap<>();
 
             for (Map.Entry<?, ?> e : inputMap.entrySet()) {
@@ -607,6 +671,8 @@ public abstract class SkeletalConfiguredObjectProvenance implements ConfiguredOb
         if (this == o) return true;
         if (!(o instanceof SkeletalConfiguredObjectProvenance)) return false;
         SkeletalConfiguredObjectProvenance pairs = (SkeletalConfiguredObjectProvenance) o;
+        // Cheap rejection before walking the configured parameter graph.
+        if (skeletalHash() != pairs.skeletalHash()) return false;
         return className.equals(pairs.className) &&
                 hostShortName.equals(pairs.hostShortName) &&
                 configuredParameters.equals(pairs.configuredParameters);
@@ -614,6 +680,48 @@ public abstract class SkeletalConfiguredObjectProvenance implements ConfiguredOb
 
     @Override
     public int hashCode() {
-        return Objects.hash(className, hostShortName, configuredParameters);
+        return skeletalHash();
+    }
+
+    @Override
+    public String fingerprint() {
+        // The fields are immutable so the fingerprint can be cached.
+        String fingerprint = cachedFingerprint;
+        if (fingerprint == null) {
+            fingerprint = ConfiguredObjectProvenance.super.fingerprint();
+            cachedFingerprint = fingerprint;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Replaces this provenance with a {@link SerializedProvenance} proxy when it is written using
+     * Java serialization, so it's stored in the compact binary provenance format.
+     * <p>
+     * Subclasses without the <code>Map&lt;String,Provenance&gt;</code> constructor used by
+     * {@link com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil#unmarshalProvenance} are written
+     * using the default serialized form. See {@link SerializedProvenance} for how sharing between
+     * separately proxied provenances is handled.
+     * @return The object to serialize.
+     * @throws ObjectStreamException Never thrown.
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        return SerializedProvenance.replace(this);
+    }
+
+    /**
+     * Computes the hash of the fields in this class, caching it as the fields are immutable.
+     * <p>
+     * Without the cache hashing a provenance rehashes the whole configured parameter graph
+     * below it, which is quadratic in the depth when hashing each node of a deep provenance.
+     * @return The hash of the class name, host short name and configured parameters.
+     */
+    private int skeletalHash() {
+        int hash = cachedHash;
+        if (hash == 0) {
+            hash = Objects.hash(className, hostShortName, configuredParameters);
+            cachedHash = hash;
+        }
+        return hash;
     }
 }
@@ -0,0 +1,1016 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.io;
+
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.BooleanProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ByteProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.CharProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.EnumProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.FloatArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.FloatProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.HashProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.LongArrayProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.LongProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ShortProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
+import com.oracle.labs.mlrg.olcut.util.Pair;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Class for serializing and deserializing provenances to/from a compact binary format.
+ * <p>
+ * The format has no dependencies outside of the JDK. Each stream starts with a short
+ * header (a magic number, the format version and a flags byte), followed by one record
+ * per {@link ObjectMarshalledProvenance} and an end marker. Within the records:
+ * <ul>
+ *     <li>All strings (keys, class names, values) are written into a dictionary the first
+ *     time they occur, and afterwards are written as a varint id into that dictionary.</li>
+ *     <li>Object names are kept in a separate table, so references between objects are
+ *     written as a varint id, which for the output of {@link ProvenanceUtil#marshalProvenance}
+ *     is the position of the referenced object in the stream.</li>
+ *     <li>Boolean, byte, short, char, int, long, float and double provenances are written
+ *     in binary (using zig-zag varints for short, int and long), and hash values are written
+ *     as raw bytes rather than hex strings. Int, long, float and double array provenances
+ *     are written as a length followed by the elements in the same encoding.
+ *     Enum and string provenances use the dictionary.
+ *     Other provenance types fall back to writing all the fields as strings.</li>
+ * </ul>
+ * <p>
+ * Optionally the records can be compressed in independent blocks using {@link Deflater}.
+ * The compression flag is stored in the header, so any instance of this class can read
+ * both compressed and uncompressed streams.
+ * <p>
+ * Uses {@link Base64} to encode and decode the binary format into and out of Strings.
+ */
+public final class BinaryProvenanceSerialization implements ProvenanceSerialization {
+
+    /**
+     * The magic number at the start of every binary provenance stream.
+     */
+    private static final byte[] MAGIC = {'O','L','P','V'};
+
+    /**
+     * The current format version.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Header flag denoting the records are block compressed.
+     */
+    private static final int FLAG_COMPRESSED = 1;
+
+    /**
+     * The uncompressed size of each compressed block.
+     */
+    public static final int BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * The maximum compressed size of a block, which is larger than the deflate bound for {@link #BLOCK_SIZE}.
+     */
+    private static final int MAX_COMPRESSED_BLOCK_SIZE = BLOCK_SIZE + 64;
+
+    /**
+     * The maximum number of array elements allocated before they are read, larger arrays grow as they are read
+     * so a corrupt length can't trigger a huge allocation.
+     */
+    private static final int MAX_PREALLOCATED_ELEMENTS = 8192;
+
+    // Record tags
+    private static final int END = 0;
+    private static final int OBJECT = 1;
+
+    // Value tags
+    private static final int LIST = 1;
+    private static final int MAP = 2;
+    private static final int REFERENCE = 3;
+    private static final int GENERIC = 4;
+    private static final int STRING = 5;
+    private static final int BOOLEAN_FALSE = 6;
+    private static final int BOOLEAN_TRUE = 7;
+    private static final int BYTE = 8;
+    private static final int SHORT = 9;
+    private static final int CHAR = 10;
+    private static final int INT = 11;
+    private static final int LONG = 12;
+    private static final int FLOAT = 13;
+    private static final int DOUBLE = 14;
+    private static final int ENUM = 15;
+    private static final int HASH = 16;
+    private static final int INT_ARRAY = 17;
+    private static final int LONG_ARRAY = 18;
+    private static final int FLOAT_ARRAY = 19;
+    private static final int DOUBLE_ARRAY = 20;
+
+    private static final String BOOLEAN_CLASS = BooleanProvenance.class.getName();
+    private static final String BYTE_CLASS = ByteProvenance.class.getName();
+    private static final String SHORT_CLASS = ShortProvenance.class.getName();
+    private static final String CHAR_CLASS = CharProvenance.class.getName();
+    private static final String INT_CLASS = IntProvenance.class.getName();
+    private static final String LONG_CLASS = LongProvenance.class.getName();
+    private static final String FLOAT_CLASS = FloatProvenance.class.getName();
+    private static final String DOUBLE_CLASS = DoubleProvenance.class.getName();
+    private static final String STRING_CLASS = StringProvenance.class.getName();
+    private static final String ENUM_CLASS = EnumProvenance.class.getName();
+    private static final String HASH_CLASS = HashProvenance.class.getName();
+    private static final String INT_ARRAY_CLASS = IntArrayProvenance.class.getName();
+    private static final String LONG_ARRAY_CLASS = LongArrayProvenance.class.getName();
+    private static final String FLOAT_ARRAY_CLASS = FloatArrayProvenance.class.getName();
+    private static final String DOUBLE_ARRAY_CLASS = DoubleArrayProvenance.class.getName();
+
+    private static final Base64.Encoder base64Encoder = Base64.getEncoder();
+    private static final Base64.Decoder base64Decoder = Base64.getDecoder();
+
+    private final boolean compressed;
+
+    /**
+     * Constructs a BinaryProvenanceSerialization.
+     *
+     * @param compressed Block compress the output.
+     */
+    public BinaryProvenanceSerialization(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "olpv";
+    }
+
+    @Override
+    public List<ObjectMarshalledProvenance> deserializeFromFile(Path path) throws ProvenanceSerializationException, IOException {
+        try (InputStream stream = Files.newInputStream(path)) {
+            return deserializeFromStream(stream);
+        }
+    }
+
+    @Override
+    public List<ObjectMarshalledProvenance> deserializeFromString(String input) throws ProvenanceSerializationException {
+        try {
+            return read(new ByteArrayInputStream(base64Decoder.decode(input)));
+        } catch (IllegalArgumentException e) {
+            throw new ProvenanceSerializationException("Input was not valid base64",e);
+        } catch (IOException e) {
+            throw new ProvenanceSerializationException("Failed to read provenance from string",e);
+        }
+    }
+
+    @Override
+    public List<ObjectMarshalledProvenance> deserializeFromStream(InputStream stream) throws ProvenanceSerializationException, IOException {
+        return read(new BufferedInputStream(stream));
+    }
+
+    @Override
+    public String serializeToString(List<ObjectMarshalledProvenance> marshalledProvenances) {
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            write(marshalledProvenances.iterator(), bos);
+            return base64Encoder.encodeToString(bos.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("IOException when writing to an in-memory stream",e);
+        }
+    }
+
+    @Override
+    public void serializeToFile(List<ObjectMarshalledProvenance> marshalledProvenances, Path path) throws IOException {
+        try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(marshalledProvenances.iterator(), bos);
+        }
+    }
+
+    @Override
+    public void marshalAndSerialize(ObjectProvenance provenance, Path path) throws IOException {
+        try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(path))) {
+            serialize(provenance, bos);
+        }
+    }
+
+    @Override
+    public void serialize(ObjectProvenance provenance, OutputStream stream) throws IOException {
+        write(ProvenanceUtil.marshalProvenanceIterator(provenance), stream);
+    }
+
+    /**
+     * Writes the marshalled provenances to the stream, flushing but not closing it.
+     * @param marshalledProvenances The provenances to write.
+     * @param stream The stream to write to.
+     * @throws IOException If the stream could not be written.
+     */
+    void serialize(List<ObjectMarshalledProvenance> marshalledProvenances, OutputStream stream) throws IOException {
+        write(marshalledProvenances.iterator(), stream);
+    }
+
+    /**
+     * Writes the header and the marshalled provenances to the stream, flushing but not closing it.
+     * @param marshalledProvenances The provenances to write.
+     * @param stream The stream to write to.
+     * @throws IOException If the stream could not be written.
+     */
+    private void write(Iterator<ObjectMarshalledProvenance> marshalledProvenances, OutputStream stream) throws IOException {
+        stream.write(MAGIC);
+        stream.write(VERSION);
+        stream.write(compressed ? FLAG_COMPRESSED : 0);
+
+        BlockCompressingOutputStream blockStream = null;
+        OutputStream body = stream;
+        if (compressed) {
+            blockStream = new BlockCompressingOutputStream(stream);
+            body = blockStream;
+        } else if (!(stream instanceof BufferedOutputStream) && !(stream instanceof ByteArrayOutputStream)) {
+            body = new BufferedOutputStream(stream);
+        }
+
+        try {
+            Encoder encoder = new Encoder(new DataOutputStream(body));
+            while (marshalledProvenances.hasNext()) {
+                encoder.writeObject(marshalledProvenances.next());
+            }
+            encoder.writeVarint(END);
+            encoder.out.flush();
+
+            if (blockStream != null) {
+                blockStream.finish();
+            }
+        } finally {
+            if (blockStream != null) {
+                blockStream.end();
+            }
+        }
+        stream.flush();
+    }
+
+    /**
+     * Reads the header and the marshalled provenances from the stream.
+     * @param stream The stream to read.
+     * @return The marshalled provenances.
+     * @throws ProvenanceSerializationException If the stream is not a valid binary provenance.
+     * @throws IOException If the stream could not be read.
+     */
+    private static List<ObjectMarshalledProvenance> read(InputStream stream) throws ProvenanceSerializationException, IOException {
+        byte[] magic = new byte[MAGIC.length];
+        if ((stream.readNBytes(magic, 0, magic.length) != magic.length) || !Arrays.equals(MAGIC, magic)) {
+            throw new ProvenanceSerializationException("Invalid binary provenance, incorrect magic number");
+        }
+        int version = stream.read();
+        if (version != VERSION) {
+            throw new ProvenanceSerializationException("Unsupported binary provenance version, found " + version + ", expected " + VERSION);
+        }
+        int flags = stream.read();
+        if (flags < 0) {
+            throw new EOFException("Binary provenance header was truncated");
+        }
+        BlockDecompressingInputStream blockStream = (flags & FLAG_COMPRESSED) != 0 ? new BlockDecompressingInputStream(stream) : null;
+        InputStream body = blockStream != null ? blockStream : stream;
+
+        try {
+            Decoder decoder = new Decoder(new DataInputStream(body));
+            List<ObjectMarshalledProvenance> output = new ArrayList<>();
+            int tag;
+            while ((tag = decoder.readVarint()) != END) {
+                if (tag != OBJECT) {
+                    throw new ProvenanceSerializationException("Invalid binary provenance, unexpected record tag " + tag);
+                }
+                output.add(decoder.readObject());
+            }
+            return output;
+        } finally {
+            if (blockStream != null) {
+                blockStream.end();
+            }
+        }
+    }
+
+    /**
+     * Writes the marshalled provenances, tracking the string dictionary and object table.
+     */
+    private static final class Encoder {
+        final DataOutputStream out;
+        private final Map<String,Integer> strings = new HashMap<>();
+        private final Map<String,Integer> objects = new HashMap<>();
+
+        Encoder(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeObject(ObjectMarshalledProvenance omp) throws IOException {
+            writeVarint(OBJECT);
+            writeObjectName(omp.getName());
+            writeString(omp.getObjectClassName());
+            writeString(omp.getProvenanceClassName());
+            Map<String,FlatMarshalledProvenance> map = omp.getMap();
+            writeVarint(map.size());
+            for (Map.Entry<String,FlatMarshalledProvenance> e : map.entrySet()) {
+                writeString(e.getKey());
+                writeValue(e.getValue());
+            }
+        }
+
+        void writeValue(FlatMarshalledProvenance fmp) throws IOException {
+            if (fmp instanceof ListMarshalledProvenance) {
+                List<FlatMarshalledProvenance> list = ((ListMarshalledProvenance) fmp).getList();
+                writeVarint(LIST);
+                writeVarint(list.size());
+                for (FlatMarshalledProvenance f : list) {
+                    writeValue(f);
+                }
+            } else if (fmp instanceof MapMarshalledProvenance) {
+                List<Pair<String,FlatMarshalledProvenance>> pairs = new ArrayList<>();
+                for (Pair<String,FlatMarshalledProvenance> p : (MapMarshalledProvenance) fmp) {
+                    pairs.add(p);
+                }
+                writeVarint(MAP);
+                writeVarint(pairs.size());
+                for (Pair<String,FlatMarshalledProvenance> p : pairs) {
+                    writeString(p.getA());
+                    writeValue(p.getB());
+                }
+            } else if (fmp instanceof SimpleMarshalledProvenance) {
+                writeSimple((SimpleMarshalledProvenance) fmp);
+            } else {
+                throw new IllegalArgumentException("Unexpected FlatMarshalledProvenance subclass " + fmp.getClass());
+            }
+        }
+
+        void writeSimple(SimpleMarshalledProvenance smp) throws IOException {
+            String className = smp.getProvenanceClassName();
+            String value = smp.getValue();
+            String additional = smp.getAdditional();
+            if (smp.isReference()) {
+                writeVarint(REFERENCE);
+                writeString(smp.getKey());
+                writeString(className);
+                writeObjectName(value);
+                return;
+            } else if (className.equals(ENUM_CLASS)) {
+                writeVarint(ENUM);
+                writeString(smp.getKey());
+                writeString(value);
+                writeString(additional);
+                return;
+            } else if (className.equals(HASH_CLASS)) {
+                byte[] hash = parseHex(value);
+                if (hash != null) {
+                    writeVarint(HASH);
+                    writeString(smp.getKey());
+                    writeString(additional);
+                    writeVarint(hash.length);
+                    out.write(hash);
+                    return;
+                }
+            } else if (additional.isEmpty() && writeTypedPrimitive(smp.getKey(), className, value)) {
+                return;
+            }
+            writeVarint(GENERIC);
+            writeString(smp.getKey());
+            writeString(className);
+            writeString(value);
+            writeString(additional);
+        }
+
+        /**
+         * Writes the value in binary if it's one of the known primitive types, and the value
+         * is in the canonical string form for that type (so it will read back identically).
+         * @param key The provenance key.
+         * @param className The provenance class name.
+         * @param value The value.
+         * @return True if the value was written.
+         * @throws IOException If the stream could not be written.
+         */
+        private boolean writeTypedPrimitive(String key, String className, String value) throws IOException {
+            try {
+                if (className.equals(STRING_CLASS)) {
+                    writeVarint(STRING);
+                    writeString(key);
+                    writeString(value);
+                } else if (className.equals(BOOLEAN_CLASS) && (value.equals("true") || value.equals("false"))) {
+                    writeVarint(value.equals("true") ? BOOLEAN_TRUE : BOOLEAN_FALSE);
+                    writeString(key);
+                } else if (className.equals(BYTE_CLASS) && canonical(value, Byte.toString(Byte.parseByte(value)))) {
+                    writeVarint(BYTE);
+                    writeString(key);
+                    out.writeByte(Byte.parseByte(value));
+                } else if (className.equals(SHORT_CLASS) && canonical(value, Short.toString(Short.parseShort(value)))) {
+                    writeVarint(SHORT);
+                    writeString(key);
+                    writeVarLong(zigZag(Short.parseShort(value)));
+                } else if (className.equals(CHAR_CLASS) && (value.length() == 1)) {
+                    writeVarint(CHAR);
+                    writeString(key);
+                    writeVarint(value.charAt(0));
+                } else if (className.equals(INT_CLASS) && canonical(value, Integer.toString(Integer.parseInt(value)))) {
+                    writeVarint(INT);
+                    writeString(key);
+                    writeVarLong(zigZag(Integer.parseInt(value)));
+                } else if (className.equals(LONG_CLASS) && canonical(value, Long.toString(Long.parseLong(value)))) {
+                    writeVarint(LONG);
+                    writeString(key);
+                    writeVarLong(zigZag(Long.parseLong(value)));
+                } else if (className.equals(FLOAT_CLASS) && canonical(value, Float.toString(Float.parseFloat(value)))) {
+                    writeVarint(FLOAT);
+                    writeString(key);
+                    out.writeFloat(Float.parseFloat(value));
+                } else if (className.equals(DOUBLE_CLASS) && canonical(value, Double.toString(Double.parseDouble(value)))) {
+                    writeVarint(DOUBLE);
+                    writeString(key);
+                    out.writeDouble(Double.parseDouble(value));
+                } else if (className.equals(INT_ARRAY_CLASS)) {
+                    IntArrayProvenance array = IntArrayProvenance.parse(key, value);
+                    if (!canonical(value, array.getValue())) {
+                        return false;
+                    }
+                    writeVarint(INT_ARRAY);
+                    writeString(key);
+                    writeVarint(array.size());
+                    for (int i = 0; i < array.size(); i++) {
+                        writeVarLong(zigZag(array.get(i)));
+                    }
+                } else if (className.equals(LONG_ARRAY_CLASS)) {
+                    LongArrayProvenance array = LongArrayProvenance.parse(key, value);
+                    if (!canonical(value, array.getValue())) {
+                        return false;
+                    }
+                    writeVarint(LONG_ARRAY);
+                    writeString(key);
+                    writeVarint(array.size());
+                    for (int i = 0; i < array.size(); i++) {
+                        writeVarLong(zigZag(array.get(i)));
+                    }
+                } else if (className.equals(FLOAT_ARRAY_CLASS)) {
+                    FloatArrayProvenance array = FloatArrayProvenance.parse(key, value);
+                    if (!canonical(value, array.getValue())) {
+                        return false;
+                    }
+                    writeVarint(FLOAT_ARRAY);
+                    writeString(key);
+                    writeVarint(array.size());
+                    for (int i = 0; i < array.size(); i++) {
+                        out.writeFloat(array.get(i));
+                    }
+                } else if (className.equals(DOUBLE_ARRAY_CLASS)) {
+                    DoubleArrayProvenance array = DoubleArrayProvenance.parse(key, value);
+                    if (!canonical(value, array.getValue())) {
+                        return false;
+                    }
+                    writeVarint(DOUBLE_ARRAY);
+                    writeString(key);
+                    writeVarint(array.size());
+                    for (int i = 0; i < array.size(); i++) {
+                        out.writeDouble(array.get(i));
+                    }
+                } else {
+                    return false;
+                }
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private void writeObjectName(String name) throws IOException {
+            writeInterned(objects, name);
+        }
+
+        private void writeString(String str) throws IOException {
+            writeInterned(strings, str);
+        }
+
+        /**
+         * Writes the id of the string in the table, or if this is the first occurrence writes
+         * a zero followed by the UTF-8 string and adds it to the table.
+         * @param table The table.
+         * @param str The string.
+         * @throws IOException If the stream could not be written.
+         */
+        private void writeInterned(Map<String,Integer> table, String str) throws IOException {
+            Integer id = table.get(str);
+            if (id != null) {
+                writeVarint(id + 1);
+            } else {
+                table.put(str, table.size());
+                byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+                writeVarint(0);
+                writeVarint(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        void writeVarint(int value) throws IOException {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        private static boolean canonical(String value, String roundTrip) {
+            return value.equals(roundTrip);
+        }
+
+        /**
+         * Parses an upper case hex string (as produced by {@link ProvenanceUtil#bytesToHexString}).
+         * @param value The hex string.
+         * @return The bytes, or null if the string isn't upper case hex.
+         */
+        private static byte[] parseHex(String value) {
+            if ((value.length() % 2) != 0) {
+                return null;
+            }
+            byte[] output = new byte[value.length() / 2];
+            for (int i = 0; i < output.length; i++) {
+                int hi = hexValue(value.charAt(2 * i));
+                int lo = hexValue(value.charAt((2 * i) + 1));
+                if ((hi < 0) || (lo < 0)) {
+                    return null;
+                }
+                output[i] = (byte) ((hi << 4) | lo);
+            }
+            return output;
+        }
+
+        private static int hexValue(char c) {
+            if ((c >= '0') && (c <= '9')) {
+                return c - '0';
+            } else if ((c >= 'A') && (c <= 'F')) {
+                return c - 'A' + 10;
+            } else {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Reads the marshalled provenances, rebuilding the string dictionary and object table.
+     */
+    private static final class Decoder {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private final List<String> objects = new ArrayList<>();
+
+        Decoder(DataInputStream in) {
+            this.in = in;
+        }
+
+        ObjectMarshalledProvenance readObject() throws IOException, ProvenanceSerializationException {
+            String name = readObjectName();
+            String objectClassName = readString();
+            String provenanceClassName = readString();
+            int size = readVarint();
+            Map<String,FlatMarshalledProvenance> map = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                String key = readString();
+                map.put(key, readValue());
+            }
+            return new ObjectMarshalledProvenance(name, map, objectClassName, provenanceClassName);
+        }
+
+        FlatMarshalledProvenance readValue() throws IOException, ProvenanceSerializationException {
+            int tag = readVarint();
+            switch (tag) {
+                case LIST: {
+                    int size = readVarint();
+                    List<FlatMarshalledProvenance> list = new ArrayList<>();
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+                    return new ListMarshalledProvenance(list);
+                }
+                case MAP: {
+                    int size = readVarint();
+                    Map<String,FlatMarshalledProvenance> map = new HashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        String key = readString();
+                        map.put(key, readValue());
+                    }
+                    return new MapMarshalledProvenance(map);
+                }
+                case REFERENCE: {
+                    String key = readString();
+                    String className = readString();
+                    return new SimpleMarshalledProvenance(key, readObjectName(), className, true, "");
+                }
+                case GENERIC: {
+                    String key = readString();
+                    String className = readString();
+                    String value = readString();
+                    return new SimpleMarshalledProvenance(key, value, className, false, readString());
+                }
+                case STRING: {
+                    String key = readString();
+                    return primitive(key, readString(), STRING_CLASS);
+                }
+                case BOOLEAN_FALSE:
+                    return primitive(readString(), "false", BOOLEAN_CLASS);
+                case BOOLEAN_TRUE:
+                    return primitive(readString(), "true", BOOLEAN_CLASS);
+                case BYTE: {
+                    String key = readString();
+                    return primitive(key, Byte.toString(in.readByte()), BYTE_CLASS);
+                }
+                case SHORT: {
+                    String key = readString();
+                    return primitive(key, Short.toString((short) unZigZag(readVarLong())), SHORT_CLASS);
+                }
+                case CHAR: {
+                    String key = readString();
+                    return primitive(key, Character.toString((char) readVarint()), CHAR_CLASS);
+                }
+                case INT: {
+                    String key = readString();
+                    return primitive(key, Integer.toString((int) unZigZag(readVarLong())), INT_CLASS);
+                }
+                case LONG: {
+                    String key = readString();
+                    return primitive(key, Long.toString(unZigZag(readVarLong())), LONG_CLASS);
+                }
+                case FLOAT: {
+                    String key = readString();
+                    return primitive(key, Float.toString(in.readFloat()), FLOAT_CLASS);
+                }
+                case DOUBLE: {
+                    String key = readString();
+                    return primitive(key, Double.toString(in.readDouble()), DOUBLE_CLASS);
+                }
+                case ENUM: {
+                    String key = readString();
+                    String value = readString();
+                    return new SimpleMarshalledProvenance(key, value, ENUM_CLASS, false, readString());
+                }
+                case HASH: {
+                    String key = readString();
+                    String hashType = readString();
+                    byte[] hash = readBytes(readVarint());
+                    return new SimpleMarshalledProvenance(key, ProvenanceUtil.bytesToHexString(hash), HASH_CLASS, false, hashType);
+                }
+                case INT_ARRAY: {
+                    String key = readString();
+                    int length = readVarint();
+                    int[] array = new int[initialCapacity(length)];
+                    for (int i = 0; i < length; i++) {
+                        if (i == array.length) {
+                            array = Arrays.copyOf(array, grow(i, length));
+                        }
+                        array[i] = (int) unZigZag(readVarLong());
+                    }
+                    return primitive(key, new IntArrayProvenance(key, array).getValue(), INT_ARRAY_CLASS);
+                }
+                case LONG_ARRAY: {
+                    String key = readString();
+                    int length = readVarint();
+                    long[] array = new long[initialCapacity(length)];
+                    for (int i = 0; i < length; i++) {
+                        if (i == array.length) {
+                            array = Arrays.copyOf(array, grow(i, length));
+                        }
+                        array[i] = unZigZag(readVarLong());
+                    }
+                    return primitive(key, new LongArrayProvenance(key, array).getValue(), LONG_ARRAY_CLASS);
+                }
+                case FLOAT_ARRAY: {
+                    String key = readString();
+                    int length = readVarint();
+                    float[] array = new float[initialCapacity(length)];
+                    for (int i = 0; i < length; i++) {
+                        if (i == array.length) {
+                            array = Arrays.copyOf(array, grow(i, length));
+                        }
+                        array[i] = in.readFloat();
+                    }
+                    return primitive(key, new FloatArrayProvenance(key, array).getValue(), FLOAT_ARRAY_CLASS);
+                }
+                case DOUBLE_ARRAY: {
+                    String key = readString();
+                    int length = readVarint();
+                    double[] array = new double[initialCapacity(length)];
+                    for (int i = 0; i < length; i++) {
+                        if (i == array.length) {
+                            array = Arrays.copyOf(array, grow(i, length));
+                        }
+                        array[i] = in.readDouble();
+                    }
+                    return primitive(key, new DoubleArrayProvenance(key, array).getValue(), DOUBLE_ARRAY_CLASS);
+                }
+                default:
+                    throw new ProvenanceSerializationException("Invalid binary provenance, unexpected value tag " + tag);
+            }
+        }
+
+        private static SimpleMarshalledProvenance primitive(String key, String value, String className) {
+            return new SimpleMarshalledProvenance(key, value, className, false, "");
+        }
+
+        private String readObjectName() throws IOException, ProvenanceSerializationException {
+            return readInterned(objects);
+        }
+
+        private String readString() throws IOException, ProvenanceSerializationException {
+            return readInterned(strings);
+        }
+
+        private String readInterned(List<String> table) throws IOException, ProvenanceSerializationException {
+            int id = readVarint();
+            if (id == 0) {
+                byte[] bytes = readBytes(readVarint());
+                String str = new String(bytes, StandardCharsets.UTF_8);
+                table.add(str);
+                return str;
+            } else if (id <= table.size()) {
+                return table.get(id - 1);
+            } else {
+                throw new ProvenanceSerializationException("Invalid binary provenance, string id " + id + " is not in the dictionary");
+            }
+        }
+
+        /**
+         * Reads the bytes in chunks, so a corrupt length fails when the stream runs out
+         * rather than allocating the whole length up front.
+         */
+        private byte[] readBytes(int length) throws IOException {
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length != length) {
+                throw new EOFException("Binary provenance was truncated, expected " + length + " bytes, found " + bytes.length);
+            }
+            return bytes;
+        }
+
+        private static int initialCapacity(int length) {
+            return Math.min(length, MAX_PREALLOCATED_ELEMENTS);
+        }
+
+        private static int grow(int capacity, int length) {
+            return (int) Math.min((long) capacity * 2, length);
+        }
+
+        int readVarint() throws IOException, ProvenanceSerializationException {
+            long value = readVarLong();
+            if ((value & ~0x7FFFFFFFL) != 0) {
+                throw new ProvenanceSerializationException("Invalid binary provenance, varint overflowed an int");
+            }
+            return (int) value;
+        }
+
+        private long readVarLong() throws IOException, ProvenanceSerializationException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = in.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new ProvenanceSerializationException("Invalid binary provenance, malformed varint");
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    /**
+     * Buffers the output into fixed size blocks, writing each one as a varint uncompressed length,
+     * a varint compressed length, and the deflated bytes. A zero length block marks the end.
+     */
+    private static final class BlockCompressingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BLOCK_SIZE];
+        private final byte[] compressedBuffer = new byte[BLOCK_SIZE + 64];
+        private final ByteArrayOutputStream compressedBlock = new ByteArrayOutputStream();
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private int position = 0;
+
+        BlockCompressingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (position == buffer.length) {
+                writeBlock();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (position == buffer.length) {
+                    writeBlock();
+                }
+                int toCopy = Math.min(len, buffer.length - position);
+                System.arraycopy(b, off, buffer, position, toCopy);
+                position += toCopy;
+                off += toCopy;
+                len -= toCopy;
+            }
+        }
+
+        /**
+         * Writes out the final block and the end marker, without closing the underlying stream.
+         * @throws IOException If the stream could not be written.
+         */
+        void finish() throws IOException {
+            if (position > 0) {
+                writeBlock();
+            }
+            writeUnsigned(0);
+            end();
+            out.flush();
+        }
+
+        /**
+         * Releases the deflater, without writing anything or closing the underlying stream.
+         */
+        void end() {
+            deflater.end();
+        }
+
+        private void writeBlock() throws IOException {
+            deflater.reset();
+            deflater.setInput(buffer, 0, position);
+            deflater.finish();
+            compressedBlock.reset();
+            while (!deflater.finished()) {
+                int length = deflater.deflate(compressedBuffer);
+                compressedBlock.write(compressedBuffer, 0, length);
+            }
+            writeUnsigned(position);
+            writeUnsigned(compressedBlock.size());
+            compressedBlock.writeTo(out);
+            position = 0;
+        }
+
+        private void writeUnsigned(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+
+    /**
+     * Reads the blocks written by {@link BlockCompressingOutputStream}.
+     */
+    private static final class BlockDecompressingInputStream extends InputStream {
+        private final InputStream in;
+        private final Inflater inflater = new Inflater();
+        private byte[] compressed = new byte[0];
+        private byte[] buffer = new byte[0];
+        private int position = 0;
+        private int limit = 0;
+        private boolean finished = false;
+
+        BlockDecompressingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if ((position == limit) && !readBlock()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if ((position == limit) && !readBlock()) {
+                return -1;
+            }
+            int toCopy = Math.min(len, limit - position);
+            System.arraycopy(buffer, position, b, off, toCopy);
+            position += toCopy;
+            return toCopy;
+        }
+
+        private boolean readBlock() throws IOException {
+            if (finished) {
+                return false;
+            }
+            int uncompressedLength = readUnsigned();
+            if (uncompressedLength == 0) {
+                finished = true;
+                end();
+                return false;
+            }
+            int compressedLength = readUnsigned();
+            if ((uncompressedLength < 0) || (uncompressedLength > BLOCK_SIZE) || (compressedLength < 0) || (compressedLength > MAX_COMPRESSED_BLOCK_SIZE)) {
+                throw new IOException("Invalid compressed block, uncompressed length " + uncompressedLength + ", compressed length " + compressedLength);
+            }
+            if (compressed.length < compressedLength) {
+                compressed = new byte[compressedLength];
+            }
+            if (buffer.length < uncompressedLength) {
+                buffer = new byte[uncompressedLength];
+            }
+            if (in.readNBytes(compressed, 0, compressedLength) != compressedLength) {
+                throw new EOFException("Compressed block was truncated");
+            }
+            try {
+                inflater.reset();
+                inflater.setInput(compressed, 0, compressedLength);
+                int read = 0;
+                while (read < uncompressedLength && !inflater.finished()) {
+                    read += inflater.inflate(buffer, read, uncompressedLength - read);
+                    if ((read < uncompressedLength) && inflater.needsInput()) {
+                        throw new EOFException("Compressed block was truncated");
+                    }
+                }
+                if (read != uncompressedLength) {
+                    throw new IOException("Compressed block had length " + read + ", expected " + uncompressedLength);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Invalid compressed block", e);
+            }
+            position = 0;
+            limit = uncompressedLength;
+            return true;
+        }
+
+        /**
+         * Releases the inflater, without closing the underlying stream.
+         */
+        void end() {
+            inflater.end();
+        }
+
+        private int readUnsigned() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Compressed stream was truncated");
+                }
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed block length");
+        }
+    }
+}
@@ -0,0 +1,748 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.io;
+
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceException;
+import com.oracle.labs.mlrg.olcut.util.ChannelUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only log file of provenance records, each of which is a single serialized
+ * {@link ObjectProvenance} tagged with an id.
+ * <p>
+ * Records are encoded with the supplied {@link ProvenanceSerialization}, and framed with
+ * a sync marker, the id and payload lengths, and a CRC32C checksum of the id and payload.
+ * The log records which serialization it was written with (by file extension), and
+ * opening it with a different one is an error.
+ * <p>
+ * A sidecar index file (the log path with {@value #INDEX_SUFFIX} appended) stores the
+ * offset and id of each record, allowing records to be looked up by id, and the log to be
+ * split into ranges of records for parallel processing with {@link #stream()}. When the
+ * log is opened, any records missing from the index are recovered by scanning the log.
+ * When opened for writing, a partially written record at the end of the log (e.g., from
+ * a crash during an append) is truncated away and the index is repaired.
+ * <p>
+ * Appends are thread safe, and reads may proceed concurrently with appends, but only a
+ * single {@code ProvenanceLog} should have a given file open for writing at a time.
+ * Streams and spliterators cover the records present when they were created.
+ */
+public final class ProvenanceLog implements Closeable {
+    private static final Logger logger = Logger.getLogger(ProvenanceLog.class.getName());
+
+    /**
+     * The suffix appended to the log path to form the index path.
+     */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    /**
+     * The current log format version.
+     */
+    public static final int VERSION = 1;
+
+    private static final byte[] LOG_MAGIC = {'O','L','P','L'};
+    private static final byte[] INDEX_MAGIC = {'O','L','P','I'};
+    private static final int INDEX_HEADER_SIZE = INDEX_MAGIC.length + 1;
+
+    /**
+     * Marker written at the start of each record.
+     */
+    private static final int SYNC = 0x4F4C5052;
+
+    /**
+     * Sync marker, id length, payload length.
+     */
+    private static final int FRAME_HEADER_SIZE = 12;
+
+    /**
+     * CRC32C of the id and payload.
+     */
+    private static final int FRAME_FOOTER_SIZE = 4;
+
+    private final Path path;
+    private final Path indexPath;
+    private final ProvenanceSerialization serialization;
+    private final boolean readOnly;
+    private final FileChannel channel;
+    private final FileChannel indexChannel;
+    private final long headerSize;
+
+    private long[] offsets = new long[16];
+    private String[] ids = new String[16];
+    private int count = 0;
+    private final Map<String,Integer> idMap = new HashMap<>();
+    private long end;
+
+    private ProvenanceLog(Path path, ProvenanceSerialization serialization, boolean readOnly) throws IOException, ProvenanceSerializationException {
+        this.path = path;
+        this.indexPath = path.resolveSibling(path.getFileName().toString() + INDEX_SUFFIX);
+        this.serialization = serialization;
+        this.readOnly = readOnly;
+        if (readOnly) {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        } else {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        }
+        FileChannel tmpIndexChannel = null;
+        try {
+            if (!readOnly && (channel.size() == 0)) {
+                writeLogHeader();
+            }
+            this.headerSize = readLogHeader();
+            boolean indexValid = loadIndex();
+            int indexed = count;
+            long validEnd = scan();
+            if (!readOnly) {
+                if (validEnd < channel.size()) {
+                    logger.warning("Truncating " + (channel.size() - validEnd) + " bytes of incomplete or corrupt records from the end of " + path);
+                    channel.truncate(validEnd);
+                }
+                if (indexValid) {
+                    tmpIndexChannel = FileChannel.open(indexPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                    for (int i = indexed; i < count; i++) {
+                        writeIndexEntry(tmpIndexChannel, offsets[i], ids[i]);
+                    }
+                } else {
+                    rewriteIndex();
+                    tmpIndexChannel = FileChannel.open(indexPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+            } else if (validEnd < channel.size()) {
+                logger.warning("Ignoring " + (channel.size() - validEnd) + " bytes of incomplete or corrupt records at the end of " + path);
+            }
+            this.end = validEnd;
+            this.indexChannel = tmpIndexChannel;
+        } catch (IOException | ProvenanceSerializationException | RuntimeException e) {
+            channel.close();
+            if (tmpIndexChannel != null) {
+                tmpIndexChannel.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the log for reading and appending, creating it if it does not exist.
+     * @param path The log file.
+     * @param serialization The serialization used to encode the records.
+     * @return The provenance log.
+     * @throws IOException If the log or index could not be read or written.
+     * @throws ProvenanceSerializationException If the file is not a provenance log, or it was written with a different serialization.
+     */
+    public static ProvenanceLog open(Path path, ProvenanceSerialization serialization) throws IOException, ProvenanceSerializationException {
+        return new ProvenanceLog(path, serialization, false);
+    }
+
+    /**
+     * Opens an existing log for reading.
+     * <p>
+     * Neither the log nor the index are modified, records missing from the index are
+     * recovered in memory.
+     * @param path The log file.
+     * @param serialization The serialization used to encode the records.
+     * @return The provenance log.
+     * @throws IOException If the log or index could not be read.
+     * @throws ProvenanceSerializationException If the file is not a provenance log, or it was written with a different serialization.
+     */
+    public static ProvenanceLog openReadOnly(Path path, ProvenanceSerialization serialization) throws IOException, ProvenanceSerializationException {
+        return new ProvenanceLog(path, serialization, true);
+    }
+
+    /**
+     * The log file.
+     * @return The path to the log.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * The sidecar index file.
+     * @return The path to the index.
+     */
+    public Path getIndexPath() {
+        return indexPath;
+    }
+
+    /**
+     * The number of records in the log.
+     * @return The number of records.
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * The offset of the i'th record in the log.
+     * @param recordIndex The record index, in append order.
+     * @return The record offset.
+     */
+    public synchronized long getOffset(int recordIndex) {
+        if ((recordIndex < 0) || (recordIndex >= count)) {
+            throw new IndexOutOfBoundsException("Record index " + recordIndex + " out of bounds for log with " + count + " records");
+        }
+        return offsets[recordIndex];
+    }
+
+    /**
+     * The id of the i'th record in the log.
+     * @param recordIndex The record index, in append order.
+     * @return The record id.
+     */
+    public synchronized String getId(int recordIndex) {
+        if ((recordIndex < 0) || (recordIndex >= count)) {
+            throw new IndexOutOfBoundsException("Record index " + recordIndex + " out of bounds for log with " + count + " records");
+        }
+        return ids[recordIndex];
+    }
+
+    /**
+     * Serializes the provenance and appends it to the log with the supplied id.
+     * <p>
+     * If the id is already present in the log, lookups by id will return this record.
+     * @param id The record id.
+     * @param provenance The provenance to append.
+     * @return The offset of the record in the log.
+     * @throws IOException If the log could not be written.
+     */
+    public long append(String id, ObjectProvenance provenance) throws IOException {
+        if (readOnly) {
+            throw new IllegalStateException("Cannot append to a log opened read only, " + path);
+        }
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        serialization.serialize(provenance, payload);
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        byte[] payloadBytes = payload.toByteArray();
+
+        CRC32C crc = new CRC32C();
+        crc.update(idBytes);
+        crc.update(payloadBytes);
+
+        ByteBuffer buffer = ByteBuffer.allocate(FRAME_HEADER_SIZE + idBytes.length + payloadBytes.length + FRAME_FOOTER_SIZE);
+        buffer.putInt(SYNC);
+        buffer.putInt(idBytes.length);
+        buffer.putInt(payloadBytes.length);
+        buffer.put(idBytes);
+        buffer.put(payloadBytes);
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        synchronized (this) {
+            long offset = end;
+            channel.position(offset);
+            ChannelUtil.writeFully(channel, buffer);
+            writeIndexEntry(indexChannel, offset, id);
+            end += buffer.limit();
+            addEntry(offset, id);
+            return offset;
+        }
+    }
+
+    /**
+     * Reads the record at the specified offset, verifying the checksum.
+     * @param offset The record offset, as returned by {@link #append}.
+     * @return The record.
+     * @throws IOException If the log could not be read.
+     * @throws ProvenanceSerializationException If there is not a valid record at that offset.
+     */
+    public Record read(long offset) throws IOException, ProvenanceSerializationException {
+        Record record = readRecord(offset);
+        if (record == null) {
+            throw new EOFException("Record at offset " + offset + " in " + path + " is truncated");
+        }
+        return record;
+    }
+
+    /**
+     * Reads the most recently appended record with the specified id.
+     * @param id The record id.
+     * @return The record, or an empty optional if the id is not in the log.
+     * @throws IOException If the log could not be read.
+     * @throws ProvenanceSerializationException If the record is corrupt.
+     */
+    public Optional<Record> get(String id) throws IOException, ProvenanceSerializationException {
+        long offset;
+        synchronized (this) {
+            Integer i = idMap.get(id);
+            if (i == null) {
+                return Optional.empty();
+            }
+            offset = offsets[i];
+        }
+        return Optional.of(read(offset));
+    }
+
+    /**
+     * A spliterator over the records currently in the log, which splits on record boundaries
+     * using the index.
+     * <p>
+     * Failures to read a record are thrown as {@link UncheckedIOException} or {@link ProvenanceException}.
+     * @return A spliterator over the records.
+     */
+    public Spliterator<Record> spliterator() {
+        synchronized (this) {
+            return new RecordSpliterator(offsets, 0, count);
+        }
+    }
+
+    /**
+     * A stream of the records currently in the log, in the order they were appended.
+     * <p>
+     * The stream may be made parallel, in which case ranges of records are read concurrently.
+     * Failures to read a record are thrown as {@link UncheckedIOException} or {@link ProvenanceException}.
+     * @return A stream of records.
+     */
+    public Stream<Record> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Forces any appended records and index entries to the storage device.
+     * @throws IOException If the log or index could not be synced.
+     */
+    public synchronized void sync() throws IOException {
+        if (!readOnly) {
+            channel.force(false);
+            indexChannel.force(false);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+        }
+    }
+
+    private void addEntry(long offset, String id) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            ids = Arrays.copyOf(ids, count * 2);
+        }
+        offsets[count] = offset;
+        ids[count] = id;
+        idMap.put(id, count);
+        count++;
+    }
+
+    private void writeLogHeader() throws IOException {
+        byte[] extension = serialization.getFileExtension().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(LOG_MAGIC.length + 1 + 2 + extension.length);
+        buffer.put(LOG_MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.putShort((short) extension.length);
+        buffer.put(extension);
+        buffer.flip();
+        channel.position(0);
+        ChannelUtil.writeFully(channel, buffer);
+    }
+
+    /**
+     * Reads and validates the log header.
+     * @return The size of the header.
+     */
+    private long readLogHeader() throws IOException, ProvenanceSerializationException {
+        ByteBuffer buffer = ChannelUtil.readFully(channel, 0, ByteBuffer.allocate(LOG_MAGIC.length + 1 + 2));
+        byte[] magic = new byte[LOG_MAGIC.length];
+        buffer.flip();
+        if (buffer.remaining() != buffer.capacity()) {
+            throw new ProvenanceSerializationException(path + " is not a provenance log, the header is truncated");
+        }
+        buffer.get(magic);
+        if (!Arrays.equals(LOG_MAGIC, magic)) {
+            throw new ProvenanceSerializationException(path + " is not a provenance log, incorrect magic number");
+        }
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new ProvenanceSerializationException("Unsupported provenance log version " + version + " in " + path + ", expected " + VERSION);
+        }
+        int extensionLength = buffer.getShort() & 0xFFFF;
+        ByteBuffer extensionBuffer = ChannelUtil.readFully(channel, buffer.capacity(), ByteBuffer.allocate(extensionLength));
+        if (extensionBuffer.hasRemaining()) {
+            throw new ProvenanceSerializationException(path + " is not a provenance log, the header is truncated");
+        }
+        String extension = new String(extensionBuffer.array(), StandardCharsets.UTF_8);
+        if (!extension.equals(serialization.getFileExtension())) {
+            throw new ProvenanceSerializationException("Provenance log " + path + " was written with the '" + extension
+                    + "' serialization, but opened with '" + serialization.getFileExtension() + "'");
+        }
+        return buffer.capacity() + extensionLength;
+    }
+
+    /**
+     * Loads the entries from the index file, stopping at the first entry which is truncated or
+     * inconsistent with the log.
+     * @return True if the whole index file was valid and consistent with the log.
+     */
+    private boolean loadIndex() throws IOException {
+        if (!Files.exists(indexPath)) {
+            return false;
+        }
+        boolean complete;
+        try (FileChannel index = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            complete = readIndexEntries(index);
+        }
+        if (count > 0) {
+            // Check the last indexed record is intact, if not recover by rebuilding the index
+            try {
+                if (readFrame(offsets[count-1]) < 0) {
+                    dropIndex("refers to a truncated record");
+                    return false;
+                }
+            } catch (ProvenanceSerializationException e) {
+                dropIndex("refers to an invalid record");
+                return false;
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Reads the entries from the index file.
+     * @param index The index file.
+     * @return True if all the entries were read, false if the index was invalid or truncated.
+     */
+    private boolean readIndexEntries(FileChannel index) throws IOException {
+        long logSize = channel.size();
+        long indexSize = index.size();
+        ByteBuffer header = ChannelUtil.readFully(index, 0, ByteBuffer.allocate(INDEX_HEADER_SIZE));
+        header.flip();
+        if (header.remaining() != INDEX_HEADER_SIZE) {
+            logger.warning("Ignoring truncated index file " + indexPath);
+            return false;
+        }
+        byte[] magic = new byte[INDEX_MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(INDEX_MAGIC, magic) || (header.get() != VERSION)) {
+            logger.warning("Ignoring invalid index file " + indexPath);
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long position = INDEX_HEADER_SIZE;
+        long lastOffset = -1;
+        while (position < indexSize) {
+            buffer.clear();
+            ChannelUtil.readFully(index, position, buffer);
+            buffer.flip();
+            boolean atEnd = position + buffer.limit() >= indexSize;
+            int consumed = 0;
+            while (buffer.remaining() >= 12) {
+                long offset = buffer.getLong();
+                int idLength = buffer.getInt();
+                if ((idLength < 0) || (offset <= lastOffset) || (offset < headerSize) || (offset >= logSize)) {
+                    dropIndex("contains an invalid entry");
+                    return false;
+                }
+                if (buffer.remaining() < idLength) {
+                    if (idLength + 12 > buffer.capacity()) {
+                        buffer = ByteBuffer.allocate(idLength + 12);
+                    }
+                    break;
+                }
+                byte[] id = new byte[idLength];
+                buffer.get(id);
+                addEntry(offset, new String(id, StandardCharsets.UTF_8));
+                lastOffset = offset;
+                consumed += 12 + idLength;
+            }
+            if (atEnd && (position + consumed < indexSize)) {
+                logger.warning("Index file " + indexPath + " has a truncated entry");
+                return false;
+            }
+            position += consumed;
+        }
+        return true;
+    }
+
+    private void dropIndex(String reason) {
+        logger.warning("Index file " + indexPath + " " + reason + ", rebuilding it from " + path);
+        count = 0;
+        idMap.clear();
+    }
+
+    /**
+     * Scans the log from the end of the last indexed record, adding entries for each valid record found.
+     * @return The end of the last valid record.
+     */
+    private long scan() throws IOException {
+        long position = headerSize;
+        if (count > 0) {
+            try {
+                position = offsets[count-1] + readFrame(offsets[count-1]);
+            } catch (ProvenanceSerializationException e) {
+                throw new IllegalStateException("Index validation failed to detect a corrupt record", e);
+            }
+        }
+        long size = channel.size();
+        while (position < size) {
+            try {
+                Record record = readRecord(position);
+                if (record == null) {
+                    break;
+                }
+                addEntry(position, record.getId());
+                position += record.size;
+            } catch (ProvenanceSerializationException e) {
+                logger.warning("Found a corrupt record at offset " + position + " in " + path + ", " + e.getMessage());
+                break;
+            }
+        }
+        return position;
+    }
+
+    private void rewriteIndex() throws IOException {
+        Path tmpPath = indexPath.resolveSibling(indexPath.getFileName().toString() + ".tmp");
+        try (FileChannel index = FileChannel.open(tmpPath, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+            header.put(INDEX_MAGIC);
+            header.put((byte) VERSION);
+            header.flip();
+            ChannelUtil.writeFully(index, header);
+            for (int i = 0; i < count; i++) {
+                writeIndexEntry(index, offsets[i], ids[i]);
+            }
+        }
+        Files.move(tmpPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeIndexEntry(FileChannel index, long offset, String id) throws IOException {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(12 + idBytes.length);
+        buffer.putLong(offset);
+        buffer.putInt(idBytes.length);
+        buffer.put(idBytes);
+        buffer.flip();
+        ChannelUtil.writeFully(index, buffer);
+    }
+
+    /**
+     * Reads and validates the frame header at the specified offset.
+     * @param offset The record offset.
+     * @return The total size of the record, or -1 if the record is truncated.
+     */
+    private long readFrame(long offset) throws IOException, ProvenanceSerializationException {
+        ByteBuffer header = ChannelUtil.readFully(channel, offset, ByteBuffer.allocate(FRAME_HEADER_SIZE));
+        if (header.hasRemaining()) {
+            return -1;
+        }
+        header.flip();
+        if (header.getInt() != SYNC) {
+            throw new ProvenanceSerializationException("No record found at offset " + offset + " in " + path);
+        }
+        int idLength = header.getInt();
+        int payloadLength = header.getInt();
+        if ((idLength < 0) || (payloadLength < 0)) {
+            throw new ProvenanceSerializationException("Invalid record lengths at offset " + offset + " in " + path);
+        }
+        long size = (long) FRAME_HEADER_SIZE + idLength + payloadLength + FRAME_FOOTER_SIZE;
+        return offset + size > channel.size() ? -1 : size;
+    }
+
+    /**
+     * Reads and validates the record at the specified offset.
+     * @param offset The record offset.
+     * @return The record, or null if the record is truncated.
+     */
+    private Record readRecord(long offset) throws IOException, ProvenanceSerializationException {
+        long size = readFrame(offset);
+        if (size < 0) {
+            return null;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new ProvenanceSerializationException("Record at offset " + offset + " in " + path + " is too large");
+        }
+        ByteBuffer buffer = ChannelUtil.readFully(channel, offset, ByteBuffer.allocate((int) size));
+        if (buffer.hasRemaining()) {
+            return null;
+        }
+        buffer.flip();
+        buffer.position(4);
+        int idLength = buffer.getInt();
+        int payloadLength = buffer.getInt();
+        byte[] id = new byte[idLength];
+        byte[] payload = new byte[payloadLength];
+        buffer.get(id);
+        buffer.get(payload);
+        int expected = buffer.getInt();
+        CRC32C crc = new CRC32C();
+        crc.update(id);
+        crc.update(payload);
+        if ((int) crc.getValue() != expected) {
+            throw new ProvenanceSerializationException("Checksum mismatch for record at offset " + offset + " in " + path);
+        }
+        return new Record(serialization, offset, (int) size, new String(id, StandardCharsets.UTF_8), payload);
+    }
+
+    /**
+     * A single record from the log.
+     */
+    public static final class Record {
+        private final ProvenanceSerialization serialization;
+        private final long offset;
+        private final int size;
+        private final String id;
+        private final byte[] payload;
+
+        private Record(ProvenanceSerialization serialization, long offset, int size, String id, byte[] payload) {
+            this.serialization = serialization;
+            this.offset = offset;
+            this.size = size;
+            this.id = id;
+            this.payload = payload;
+        }
+
+        /**
+         * The offset of this record in the log.
+         * @return The offset.
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * The record id.
+         * @return The id.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Deserializes the marshalled provenances stored in this record.
+         * @return The marshalled provenances.
+         * @throws ProvenanceSerializationException If the payload could not be deserialized.
+         */
+        public List<ObjectMarshalledProvenance> getMarshalledProvenances() throws ProvenanceSerializationException {
+            try {
+                return serialization.deserializeFromStream(new ByteArrayInputStream(payload));
+            } catch (IOException e) {
+                throw new ProvenanceSerializationException("Failed to read record " + id, e);
+            }
+        }
+
+        /**
+         * Deserializes and unmarshalls the provenance stored in this record.
+         * @return The provenance.
+         * @throws ProvenanceSerializationException If the payload could not be deserialized.
+         */
+        public ObjectProvenance getProvenance() throws ProvenanceSerializationException {
+            try {
+                return serialization.deserialize(new ByteArrayInputStream(payload));
+            } catch (IOException e) {
+                throw new ProvenanceSerializationException("Failed to read record " + id, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Record{id='" + id + "', offset=" + offset + ", size=" + size + '}';
+        }
+    }
+
+    /**
+     * Spliterator over a range of record offsets, which splits the range in half.
+     */
+    private final class RecordSpliterator implements Spliterator<Record> {
+        private final long[] recordOffsets;
+        private int index;
+        private final int fence;
+
+        RecordSpliterator(long[] recordOffsets, int origin, int fence) {
+            this.recordOffsets = recordOffsets;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Record> action) {
+            if (index < fence) {
+                long offset = recordOffsets[index];
+                index++;
+                try {
+                    action.accept(read(offset));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ProvenanceSerializationException e) {
+                    throw new ProvenanceException("Failed to read record at offset " + offset + " in " + path, e);
+                }
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public Spliterator<Record> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            RecordSpliterator prefix = new RecordSpliterator(recordOffsets, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+    }
+}
@@ -29,15 +29,19 @@
 package com.oracle.labs.mlrg.olcut.provenance.io;
 
 import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceInterner;
 import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 
 /**
  * Interface for serializing and deserializing marshalled provenances to
- * and from strings or files.
+ * and from strings, files or streams.
  */
 public interface ProvenanceSerialization {
 
@@ -64,6 +68,49 @@ public interface ProvenanceSerialization {
      */
     public List<ObjectMarshalledProvenance> deserializeFromString(String input) throws ProvenanceSerializationException;
 
+    /**
+     * Loads in a list of marshalled provenances from the supplied stream.
+     * <p>
+     * The stream should contain the same format as {@link #deserializeFromFile(Path)} accepts. The
+     * stream is read to the end but is not closed. The default implementation reads the whole
+     * stream into a string, implementations should override it to parse the stream directly.
+     * @param stream The stream to read.
+     * @return The marshalled provenances in the stream.
+     * @throws ProvenanceSerializationException If the provenance could not be parsed from the stream.
+     * @throws IOException If the stream failed to read.
+     */
+    default public List<ObjectMarshalledProvenance> deserializeFromStream(InputStream stream) throws ProvenanceSerializationException, IOException {
+        return deserializeFromString(new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Deserializes and unmarshalls the provenances from the supplied stream.
+     * <p>
+     * The stream is read to the end but is not closed.
+     * @param stream The stream to read.
+     * @return The object provenance specified by the marshalled provenances in the stream.
+     * @throws ProvenanceSerializationException If the provenance could not be parsed from the stream.
+     * @throws IOException If the stream failed to read.
+     */
+    default public ObjectProvenance deserialize(InputStream stream) throws ProvenanceSerializationException, IOException {
+        return ProvenanceUtil.unmarshalProvenance(deserializeFromStream(stream));
+    }
+
+    /**
+     * Deserializes and unmarshalls the provenances from the supplied stream, canonicalizing
+     * them with the supplied interner.
+     * <p>
+     * The stream is read to the end but is not closed.
+     * @param stream The stream to read.
+     * @param interner The interner to use.
+     * @return The object provenance specified by the marshalled provenances in the stream.
+     * @throws ProvenanceSerializationException If the provenance could not be parsed from the stream.
+     * @throws IOException If the stream failed to read.
+     */
+    default public ObjectProvenance deserialize(InputStream stream, ProvenanceInterner interner) throws ProvenanceSerializationException, IOException {
+        return ProvenanceUtil.unmarshalProvenance(deserializeFromStream(stream), interner);
+    }
+
     /**
      * Deserializes and unmarshalls the provenances in the specified file.
      * @param path The file to load.
@@ -85,6 +132,31 @@ public interface ProvenanceSerialization {
         return ProvenanceUtil.unmarshalProvenance(deserializeFromString(input));
     }
 
+    /**
+     * Deserializes and unmarshalls the provenances in the specified file, canonicalizing
+     * them with the supplied interner.
+     * @param path The file to load.
+     * @param interner The interner to use.
+     * @return The object provenance specified by the marshalled provenances in the file.
+     * @throws ProvenanceSerializationException If the provenance could not be parsed from the file.
+     * @throws IOException If the file failed to read.
+     */
+    default public ObjectProvenance deserializeAndUnmarshal(Path path, ProvenanceInterner interner) throws ProvenanceSerializationException, IOException {
+        return ProvenanceUtil.unmarshalProvenance(deserializeFromFile(path), interner);
+    }
+
+    /**
+     * Deserializes and unmarshalls the provenances from the supplied string, canonicalizing
+     * them with the supplied interner.
+     * @param input The string to deserialize.
+     * @param interner The interner to use.
+     * @return The object provenance specified by the marshalled provenances in the string.
+     * @throws ProvenanceSerializationException If the provenance could not be parsed from the string.
+     */
+    default public ObjectProvenance deserializeAndUnmarshal(String input, ProvenanceInterner interner) throws ProvenanceSerializationException {
+        return ProvenanceUtil.unmarshalProvenance(deserializeFromString(input), interner);
+    }
+
     /**
      * Serializes the list of marshalled provenance to a string.
      * @param marshalledProvenances The provenances to serialize.
@@ -118,4 +190,20 @@ public interface ProvenanceSerialization {
     default public void marshalAndSerialize(ObjectProvenance provenance, Path path) throws IOException {
         serializeToFile(ProvenanceUtil.marshalProvenance(provenance),path);
     }
+
+    /**
+     * Marshalls and serializes the supplied provenance to the supplied stream.
+     * <p>
+     * The output is in the same format as {@link #serializeToFile(List, Path)}. The stream is
+     * flushed but not closed. The default implementation builds the whole serialized form in
+     * memory before writing it, implementations should override it to write each marshalled
+     * provenance to the stream as it's produced by {@link ProvenanceUtil#marshalProvenanceIterator}.
+     * @param provenance The provenance to serialize.
+     * @param stream The stream to write to.
+     * @throws IOException If the stream could not be written.
+     */
+    default public void serialize(ObjectProvenance provenance, OutputStream stream) throws IOException {
+        stream.write(marshalAndSerialize(provenance).getBytes(StandardCharsets.UTF_8));
+        stream.flush();
+    }
 }
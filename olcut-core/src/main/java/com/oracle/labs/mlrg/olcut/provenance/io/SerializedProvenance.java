@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.io;
+
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceException;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
+import com.oracle.labs.mlrg.olcut.util.Pair;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A serialization proxy for {@link ObjectProvenance}s, which stores them in Java serialization streams
+ * using the compact {@link BinaryProvenanceSerialization} format (with its string table and object
+ * back-references) rather than the default serialized form of the provenance classes and their maps.
+ * <p>
+ * Provenance classes use this via <code>writeReplace</code>, and the proxy resolves back into the
+ * unmarshalled provenance when it is read. Streams containing provenances written with the default
+ * serialized form can still be read as the provenance classes are unchanged.
+ * <p>
+ * Each proxied provenance is marshalled independently. When a provenance which doesn't use the
+ * proxy (e.g., a custom {@link ObjectProvenance} written with the default serialized form) holds
+ * several proxied provenances which share a sub-provenance, the shared sub-provenance is written
+ * once per proxy, and is read back as separate but equal copies. Sharing is only preserved within
+ * a single proxied provenance, or between references to the same proxied provenance instance.
+ */
+public final class SerializedProvenance implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The format version of the serialized data.
+     */
+    private static final int VERSION = 1;
+
+    private transient List<ObjectMarshalledProvenance> marshalled;
+
+    private transient ObjectProvenance provenance;
+
+    private SerializedProvenance(List<ObjectMarshalledProvenance> marshalled) {
+        this.marshalled = marshalled;
+    }
+
+    /**
+     * Returns the object to serialize in place of the supplied provenance. This is a proxy if the
+     * provenance can be marshalled and unmarshalled without loss, otherwise it is the provenance
+     * itself so it is written using its default serialized form (e.g., if it contains primitive
+     * provenance types which {@link SimpleMarshalledProvenance} cannot reconstruct, or object
+     * provenance classes without a public <code>Map&lt;String,Provenance&gt;</code> constructor).
+     * <p>
+     * Provenance classes should call this from <code>writeReplace</code>.
+     * @param provenance The provenance to serialize.
+     * @return The object to serialize.
+     */
+    public static Object replace(ObjectProvenance provenance) {
+        List<ObjectMarshalledProvenance> marshalled = ProvenanceUtil.marshalProvenance(provenance);
+        return isUnmarshallable(marshalled) ? new SerializedProvenance(marshalled) : provenance;
+    }
+
+    /**
+     * Checks that all the object classes and primitive values in the marshalled provenances can be unmarshalled.
+     * @param marshalled The marshalled provenances.
+     * @return True if they can be unmarshalled.
+     */
+    private static boolean isUnmarshallable(List<ObjectMarshalledProvenance> marshalled) {
+        Set<String> checkedClasses = new HashSet<>();
+        ArrayDeque<FlatMarshalledProvenance> queue = new ArrayDeque<>();
+        for (ObjectMarshalledProvenance omp : marshalled) {
+            String provenanceClassName = omp.getProvenanceClassName();
+            if (checkedClasses.add(provenanceClassName) && !ProvenanceUtil.hasUnmarshallingConstructor(provenanceClassName)) {
+                return false;
+            }
+            queue.addAll(omp.getMap().values());
+            while (!queue.isEmpty()) {
+                FlatMarshalledProvenance fmp = queue.poll();
+                if (fmp instanceof SimpleMarshalledProvenance) {
+                    if (!((SimpleMarshalledProvenance) fmp).isUnmarshallable()) {
+                        return false;
+                    }
+                } else if (fmp instanceof ListMarshalledProvenance) {
+                    queue.addAll(((ListMarshalledProvenance) fmp).getList());
+                } else if (fmp instanceof MapMarshalledProvenance) {
+                    for (Pair<String,FlatMarshalledProvenance> p : (MapMarshalledProvenance) fmp) {
+                        queue.add(p.getB());
+                    }
+                } else {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new BinaryProvenanceSerialization(false).serialize(marshalled, bytes);
+        out.writeByte(VERSION);
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new InvalidObjectException("Unknown serialized provenance version " + version);
+        }
+        int length = in.readInt();
+        if (length < 0) {
+            throw new InvalidObjectException("Invalid serialized provenance length " + length);
+        }
+        // Read in chunks rather than trusting the length, so a corrupt length can't force a huge allocation.
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new InvalidObjectException("Truncated serialized provenance, expected " + length + " bytes, found " + bytes.length);
+        }
+        try {
+            List<ObjectMarshalledProvenance> list = new BinaryProvenanceSerialization(false).deserializeFromStream(new ByteArrayInputStream(bytes));
+            provenance = ProvenanceUtil.unmarshalProvenance(list);
+        } catch (ProvenanceSerializationException | ProvenanceException e) {
+            InvalidObjectException ex = new InvalidObjectException("Failed to read serialized provenance");
+            ex.initCause(e);
+            throw ex;
+        }
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        return provenance;
+    }
+}
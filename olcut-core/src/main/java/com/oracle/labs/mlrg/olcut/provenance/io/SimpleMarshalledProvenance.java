@@ -33,18 +33,26 @@ import com.oracle.labs.mlrg.olcut.provenance.PrimitiveProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.Provenance;
 import com.oracle.labs.mlrg.olcut.provenance.ProvenanceException;
 import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil.HashType;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.BooleanArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.BooleanProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ByteArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.ByteProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.CharArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.CharProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.DateProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.DateTimeProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.DoubleProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.EnumProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.FileProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.FloatArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.FloatProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.HashProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.IntArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.IntProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.LongArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.LongProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.primitives.ShortArrayProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.ShortProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.StringProvenance;
 import com.oracle.labs.mlrg.olcut.provenance.primitives.TimeProvenance;
@@ -57,6 +65,7 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * A marshalled provenance representing a primitive type, or a reference to
@@ -68,6 +77,19 @@ import java.util.Objects;
  */
 public final class SimpleMarshalledProvenance implements FlatMarshalledProvenance {
 
+    /**
+     * The primitive provenance classes which {@link #unmarshallPrimitive()} can construct.
+     */
+    private static final Set<String> SUPPORTED_PRIMITIVES = Set.of(
+            BooleanProvenance.class.getName(), ByteProvenance.class.getName(), CharProvenance.class.getName(),
+            DateProvenance.class.getName(), DateTimeProvenance.class.getName(), DoubleProvenance.class.getName(),
+            EnumProvenance.class.getName(), FileProvenance.class.getName(), FloatProvenance.class.getName(),
+            HashProvenance.class.getName(), IntProvenance.class.getName(), LongProvenance.class.getName(),
+            ShortProvenance.class.getName(), StringProvenance.class.getName(), TimeProvenance.class.getName(),
+            URLProvenance.class.getName(), BooleanArrayProvenance.class.getName(), ByteArrayProvenance.class.getName(),
+            CharArrayProvenance.class.getName(), DoubleArrayProvenance.class.getName(), FloatArrayProvenance.class.getName(),
+            IntArrayProvenance.class.getName(), LongArrayProvenance.class.getName(), ShortArrayProvenance.class.getName());
+
     private final String key;
 
     private final String value;
@@ -194,6 +216,22 @@ public final class SimpleMarshalledProvenance implements FlatMarshalledProvenanc
                 unmarshalled = new TimeProvenance(key, OffsetTime.parse(value));
             } else if (provClass.equals(URLProvenance.class)) {
                 unmarshalled = new URLProvenance(key,new URL(value));
+            } else if (provClass.equals(BooleanArrayProvenance.class)) {
+                unmarshalled = BooleanArrayProvenance.parse(key,value);
+            } else if (provClass.equals(ByteArrayProvenance.class)) {
+                unmarshalled = ByteArrayProvenance.parse(key,value);
+            } else if (provClass.equals(CharArrayProvenance.class)) {
+                unmarshalled = CharArrayProvenance.parse(key,value);
+            } else if (provClass.equals(DoubleArrayProvenance.class)) {
+                unmarshalled = DoubleArrayProvenance.parse(key,value);
+            } else if (provClass.equals(FloatArrayProvenance.class)) {
+                unmarshalled = FloatArrayProvenance.parse(key,value);
+            } else if (provClass.equals(IntArrayProvenance.class)) {
+                unmarshalled = IntArrayProvenance.parse(key,value);
+            } else if (provClass.equals(LongArrayProvenance.class)) {
+                unmarshalled = LongArrayProvenance.parse(key,value);
+            } else if (provClass.equals(ShortArrayProvenance.class)) {
+                unmarshalled = ShortArrayProvenance.parse(key,value);
             } else {
                 throw new ProvenanceException("Unknown Provenance subclass, found " + provClass.getName());
             }
@@ -209,6 +247,14 @@ public final class SimpleMarshalledProvenance implements FlatMarshalledProvenanc
         }
     }
 
+    /**
+     * Is this a reference, or a primitive type which {@link #unmarshallPrimitive()} knows how to construct.
+     * @return True if this provenance can be unmarshalled.
+     */
+    boolean isUnmarshallable() {
+        return isReference || SUPPORTED_PRIMITIVES.contains(provenanceClassName);
+    }
+
     /**
      * Is this a reference rather than a primitive type.
      * @return true if it's a reference to an {@link ObjectMarshalledProvenance}.
@@ -28,6 +28,8 @@
 
 package com.oracle.labs.mlrg.olcut.provenance.io;
 
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil;
 import com.oracle.labs.mlrg.olcut.util.Pair;
 import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
@@ -44,6 +46,8 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.file.Files;
@@ -53,6 +57,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -131,7 +136,14 @@ public final class XMLProvenanceSerialization implements ProvenanceSerialization
 
     @Override
     public List<ObjectMarshalledProvenance> deserializeFromFile(Path path) throws ProvenanceSerializationException, IOException {
-        return parse(new InputSource(Files.newInputStream(path)),path.toString());
+        try (InputStream stream = Files.newInputStream(path)) {
+            return parse(new InputSource(stream),path.toString());
+        }
+    }
+
+    @Override
+    public List<ObjectMarshalledProvenance> deserializeFromStream(InputStream stream) throws ProvenanceSerializationException, IOException {
+        return parse(new InputSource(stream),"");
     }
 
     @Override
@@ -183,7 +195,7 @@ public final class XMLProvenanceSerialization implements ProvenanceSerialization
         try {
             StringWriter strWriter = new StringWriter();
             XMLStreamWriter writer = outputFactory.createXMLStreamWriter(strWriter);
-            writeProvenance(writer, marshalledProvenances);
+            writeProvenance(writer, marshalledProvenances.iterator());
             return strWriter.toString();
         } catch (XMLStreamException e) {
             throw new IllegalArgumentException("Failed to serialize to XML", e);
@@ -194,7 +206,27 @@ public final class XMLProvenanceSerialization implements ProvenanceSerialization
     public void serializeToFile(List<ObjectMarshalledProvenance> marshalledProvenances, Path path) throws IOException {
         try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(path))) {
             XMLStreamWriter writer = outputFactory.createXMLStreamWriter(bos, "utf-8");
-            writeProvenance(writer, marshalledProvenances);
+            writeProvenance(writer, marshalledProvenances.iterator());
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Failed to serialize to XML", e);
+        }
+    }
+
+    @Override
+    public void marshalAndSerialize(ObjectProvenance provenance, Path path) throws IOException {
+        try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(path))) {
+            serialize(provenance, bos);
+        }
+    }
+
+    @Override
+    public void serialize(ObjectProvenance provenance, OutputStream stream) throws IOException {
+        try {
+            XMLStreamWriter writer = outputFactory.createXMLStreamWriter(stream, "utf-8");
+            writeProvenance(writer, ProvenanceUtil.marshalProvenanceIterator(provenance));
+            // closing the XMLStreamWriter does not close the underlying stream
+            writer.close();
+            stream.flush();
         } catch (XMLStreamException e) {
             throw new IllegalArgumentException("Failed to serialize to XML", e);
         }
@@ -206,7 +238,7 @@ public final class XMLProvenanceSerialization implements ProvenanceSerialization
      * @param writer                The XML writer.
      * @param marshalledProvenances The provenances.
      */
-    private void writeProvenance(XMLStreamWriter writer, List<ObjectMarshalledProvenance> marshalledProvenances) throws XMLStreamException {
+    private void writeProvenance(XMLStreamWriter writer, Iterator<ObjectMarshalledProvenance> marshalledProvenances) throws XMLStreamException {
         // write preamble
         writer.writeStartDocument("utf-8", "1.0");
         if (prettyPrint) {
@@ -218,8 +250,8 @@ public final class XMLProvenanceSerialization implements ProvenanceSerialization
         }
 
         // write the provenances
-        for (ObjectMarshalledProvenance omp : marshalledProvenances) {
-            writeOMP(writer, omp);
+        while (marshalledProvenances.hasNext()) {
+            writeOMP(writer, marshalledProvenances.next());
         }
 
         // write end document, closing all tags
@@ -28,6 +28,6 @@
 
 /**
  * Provides classes which represent marshalled provenance objects, a provenance serialization interface,
- * and an implementation of that interface which reads and writes XML.
+ * and implementations of that interface which read and write XML and a compact binary format.
  */
 package com.oracle.labs.mlrg.olcut.provenance.io;
\ No newline at end of file
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.primitives;
+
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.PrimitiveProvenance;
+
+import java.util.List;
+
+/**
+ * A {@link PrimitiveProvenance} which records an array of primitive values.
+ * <p>
+ * The array is stored directly, rather than as a {@link com.oracle.labs.mlrg.olcut.provenance.ListProvenance}
+ * with a provenance object per element. The value is a compact string encoding of the array,
+ * the elements separated by commas (except for char arrays which are encoded as a String), so
+ * the array is marshalled and serialized as a single value. The encoding and hash code are
+ * computed on first use and cached, as the array is immutable. The text formats (XML, JSON,
+ * protobuf and edn) write this decimal encoding, while the binary provenance serialization
+ * writes the raw elements of int, long, float and double arrays.
+ * <p>
+ * Before array provenances were introduced, primitive array fields were recorded as a
+ * {@link ListProvenance} of one primitive provenance per element, all keyed by the field name,
+ * and provenance read from older marshalled or serialized models still has that form. An
+ * array provenance is equal to the equivalent list provenance, with the same hash code and
+ * fingerprint, so old and new provenances of the same configuration compare equal. The
+ * representation is still visible in the output of
+ * {@link com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil#convertToMap} and
+ * {@link com.oracle.labs.mlrg.olcut.provenance.ProvenanceUtil#formattedProvenanceString},
+ * which render the array as a single encoded value rather than a list.
+ */
+public abstract class ArrayProvenance implements PrimitiveProvenance<String> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The separator used between elements in the encoded value.
+     */
+    public static final char SEPARATOR = ',';
+
+    private static final String[] EMPTY = new String[0];
+
+    /**
+     * The provenance key.
+     */
+    protected final String key;
+
+    private transient String cachedValue;
+
+    private transient int cachedHash;
+
+    /**
+     * Constructs an array provenance.
+     * @param key The provenance key.
+     */
+    protected ArrayProvenance(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The number of elements in the array.
+     * @return The array length.
+     */
+    public abstract int size();
+
+    /**
+     * Returns a copy of the primitive array. Subclasses narrow the return type to their array type.
+     * @return The array.
+     */
+    public abstract Object getArray();
+
+    /**
+     * The string form of the specified element.
+     * @param index The element index.
+     * @return The element as a String.
+     */
+    public abstract String getElementString(int index);
+
+    /**
+     * Returns the compact encoding of the array.
+     * @return The encoded array.
+     */
+    @Override
+    public String getValue() {
+        String value = cachedValue;
+        if (value == null) {
+            value = encode();
+            cachedValue = value;
+        }
+        return value;
+    }
+
+    /**
+     * Encodes the array, by default as the comma separated element strings.
+     * @return The encoded array.
+     */
+    protected String encode() {
+        int size = size();
+        StringBuilder sb = new StringBuilder(size * 4);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(getElementString(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the specified element as a primitive provenance with this provenance's key, i.e., the
+     * element of the equivalent legacy list provenance.
+     * @param index The element index.
+     * @return The element provenance.
+     */
+    public abstract PrimitiveProvenance<?> getElementProvenance(int index);
+
+    /**
+     * Computes the hash code of the boxed element.
+     * @param index The element index.
+     * @return The element's hash code.
+     */
+    protected abstract int elementHashCode(int index);
+
+    /**
+     * Returns the hash code, which is the same as the hash code of the equivalent list provenance.
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+        // The array is immutable so the hash can be cached.
+        int hash = cachedHash;
+        if (hash == 0) {
+            // Each element hashes as Objects.hash(key, value), and the list as Objects.hash(list).
+            int elementBase = 31 * (31 + key.hashCode());
+            int listHash = 1;
+            int size = size();
+            for (int i = 0; i < size; i++) {
+                listHash = 31 * listHash + elementBase + elementHashCode(i);
+            }
+            hash = 31 + listHash;
+            cachedHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Checks if the object is a list provenance equivalent to this array, i.e., the legacy form.
+     * @param o The object to compare.
+     * @return True if the object is an equivalent list provenance.
+     */
+    protected boolean equalsList(Object o) {
+        if (!(o instanceof ListProvenance)) {
+            return false;
+        }
+        List<?> list = ((ListProvenance<?>) o).getList();
+        int size = size();
+        if (list.size() != size || hashCode() != o.hashCode()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!getElementProvenance(i).equals(list.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    /**
+     * Splits an encoded array into the element strings.
+     * @param value The encoded array.
+     * @return The element strings.
+     */
+    protected static String[] split(String value) {
+        if (value.isEmpty()) {
+            return EMPTY;
+        }
+        int count = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == SEPARATOR) {
+                count++;
+            }
+        }
+        String[] output = new String[count];
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = value.indexOf(SEPARATOR, start);
+            if (end == -1) {
+                end = value.length();
+            }
+            output[i] = value.substring(start, end).trim();
+            start = end + 1;
+        }
+        return output;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.primitives;
+
+import java.util.Arrays;
+
+/**
+ * An {@link ArrayProvenance} which records a double array.
+ */
+public final class DoubleArrayProvenance extends ArrayProvenance {
+    private static final long serialVersionUID = 1L;
+
+    private final double[] array;
+
+    /**
+     * Constructs a provenance from the array, which is defensively copied.
+     * @param key The provenance key.
+     * @param array The array.
+     */
+    public DoubleArrayProvenance(String key, double[] array) {
+        super(key);
+        this.array = Arrays.copyOf(array, array.length);
+    }
+
+    /**
+     * Parses the encoded form produced by {@link #getValue()}.
+     * @param key The provenance key.
+     * @param value The encoded array.
+     * @return The array provenance.
+     * @throws NumberFormatException If an element could not be parsed.
+     */
+    public static DoubleArrayProvenance parse(String key, String value) {
+        String[] elements = split(value);
+        double[] array = new double[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            array[i] = Double.parseDouble(elements[i]);
+        }
+        return new DoubleArrayProvenance(key, array);
+    }
+
+    /**
+     * Returns a copy of the array.
+     * @return The array.
+     */
+    @Override
+    public double[] getArray() {
+        return Arrays.copyOf(array, array.length);
+    }
+
+    /**
+     * Returns the specified element.
+     * @param index The element index.
+     * @return The element.
+     */
+    public double get(int index) {
+        return array[index];
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    @Override
+    public String getElementString(int index) {
+        return Double.toString(array[index]);
+    }
+
+    @Override
+    public DoubleProvenance getElementProvenance(int index) {
+        return new DoubleProvenance(key, array[index]);
+    }
+
+    @Override
+    protected int elementHashCode(int index) {
+        return Double.hashCode(array[index]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DoubleArrayProvenance)) return equalsList(o);
+        DoubleArrayProvenance that = (DoubleArrayProvenance) o;
+        return hashCode() == that.hashCode() && key.equals(that.key) && Arrays.equals(array, that.array);
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.store;
+
+import com.oracle.labs.mlrg.olcut.util.ChannelUtil;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A read only segment stored on disk.
+ * <p>
+ * The file consists of a header (magic, version, base document, number of documents), followed by
+ * the delta encoded posting lists and the sorted numeric values for each path, the term dictionary,
+ * and a footer containing the dictionary offset and the magic. The dictionary is loaded into memory
+ * when the segment is opened, and posting lists are read from the file as they are queried.
+ */
+final class DiskSegment implements Segment, Closeable {
+
+    static final byte[] MAGIC = "OLPS".getBytes(StandardCharsets.US_ASCII);
+
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = MAGIC.length + 1 + 4 + 4;
+
+    private static final int FOOTER_SIZE = 8 + MAGIC.length;
+
+    private static final int NUMERIC_ENTRY_SIZE = 8 + 4;
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final int baseDoc;
+
+    private final int numDocs;
+
+    private final Map<String, PathEntry> dictionary;
+
+    private DiskSegment(Path path, FileChannel channel, int baseDoc, int numDocs, Map<String, PathEntry> dictionary) {
+        this.path = path;
+        this.channel = channel;
+        this.baseDoc = baseDoc;
+        this.numDocs = numDocs;
+        this.dictionary = Collections.unmodifiableMap(dictionary);
+    }
+
+    /**
+     * Opens a segment file and loads its dictionary.
+     * @param path The segment file.
+     * @return The segment.
+     * @throws IOException If the file could not be read or is not a valid segment.
+     */
+    static DiskSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE + FOOTER_SIZE) {
+                throw new IOException("Segment file " + path + " is truncated");
+            }
+            ByteBuffer header = ChannelUtil.readFully(channel, 0, ByteBuffer.allocate(HEADER_SIZE));
+            header.flip();
+            checkMagic(header, path);
+            int version = header.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported segment version " + version + " in " + path);
+            }
+            int baseDoc = header.getInt();
+            int numDocs = header.getInt();
+
+            ByteBuffer footer = ChannelUtil.readFully(channel, size - FOOTER_SIZE, ByteBuffer.allocate(FOOTER_SIZE));
+            footer.flip();
+            long dictionaryOffset = footer.getLong();
+            checkMagic(footer, path);
+            if ((dictionaryOffset < HEADER_SIZE) || (dictionaryOffset > size - FOOTER_SIZE)) {
+                throw new IOException("Invalid dictionary offset " + dictionaryOffset + " in " + path);
+            }
+
+            Map<String, PathEntry> dictionary = new HashMap<>();
+            channel.position(dictionaryOffset);
+            // The stream is not closed as that would close the channel
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            int numPaths = in.readInt();
+            for (int i = 0; i < numPaths; i++) {
+                String pathName = readString(in);
+                int numTerms = in.readInt();
+                PathEntry entry = new PathEntry(numTerms);
+                for (int j = 0; j < numTerms; j++) {
+                    entry.values[j] = readString(in);
+                    entry.offsets[j] = in.readLong();
+                    entry.counts[j] = in.readInt();
+                    entry.lengths[j] = in.readInt();
+                }
+                entry.numericOffset = in.readLong();
+                entry.numericCount = in.readInt();
+                dictionary.put(pathName, entry);
+            }
+            return new DiskSegment(path, channel, baseDoc, numDocs, dictionary);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void checkMagic(ByteBuffer buffer, Path path) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("File " + path + " is not a provenance store segment");
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The segment file.
+     * @return The path to the segment file.
+     */
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public int getBaseDoc() {
+        return baseDoc;
+    }
+
+    @Override
+    public int getNumDocs() {
+        return numDocs;
+    }
+
+    @Override
+    public Collection<String> getPaths() {
+        return dictionary.keySet();
+    }
+
+    /**
+     * The values indexed at the specified path, in sorted order.
+     * @param pathName The path.
+     * @return The values.
+     */
+    String[] getValues(String pathName) {
+        PathEntry entry = dictionary.get(pathName);
+        return entry == null ? new String[0] : entry.values.clone();
+    }
+
+    @Override
+    public int[] getPostings(String pathName, String value) throws IOException {
+        PathEntry entry = dictionary.get(pathName);
+        if (entry == null) {
+            return Postings.EMPTY;
+        }
+        int idx = Arrays.binarySearch(entry.values, value);
+        if (idx < 0) {
+            return Postings.EMPTY;
+        }
+        ByteBuffer buffer = ChannelUtil.readFully(channel, entry.offsets[idx], ByteBuffer.allocate(entry.lengths[idx]));
+        buffer.flip();
+        int[] output = new int[entry.counts[idx]];
+        int previous = baseDoc;
+        for (int i = 0; i < output.length; i++) {
+            previous += readVarint(buffer);
+            output[i] = previous;
+        }
+        return output;
+    }
+
+    @Override
+    public int[] getRange(String pathName, double min, boolean minInclusive, double max, boolean maxInclusive) throws IOException {
+        PathEntry entry = dictionary.get(pathName);
+        if ((entry == null) || (entry.numericCount == 0)) {
+            return Postings.EMPTY;
+        }
+        // First entry which satisfies the lower bound
+        int lo = 0;
+        int hi = entry.numericCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            double value = readNumericValue(entry, mid);
+            if (minInclusive ? value < min : value <= min) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int start = lo;
+        // First entry which fails the upper bound
+        hi = entry.numericCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            double value = readNumericValue(entry, mid);
+            if (maxInclusive ? value <= max : value < max) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int end = lo;
+        if (start >= end) {
+            return Postings.EMPTY;
+        }
+        ByteBuffer buffer = ChannelUtil.readFully(channel, entry.numericOffset + ((long) start * NUMERIC_ENTRY_SIZE), ByteBuffer.allocate((end - start) * NUMERIC_ENTRY_SIZE));
+        buffer.flip();
+        int[] output = new int[end - start];
+        for (int i = 0; i < output.length; i++) {
+            buffer.getDouble();
+            output[i] = baseDoc + buffer.getInt();
+        }
+        return Postings.sortUnique(output, output.length);
+    }
+
+    /**
+     * Passes every numeric value and document for the specified path to the consumer, in value order.
+     * @param pathName The path.
+     * @param consumer The consumer.
+     * @throws IOException If the segment could not be read.
+     */
+    void forEachNumeric(String pathName, NumericConsumer consumer) throws IOException {
+        PathEntry entry = dictionary.get(pathName);
+        if ((entry == null) || (entry.numericCount == 0)) {
+            return;
+        }
+        ByteBuffer buffer = ChannelUtil.readFully(channel, entry.numericOffset, ByteBuffer.allocate(entry.numericCount * NUMERIC_ENTRY_SIZE));
+        buffer.flip();
+        for (int i = 0; i < entry.numericCount; i++) {
+            double value = buffer.getDouble();
+            consumer.accept(value, baseDoc + buffer.getInt());
+        }
+    }
+
+    private double readNumericValue(PathEntry entry, int index) throws IOException {
+        ByteBuffer buffer = ChannelUtil.readFully(channel, entry.numericOffset + ((long) index * NUMERIC_ENTRY_SIZE), ByteBuffer.allocate(8));
+        buffer.flip();
+        return buffer.getDouble();
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Receives numeric values read from a segment.
+     */
+    interface NumericConsumer {
+        void accept(double value, int doc);
+    }
+
+    /**
+     * The dictionary entries for a single path.
+     */
+    private static final class PathEntry {
+        final String[] values;
+        final long[] offsets;
+        final int[] counts;
+        final int[] lengths;
+        long numericOffset;
+        int numericCount;
+
+        PathEntry(int numTerms) {
+            this.values = new String[numTerms];
+            this.offsets = new long[numTerms];
+            this.counts = new int[numTerms];
+            this.lengths = new int[numTerms];
+        }
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.store;
+
+import com.oracle.labs.mlrg.olcut.provenance.ListProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.MapProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.PrimitiveProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.Provenance;
+import com.oracle.labs.mlrg.olcut.util.Pair;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * An in-memory segment which accumulates newly added documents until it is written to disk.
+ */
+final class MemorySegment implements Segment {
+
+    private final int baseDoc;
+    private int numDocs = 0;
+
+    private final Map<String, Map<String, IntArrayList>> terms = new HashMap<>();
+    private final Map<String, NumericList> numerics = new HashMap<>();
+
+    MemorySegment(int baseDoc) {
+        this.baseDoc = baseDoc;
+    }
+
+    @Override
+    public int getBaseDoc() {
+        return baseDoc;
+    }
+
+    @Override
+    public int getNumDocs() {
+        return numDocs;
+    }
+
+    @Override
+    public Collection<String> getPaths() {
+        TreeSet<String> paths = new TreeSet<>(terms.keySet());
+        paths.addAll(numerics.keySet());
+        return paths;
+    }
+
+    @Override
+    public int[] getPostings(String path, String value) {
+        Map<String, IntArrayList> values = terms.get(path);
+        if (values == null) {
+            return Postings.EMPTY;
+        }
+        IntArrayList docs = values.get(value);
+        return docs == null ? Postings.EMPTY : docs.toArray();
+    }
+
+    @Override
+    public int[] getRange(String path, double min, boolean minInclusive, double max, boolean maxInclusive) {
+        NumericList list = numerics.get(path);
+        if (list == null) {
+            return Postings.EMPTY;
+        }
+        int[] output = new int[list.size];
+        int k = 0;
+        for (int i = 0; i < list.size; i++) {
+            if (inRange(list.values[i], min, minInclusive, max, maxInclusive)) {
+                output[k++] = list.docs[i];
+            }
+        }
+        return Postings.sortUnique(output, k);
+    }
+
+    static boolean inRange(double value, double min, boolean minInclusive, double max, boolean maxInclusive) {
+        boolean aboveMin = minInclusive ? value >= min : value > min;
+        boolean belowMax = maxInclusive ? value <= max : value < max;
+        return aboveMin && belowMax;
+    }
+
+    /**
+     * Indexes the flattened paths and values of the provenance as the next document.
+     * @param doc The document number, must be the next document in this segment.
+     * @param provenance The provenance to index.
+     */
+    void add(int doc, ObjectProvenance provenance) {
+        if (doc != baseDoc + numDocs) {
+            throw new IllegalArgumentException("Expected document " + (baseDoc + numDocs) + ", found " + doc);
+        }
+        addObject("", provenance, doc);
+        numDocs++;
+    }
+
+    /**
+     * Sets the number of documents, used when merging segments.
+     * @param numDocs The number of documents.
+     */
+    void setNumDocs(int numDocs) {
+        this.numDocs = numDocs;
+    }
+
+    /**
+     * Appends a posting list for a term, used when merging segments.
+     * @param path The path.
+     * @param value The value.
+     * @param docs The documents, which must all be greater than the ones already added for this term.
+     */
+    void addPostings(String path, String value, int[] docs) {
+        IntArrayList list = terms.computeIfAbsent(path, k -> new HashMap<>()).computeIfAbsent(value, k -> new IntArrayList());
+        for (int doc : docs) {
+            list.add(doc);
+        }
+    }
+
+    /**
+     * Adds a numeric value, used when merging segments.
+     * @param path The path.
+     * @param value The value.
+     * @param doc The document.
+     */
+    void addNumeric(String path, double value, int doc) {
+        numerics.computeIfAbsent(path, k -> new NumericList()).add(value, doc);
+    }
+
+    private void addObject(String path, ObjectProvenance obj, int doc) {
+        addTerm(child(path, ObjectProvenance.CLASS_NAME), obj.getClassName(), doc);
+        for (Pair<String, Provenance> p : obj) {
+            addProvenance(child(path, p.getA()), p.getB(), doc);
+        }
+    }
+
+    private void addProvenance(String path, Provenance prov, int doc) {
+        if (prov instanceof ObjectProvenance) {
+            addObject(path, (ObjectProvenance) prov, doc);
+        } else if (prov instanceof ListProvenance) {
+            // List elements are indexed under the path of the list
+            for (Provenance element : (ListProvenance<?>) prov) {
+                addProvenance(path, element, doc);
+            }
+        } else if (prov instanceof MapProvenance) {
+            for (Pair<String, ? extends Provenance> p : (MapProvenance<?>) prov) {
+                addProvenance(child(path, p.getA()), p.getB(), doc);
+            }
+        } else if (prov instanceof PrimitiveProvenance) {
+            Object value = ((PrimitiveProvenance<?>) prov).getValue();
+            addTerm(path, String.valueOf(value), doc);
+            if (value instanceof Number) {
+                double d = ((Number) value).doubleValue();
+                if (!Double.isNaN(d)) {
+                    addNumeric(path, d, doc);
+                }
+            }
+        } else if (prov != null) {
+            throw new IllegalArgumentException("Unexpected provenance type " + prov.getClass().getName() + " at " + path);
+        }
+    }
+
+    private void addTerm(String path, String value, int doc) {
+        terms.computeIfAbsent(path, k -> new HashMap<>()).computeIfAbsent(value, k -> new IntArrayList()).add(doc);
+    }
+
+    private static String child(String path, String key) {
+        return path.isEmpty() ? key : path + ProvenanceStore.PATH_SEPARATOR + key;
+    }
+
+    /**
+     * Writes this segment to disk in the format read by {@link DiskSegment}.
+     * @param file The file to write.
+     * @throws IOException If the file could not be written.
+     */
+    void write(Path file) throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(Files.newOutputStream(file))) {
+            writer.out.write(DiskSegment.MAGIC);
+            writer.out.writeByte(DiskSegment.VERSION);
+            writer.out.writeInt(baseDoc);
+            writer.out.writeInt(numDocs);
+
+            List<String> paths = new ArrayList<>(getPaths());
+            List<PathLayout> layouts = new ArrayList<>();
+            ByteArrayOutputStream scratch = new ByteArrayOutputStream();
+            for (String path : paths) {
+                PathLayout layout = new PathLayout(path);
+                Map<String, IntArrayList> values = terms.getOrDefault(path, Map.of());
+                layout.values = values.keySet().toArray(new String[0]);
+                Arrays.sort(layout.values);
+                layout.offsets = new long[layout.values.length];
+                layout.counts = new int[layout.values.length];
+                layout.lengths = new int[layout.values.length];
+                for (int i = 0; i < layout.values.length; i++) {
+                    IntArrayList docs = values.get(layout.values[i]);
+                    scratch.reset();
+                    int previous = baseDoc;
+                    for (int j = 0; j < docs.size; j++) {
+                        writeVarint(scratch, docs.values[j] - previous);
+                        previous = docs.values[j];
+                    }
+                    layout.offsets[i] = writer.position();
+                    layout.counts[i] = docs.size;
+                    layout.lengths[i] = scratch.size();
+                    scratch.writeTo(writer.out);
+                }
+                NumericList numeric = numerics.get(path);
+                layout.numericOffset = writer.position();
+                if (numeric != null) {
+                    layout.numericCount = numeric.size;
+                    for (int i : numeric.sortedOrder()) {
+                        writer.out.writeDouble(numeric.values[i]);
+                        writer.out.writeInt(numeric.docs[i] - baseDoc);
+                    }
+                }
+                layouts.add(layout);
+            }
+
+            long dictionaryOffset = writer.position();
+            writer.out.writeInt(layouts.size());
+            for (PathLayout layout : layouts) {
+                writeString(writer.out, layout.path);
+                writer.out.writeInt(layout.values.length);
+                for (int i = 0; i < layout.values.length; i++) {
+                    writeString(writer.out, layout.values[i]);
+                    writer.out.writeLong(layout.offsets[i]);
+                    writer.out.writeInt(layout.counts[i]);
+                    writer.out.writeInt(layout.lengths[i]);
+                }
+                writer.out.writeLong(layout.numericOffset);
+                writer.out.writeInt(layout.numericCount);
+            }
+            writer.out.writeLong(dictionaryOffset);
+            writer.out.write(DiskSegment.MAGIC);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * The location of a path's postings and numeric values within the segment file.
+     */
+    private static final class PathLayout {
+        final String path;
+        String[] values;
+        long[] offsets;
+        int[] counts;
+        int[] lengths;
+        long numericOffset;
+        int numericCount;
+
+        PathLayout(String path) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * Wraps the output stream, tracking the number of bytes written as a long.
+     */
+    private static final class SegmentWriter implements AutoCloseable {
+        private final CountingOutputStream counter;
+        final DataOutputStream out;
+
+        SegmentWriter(OutputStream stream) {
+            this.counter = new CountingOutputStream(new BufferedOutputStream(stream));
+            this.out = new DataOutputStream(counter);
+        }
+
+        long position() {
+            return counter.count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * A growable list of document numbers, which ignores a document if it was the last one added.
+     */
+    private static final class IntArrayList {
+        int[] values = new int[4];
+        int size = 0;
+
+        void add(int doc) {
+            if ((size > 0) && (values[size - 1] == doc)) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = doc;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * A growable list of numeric values and the documents they occur in.
+     */
+    private static final class NumericList {
+        double[] values = new double[4];
+        int[] docs = new int[4];
+        int size = 0;
+
+        void add(double value, int doc) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            values[size] = value;
+            docs[size] = doc;
+            size++;
+        }
+
+        /**
+         * The indices of the values, sorted by value and then document.
+         * @return The sorted indices.
+         */
+        int[] sortedOrder() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int cmp = Double.compare(values[a], values[b]);
+                return cmp != 0 ? cmp : Integer.compare(docs[a], docs[b]);
+            });
+            int[] output = new int[size];
+            for (int i = 0; i < size; i++) {
+                output[i] = order[i];
+            }
+            return output;
+        }
+    }
+}
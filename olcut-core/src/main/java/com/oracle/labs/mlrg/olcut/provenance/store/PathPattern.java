@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.store;
+
+import java.util.regex.Pattern;
+
+/**
+ * A pattern over the flattened provenance paths.
+ * <p>
+ * Paths are sequences of keys separated by {@value ProvenanceStore#PATH_SEPARATOR}. In a
+ * pattern {@code *} matches exactly one key and {@code **} matches any number of keys
+ * (including none), so {@code **.learningRate} matches a learning rate field at any depth.
+ */
+final class PathPattern {
+
+    private final String pattern;
+
+    private final Pattern regex;
+
+    PathPattern(String pattern) {
+        this.pattern = pattern;
+        if (pattern.contains("*")) {
+            this.regex = Pattern.compile(toRegex(pattern));
+        } else {
+            this.regex = null;
+        }
+    }
+
+    /**
+     * Is this pattern a single literal path.
+     * @return True if the pattern contains no wildcards.
+     */
+    boolean isLiteral() {
+        return regex == null;
+    }
+
+    /**
+     * Does the supplied path match this pattern.
+     * @param path The path.
+     * @return True if the path matches.
+     */
+    boolean matches(String path) {
+        return regex == null ? pattern.equals(path) : regex.matcher(path).matches();
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private static String toRegex(String pattern) {
+        // The separator is a single character, escaped so it can be used inside character classes
+        String sep = "\\" + ProvenanceStore.PATH_SEPARATOR;
+        String[] keys = pattern.split(Pattern.quote(ProvenanceStore.PATH_SEPARATOR), -1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            String key = keys[i];
+            boolean last = i == keys.length - 1;
+            if (key.equals("**")) {
+                // Any number of keys, each followed by a separator unless this is the end of the pattern
+                if (last) {
+                    sb.append(".*");
+                } else {
+                    sb.append("(?:[^").append(sep).append("]*").append(sep).append(")*");
+                }
+                continue;
+            } else if (key.equals("*")) {
+                sb.append("[^").append(sep).append("]*");
+            } else {
+                sb.append(Pattern.quote(key));
+            }
+            if (!last) {
+                sb.append(sep);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.store;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Operations on posting lists, which are sorted arrays of distinct document numbers.
+ */
+final class Postings {
+
+    static final int[] EMPTY = new int[0];
+
+    private Postings() {}
+
+    /**
+     * Sorts the array in place and removes any duplicates.
+     * @param docs The document numbers.
+     * @param length The number of valid elements in docs.
+     * @return A posting list.
+     */
+    static int[] sortUnique(int[] docs, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(docs, 0, length);
+        int j = 0;
+        for (int i = 1; i < length; i++) {
+            if (docs[i] != docs[j]) {
+                j++;
+                docs[j] = docs[i];
+            }
+        }
+        return Arrays.copyOf(docs, j + 1);
+    }
+
+    /**
+     * Computes the union of two posting lists.
+     * @param a The first posting list.
+     * @param b The second posting list.
+     * @return The union.
+     */
+    static int[] union(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        } else if (b.length == 0) {
+            return a;
+        }
+        int[] output = new int[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while ((i < a.length) && (j < b.length)) {
+            if (a[i] < b[j]) {
+                output[k++] = a[i++];
+            } else if (a[i] > b[j]) {
+                output[k++] = b[j++];
+            } else {
+                output[k++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            output[k++] = a[i++];
+        }
+        while (j < b.length) {
+            output[k++] = b[j++];
+        }
+        return k == output.length ? output : Arrays.copyOf(output, k);
+    }
+
+    /**
+     * Computes the union of a list of posting lists.
+     * @param lists The posting lists.
+     * @return The union.
+     */
+    static int[] union(List<int[]> lists) {
+        int[] output = EMPTY;
+        for (int[] list : lists) {
+            output = union(output, list);
+        }
+        return output;
+    }
+
+    /**
+     * Computes the intersection of two posting lists.
+     * @param a The first posting list.
+     * @param b The second posting list.
+     * @return The intersection.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        if ((a.length == 0) || (b.length == 0)) {
+            return EMPTY;
+        }
+        int[] output = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while ((i < a.length) && (j < b.length)) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                output[k++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(output, k);
+    }
+
+    /**
+     * Computes the documents in the range [start, end) which are not in the posting list.
+     * @param start The first document.
+     * @param end One past the last document.
+     * @param excluded The posting list to exclude.
+     * @return The complement of the posting list.
+     */
+    static int[] complement(int start, int end, int[] excluded) {
+        int[] output = new int[(end - start) - excluded.length];
+        int j = 0, k = 0;
+        for (int doc = start; doc < end; doc++) {
+            if ((j < excluded.length) && (excluded[j] == doc)) {
+                j++;
+            } else {
+                output[k++] = doc;
+            }
+        }
+        return k == output.length ? output : Arrays.copyOf(output, k);
+    }
+
+    /**
+     * Concatenates posting lists which cover disjoint increasing ranges of documents.
+     * @param lists The posting lists, in document order.
+     * @return The concatenated posting list.
+     */
+    static int[] concatenate(List<int[]> lists) {
+        int size = 0;
+        for (int[] list : lists) {
+            size += list.length;
+        }
+        int[] output = new int[size];
+        int position = 0;
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, output, position, list.length);
+            position += list.length;
+        }
+        return output;
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.store;
+
+import com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance;
+import com.oracle.labs.mlrg.olcut.provenance.io.BinaryProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceLog;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerialization;
+import com.oracle.labs.mlrg.olcut.provenance.io.ProvenanceSerializationException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * A local store of provenance records, indexed by their flattened paths and values.
+ * <p>
+ * The provenances are appended to a {@link ProvenanceLog} in the store directory, and each record
+ * is assigned a document number in insertion order. The class names, field keys and primitive values
+ * (including hashes) of each provenance are indexed into posting lists, which are buffered in memory
+ * and written out as immutable segment files when the buffer is flushed. Numeric primitives are also
+ * indexed in value order to support range queries. The segments which make up the index are listed
+ * in a manifest file, which is atomically replaced whenever the set of segments changes.
+ * <p>
+ * Ingestion is incremental, adding records never rewrites existing segments. If the store was not
+ * closed cleanly any records in the log which are not covered by the manifest are reindexed when it
+ * is next opened. Use {@link #compact()} to merge the segments once many have accumulated.
+ * <p>
+ * For example, to find all the models trained on a specific dataset with a learning rate above 0.1:
+ * <pre>
+ *     store.searchIds(Query.and(
+ *         Query.term("**.dataset.hash", hash),
+ *         Query.greaterThan("**.learning-rate", 0.1)));
+ * </pre>
+ * This class is thread safe.
+ */
+public final class ProvenanceStore implements Closeable {
+    private static final Logger logger = Logger.getLogger(ProvenanceStore.class.getName());
+
+    /**
+     * The separator used between keys in a flattened provenance path.
+     */
+    public static final String PATH_SEPARATOR = ".";
+
+    /**
+     * The default number of records buffered in memory before a segment is written.
+     */
+    public static final int DEFAULT_FLUSH_THRESHOLD = 10000;
+
+    /**
+     * The name of the provenance log in the store directory.
+     */
+    public static final String LOG_FILE_NAME = "records.log";
+
+    /**
+     * The name of the manifest in the store directory.
+     */
+    public static final String MANIFEST_FILE_NAME = "store.manifest";
+
+    private static final String MANIFEST_HEADER = "# OLCUT provenance store manifest - segment, base document, number of documents";
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+
+    private final ProvenanceLog log;
+
+    private final int flushThreshold;
+
+    private final List<DiskSegment> segments = new ArrayList<>();
+
+    private MemorySegment buffer;
+
+    private long nextGeneration;
+
+    private boolean closed = false;
+
+    private ProvenanceStore(Path directory, ProvenanceLog log, int flushThreshold) {
+        this.directory = directory;
+        this.log = log;
+        this.flushThreshold = flushThreshold;
+    }
+
+    /**
+     * Opens a store in the supplied directory using {@link BinaryProvenanceSerialization} with
+     * compression, creating it if necessary.
+     * @param directory The store directory.
+     * @return The store.
+     * @throws IOException If the store could not be opened.
+     * @throws ProvenanceSerializationException If the log contains provenance which could not be deserialized.
+     */
+    public static ProvenanceStore open(Path directory) throws IOException, ProvenanceSerializationException {
+        return open(directory, new BinaryProvenanceSerialization(true), DEFAULT_FLUSH_THRESHOLD);
+    }
+
+    /**
+     * Opens a store in the supplied directory, creating it if necessary.
+     * <p>
+     * Any records in the log which are not in the index are reindexed.
+     * @param directory The store directory.
+     * @param serialization The serialization used for the provenance log.
+     * @param flushThreshold The number of records buffered in memory before a segment is written.
+     * @return The store.
+     * @throws IOException If the store could not be opened.
+     * @throws ProvenanceSerializationException If the log contains provenance which could not be deserialized.
+     */
+    public static ProvenanceStore open(Path directory, ProvenanceSerialization serialization, int flushThreshold) throws IOException, ProvenanceSerializationException {
+        if (flushThreshold < 1) {
+            throw new IllegalArgumentException("Flush threshold must be positive, found " + flushThreshold);
+        }
+        Files.createDirectories(directory);
+        ProvenanceLog log = ProvenanceLog.open(directory.resolve(LOG_FILE_NAME), serialization);
+        ProvenanceStore store = new ProvenanceStore(directory, log, flushThreshold);
+        try {
+            store.load();
+        } catch (IOException | ProvenanceSerializationException | RuntimeException e) {
+            store.closeSegments();
+            log.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Reads the manifest, opens the segments, removes any segment files not in the manifest and
+     * reindexes any records not covered by the segments.
+     */
+    private void load() throws IOException, ProvenanceSerializationException {
+        Set<String> live = new HashSet<>();
+        Path manifest = directory.resolve(MANIFEST_FILE_NAME);
+        int numDocs = 0;
+        if (Files.exists(manifest)) {
+            try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    String[] split = line.split("\t");
+                    if (split.length != 3) {
+                        throw new IOException("Malformed line " + lineNumber + " in provenance store manifest " + manifest);
+                    }
+                    DiskSegment segment = DiskSegment.open(directory.resolve(split[0]));
+                    segments.add(segment);
+                    if ((segment.getBaseDoc() != numDocs) || (segment.getNumDocs() != Integer.parseInt(split[2]))
+                            || (segment.getBaseDoc() != Integer.parseInt(split[1]))) {
+                        throw new IOException("Segment " + split[0] + " does not match the manifest " + manifest);
+                    }
+                    numDocs += segment.getNumDocs();
+                    live.add(split[0]);
+                    nextGeneration = Math.max(nextGeneration, parseGeneration(split[0]) + 1);
+                }
+            }
+        }
+
+        // Remove segments from interrupted flushes or compactions
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path p : stream) {
+                String name = p.getFileName().toString();
+                if (!live.contains(name)) {
+                    logger.info("Removing unreferenced segment " + p);
+                    Files.delete(p);
+                }
+            }
+        }
+
+        int logSize = log.size();
+        if (logSize < numDocs) {
+            throw new IOException("Provenance store " + directory + " is inconsistent, the index covers " + numDocs + " records but the log only contains " + logSize);
+        }
+        buffer = new MemorySegment(numDocs);
+        if (logSize > numDocs) {
+            logger.info("Reindexing " + (logSize - numDocs) + " records in " + directory);
+            for (int i = numDocs; i < logSize; i++) {
+                buffer.add(i, log.read(log.getOffset(i)).getProvenance());
+                if (buffer.getNumDocs() >= flushThreshold) {
+                    flush();
+                }
+            }
+        }
+    }
+
+    private static long parseGeneration(String segmentName) throws IOException {
+        if (!segmentName.startsWith(SEGMENT_PREFIX) || !segmentName.endsWith(SEGMENT_SUFFIX)) {
+            throw new IOException("Invalid segment name " + segmentName);
+        }
+        try {
+            return Long.parseLong(segmentName.substring(SEGMENT_PREFIX.length(), segmentName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid segment name " + segmentName, e);
+        }
+    }
+
+    /**
+     * The store directory.
+     * @return The directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * The number of records in the store.
+     * @return The number of records.
+     */
+    public synchronized int size() {
+        return buffer.getBaseDoc() + buffer.getNumDocs();
+    }
+
+    /**
+     * Appends a provenance to the store and indexes it.
+     * <p>
+     * The record is immediately visible to queries, but is only durable once {@link #flush()}
+     * or {@link #close()} is called.
+     * @param id The record id.
+     * @param provenance The provenance.
+     * @return The document number assigned to the record.
+     * @throws IOException If the provenance could not be written.
+     */
+    public synchronized int add(String id, ObjectProvenance provenance) throws IOException {
+        checkOpen();
+        int doc = size();
+        log.append(id, provenance);
+        buffer.add(doc, provenance);
+        if (buffer.getNumDocs() >= flushThreshold) {
+            flush();
+        }
+        return doc;
+    }
+
+    /**
+     * Returns the documents which match the query, in increasing order.
+     * @param query The query.
+     * @return The matching document numbers.
+     * @throws IOException If the index could not be read.
+     */
+    public synchronized int[] search(Query query) throws IOException {
+        checkOpen();
+        List<int[]> results = new ArrayList<>(segments.size() + 1);
+        for (DiskSegment segment : segments) {
+            results.add(query.evaluate(segment));
+        }
+        results.add(query.evaluate(buffer));
+        return Postings.concatenate(results);
+    }
+
+    /**
+     * Returns the ids of the records which match the query, in insertion order.
+     * @param query The query.
+     * @return The matching record ids.
+     * @throws IOException If the index could not be read.
+     */
+    public synchronized List<String> searchIds(Query query) throws IOException {
+        int[] docs = search(query);
+        List<String> output = new ArrayList<>(docs.length);
+        for (int doc : docs) {
+            output.add(log.getId(doc));
+        }
+        return output;
+    }
+
+    /**
+     * Returns the id of the record with the supplied document number.
+     * @param doc The document number.
+     * @return The record id.
+     */
+    public synchronized String getId(int doc) {
+        checkOpen();
+        return log.getId(doc);
+    }
+
+    /**
+     * Reads the provenance of the record with the supplied document number.
+     * @param doc The document number.
+     * @return The provenance.
+     * @throws IOException If the record could not be read.
+     * @throws ProvenanceSerializationException If the provenance could not be deserialized.
+     */
+    public synchronized ObjectProvenance getProvenance(int doc) throws IOException, ProvenanceSerializationException {
+        checkOpen();
+        return log.read(log.getOffset(doc)).getProvenance();
+    }
+
+    /**
+     * The number of segment files in the index.
+     * @return The number of segments.
+     */
+    public synchronized int getNumSegments() {
+        return segments.size();
+    }
+
+    /**
+     * Syncs the log and writes any buffered records to a new segment.
+     * @throws IOException If the segment or manifest could not be written.
+     */
+    public synchronized void flush() throws IOException {
+        checkOpen();
+        if (buffer.getNumDocs() == 0) {
+            return;
+        }
+        log.sync();
+        Path file = directory.resolve(SEGMENT_PREFIX + nextGeneration++ + SEGMENT_SUFFIX);
+        buffer.write(file);
+        DiskSegment segment = DiskSegment.open(file);
+        List<DiskSegment> newSegments = new ArrayList<>(segments);
+        newSegments.add(segment);
+        try {
+            writeManifest(newSegments);
+        } catch (IOException e) {
+            segment.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        segments.add(segment);
+        buffer = new MemorySegment(segment.getBaseDoc() + segment.getNumDocs());
+        logger.fine("Flushed " + segment.getNumDocs() + " records to " + file);
+    }
+
+    /**
+     * Flushes any buffered records then merges all the segments into a single segment.
+     * <p>
+     * The merge is performed in memory, so requires enough heap to hold the full index.
+     * @throws IOException If the segments could not be merged.
+     */
+    public synchronized void compact() throws IOException {
+        flush();
+        if (segments.size() < 2) {
+            return;
+        }
+        MemorySegment merged = new MemorySegment(0);
+        int numDocs = 0;
+        for (DiskSegment segment : segments) {
+            for (String path : segment.getPaths()) {
+                for (String value : segment.getValues(path)) {
+                    merged.addPostings(path, value, segment.getPostings(path, value));
+                }
+                segment.forEachNumeric(path, (value, doc) -> merged.addNumeric(path, value, doc));
+            }
+            numDocs += segment.getNumDocs();
+        }
+        merged.setNumDocs(numDocs);
+
+        Path file = directory.resolve(SEGMENT_PREFIX + nextGeneration++ + SEGMENT_SUFFIX);
+        merged.write(file);
+        DiskSegment segment = DiskSegment.open(file);
+        try {
+            writeManifest(Collections.singletonList(segment));
+        } catch (IOException e) {
+            segment.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        List<DiskSegment> old = new ArrayList<>(segments);
+        segments.clear();
+        segments.add(segment);
+        for (DiskSegment s : old) {
+            s.close();
+            Files.deleteIfExists(s.getPath());
+        }
+        logger.fine("Compacted " + old.size() + " segments into " + file);
+    }
+
+    /**
+     * Atomically replaces the manifest with one listing the supplied segments.
+     */
+    private void writeManifest(List<DiskSegment> newSegments) throws IOException {
+        Path manifest = directory.resolve(MANIFEST_FILE_NAME);
+        Path tmpPath = directory.resolve(MANIFEST_FILE_NAME + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmpPath, StandardCharsets.UTF_8)) {
+            writer.write(MANIFEST_HEADER);
+            writer.newLine();
+            for (DiskSegment segment : newSegments) {
+                writer.write(segment.getPath().getFileName().toString());
+                writer.write('\t');
+                writer.write(Integer.toString(segment.getBaseDoc()));
+                writer.write('\t');
+                writer.write(Integer.toString(segment.getNumDocs()));
+                writer.newLine();
+            }
+        }
+        Files.move(tmpPath, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Provenance store " + directory + " is closed");
+        }
+    }
+
+    private void closeSegments() throws IOException {
+        for (DiskSegment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    /**
+     * Flushes any buffered records and closes the store.
+     * @throws IOException If the buffered records could not be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            try {
+                flush();
+            } finally {
+                closed = true;
+                closeSegments();
+                log.close();
+            }
+        }
+    }
+}
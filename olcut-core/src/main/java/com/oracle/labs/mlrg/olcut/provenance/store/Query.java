@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.store;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A query over the flattened provenance paths in a {@link ProvenanceStore}.
+ * <p>
+ * Paths are the field names from the root provenance joined with {@link ProvenanceStore#PATH_SEPARATOR},
+ * e.g., "trainer.learning-rate". The class name of each object is indexed under the
+ * {@link com.oracle.labs.mlrg.olcut.provenance.ObjectProvenance#CLASS_NAME} key, elements of a list
+ * are indexed under the path of the list, and entries of a map are indexed under their key.
+ * Path patterns may use "*" to match a single key and "**" to match any number of keys.
+ * <p>
+ * Term queries match the string form of a primitive value, and range queries match any numeric value.
+ */
+public abstract class Query {
+
+    Query() {}
+
+    /**
+     * Evaluates this query against a single segment.
+     * @param segment The segment.
+     * @return The sorted matching documents.
+     * @throws IOException If the segment could not be read.
+     */
+    abstract int[] evaluate(Segment segment) throws IOException;
+
+    /**
+     * Matches documents which have the value at a path matching the pattern.
+     * @param pathPattern The path pattern.
+     * @param value The string form of the value.
+     * @return A term query.
+     */
+    public static Query term(String pathPattern, String value) {
+        return new TermQuery(new PathPattern(pathPattern), value);
+    }
+
+    /**
+     * Matches documents which have a numeric value within the range at a path matching the pattern.
+     * @param pathPattern The path pattern.
+     * @param min The lower bound.
+     * @param minInclusive Is the lower bound inclusive.
+     * @param max The upper bound.
+     * @param maxInclusive Is the upper bound inclusive.
+     * @return A range query.
+     */
+    public static Query range(String pathPattern, double min, boolean minInclusive, double max, boolean maxInclusive) {
+        if (Double.isNaN(min) || Double.isNaN(max)) {
+            throw new IllegalArgumentException("Range bounds must not be NaN");
+        }
+        return new RangeQuery(new PathPattern(pathPattern), min, minInclusive, max, maxInclusive);
+    }
+
+    /**
+     * Matches documents which have a numeric value within the inclusive range at a path matching the pattern.
+     * @param pathPattern The path pattern.
+     * @param min The inclusive lower bound.
+     * @param max The inclusive upper bound.
+     * @return A range query.
+     */
+    public static Query range(String pathPattern, double min, double max) {
+        return range(pathPattern, min, true, max, true);
+    }
+
+    /**
+     * Matches documents which have a numeric value greater than the bound.
+     * @param pathPattern The path pattern.
+     * @param min The exclusive lower bound.
+     * @return A range query.
+     */
+    public static Query greaterThan(String pathPattern, double min) {
+        return range(pathPattern, min, false, Double.POSITIVE_INFINITY, true);
+    }
+
+    /**
+     * Matches documents which have a numeric value greater than or equal to the bound.
+     * @param pathPattern The path pattern.
+     * @param min The inclusive lower bound.
+     * @return A range query.
+     */
+    public static Query atLeast(String pathPattern, double min) {
+        return range(pathPattern, min, true, Double.POSITIVE_INFINITY, true);
+    }
+
+    /**
+     * Matches documents which have a numeric value less than the bound.
+     * @param pathPattern The path pattern.
+     * @param max The exclusive upper bound.
+     * @return A range query.
+     */
+    public static Query lessThan(String pathPattern, double max) {
+        return range(pathPattern, Double.NEGATIVE_INFINITY, true, max, false);
+    }
+
+    /**
+     * Matches documents which have a numeric value less than or equal to the bound.
+     * @param pathPattern The path pattern.
+     * @param max The inclusive upper bound.
+     * @return A range query.
+     */
+    public static Query atMost(String pathPattern, double max) {
+        return range(pathPattern, Double.NEGATIVE_INFINITY, true, max, true);
+    }
+
+    /**
+     * Matches documents which match all of the queries.
+     * @param queries The queries.
+     * @return A conjunction.
+     */
+    public static Query and(Query... queries) {
+        if (queries.length == 0) {
+            throw new IllegalArgumentException("Must supply at least one query");
+        }
+        return new AndQuery(Arrays.asList(queries));
+    }
+
+    /**
+     * Matches documents which match any of the queries.
+     * @param queries The queries.
+     * @return A disjunction.
+     */
+    public static Query or(Query... queries) {
+        if (queries.length == 0) {
+            throw new IllegalArgumentException("Must supply at least one query");
+        }
+        return new OrQuery(Arrays.asList(queries));
+    }
+
+    /**
+     * Matches documents which do not match the query.
+     * @param query The query to negate.
+     * @return A negation.
+     */
+    public static Query not(Query query) {
+        return new NotQuery(query);
+    }
+
+    /**
+     * Returns the paths in the segment which match the pattern.
+     */
+    private static List<String> matchingPaths(PathPattern pattern, Segment segment) {
+        if (pattern.isLiteral()) {
+            return Collections.singletonList(pattern.toString());
+        }
+        List<String> output = new ArrayList<>();
+        for (String path : segment.getPaths()) {
+            if (pattern.matches(path)) {
+                output.add(path);
+            }
+        }
+        return output;
+    }
+
+    private static final class TermQuery extends Query {
+        private final PathPattern path;
+        private final String value;
+
+        TermQuery(PathPattern path, String value) {
+            this.path = path;
+            this.value = value;
+        }
+
+        @Override
+        int[] evaluate(Segment segment) throws IOException {
+            List<int[]> lists = new ArrayList<>();
+            for (String p : matchingPaths(path, segment)) {
+                lists.add(segment.getPostings(p, value));
+            }
+            return Postings.union(lists);
+        }
+
+        @Override
+        public String toString() {
+            return path + ":\"" + value + "\"";
+        }
+    }
+
+    private static final class RangeQuery extends Query {
+        private final PathPattern path;
+        private final double min;
+        private final boolean minInclusive;
+        private final double max;
+        private final boolean maxInclusive;
+
+        RangeQuery(PathPattern path, double min, boolean minInclusive, double max, boolean maxInclusive) {
+            this.path = path;
+            this.min = min;
+            this.minInclusive = minInclusive;
+            this.max = max;
+            this.maxInclusive = maxInclusive;
+        }
+
+        @Override
+        int[] evaluate(Segment segment) throws IOException {
+            List<int[]> lists = new ArrayList<>();
+            for (String p : matchingPaths(path, segment)) {
+                lists.add(segment.getRange(p, min, minInclusive, max, maxInclusive));
+            }
+            return Postings.union(lists);
+        }
+
+        @Override
+        public String toString() {
+            return path + ":" + (minInclusive ? "[" : "(") + min + "," + max + (maxInclusive ? "]" : ")");
+        }
+    }
+
+    private static final class AndQuery extends Query {
+        private final List<Query> queries;
+
+        AndQuery(List<Query> queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        int[] evaluate(Segment segment) throws IOException {
+            int[] output = queries.get(0).evaluate(segment);
+            for (int i = 1; (i < queries.size()) && (output.length > 0); i++) {
+                output = Postings.intersect(output, queries.get(i).evaluate(segment));
+            }
+            return output;
+        }
+
+        @Override
+        public String toString() {
+            return queries.stream().map(Query::toString).collect(Collectors.joining(" AND ", "(", ")"));
+        }
+    }
+
+    private static final class OrQuery extends Query {
+        private final List<Query> queries;
+
+        OrQuery(List<Query> queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        int[] evaluate(Segment segment) throws IOException {
+            List<int[]> lists = new ArrayList<>();
+            for (Query q : queries) {
+                lists.add(q.evaluate(segment));
+            }
+            return Postings.union(lists);
+        }
+
+        @Override
+        public String toString() {
+            return queries.stream().map(Query::toString).collect(Collectors.joining(" OR ", "(", ")"));
+        }
+    }
+
+    private static final class NotQuery extends Query {
+        private final Query query;
+
+        NotQuery(Query query) {
+            this.query = query;
+        }
+
+        @Override
+        int[] evaluate(Segment segment) throws IOException {
+            int start = segment.getBaseDoc();
+            return Postings.complement(start, start + segment.getNumDocs(), query.evaluate(segment));
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + query;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.provenance.store;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * A segment of the index covering a contiguous range of documents.
+ * <p>
+ * All document numbers are global to the store, and posting lists are sorted.
+ */
+interface Segment {
+
+    /**
+     * The first document in this segment.
+     * @return The first document number.
+     */
+    int getBaseDoc();
+
+    /**
+     * The number of documents in this segment.
+     * @return The number of documents.
+     */
+    int getNumDocs();
+
+    /**
+     * The paths indexed in this segment.
+     * @return The paths.
+     */
+    Collection<String> getPaths();
+
+    /**
+     * Returns the documents which contain the value at the specified path.
+     * @param path The path.
+     * @param value The value.
+     * @return The posting list.
+     * @throws IOException If the segment could not be read.
+     */
+    int[] getPostings(String path, String value) throws IOException;
+
+    /**
+     * Returns the documents which contain a numeric value within the range at the specified path.
+     * @param path The path.
+     * @param min The lower bound.
+     * @param minInclusive Is the lower bound inclusive.
+     * @param max The upper bound.
+     * @param maxInclusive Is the upper bound inclusive.
+     * @return The posting list.
+     * @throws IOException If the segment could not be read.
+     */
+    int[] getRange(String path, double min, boolean minInclusive, double max, boolean maxInclusive) throws IOException;
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map from String to V which stores its entries in a pair of sorted arrays.
+ * <p>
+ * Designed for the small maps found in configuration data, where the per-entry overhead
+ * of a {@link java.util.HashMap} dominates. The keys are interned, so the many copies of
+ * the same property name share a single String instance. Lookups use binary search.
+ * <p>
+ * Modifications return a new map, leaving the receiver untouched, so instances can be
+ * freely shared. Null keys are not permitted, null values are.
+ * @param <V> The value type.
+ */
+public final class ArrayMap<V> extends AbstractMap<String, V> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final ArrayMap<?> EMPTY = new ArrayMap<>(new String[0], new Object[0]);
+
+    private final String[] keys;
+
+    private final Object[] values;
+
+    private transient Set<Map.Entry<String, V>> entrySet;
+
+    private ArrayMap(String[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Returns the empty map.
+     * @param <V> The value type.
+     * @return The empty map.
+     */
+    @SuppressWarnings("unchecked") // The empty map contains no values.
+    public static <V> ArrayMap<V> empty() {
+        return (ArrayMap<V>) EMPTY;
+    }
+
+    /**
+     * Creates an ArrayMap containing the entries of the supplied map.
+     * <p>
+     * If the input is already an ArrayMap it is returned unchanged.
+     * @param map The map to copy.
+     * @param <V> The value type.
+     * @return An ArrayMap with the same entries.
+     */
+    @SuppressWarnings("unchecked") // ArrayMap is immutable so the upcast is safe.
+    public static <V> ArrayMap<V> copyOf(Map<String, ? extends V> map) {
+        if (map instanceof ArrayMap) {
+            return (ArrayMap<V>) map;
+        } else if (map.isEmpty()) {
+            return empty();
+        }
+        String[] newKeys = new String[map.size()];
+        int i = 0;
+        for (String key : map.keySet()) {
+            newKeys[i] = Objects.requireNonNull(key, "ArrayMap does not accept null keys").intern();
+            i++;
+        }
+        Arrays.sort(newKeys);
+        Object[] newValues = new Object[newKeys.length];
+        for (i = 0; i < newKeys.length; i++) {
+            newValues[i] = map.get(newKeys[i]);
+        }
+        return new ArrayMap<>(newKeys, newValues);
+    }
+
+    /**
+     * Returns a map with the supplied mapping added, replacing any existing mapping for that key.
+     * @param key The key.
+     * @param value The value.
+     * @return A new map containing the mapping.
+     */
+    public ArrayMap<V> with(String key, V value) {
+        Objects.requireNonNull(key, "ArrayMap does not accept null keys");
+        int idx = Arrays.binarySearch(keys, key);
+        if (idx >= 0) {
+            if (values[idx] == value) {
+                return this;
+            }
+            Object[] newValues = values.clone();
+            newValues[idx] = value;
+            return new ArrayMap<>(keys, newValues);
+        } else {
+            int insertion = -(idx + 1);
+            String[] newKeys = new String[keys.length + 1];
+            Object[] newValues = new Object[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertion);
+            System.arraycopy(values, 0, newValues, 0, insertion);
+            newKeys[insertion] = key.intern();
+            newValues[insertion] = value;
+            System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+            System.arraycopy(values, insertion, newValues, insertion + 1, keys.length - insertion);
+            return new ArrayMap<>(newKeys, newValues);
+        }
+    }
+
+    /**
+     * Returns a map without the supplied key.
+     * @param key The key to remove.
+     * @return A map which doesn't contain the key.
+     */
+    public ArrayMap<V> without(String key) {
+        int idx = key == null ? -1 : Arrays.binarySearch(keys, key);
+        if (idx < 0) {
+            return this;
+        } else if (keys.length == 1) {
+            return empty();
+        }
+        String[] newKeys = new String[keys.length - 1];
+        Object[] newValues = new Object[keys.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, idx);
+        System.arraycopy(values, 0, newValues, 0, idx);
+        System.arraycopy(keys, idx + 1, newKeys, idx, keys.length - idx - 1);
+        System.arraycopy(values, idx + 1, newValues, idx, keys.length - idx - 1);
+        return new ArrayMap<>(newKeys, newValues);
+    }
+
+    private int indexOf(Object key) {
+        if (key instanceof String) {
+            return Arrays.binarySearch(keys, (String) key);
+        } else {
+            return -1;
+        }
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked") // values only contains V.
+    @Override
+    public V get(Object key) {
+        int idx = indexOf(key);
+        return idx >= 0 ? (V) values[idx] : null;
+    }
+
+    @SuppressWarnings("unchecked") // values only contains V.
+    @Override
+    public void forEach(BiConsumer<? super String, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Re-interns the keys after deserialization.
+     * @return A map with interned keys.
+     */
+    private Object readResolve() {
+        String[] newKeys = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            newKeys[i] = keys[i].intern();
+        }
+        return new ArrayMap<>(newKeys, values);
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, V>> {
+        @Override
+        public Iterator<Map.Entry<String, V>> iterator() {
+            return new Iterator<Map.Entry<String, V>>() {
+                private int idx = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return idx < keys.length;
+                }
+
+                @SuppressWarnings("unchecked") // values only contains V.
+                @Override
+                public Map.Entry<String, V> next() {
+                    if (idx >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    Map.Entry<String, V> entry = new AbstractMap.SimpleImmutableEntry<>(keys[idx], (V) values[idx]);
+                    idx++;
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+}
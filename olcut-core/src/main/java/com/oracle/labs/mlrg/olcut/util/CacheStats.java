@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.util.Objects;
+
+/**
+ * An immutable snapshot of the statistics of a {@link ConcurrentCache}.
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long evictionCount;
+    private final long evictionWeight;
+
+    /**
+     * Constructs a statistics snapshot.
+     * @param hitCount The number of lookups which found a value.
+     * @param missCount The number of lookups which didn't find a value.
+     * @param loadSuccessCount The number of loads which returned a value.
+     * @param loadFailureCount The number of loads which threw an exception or returned null.
+     * @param totalLoadTime The total time spent loading, in nanoseconds.
+     * @param evictionCount The number of entries evicted due to size or expiry.
+     * @param evictionWeight The total weight of the evicted entries.
+     */
+    public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount, long totalLoadTime, long evictionCount, long evictionWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+    }
+
+    /**
+     * The number of lookups which found a value.
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * The number of lookups which didn't find a value (including those which then loaded one).
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * The total number of lookups.
+     * @return The request count.
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * The fraction of lookups which found a value, or 1.0 if there have been no lookups.
+     * @return The hit rate.
+     */
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * The number of loads which returned a value.
+     * @return The load success count.
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * The number of loads which threw an exception or returned null.
+     * @return The load failure count.
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * The total time spent in the loading function, in nanoseconds.
+     * @return The total load time.
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * The number of entries evicted due to the size bound or expiry.
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * The total weight of the evicted entries.
+     * @return The eviction weight.
+     */
+    public long getEvictionWeight() {
+        return evictionWeight;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CacheStats)) return false;
+        CacheStats that = (CacheStats) o;
+        return hitCount == that.hitCount &&
+                missCount == that.missCount &&
+                loadSuccessCount == that.loadSuccessCount &&
+                loadFailureCount == that.loadFailureCount &&
+                totalLoadTime == that.totalLoadTime &&
+                evictionCount == that.evictionCount &&
+                evictionWeight == that.evictionWeight;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hitCount, missCount, loadSuccessCount, loadFailureCount, totalLoadTime, evictionCount, evictionWeight);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats(" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", loadSuccessCount=" + loadSuccessCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", totalLoadTime=" + totalLoadTime +
+                ", evictionCount=" + evictionCount +
+                ", evictionWeight=" + evictionWeight +
+                ')';
+    }
+}
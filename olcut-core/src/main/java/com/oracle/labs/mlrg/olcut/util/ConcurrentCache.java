@@ -0,0 +1,815 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A thread safe, bounded cache.
+ * <p>
+ * Lookups are a lock-free read of a {@link ConcurrentHashMap}. The access is recorded in a
+ * striped, lossy buffer which is replayed against the eviction policy in batches by whichever
+ * thread manages to acquire the eviction lock, so readers never block on one another or on
+ * writers. Writes and evictions are serialised on that lock.
+ * <p>
+ * The cache can be bounded by entry count or by total weight, and entries can expire a
+ * fixed time after they are written or last accessed. Eviction uses either
+ * {@link Policy#LRU} or {@link Policy#FREQUENCY}, which additionally only admits a new
+ * entry if it has been requested more often than the entry it would displace.
+ * <p>
+ * {@link #get(Object, Function)} ensures that concurrent misses on the same key run the
+ * loading function once, with the other threads waiting on its result.
+ * <p>
+ * Null keys and values are not permitted. Unlike {@link LRACache} this class is safe for
+ * use from multiple threads.
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public final class ConcurrentCache<K,V> {
+
+    /**
+     * The eviction policy used when the cache exceeds its bound.
+     */
+    public enum Policy {
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+        /**
+         * Evicts the least recently used entry, but rejects a new entry instead
+         * if it has been requested less frequently than that entry (TinyLFU admission).
+         */
+        FREQUENCY
+    }
+
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+    private static final int MAX_STRIPES = 64;
+
+    private final ConcurrentHashMap<K,Node<K,V>> map;
+    private final ConcurrentHashMap<K,LoadingFuture<V>> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer<K,V>[] readBuffers;
+    private final int stripeMask;
+
+    private final long maximumWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final LongSupplier ticker;
+    private final FrequencySketch sketch;
+    private final boolean recordReads;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+
+    // The following are guarded by evictionLock.
+    private final Node<K,V> accessOrder = new Node<>();
+    private final Node<K,V> writeOrder = new Node<>();
+    private volatile long weightedSize;
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentCache(Builder<K,V> builder) {
+        this.map = new ConcurrentHashMap<>(builder.initialCapacity);
+        this.maximumWeight = builder.maximumWeight;
+        this.weigher = builder.weigher;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        this.ticker = builder.ticker;
+        this.sketch = (builder.policy == Policy.FREQUENCY && maximumWeight >= 0) ? new FrequencySketch(maximumWeight) : null;
+        this.recordReads = maximumWeight >= 0 || expireAfterAccessNanos >= 0;
+        int stripes = 1;
+        while (stripes < Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors())) {
+            stripes <<= 1;
+        }
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * Creates a builder for a cache.
+     * @param <K> The key type.
+     * @param <V> The value type.
+     * @return A cache builder.
+     */
+    public static <K,V> Builder<K,V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the value associated with the key, or null if there is no
+     * live value.
+     * @param key The key.
+     * @return The value or null.
+     */
+    public V getIfPresent(K key) {
+        V value = lookup(key);
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value associated with the key, computing it with the loader if it is absent.
+     * <p>
+     * If several threads miss on the same key concurrently only one of them calls the loader,
+     * the rest wait for and return its result (or rethrow its exception). If the loader
+     * returns null nothing is cached and null is returned. If the key is written or invalidated
+     * while the loader is running the loaded value is returned but not cached, so the load
+     * doesn't overwrite the newer state.
+     * <p>
+     * The loader must not call this method for the same key, as the load would wait on itself.
+     * @param key The key.
+     * @param loader The function used to compute a missing value.
+     * @return The cached or loaded value.
+     * @throws IllegalStateException If the loader recursively requests the key it is loading.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(loader, "loader must not be null");
+        V value = lookup(key);
+        if (value != null) {
+            hitCount.increment();
+            return value;
+        }
+        missCount.increment();
+
+        LoadingFuture<V> future = new LoadingFuture<>();
+        LoadingFuture<V> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            if (inFlight.owner == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive load of key " + key);
+            }
+            return await(inFlight);
+        }
+        try {
+            // Another thread may have finished loading between our lookup and registering the future.
+            value = lookup(key);
+            if (value == null) {
+                long start = ticker.getAsLong();
+                try {
+                    value = loader.apply(key);
+                } catch (RuntimeException | Error e) {
+                    totalLoadTime.add(ticker.getAsLong() - start);
+                    loadFailureCount.increment();
+                    throw e;
+                }
+                totalLoadTime.add(ticker.getAsLong() - start);
+                if (value == null) {
+                    loadFailureCount.increment();
+                } else {
+                    loadSuccessCount.increment();
+                    insert(key, value, future, start);
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            // Waiting threads must be released whether the loader or the insertion failed.
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    /**
+     * Associates the value with the key, replacing any existing value.
+     * @param key The key.
+     * @param value The value.
+     * @return The previous live value, or null if there wasn't one.
+     */
+    public V put(K key, V value) {
+        return insert(key, value, null, 0);
+    }
+
+    /**
+     * Inserts the value, or if it was loaded only inserts it if the key hasn't been
+     * written or invalidated since the load started.
+     * @param key The key.
+     * @param value The value.
+     * @param future The future of the load which produced the value, or null for a direct write.
+     * @param loadStart The ticker value when the load started.
+     * @return The previous live value, or null if there wasn't one.
+     */
+    private V insert(K key, V value, CompletableFuture<V> future, long loadStart) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(value, "value must not be null");
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weigher returned a negative weight " + weight + " for key " + key);
+        }
+        long now = ticker.getAsLong();
+        evictionLock.lock();
+        try {
+            Node<K,V> node = map.get(key);
+            if (future == null) {
+                // A direct write supersedes any load in flight for this key.
+                loading.remove(key);
+            } else if (loading.get(key) != future || (node != null && node.writeTime > loadStart)) {
+                // The key was written or invalidated during the load, keep the newer state.
+                return null;
+            }
+            V previous = null;
+            Node<K,V> candidate = null;
+            if (node == null) {
+                node = new Node<>(key, value, weight, now);
+                map.put(key, node);
+                linkLast(accessOrder, node, true);
+                linkLast(writeOrder, node, false);
+                candidate = node;
+            } else {
+                previous = isExpired(node, now) ? null : node.value;
+                weightedSize -= node.weight;
+                node.weight = weight;
+                node.value = value;
+                node.writeTime = now;
+                node.accessTime = now;
+                moveToLast(accessOrder, node, true);
+                moveToLast(writeOrder, node, false);
+            }
+            weightedSize += weight;
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+            maintenance(now, candidate);
+            return previous;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the value associated with the key, if any. A load of the key which is in
+     * flight will not cache its value.
+     * @param key The key.
+     */
+    public void invalidate(K key) {
+        Objects.requireNonNull(key, "key must not be null");
+        evictionLock.lock();
+        try {
+            loading.remove(key);
+            Node<K,V> node = map.get(key);
+            if (node != null) {
+                removeNode(node, false);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry from the cache. Loads which are in flight will not cache their values.
+     */
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            loading.clear();
+            drainReadBuffers();
+            while (accessOrder.next != accessOrder) {
+                removeNode(accessOrder.next, false);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Applies any pending access records, removes expired entries and enforces the bound.
+     * <p>
+     * This happens automatically during writes and periodically during reads, so it
+     * only needs to be called to reclaim expired entries from an idle cache.
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintenance(ticker.getAsLong(), null);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * The number of entries in the cache, which may include expired entries
+     * that have not yet been removed.
+     * @return The number of entries.
+     */
+    public long size() {
+        return map.mappingCount();
+    }
+
+    /**
+     * The total weight of the entries in the cache. When bounded by
+     * size each entry has weight one.
+     * @return The weighted size.
+     */
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     * @return The statistics.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+                totalLoadTime.sum(), evictionCount.sum(), evictionWeight.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentCache(size=" + size() + ",weightedSize=" + weightedSize + ",maximumWeight=" + maximumWeight + ")";
+    }
+
+    /**
+     * Looks up a live value without touching the statistics.
+     */
+    private V lookup(K key) {
+        Objects.requireNonNull(key, "key must not be null");
+        Node<K,V> node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        long now = (expireAfterWriteNanos >= 0 || expireAfterAccessNanos >= 0) ? ticker.getAsLong() : 0;
+        if (isExpired(node, now)) {
+            if (evictionLock.tryLock()) {
+                try {
+                    maintenance(now, null);
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+            return null;
+        }
+        V value = node.value;
+        if (expireAfterAccessNanos >= 0) {
+            node.accessTime = now;
+        }
+        if (recordReads) {
+            ReadBuffer<K,V> buffer = readBuffers[probe()];
+            if (buffer.offer(node) >= READ_BUFFER_DRAIN_THRESHOLD && evictionLock.tryLock()) {
+                try {
+                    drainReadBuffers();
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+        }
+        return value;
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    private int probe() {
+        int h = (int) Thread.currentThread().getId() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+
+    private boolean isExpired(Node<K,V> node, long now) {
+        return (expireAfterWriteNanos >= 0 && now - node.writeTime >= expireAfterWriteNanos)
+                || (expireAfterAccessNanos >= 0 && now - node.accessTime >= expireAfterAccessNanos);
+    }
+
+    // Everything below must be called with the eviction lock held.
+
+    private void maintenance(long now, Node<K,V> candidate) {
+        drainReadBuffers();
+        expireEntries(now);
+        evictEntries(candidate);
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K,V> buffer : readBuffers) {
+            buffer.drain(this);
+        }
+    }
+
+    private void onAccess(Node<K,V> node) {
+        if (node.alive) {
+            moveToLast(accessOrder, node, true);
+            if (sketch != null) {
+                sketch.increment(node.key);
+            }
+        }
+    }
+
+    private void expireEntries(long now) {
+        if (expireAfterAccessNanos >= 0) {
+            // The access order is approximate as reads are buffered, so stop at the first live entry.
+            while (accessOrder.next != accessOrder && isExpired(accessOrder.next, now)) {
+                removeNode(accessOrder.next, true);
+            }
+        }
+        if (expireAfterWriteNanos >= 0) {
+            while (writeOrder.writeNext != writeOrder && isExpired(writeOrder.writeNext, now)) {
+                removeNode(writeOrder.writeNext, true);
+            }
+        }
+    }
+
+    private void evictEntries(Node<K,V> candidate) {
+        if (maximumWeight < 0) {
+            return;
+        }
+        while (weightedSize > maximumWeight && accessOrder.next != accessOrder) {
+            Node<K,V> victim = accessOrder.next;
+            if (sketch != null && candidate != null && candidate.alive && candidate != victim) {
+                if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    removeNode(victim, true);
+                } else {
+                    removeNode(candidate, true);
+                    candidate = null;
+                }
+            } else {
+                removeNode(victim, true);
+            }
+        }
+    }
+
+    private void removeNode(Node<K,V> node, boolean evicted) {
+        map.remove(node.key, node);
+        unlink(node, true);
+        unlink(node, false);
+        node.alive = false;
+        weightedSize -= node.weight;
+        if (evicted) {
+            evictionCount.increment();
+            evictionWeight.add(node.weight);
+        }
+    }
+
+    private static <K,V> void linkLast(Node<K,V> sentinel, Node<K,V> node, boolean access) {
+        if (access) {
+            Node<K,V> last = sentinel.prev;
+            node.prev = last;
+            node.next = sentinel;
+            last.next = node;
+            sentinel.prev = node;
+        } else {
+            Node<K,V> last = sentinel.writePrev;
+            node.writePrev = last;
+            node.writeNext = sentinel;
+            last.writeNext = node;
+            sentinel.writePrev = node;
+        }
+    }
+
+    private static <K,V> void unlink(Node<K,V> node, boolean access) {
+        if (access) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        } else {
+            node.writePrev.writeNext = node.writeNext;
+            node.writeNext.writePrev = node.writePrev;
+            node.writePrev = null;
+            node.writeNext = null;
+        }
+    }
+
+    private static <K,V> void moveToLast(Node<K,V> sentinel, Node<K,V> node, boolean access) {
+        if ((access ? sentinel.prev : sentinel.writePrev) != node) {
+            unlink(node, access);
+            linkLast(sentinel, node, access);
+        }
+    }
+
+    /**
+     * A cache entry, which is also a member of the access order and write order lists.
+     */
+    private static final class Node<K,V> {
+        final K key;
+        volatile V value;
+        volatile long writeTime;
+        volatile long accessTime;
+        // Guarded by the eviction lock.
+        int weight;
+        boolean alive = true;
+        Node<K,V> prev;
+        Node<K,V> next;
+        Node<K,V> writePrev;
+        Node<K,V> writeNext;
+
+        /**
+         * Constructs a list sentinel.
+         */
+        Node() {
+            this.key = null;
+            this.prev = this;
+            this.next = this;
+            this.writePrev = this;
+            this.writeNext = this;
+        }
+
+        Node(K key, V value, int weight, long now) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    /**
+     * A bounded, lossy, multiple producer ring buffer of accessed entries.
+     * <p>
+     * Producers drop the record if the buffer is full or they lose a race for a slot,
+     * which only makes the eviction order slightly less precise.
+     */
+    private static final class ReadBuffer<K,V> {
+        private final AtomicReferenceArray<Node<K,V>> buffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        // Only written by the thread holding the eviction lock.
+        private volatile long readCounter;
+
+        /**
+         * Records the access.
+         * @return The number of pending records, or zero if the record was dropped due to contention.
+         */
+        int offer(Node<K,V> node) {
+            long tail = writeCounter.get();
+            long pending = tail - readCounter;
+            if (pending >= READ_BUFFER_SIZE) {
+                return READ_BUFFER_SIZE;
+            } else if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & READ_BUFFER_MASK), node);
+                return (int) pending + 1;
+            } else {
+                return 0;
+            }
+        }
+
+        void drain(ConcurrentCache<K,V> cache) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & READ_BUFFER_MASK);
+                Node<K,V> node = buffer.get(index);
+                if (node == null) {
+                    // The producer has claimed the slot but not yet published into it.
+                    break;
+                }
+                buffer.lazySet(index, null);
+                cache.onAccess(node);
+            }
+            readCounter = head;
+        }
+    }
+
+    /**
+     * The result of a load, recording the thread which is running the loader.
+     */
+    private static final class LoadingFuture<V> extends CompletableFuture<V> {
+        final Thread owner = Thread.currentThread();
+    }
+
+    /**
+     * A count-min sketch of 4-bit saturating counters used to estimate how often keys
+     * are requested. All counters are halved periodically so the estimate tracks recent
+     * popularity rather than all time popularity.
+     */
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int MAX_WIDTH = 1 << 18;
+        private static final int COUNTERS_PER_ENTRY = 8;
+        private static final int[] SEEDS = {0x97CB3127, 0xB4B82E9D, 0x2A4F5E1B, 0x8E3D6B27};
+
+        private final byte[] table;
+        private final int width;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(long maximumWeight) {
+            int expected = (int) Math.max(16, Math.min(maximumWeight, MAX_WIDTH));
+            // Use several counters per expected entry to keep collisions with the long tail rare.
+            int w = 1;
+            while (w < Math.min(COUNTERS_PER_ENTRY * (long) expected, MAX_WIDTH)) {
+                w <<= 1;
+            }
+            this.width = w;
+            this.mask = w - 1;
+            this.table = new byte[DEPTH * w];
+            this.sampleSize = 10 * expected;
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash + SEEDS[row]) * SEEDS[row];
+            h ^= h >>> 17;
+            return row * width + (h & mask);
+        }
+
+        private static int spread(Object key) {
+            int h = key.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key);
+            int min = MAX_COUNT;
+            for (int i = 0; i < DEPTH; i++) {
+                min = Math.min(min, table[index(hash, i)]);
+            }
+            return min;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key);
+            for (int i = 0; i < DEPTH; i++) {
+                int index = index(hash, i);
+                if (table[index] < MAX_COUNT) {
+                    table[index]++;
+                }
+            }
+            if (++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link ConcurrentCache}.
+     * @param <K> The key type.
+     * @param <V> The value type.
+     */
+    public static final class Builder<K,V> {
+        private int initialCapacity = 16;
+        private long maximumWeight = -1;
+        private ToIntBiFunction<? super K, ? super V> weigher = (k,v) -> 1;
+        private boolean weighted = false;
+        private Policy policy = Policy.LRU;
+        private long expireAfterWriteNanos = -1;
+        private long expireAfterAccessNanos = -1;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {}
+
+        /**
+         * Sets the initial capacity of the backing map.
+         * @param initialCapacity The initial capacity.
+         * @return This builder.
+         */
+        public Builder<K,V> initialCapacity(int initialCapacity) {
+            if (initialCapacity < 0) {
+                throw new IllegalArgumentException("initialCapacity must be non-negative, found " + initialCapacity);
+            }
+            this.initialCapacity = initialCapacity;
+            return this;
+        }
+
+        /**
+         * Bounds the cache to the supplied number of entries.
+         * @param maximumSize The maximum number of entries.
+         * @return This builder.
+         */
+        public Builder<K,V> maximumSize(long maximumSize) {
+            if (weighted) {
+                throw new IllegalStateException("maximumWeight has already been set");
+            } else if (maximumSize < 0) {
+                throw new IllegalArgumentException("maximumSize must be non-negative, found " + maximumSize);
+            }
+            this.maximumWeight = maximumSize;
+            return this;
+        }
+
+        /**
+         * Bounds the cache to the supplied total weight, where each entry's weight
+         * is computed by the weigher when it is inserted.
+         * @param maximumWeight The maximum total weight.
+         * @param weigher The function computing the non-negative weight of an entry.
+         * @return This builder.
+         */
+        public Builder<K,V> maximumWeight(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+            if (this.maximumWeight >= 0 && !weighted) {
+                throw new IllegalStateException("maximumSize has already been set");
+            } else if (maximumWeight < 0) {
+                throw new IllegalArgumentException("maximumWeight must be non-negative, found " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            this.weigher = Objects.requireNonNull(weigher, "weigher must not be null");
+            this.weighted = true;
+            return this;
+        }
+
+        /**
+         * Sets the eviction policy, defaults to {@link Policy#LRU}.
+         * @param policy The eviction policy.
+         * @return This builder.
+         */
+        public Builder<K,V> policy(Policy policy) {
+            this.policy = Objects.requireNonNull(policy, "policy must not be null");
+            return this;
+        }
+
+        /**
+         * Expires entries once the duration has elapsed since they were last written.
+         * @param duration The time to live.
+         * @return This builder.
+         */
+        public Builder<K,V> expireAfterWrite(Duration duration) {
+            this.expireAfterWriteNanos = toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Expires entries once the duration has elapsed since they were last read or written.
+         * @param duration The idle time.
+         * @return This builder.
+         */
+        public Builder<K,V> expireAfterAccess(Duration duration) {
+            this.expireAfterAccessNanos = toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the nanosecond time source used for expiry and load timing, defaults to {@link System#nanoTime()}.
+         * @param ticker The time source.
+         * @return This builder.
+         */
+        public Builder<K,V> ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker, "ticker must not be null");
+            return this;
+        }
+
+        /**
+         * Builds the cache.
+         * @return A new cache.
+         */
+        public ConcurrentCache<K,V> build() {
+            return new ConcurrentCache<>(this);
+        }
+
+        private static long toNanos(Duration duration) {
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException("Duration must be non-negative, found " + duration);
+            }
+            return duration.toNanos();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * A thread safe map from objects to primitive double counts.
+ * <p>
+ * The keys are partitioned by hash across a number of {@link ObjectDoubleCounter} segments,
+ * each guarded by its own lock, so threads updating different keys rarely contend.
+ * Single key operations are atomic, while the bulk operations lock one segment at a
+ * time and so don't observe a consistent snapshot of concurrent updates.
+ * <p>
+ * Null keys are not permitted.
+ * @param <K> The key type.
+ */
+public final class ConcurrentObjectDoubleCounter<K> {
+
+    private final ObjectDoubleCounter<K>[] segments;
+    private final int segmentMask;
+
+    /**
+     * Constructs an empty counter.
+     */
+    public ConcurrentObjectDoubleCounter() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty counter sized to hold the expected number of keys without resizing.
+     * @param expectedSize The expected number of keys.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentObjectDoubleCounter(int expectedSize) {
+        int numSegments = CounterHashing.segmentCount();
+        this.segments = new ObjectDoubleCounter[numSegments];
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new ObjectDoubleCounter<>(expectedSize / numSegments);
+        }
+        this.segmentMask = numSegments - 1;
+    }
+
+    private ObjectDoubleCounter<K> segmentFor(K key) {
+        return segments[CounterHashing.segment(Objects.requireNonNull(key).hashCode(), segmentMask)];
+    }
+
+    /**
+     * Returns the count for the key, or zero if it is absent.
+     * @param key The key.
+     * @return The count.
+     */
+    public double get(K key) {
+        ObjectDoubleCounter<K> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * Is the key present.
+     * @param key The key.
+     * @return True if the key has been counted.
+     */
+    public boolean containsKey(K key) {
+        ObjectDoubleCounter<K> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    /**
+     * Atomically increments the count for the key by one.
+     * @param key The key.
+     * @return The new count.
+     */
+    public double increment(K key) {
+        return increment(key, 1);
+    }
+
+    /**
+     * Atomically increments the count for the key.
+     * @param key The key.
+     * @param delta The amount to add.
+     * @return The new count.
+     */
+    public double increment(K key, double delta) {
+        ObjectDoubleCounter<K> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.increment(key, delta);
+        }
+    }
+
+    /**
+     * Atomically sets the count for the key to the value if it is absent, otherwise to the
+     * result of applying the function to the current count and the value.
+     * <p>
+     * The function is called while holding the key's segment lock, so it should be short.
+     * @param key The key.
+     * @param value The value to merge.
+     * @param function The merging function.
+     * @return The new count.
+     */
+    public double merge(K key, long value, DoubleBinaryOperator function) {
+        ObjectDoubleCounter<K> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.merge(key, value, function);
+        }
+    }
+
+    /**
+     * Sets the count for the key.
+     * @param key The key.
+     * @param value The count.
+     * @return The previous count, or zero if it was absent.
+     */
+    public double put(K key, double value) {
+        ObjectDoubleCounter<K> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    /**
+     * Removes the key.
+     * @param key The key.
+     * @return The removed count, or zero if it was absent.
+     */
+    public double remove(K key) {
+        ObjectDoubleCounter<K> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    /**
+     * Adds all the counts from the other counter into this one.
+     * @param other The counts to add.
+     */
+    public void addAll(ObjectDoubleCounter<? extends K> other) {
+        other.forEach(this::increment);
+    }
+
+    /**
+     * The number of keys.
+     * @return The number of keys.
+     */
+    public int size() {
+        int size = 0;
+        for (ObjectDoubleCounter<K> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Is this counter empty.
+     * @return True if there are no keys.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all the keys.
+     */
+    public void clear() {
+        for (ObjectDoubleCounter<K> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Applies the action to each key and count, in no particular order.
+     * <p>
+     * The action is called while holding a segment lock, so it must not update this counter.
+     * @param action The action.
+     */
+    public void forEach(ObjDoubleConsumer<? super K> action) {
+        for (ObjectDoubleCounter<K> segment : segments) {
+            synchronized (segment) {
+                segment.forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Copies the counts into a single threaded counter.
+     * @return A copy of the counts.
+     */
+    public ObjectDoubleCounter<K> snapshot() {
+        ObjectDoubleCounter<K> output = new ObjectDoubleCounter<>(size());
+        forEach(output::put);
+        return output;
+    }
+
+    /**
+     * Copies the counts into a map of {@link MutableDouble}.
+     * @return A map containing the counts.
+     */
+    public Map<K,MutableDouble> toMap() {
+        Map<K,MutableDouble> output = new HashMap<>();
+        forEach((k,v) -> output.put(k, new MutableDouble(v)));
+        return output;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+/**
+ * Hashing and sizing helpers shared by the open addressed counter maps.
+ */
+final class CounterHashing {
+
+    /**
+     * The maximum fraction of occupied slots before the table is doubled.
+     */
+    static final float LOAD_FACTOR = 0.5f;
+
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private CounterHashing() {}
+
+    /**
+     * Spreads the hash bits so that keys with similar hash codes (e.g., small
+     * integers or strings differing in their last character) don't cluster
+     * under linear probing.
+     * @param hash The hash code.
+     * @return The mixed hash.
+     */
+    static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Computes the power of two table size needed to hold the expected number of
+     * entries without exceeding the load factor.
+     * @param expectedSize The expected number of entries.
+     * @return The table size.
+     */
+    static int tableSize(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must be non-negative, found " + expectedSize);
+        }
+        long needed = Math.max(4, (long) Math.ceil(expectedSize / (double) LOAD_FACTOR));
+        if (needed > MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * The number of segments used by the concurrent counter maps.
+     * @return A power of two somewhat larger than the number of processors.
+     */
+    static int segmentCount() {
+        int target = Math.min(256, 4 * Runtime.getRuntime().availableProcessors());
+        return Integer.highestOneBit(Math.max(1, target - 1)) << 1;
+    }
+
+    /**
+     * Picks a segment using the high bits of the mixed hash, as the segment's own
+     * table uses the low bits.
+     * @param hash The key's hash code.
+     * @param segmentMask The number of segments minus one.
+     * @return The segment index.
+     */
+    static int segment(int hash, int segmentMask) {
+        return (mix(hash) >>> 24) & segmentMask;
+    }
+}
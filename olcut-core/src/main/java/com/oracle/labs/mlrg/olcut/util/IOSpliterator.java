@@ -25,28 +25,76 @@
  * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
  * POSSIBILITY OF SUCH DAMAGE.
  */
+
 package com.oracle.labs.mlrg.olcut.util;
 
+import java.util.Arrays;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * A {@link Spliterator} which doesn't grow it's buffer.
+ * A {@link Spliterator} for sources which can only be read sequentially, which splits
+ * by copying batches of elements into arrays.
+ * <p>
+ * The batch size grows arithmetically by {@code batchSize} on each split up to
+ * {@code maxBatchSize}, in the same way as the iterator spliterators in {@link Spliterators},
+ * so small inputs still split into several pieces and large inputs use large batches. A
+ * batch is also cut short once the sizes reported by {@link #estimateBytes} reach the
+ * byte budget, which bounds the memory held by a split when the elements are large.
+ * <p>
+ * {@link #readAhead(int)} wraps the spliterator so a background thread reads batches
+ * into a bounded queue, overlapping the I/O with downstream processing.
  * @param <T> The type of the contained object.
  */
 public abstract class IOSpliterator<T> implements Spliterator<T> {
+    private static final Logger logger = Logger.getLogger(IOSpliterator.class.getName());
+
     public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1 << 25;
     public static final int DEFAULT_CHARACTERISTICS = Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.ORDERED;
 
+    private static final int INITIAL_ARRAY_SIZE = 1024;
+    private static final AtomicInteger readAheadThreadCounter = new AtomicInteger();
+
     private final int characteristics;
     private final int batchSize;
-    private long estimatedSize;
-    
-    public IOSpliterator(int characteristics, int batchSize, long estimatedSize) {
+    private final int maxBatchSize;
+    private final long maxBatchBytes;
+    private volatile long estimatedSize;
+    private int nextBatchSize;
+
+    /**
+     * Creates an IOSpliterator.
+     * @param characteristics The spliterator characteristics.
+     * @param batchSize The size of the first batch, and the amount each subsequent batch grows by.
+     * @param maxBatchSize The maximum number of elements in a batch.
+     * @param maxBatchBytes The maximum number of bytes in a batch as measured by {@link #estimateBytes},
+     *                      non-positive values mean unbounded.
+     * @param estimatedSize The estimated number of elements, or {@link Long#MAX_VALUE} if unknown.
+     */
+    public IOSpliterator(int characteristics, int batchSize, int maxBatchSize, long maxBatchBytes, long estimatedSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive, found " + batchSize);
+        } else if (maxBatchSize < batchSize) {
+            throw new IllegalArgumentException("maxBatchSize must be at least batchSize, found maxBatchSize = " + maxBatchSize + ", batchSize = " + batchSize);
+        }
         this.characteristics = characteristics | Spliterator.SUBSIZED;
         this.batchSize = batchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchBytes = maxBatchBytes;
         this.estimatedSize = estimatedSize;
+        this.nextBatchSize = batchSize;
+    }
+
+    public IOSpliterator(int characteristics, int batchSize, long estimatedSize) {
+        this(characteristics,batchSize,DEFAULT_MAX_BATCH_SIZE,-1,estimatedSize);
     }
 
     public IOSpliterator(int characteristics, long estimatedSize) {
@@ -61,23 +109,74 @@ public abstract class IOSpliterator<T> implements Spliterator<T> {
         this(DEFAULT_CHARACTERISTICS);
     }
 
+    /**
+     * Estimates the memory used by an element, used to enforce the byte budget of a batch.
+     * <p>
+     * The default implementation returns zero, so subclasses which set a byte budget must override it.
+     * @param element The element.
+     * @return The approximate size of the element in bytes.
+     */
+    protected long estimateBytes(T element) {
+        return 0;
+    }
+
     @Override
     public Spliterator<T> trySplit() {
-        final BufferConsumer<T> holder = new BufferConsumer<>();
+        Batch batch = nextBatch(new BufferConsumer<>());
+        if (batch == null) {
+            return null;
+        }
+        return Spliterators.spliterator(batch.elements, 0, batch.size, characteristics() | SIZED);
+    }
+
+    /**
+     * Reads the next batch from this spliterator.
+     * @param holder The consumer used to receive elements.
+     * @return The batch, or null if this spliterator is exhausted.
+     */
+    private Batch nextBatch(BufferConsumer<T> holder) {
         if (!tryAdvance(holder)) {
             return null;
         }
-        
-        final Object[] a = new Object[batchSize];
+        final int n = nextBatchSize;
+        nextBatchSize = (int) Math.min((long) n + batchSize, maxBatchSize);
+
+        Object[] a = new Object[Math.min(n, INITIAL_ARRAY_SIZE)];
+        long bytes = 0;
         int j = 0;
         do {
+            if (j == a.length) {
+                a = Arrays.copyOf(a, (int) Math.min(2L * a.length, n));
+            }
             a[j] = holder.value;
-        } while (++j < batchSize && tryAdvance(holder));
-        
+            if (maxBatchBytes > 0) {
+                bytes += estimateBytes(holder.value);
+            }
+        } while (++j < n && (maxBatchBytes <= 0 || bytes < maxBatchBytes) && tryAdvance(holder));
+        holder.value = null;
+
         if (estimatedSize != Long.MAX_VALUE) {
             estimatedSize -= j;
         }
-        return Spliterators.spliterator(a, 0, j, characteristics() | SIZED);
+        return new Batch(a, j);
+    }
+
+    /**
+     * Wraps this spliterator so batches are read by a background thread into a queue
+     * holding at most {@code capacity} batches.
+     * <p>
+     * After wrapping, this spliterator must only be used through the returned one. The
+     * returned spliterator should be closed if it isn't fully consumed, e.g. by
+     * {@code StreamSupport.stream(spliterator, true).onClose(spliterator::close)}, otherwise
+     * the background thread waits until the queue has space.
+     * @param capacity The maximum number of batches to read ahead.
+     * @return A read-ahead spliterator over the remaining elements.
+     */
+    public ReadAheadSpliterator<T> readAhead(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive, found " + capacity);
+        }
+        return new ReadAheadSpliterator<>(this, capacity);
     }
 
     @Override
@@ -98,4 +197,185 @@ public abstract class IOSpliterator<T> implements Spliterator<T> {
             this.value = value;
         }
     }
+
+    /**
+     * A batch of elements read from the spliterator, the array may be longer than size.
+     */
+    private static final class Batch {
+        final Object[] elements;
+        final int size;
+
+        Batch(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+    }
+
+    /**
+     * A spliterator which reads batches from an {@link IOSpliterator} on a background thread.
+     * <p>
+     * Splitting returns the next queued batch, so downstream tasks process batches while
+     * the next ones are being read. Exceptions thrown by the source are rethrown on the
+     * consuming thread.
+     * @param <T> The type of the contained object.
+     */
+    public static final class ReadAheadSpliterator<T> implements Spliterator<T>, AutoCloseable {
+        private static final Batch END = new Batch(new Object[0], 0);
+        private static final long OFFER_TIMEOUT_MS = 100;
+
+        private final IOSpliterator<T> source;
+        private final BlockingQueue<Batch> queue;
+        private volatile boolean closed = false;
+        private volatile Throwable failure;
+        private Thread reader;
+        private boolean finished = false;
+        private Batch current;
+        private int index;
+
+        ReadAheadSpliterator(IOSpliterator<T> source, int capacity) {
+            this.source = source;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void start() {
+            if (reader == null) {
+                reader = new Thread(this::read, "olcut-read-ahead-" + readAheadThreadCounter.getAndIncrement());
+                reader.setDaemon(true);
+                reader.start();
+            }
+        }
+
+        private void read() {
+            BufferConsumer<T> holder = new BufferConsumer<>();
+            try {
+                Batch batch;
+                while (!closed && (batch = source.nextBatch(holder)) != null) {
+                    enqueue(batch);
+                }
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            } finally {
+                try {
+                    enqueue(END);
+                } catch (RuntimeException e) {
+                    logger.log(Level.FINE, "Read ahead thread interrupted before signalling completion", e);
+                }
+                if (closed) {
+                    // enqueue gives up once closed, so make sure a waiting consumer still sees the end.
+                    queue.offer(END);
+                }
+            }
+        }
+
+        private void enqueue(Batch batch) {
+            try {
+                while (!closed && !queue.offer(batch, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    // Wait for the consumer to free a slot or close the spliterator.
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading ahead", e);
+            }
+        }
+
+        /**
+         * Takes the next batch from the queue, blocking until it is available.
+         * @return The next batch, or null if the source is exhausted.
+         */
+        private Batch take() {
+            if (finished || closed) {
+                return null;
+            }
+            start();
+            Batch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the read ahead thread", e);
+            }
+            if (closed) {
+                finished = true;
+                return null;
+            } else if (batch == END) {
+                finished = true;
+                Throwable t = failure;
+                if (t instanceof RuntimeException) {
+                    throw (RuntimeException) t;
+                } else if (t instanceof Error) {
+                    throw (Error) t;
+                }
+                return null;
+            }
+            return batch;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (current == null || index >= current.size) {
+                current = take();
+                index = 0;
+                if (current == null) {
+                    return false;
+                }
+            }
+            T value = (T) current.elements[index];
+            current.elements[index++] = null;
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Batch batch;
+            int start;
+            if (!closed && current != null && index < current.size) {
+                // Hand off the rest of the partially consumed batch first to preserve the encounter order.
+                batch = current;
+                start = index;
+                current = null;
+                index = 0;
+            } else {
+                batch = take();
+                start = 0;
+                if (batch == null) {
+                    return null;
+                }
+            }
+            return Spliterators.spliterator(batch.elements, start, batch.size, characteristics() | SIZED);
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = source.estimateSize();
+            if (size == Long.MAX_VALUE) {
+                return size;
+            }
+            for (Batch b : queue) {
+                size += b.size;
+            }
+            if (current != null) {
+                size += current.size - index;
+            }
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(SIZED | SUBSIZED);
+        }
+
+        /**
+         * Stops the background thread and discards any queued batches.
+         * <p>
+         * A consumer blocked waiting for the next batch is woken and sees the end of the stream.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            queue.clear();
+            queue.offer(END);
+        }
+    }
 }
@@ -65,10 +65,13 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -79,6 +82,7 @@ public final class IOUtil {
     private static final Logger logger = Logger.getLogger(IOUtil.class.getName());
     public static final int BUFFER_SIZE = 1000000;
     private static final Pattern linefeedPattern = Pattern.compile("\\R");
+    private static final int READ_AHEAD_BATCHES = 4;
 
     private IOUtil() {}
 
@@ -117,6 +121,99 @@ public final class IOUtil {
         return lines;
     }
 
+    /**
+     * Returns a sequential stream of the lines in a UTF-8 file, which may be gzipped.
+     * <p>
+     * See {@link #lines(Path, boolean)}.
+     * @param path The file to read.
+     * @return A stream of lines.
+     * @throws IOException If the file could not be opened.
+     */
+    public static Stream<String> lines(Path path) throws IOException {
+        return lines(path, false);
+    }
+
+    /**
+     * Returns a stream of the lines in a UTF-8 file, which may be gzipped.
+     * <p>
+     * Uncompressed files are memory mapped rather than read through a {@link BufferedReader},
+     * and the stream splits at line boundaries, so a parallel stream decodes and processes
+     * different parts of the file on every core. Gzipped files (detected by their magic
+     * number) can only be decompressed sequentially, so they are read by a background thread
+     * into a bounded queue of line batches which the stream then processes.
+     * <p>
+     * Lines are terminated by "\n", "\r\n" or "\r", and malformed UTF-8 is replaced with U+FFFD.
+     * The stream should be closed after use to release the file and any background thread.
+     * @param path The file to read.
+     * @param parallel Should the stream be parallel.
+     * @return A stream of lines.
+     * @throws IOException If the file could not be opened or mapped.
+     */
+    public static Stream<String> lines(Path path, boolean parallel) throws IOException {
+        return lines(path, parallel, MappedLineSpliterator.DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Returns a stream of the lines in a UTF-8 file, mapping it in regions of at most regionSize bytes.
+     * <p>
+     * Package private to allow testing the region handling on small files.
+     */
+    static Stream<String> lines(Path path, boolean parallel, int regionSize) throws IOException {
+        if (isGZIPFile(path)) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(path), 1 << 16), StandardCharsets.UTF_8), BUFFER_SIZE);
+            IOSpliterator.ReadAheadSpliterator<String> spliterator = new ReaderLineSpliterator(reader).readAhead(READ_AHEAD_BATCHES);
+            return StreamSupport.stream(spliterator, parallel).onClose(() -> {
+                spliterator.close();
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } else {
+            return StreamSupport.stream(MappedLineSpliterator.map(path, regionSize), parallel);
+        }
+    }
+
+    private static boolean isGZIPFile(Path path) throws IOException {
+        try (InputStream stream = Files.newInputStream(path)) {
+            int first = stream.read();
+            int second = stream.read();
+            return first == (GZIPInputStream.GZIP_MAGIC & 0xFF) && second == ((GZIPInputStream.GZIP_MAGIC >> 8) & 0xFF);
+        }
+    }
+
+    /**
+     * An {@link IOSpliterator} over the lines of a reader.
+     */
+    private static final class ReaderLineSpliterator extends IOSpliterator<String> {
+        private final BufferedReader reader;
+
+        ReaderLineSpliterator(BufferedReader reader) {
+            super(DEFAULT_CHARACTERISTICS, 1024, 1 << 16, 8L * BUFFER_SIZE, Long.MAX_VALUE);
+            this.reader = reader;
+        }
+
+        @Override
+        protected long estimateBytes(String element) {
+            return element.length();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            try {
+                String line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                action.accept(line);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     /**
      * Loads the string as a classpath resource or a path, using UTF-8.
      * @param path The path to load.
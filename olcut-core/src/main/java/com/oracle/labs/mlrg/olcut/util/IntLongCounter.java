@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A map from primitive ints to primitive long counts using open addressing with linear probing.
+ * <p>
+ * Stores the keys and counts in two parallel arrays, avoiding the boxed key, boxed value and
+ * entry object per key of a {@code HashMap<Integer,MutableLong>}. Absent keys have a count of zero.
+ * <p>
+ * This class is not thread safe, see {@link ConcurrentIntLongCounter} for a version which is.
+ */
+public final class IntLongCounter {
+
+    /**
+     * A consumer of key and count pairs.
+     */
+    @FunctionalInterface
+    public interface IntLongConsumer {
+        /**
+         * Performs this operation on the key and count.
+         * @param key The key.
+         * @param value The count.
+         */
+        void accept(int key, long value);
+    }
+
+    // Zero marks an empty slot, so the count for the zero key is stored separately.
+    private int[] keys;
+    private long[] values;
+    private boolean hasZeroKey;
+    private long zeroValue;
+    private int size;
+    private int mask;
+    private int threshold;
+
+    /**
+     * Constructs an empty counter.
+     */
+    public IntLongCounter() {
+        this(8);
+    }
+
+    /**
+     * Constructs an empty counter sized to hold the expected number of keys without resizing.
+     * @param expectedSize The expected number of keys.
+     */
+    public IntLongCounter(int expectedSize) {
+        allocate(CounterHashing.tableSize(expectedSize));
+    }
+
+    /**
+     * Copies the supplied counter.
+     * @param other The counter to copy.
+     */
+    public IntLongCounter(IntLongCounter other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.hasZeroKey = other.hasZeroKey;
+        this.zeroValue = other.zeroValue;
+        this.size = other.size;
+        this.mask = other.mask;
+        this.threshold = other.threshold;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = capacity == CounterHashing.MAXIMUM_CAPACITY ? capacity - 1 : (int) (capacity * CounterHashing.LOAD_FACTOR);
+    }
+
+    /**
+     * Finds the slot containing the non-zero key, or the empty slot where it should be inserted.
+     */
+    private int slot(int key) {
+        int i = CounterHashing.mix(key) & mask;
+        int cur;
+        while ((cur = keys[i]) != 0 && cur != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Inserts the non-zero key into the empty slot, resizing if necessary.
+     */
+    private void insert(int slot, int key, long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        if (keys.length == CounterHashing.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Counter is full, found " + size + " keys");
+        }
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int s = slot(oldKeys[i]);
+                keys[s] = oldKeys[i];
+                values[s] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the count for the key, or zero if it is absent.
+     * @param key The key.
+     * @return The count.
+     */
+    public long get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Returns the count for the key, or the default if it is absent.
+     * @param key The key.
+     * @param defaultValue The value to return if the key is absent.
+     * @return The count.
+     */
+    public long getOrDefault(int key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int s = slot(key);
+        return keys[s] == 0 ? defaultValue : values[s];
+    }
+
+    /**
+     * Is the key present.
+     * @param key The key.
+     * @return True if the key has been counted.
+     */
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : keys[slot(key)] != 0;
+    }
+
+    /**
+     * Increments the count for the key by one.
+     * @param key The key.
+     * @return The new count.
+     */
+    public long increment(int key) {
+        return increment(key, 1);
+    }
+
+    /**
+     * Increments the count for the key.
+     * @param key The key.
+     * @param delta The amount to add.
+     * @return The new count.
+     */
+    public long increment(int key, long delta) {
+        return merge(key, delta, Long::sum);
+    }
+
+    /**
+     * Sets the count for the key to the value if it is absent, otherwise to the
+     * result of applying the function to the current count and the value.
+     * @param key The key.
+     * @param value The value to merge.
+     * @param function The merging function.
+     * @return The new count.
+     */
+    public long merge(int key, long value, LongBinaryOperator function) {
+        if (key == 0) {
+            if (hasZeroKey) {
+                zeroValue = function.applyAsLong(zeroValue, value);
+            } else {
+                hasZeroKey = true;
+                zeroValue = value;
+                size++;
+            }
+            return zeroValue;
+        }
+        int s = slot(key);
+        if (keys[s] == 0) {
+            insert(s, key, value);
+            return value;
+        } else {
+            return values[s] = function.applyAsLong(values[s], value);
+        }
+    }
+
+    /**
+     * Sets the count for the key.
+     * @param key The key.
+     * @param value The count.
+     * @return The previous count, or zero if it was absent.
+     */
+    public long put(int key, long value) {
+        long old = get(key);
+        merge(key, value, (a,b) -> b);
+        return old;
+    }
+
+    /**
+     * Removes the key.
+     * @param key The key.
+     * @return The removed count, or zero if it was absent.
+     */
+    public long remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return 0;
+            }
+            long old = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return old;
+        }
+        int s = slot(key);
+        if (keys[s] == 0) {
+            return 0;
+        }
+        long old = values[s];
+        // Shift back any later entries in the probe sequence which could have used this slot.
+        int gap = s;
+        int i = (s + 1) & mask;
+        int cur;
+        while ((cur = keys[i]) != 0) {
+            int home = CounterHashing.mix(cur) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = cur;
+                values[gap] = values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+        size--;
+        return old;
+    }
+
+    /**
+     * Adds all the counts from the other counter into this one.
+     * @param other The counts to add.
+     */
+    public void addAll(IntLongCounter other) {
+        other.forEach(this::increment);
+    }
+
+    /**
+     * The number of keys.
+     * @return The number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Is this counter empty.
+     * @return True if there are no keys.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the keys.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    /**
+     * Applies the action to each key and count, in no particular order.
+     * @param action The action.
+     */
+    public void forEach(IntLongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Copies the counts into a map of {@link MutableLong}.
+     * @return A map containing the counts.
+     */
+    public Map<Integer,MutableLong> toMap() {
+        Map<Integer,MutableLong> output = new HashMap<>((int) (size / 0.75f) + 1);
+        forEach((k,v) -> output.put(k, new MutableLong(v)));
+        return output;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IntLongCounter)) return false;
+        IntLongCounter that = (IntLongCounter) o;
+        if (size != that.size || hasZeroKey != that.hasZeroKey || zeroValue != that.zeroValue) return false;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                int s = that.slot(keys[i]);
+                if (that.keys[s] == 0 || that.values[s] != values[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = hasZeroKey ? Long.hashCode(zeroValue) : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                hash += keys[i] ^ Long.hashCode(values[i]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k,v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
@@ -34,6 +34,8 @@ import java.util.Map;
 
 /**
  * A least-recently-accessed cache.
+ * <p>
+ * This cache is not thread safe, use {@link ConcurrentCache} when it is shared between threads.
  */
 public class LRACache<K,V> extends LinkedHashMap<K,V> {
 
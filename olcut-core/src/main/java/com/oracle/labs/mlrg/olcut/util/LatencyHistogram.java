@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe histogram of latencies (or any other non-negative long values), for
+ * measuring tail latencies which {@link StopWatch#getAvgTime()} hides.
+ * <p>
+ * Values are counted in log-linear buckets: values below 2<sup>p</sup> get their own bucket,
+ * and each higher power of two range is split into 2<sup>p</sup> equal width buckets, where
+ * p is the precision. The relative error of a reported percentile is therefore below
+ * 2<sup>-p</sup>, about 0.8% at the default precision of 7 bits, and the full long range
+ * fits in a fixed size array so recording a value doesn't allocate.
+ * <p>
+ * Any number of threads can record concurrently. {@link #snapshot()} captures the current
+ * state, while {@link #intervalSnapshot()} also resets it so each snapshot covers the period
+ * since the previous one. A value recorded concurrently with an interval snapshot is counted
+ * in exactly one interval, though the sum, min and max may be attributed to the other.
+ * <p>
+ * Timing a block:
+ * <pre>
+ *     try (LatencyHistogram.Timer t = histogram.time()) {
+ *         ...
+ *     }
+ * </pre>
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The default precision in bits.
+     */
+    public static final int DEFAULT_PRECISION = 7;
+
+    private final int precision;
+    private final AtomicLongArray counts;
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Constructs a histogram with the default precision.
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Constructs a histogram with the supplied precision.
+     * @param precision The number of bits of precision, between 1 and 16. The histogram
+     *                  uses (64 - precision) * 2<sup>precision</sup> counters.
+     */
+    public LatencyHistogram(int precision) {
+        if (precision < 1 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 1 and 16, found " + precision);
+        }
+        this.precision = precision;
+        this.counts = new AtomicLongArray(numBuckets(precision));
+    }
+
+    /**
+     * The precision of this histogram.
+     * @return The precision in bits.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Records a value.
+     * @param value The value, must be non-negative.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Values must be non-negative, found " + value);
+        }
+        counts.getAndIncrement(bucketIndex(value, precision));
+        sum.add(value);
+        // Only contend on the extrema when they change.
+        long cur = min.get();
+        while (value < cur && !min.compareAndSet(cur, value)) {
+            cur = min.get();
+        }
+        cur = max.get();
+        while (value > cur && !max.compareAndSet(cur, value)) {
+            cur = max.get();
+        }
+    }
+
+    /**
+     * Records a duration, converting it to nanoseconds.
+     * @param duration The duration.
+     * @param unit The unit of the duration.
+     */
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    /**
+     * Records the time elapsed since the supplied {@link System#nanoTime()} reading.
+     * @param startNanos The start time.
+     */
+    public void recordSince(long startNanos) {
+        record(Math.max(0, System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Starts a timer which records the elapsed nanoseconds into this histogram when closed.
+     * @return A timer.
+     */
+    public Timer time() {
+        return new Timer(this);
+    }
+
+    /**
+     * Captures the current state of the histogram.
+     * @return A snapshot.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(precision, copy, sum.sum(), min.get(), max.get());
+    }
+
+    /**
+     * Captures the current state of the histogram and resets it.
+     * @return A snapshot of the values recorded since the last reset.
+     */
+    public Snapshot intervalSnapshot() {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            if (counts.get(i) != 0) {
+                copy[i] = counts.getAndSet(i, 0);
+            }
+        }
+        return new Snapshot(precision, copy, sum.sumThenReset(), min.getAndSet(Long.MAX_VALUE), max.getAndSet(Long.MIN_VALUE));
+    }
+
+    /**
+     * Resets the histogram, discarding the recorded values.
+     */
+    public void reset() {
+        intervalSnapshot();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    private static int numBuckets(int precision) {
+        return (64 - precision) << precision;
+    }
+
+    /**
+     * Computes the bucket for a non-negative value.
+     */
+    static int bucketIndex(long value, int precision) {
+        if (value < (1L << precision)) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - precision;
+        int subBucket = (int) (value >>> shift) & ((1 << precision) - 1);
+        return ((shift + 1) << precision) | subBucket;
+    }
+
+    /**
+     * The smallest value which maps to the bucket.
+     */
+    static long lowestValue(int index, int precision) {
+        int block = index >>> precision;
+        if (block == 0) {
+            return index;
+        }
+        long subBucket = index & ((1 << precision) - 1);
+        return ((1L << precision) | subBucket) << (block - 1);
+    }
+
+    /**
+     * The largest value which maps to the bucket.
+     */
+    static long highestValue(int index, int precision) {
+        int block = index >>> precision;
+        if (block == 0) {
+            return index;
+        }
+        return lowestValue(index, precision) + ((1L << (block - 1)) - 1);
+    }
+
+    /**
+     * Times a block of code, recording the elapsed nanoseconds when closed.
+     */
+    public static final class Timer implements AutoCloseable {
+        private final LatencyHistogram histogram;
+        private final long start;
+
+        private Timer(LatencyHistogram histogram) {
+            this.histogram = histogram;
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * The nanoseconds elapsed since this timer started.
+         * @return The elapsed time.
+         */
+        public long elapsedNanos() {
+            return System.nanoTime() - start;
+        }
+
+        @Override
+        public void close() {
+            histogram.recordSince(start);
+        }
+    }
+
+    /**
+     * A consumer of histogram buckets.
+     */
+    @FunctionalInterface
+    public interface BucketConsumer {
+        /**
+         * Accepts a non-empty bucket.
+         * @param lowestValue The smallest value counted by the bucket.
+         * @param highestValue The largest value counted by the bucket.
+         * @param count The number of values in the bucket.
+         */
+        void accept(long lowestValue, long highestValue, long count);
+    }
+
+    /**
+     * An immutable snapshot of a {@link LatencyHistogram}.
+     * <p>
+     * Snapshots with the same precision can be merged, e.g., to combine histograms
+     * recorded by different workers or processes.
+     */
+    public static final class Snapshot implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int precision;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        Snapshot(int precision, long[] counts, long sum, long min, long max) {
+            int length = counts.length;
+            while (length > 0 && counts[length - 1] == 0) {
+                length--;
+            }
+            this.precision = precision;
+            this.counts = length == counts.length ? counts : Arrays.copyOf(counts, length);
+            long total = 0;
+            for (long c : this.counts) {
+                total += c;
+            }
+            this.count = total;
+            this.sum = total == 0 ? 0 : sum;
+            if (total == 0) {
+                this.min = 0;
+                this.max = 0;
+            } else {
+                // The min and max are tracked separately from the buckets and may have been reset
+                // concurrently, so fall back to the bucket bounds if they are inconsistent.
+                int first = 0;
+                while (this.counts[first] == 0) {
+                    first++;
+                }
+                int last = this.counts.length - 1;
+                long firstLow = lowestValue(first, precision);
+                long lastHigh = highestValue(last, precision);
+                this.min = (min >= firstLow && min <= highestValue(first, precision)) ? min : firstLow;
+                this.max = (max >= lowestValue(last, precision) && max <= lastHigh) ? max : lastHigh;
+            }
+        }
+
+        /**
+         * Merges this snapshot with another.
+         * @param other The snapshot to merge.
+         * @return A snapshot containing the values from both.
+         */
+        public Snapshot merge(Snapshot other) {
+            if (precision != other.precision) {
+                throw new IllegalArgumentException("Can't merge snapshots with different precision, found " + precision + " and " + other.precision);
+            }
+            long[] merged = Arrays.copyOf(counts, Math.max(counts.length, other.counts.length));
+            for (int i = 0; i < other.counts.length; i++) {
+                merged[i] += other.counts[i];
+            }
+            long mergedMin = count == 0 ? other.min : (other.count == 0 ? min : Math.min(min, other.min));
+            long mergedMax = Math.max(max, other.max);
+            return new Snapshot(precision, merged, sum + other.sum, mergedMin, mergedMax);
+        }
+
+        /**
+         * The precision of the histogram this snapshot came from.
+         * @return The precision in bits.
+         */
+        public int getPrecision() {
+            return precision;
+        }
+
+        /**
+         * The number of recorded values.
+         * @return The count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * The sum of the recorded values.
+         * @return The sum.
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * The smallest recorded value, or zero if there are none.
+         * @return The minimum.
+         */
+        public long getMin() {
+            return min;
+        }
+
+        /**
+         * The largest recorded value, or zero if there are none.
+         * @return The maximum.
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * The mean of the recorded values, or zero if there are none.
+         * @return The mean.
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Returns the value below which the supplied percentage of the recorded values fall,
+         * to within the precision of the histogram.
+         * @param percentile The percentile, between 0 and 100.
+         * @return The value at that percentile, or zero if there are no values.
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100 || Double.isNaN(percentile)) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100, found " + percentile);
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.max(min, Math.min(max, highestValue(i, precision)));
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Applies the consumer to each non-empty bucket in increasing order.
+         * @param consumer The bucket consumer.
+         */
+        public void forEachBucket(BucketConsumer consumer) {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    consumer.accept(lowestValue(i, precision), highestValue(i, precision), counts[i]);
+                }
+            }
+        }
+
+        /**
+         * Exports the summary statistics, count, min, mean, max and the 50th, 90th,
+         * 99th and 99.9th percentiles (as p50, p90, p99 and p999), in that order.
+         * @return A map of summary statistics.
+         */
+        public Map<String,Double> toMap() {
+            Map<String,Double> output = new LinkedHashMap<>();
+            output.put("count", (double) count);
+            output.put("min", (double) min);
+            output.put("mean", getMean());
+            output.put("max", (double) max);
+            output.put("p50", (double) getValueAtPercentile(50));
+            output.put("p90", (double) getValueAtPercentile(90));
+            output.put("p99", (double) getValueAtPercentile(99));
+            output.put("p999", (double) getValueAtPercentile(99.9));
+            return output;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Snapshot)) return false;
+            Snapshot that = (Snapshot) o;
+            return precision == that.precision && sum == that.sum && min == that.min && max == that.max && Arrays.equals(counts, that.counts);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(sum) + Arrays.hashCode(counts);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot(count=" + count + ",min=" + min + ",mean=" + String.format("%.1f", getMean()) + ",max=" + max
+                    + ",p50=" + getValueAtPercentile(50) + ",p90=" + getValueAtPercentile(90)
+                    + ",p99=" + getValueAtPercentile(99) + ",p999=" + getValueAtPercentile(99.9) + ")";
+        }
+    }
+}
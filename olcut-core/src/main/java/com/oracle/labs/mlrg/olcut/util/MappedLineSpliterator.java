@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over the lines of a UTF-8 file, read from memory mapped regions.
+ * <p>
+ * The file is mapped in regions which each end on a line boundary, and splitting first
+ * divides the regions and then divides a region at the line end nearest the middle of its
+ * remaining bytes, so a parallel stream processes disjoint byte ranges on each thread.
+ * Lines are terminated by "\n", "\r\n" or "\r", and are decoded straight from the mapping,
+ * with malformed input replaced by U+FFFD.
+ */
+final class MappedLineSpliterator implements Spliterator<String> {
+
+    /**
+     * The default maximum size of a mapped region.
+     */
+    static final int DEFAULT_REGION_SIZE = 1 << 30;
+
+    /**
+     * Ranges smaller than this aren't split.
+     */
+    private static final int MIN_SPLIT_SIZE = 1 << 16;
+
+    /**
+     * Assumed average line length, used to estimate the number of lines.
+     */
+    private static final int ESTIMATED_LINE_LENGTH = 80;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final ByteBuffer[] regions;
+    private int region;
+    private int pos;
+    private final int lastRegion;
+    private final int end;
+    private byte[] scratch = new byte[256];
+
+    private MappedLineSpliterator(ByteBuffer[] regions, int region, int pos, int lastRegion, int end) {
+        this.regions = regions;
+        this.region = region;
+        this.pos = pos;
+        this.lastRegion = lastRegion;
+        this.end = end;
+    }
+
+    /**
+     * Maps the file and creates a spliterator over its lines.
+     * <p>
+     * The mapping remains valid after the channel is closed, and is released when the
+     * spliterator is garbage collected.
+     * @param path The file to map.
+     * @param regionSize The maximum size of a mapped region, which is also the maximum line length. A region
+     *                   is one byte longer if it would otherwise end between the two bytes of a "\r\n".
+     * @return A spliterator over the lines.
+     * @throws IOException If the file could not be mapped, or has a line longer than the region size.
+     */
+    static MappedLineSpliterator map(Path path, int regionSize) throws IOException {
+        List<ByteBuffer> regions = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long length = Math.min(regionSize, size - start);
+                boolean last = start + length >= size;
+                // Map one byte past the region where possible, to see if a trailing '\r' starts a "\r\n".
+                long mapped = last ? length : Math.min(length + 1, Integer.MAX_VALUE);
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, mapped);
+                if (!last) {
+                    int limit = (int) length;
+                    if (limit < mapped && buffer.get(limit - 1) == CR && buffer.get(limit) == LF) {
+                        // Keep the "\r\n" together in this region.
+                        limit++;
+                    } else {
+                        // Trim the region back to the end of its last complete line.
+                        while (limit > 0 && !isLineEnd(buffer, limit, (int) mapped)) {
+                            limit--;
+                        }
+                    }
+                    if (limit == 0) {
+                        throw new IOException("Found a line longer than " + regionSize + " bytes at offset " + start + " in " + path);
+                    }
+                    buffer.limit(limit);
+                    length = limit;
+                }
+                regions.add(buffer);
+                start += length;
+            }
+        }
+        if (regions.isEmpty()) {
+            regions.add(ByteBuffer.allocate(0));
+        }
+        ByteBuffer[] array = regions.toArray(new ByteBuffer[0]);
+        return new MappedLineSpliterator(array, 0, 0, array.length - 1, array[array.length - 1].limit());
+    }
+
+    /**
+     * Checks if a line ends immediately before the index, i.e., the previous byte is a '\n', or
+     * is a '\r' which is known not to be followed by a '\n'.
+     * @param buffer The buffer.
+     * @param index The index to check, must be greater than zero.
+     * @param limit The number of readable bytes in the buffer.
+     * @return True if a line ends before the index.
+     */
+    private static boolean isLineEnd(ByteBuffer buffer, int index, int limit) {
+        byte b = buffer.get(index - 1);
+        return b == LF || (b == CR && index < limit && buffer.get(index) != LF);
+    }
+
+    private int regionEnd(int index) {
+        return index == lastRegion ? end : regions[index].limit();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        while (region < lastRegion && pos >= regions[region].limit()) {
+            region++;
+            pos = 0;
+        }
+        int limit = regionEnd(region);
+        if (pos >= limit) {
+            return false;
+        }
+        ByteBuffer buffer = regions[region];
+        int lineEnd = pos;
+        byte b = 0;
+        while (lineEnd < limit && (b = buffer.get(lineEnd)) != LF && b != CR) {
+            lineEnd++;
+        }
+        int length = lineEnd - pos;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(pos, scratch, 0, length);
+        String line = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        if (lineEnd < limit) {
+            lineEnd++;
+            if (b == CR && lineEnd < limit && buffer.get(lineEnd) == LF) {
+                lineEnd++;
+            }
+        }
+        pos = lineEnd;
+        action.accept(line);
+        return true;
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        if (region < lastRegion) {
+            // Hand off whole regions first.
+            int mid = (region + lastRegion + 1) >>> 1;
+            MappedLineSpliterator prefix = new MappedLineSpliterator(regions, region, pos, mid - 1, regions[mid - 1].limit());
+            region = mid;
+            pos = 0;
+            return prefix;
+        }
+        if (end - pos < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        ByteBuffer buffer = regions[region];
+        int split = (pos + end) >>> 1;
+        while (split < end && !isLineEnd(buffer, split, end)) {
+            split++;
+        }
+        if (split >= end) {
+            return null;
+        }
+        MappedLineSpliterator prefix = new MappedLineSpliterator(regions, region, pos, region, split);
+        pos = split;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        long bytes = (long) regionEnd(region) - pos;
+        for (int i = region + 1; i <= lastRegion; i++) {
+            bytes += regionEnd(i);
+        }
+        return (bytes + ESTIMATED_LINE_LENGTH - 1) / ESTIMATED_LINE_LENGTH;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A map from objects to primitive long counts using open addressing with linear probing.
+ * <p>
+ * Stores the keys and counts in two parallel arrays, avoiding the boxed value and the
+ * entry object per key of a {@code HashMap<K,MutableLong>}. Absent keys have a count of zero.
+ * <p>
+ * Null keys are not permitted. This class is not thread safe, see
+ * {@link ConcurrentObjectLongCounter} for a version which is.
+ * @param <K> The key type.
+ */
+public final class ObjectLongCounter<K> {
+
+    private Object[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+    private int threshold;
+
+    /**
+     * Constructs an empty counter.
+     */
+    public ObjectLongCounter() {
+        this(8);
+    }
+
+    /**
+     * Constructs an empty counter sized to hold the expected number of keys without resizing.
+     * @param expectedSize The expected number of keys.
+     */
+    public ObjectLongCounter(int expectedSize) {
+        allocate(CounterHashing.tableSize(expectedSize));
+    }
+
+    /**
+     * Copies the supplied counter.
+     * @param other The counter to copy.
+     */
+    public ObjectLongCounter(ObjectLongCounter<? extends K> other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.size = other.size;
+        this.mask = other.mask;
+        this.threshold = other.threshold;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = capacity == CounterHashing.MAXIMUM_CAPACITY ? capacity - 1 : (int) (capacity * CounterHashing.LOAD_FACTOR);
+    }
+
+    /**
+     * Finds the slot containing the key, or the empty slot where it should be inserted.
+     */
+    private int slot(Object key) {
+        int i = CounterHashing.mix(key.hashCode()) & mask;
+        Object cur;
+        while ((cur = keys[i]) != null && !cur.equals(key)) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Inserts the key into the empty slot, resizing if necessary.
+     */
+    private void insert(int slot, Object key, long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        if (keys.length == CounterHashing.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Counter is full, found " + size + " keys");
+        }
+        Object[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int s = slot(oldKeys[i]);
+                keys[s] = oldKeys[i];
+                values[s] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the count for the key, or zero if it is absent.
+     * @param key The key.
+     * @return The count.
+     */
+    public long get(K key) {
+        int s = slot(Objects.requireNonNull(key));
+        return keys[s] == null ? 0 : values[s];
+    }
+
+    /**
+     * Returns the count for the key, or the default if it is absent.
+     * @param key The key.
+     * @param defaultValue The value to return if the key is absent.
+     * @return The count.
+     */
+    public long getOrDefault(K key, long defaultValue) {
+        int s = slot(Objects.requireNonNull(key));
+        return keys[s] == null ? defaultValue : values[s];
+    }
+
+    /**
+     * Is the key present.
+     * @param key The key.
+     * @return True if the key has been counted.
+     */
+    public boolean containsKey(K key) {
+        return keys[slot(Objects.requireNonNull(key))] != null;
+    }
+
+    /**
+     * Increments the count for the key by one.
+     * @param key The key.
+     * @return The new count.
+     */
+    public long increment(K key) {
+        return increment(key, 1);
+    }
+
+    /**
+     * Increments the count for the key.
+     * @param key The key.
+     * @param delta The amount to add.
+     * @return The new count.
+     */
+    public long increment(K key, long delta) {
+        int s = slot(Objects.requireNonNull(key));
+        if (keys[s] == null) {
+            insert(s, key, delta);
+            return delta;
+        } else {
+            return values[s] += delta;
+        }
+    }
+
+    /**
+     * Sets the count for the key to the value if it is absent, otherwise to the
+     * result of applying the function to the current count and the value.
+     * @param key The key.
+     * @param value The value to merge.
+     * @param function The merging function.
+     * @return The new count.
+     */
+    public long merge(K key, long value, LongBinaryOperator function) {
+        int s = slot(Objects.requireNonNull(key));
+        if (keys[s] == null) {
+            insert(s, key, value);
+            return value;
+        } else {
+            return values[s] = function.applyAsLong(values[s], value);
+        }
+    }
+
+    /**
+     * Sets the count for the key.
+     * @param key The key.
+     * @param value The count.
+     * @return The previous count, or zero if it was absent.
+     */
+    public long put(K key, long value) {
+        int s = slot(Objects.requireNonNull(key));
+        if (keys[s] == null) {
+            insert(s, key, value);
+            return 0;
+        } else {
+            long old = values[s];
+            values[s] = value;
+            return old;
+        }
+    }
+
+    /**
+     * Removes the key.
+     * @param key The key.
+     * @return The removed count, or zero if it was absent.
+     */
+    public long remove(K key) {
+        int s = slot(Objects.requireNonNull(key));
+        if (keys[s] == null) {
+            return 0;
+        }
+        long old = values[s];
+        // Shift back any later entries in the probe sequence which could have used this slot.
+        int gap = s;
+        int i = (s + 1) & mask;
+        Object cur;
+        while ((cur = keys[i]) != null) {
+            int home = CounterHashing.mix(cur.hashCode()) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = cur;
+                values[gap] = values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = null;
+        values[gap] = 0;
+        size--;
+        return old;
+    }
+
+    /**
+     * Adds all the counts from the other counter into this one.
+     * @param other The counts to add.
+     */
+    public void addAll(ObjectLongCounter<? extends K> other) {
+        other.forEach(this::increment);
+    }
+
+    /**
+     * The number of keys.
+     * @return The number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Is this counter empty.
+     * @return True if there are no keys.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the keys.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    /**
+     * Applies the action to each key and count, in no particular order.
+     * @param action The action.
+     */
+    @SuppressWarnings("unchecked") // Only K instances are stored in keys.
+    public void forEach(ObjLongConsumer<? super K> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept((K) keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Copies the counts into a map of {@link MutableLong}.
+     * @return A map containing the counts.
+     */
+    public Map<K,MutableLong> toMap() {
+        Map<K,MutableLong> output = new HashMap<>((int) (size / 0.75f) + 1);
+        forEach((k,v) -> output.put(k, new MutableLong(v)));
+        return output;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ObjectLongCounter)) return false;
+        @SuppressWarnings("unchecked")
+        ObjectLongCounter<Object> that = (ObjectLongCounter<Object>) o;
+        if (size != that.size) return false;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                int s = that.slot(keys[i]);
+                if (that.keys[s] == null || that.values[s] != values[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                hash += keys[i].hashCode() ^ Long.hashCode(values[i]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k,v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
@@ -33,6 +33,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.DoublePredicate;
 import java.util.function.IntPredicate;
 import java.util.function.Predicate;
@@ -43,6 +45,16 @@ import java.util.stream.IntStream;
  */
 public final class SortUtil {
 
+    /**
+     * Ranges smaller than this are insertion sorted.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * Ranges smaller than this are sorted sequentially by the parallel sorts.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
     private SortUtil() {}
 
     /**
@@ -129,55 +141,39 @@ public final class SortUtil {
      * @return The indices in sorted order.
      */
     public static int[] argsort(int[] input, int start, int end, boolean ascending) {
-        SortIntegerTuple[] array = new SortIntegerTuple[end-start];
-        for (int i = start; i < end; i++) {
-            array[i-start] = new SortIntegerTuple(ascending,input[i],i);
-        }
-        Arrays.sort(array);
-        int[] output = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
-            output[i] = array[i].index;
-        }
-        return output;
+        long[] packed = packIndices(input, start, end, ascending);
+        Arrays.sort(packed);
+        return unpackIndices(packed);
     }
 
     /**
-     * A tuple of two ints and a boolean. It wants to be a record. Or a value type.
+     * Returns the indices in the order which makes the input sorted, sorting in parallel
+     * using the common fork join pool in the same way as {@link Arrays#parallelSort(long[])}.
      * <p>
-     * Used to provide something comparable for {@link SortUtil#argsort}.
+     * The output is identical to {@link #argsort(int[], boolean)}.
+     * @param input The input to sort.
+     * @param ascending Should the sort be ascending or descending.
+     * @return The indices in sorted order.
      */
-    private static class SortIntegerTuple implements Comparable<SortIntegerTuple> {
-        private final boolean ascending;
-        public final int value;
-        public final int index;
-
-        public SortIntegerTuple(boolean ascending, int value, int index) {
-            this.ascending = ascending;
-            this.value = value;
-            this.index = index;
-        }
-
-        @Override
-        public int compareTo(SortIntegerTuple o) {
-            if (ascending) {
-                return Integer.compare(value, o.value);
-            } else {
-                return Integer.compare(o.value, value);
-            }
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            SortIntegerTuple that = (SortIntegerTuple) o;
-            return value == that.value;
-        }
+    public static int[] parallelArgsort(int[] input, boolean ascending) {
+        return parallelArgsort(input,0,input.length,ascending);
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(value);
-        }
+    /**
+     * Returns the indices in the order which makes the input sorted, sorting in parallel
+     * using the common fork join pool in the same way as {@link Arrays#parallelSort(long[])}.
+     * <p>
+     * The output is identical to {@link #argsort(int[], int, int, boolean)}.
+     * @param input The input to sort.
+     * @param start The starting point.
+     * @param end The ending point.
+     * @param ascending Should the sort be ascending or descending.
+     * @return The indices in sorted order.
+     */
+    public static int[] parallelArgsort(int[] input, int start, int end, boolean ascending) {
+        long[] packed = packIndices(input, start, end, ascending);
+        Arrays.parallelSort(packed);
+        return unpackIndices(packed);
     }
 
     /**
@@ -208,55 +204,123 @@ public final class SortUtil {
      * @return The indices in sorted order.
      */
     public static int[] argsort(double[] input, int start, int end, boolean ascending) {
-        SortDoubleTuple[] array = new SortDoubleTuple[end-start];
-        for (int i = start; i < end; i++) {
-            array[i-start] = new SortDoubleTuple(ascending,input[i],i);
-        }
-        Arrays.sort(array);
-        int[] output = new int[array.length];
-        for (int i = 0; i < array.length; i++) {
-            output[i] = array[i].index;
-        }
+        Objects.checkFromToIndex(start, end, input.length);
+        long[] keys = new long[end-start];
+        int[] output = new int[end-start];
+        fillKeys(input, start, end, ascending, keys, output);
+        introsort(keys, output, 0, keys.length, maxDepth(keys.length));
         return output;
     }
 
     /**
-     * A tuple of an int, a double and a boolean. It wants to be a record. Or a value type.
+     * Returns the indices in the order which makes the input sorted, sorting in parallel
+     * using the common fork join pool.
      * <p>
-     * Used to provide something comparable for {@link SortUtil#argsort}.
+     * The output is identical to {@link #argsort(double[], boolean)}.
+     * @param input The input to sort.
+     * @param ascending Should the sort be ascending or descending.
+     * @return The indices in sorted order.
      */
-    private static class SortDoubleTuple implements Comparable<SortDoubleTuple> {
-        private final boolean ascending;
-        public final double value;
-        public final int index;
+    public static int[] parallelArgsort(double[] input, boolean ascending) {
+        return parallelArgsort(input,0,input.length,ascending);
+    }
 
-        public SortDoubleTuple(boolean ascending, double value, int index) {
-            this.ascending = ascending;
-            this.value = value;
-            this.index = index;
+    /**
+     * Returns the indices in the order which makes the input sorted, sorting in parallel
+     * using the common fork join pool.
+     * <p>
+     * The output is identical to {@link #argsort(double[], int, int, boolean)}.
+     * @param input The input to sort.
+     * @param start The starting point.
+     * @param end The ending point.
+     * @param ascending Should the sort be ascending or descending.
+     * @return The indices in sorted order.
+     */
+    public static int[] parallelArgsort(double[] input, int start, int end, boolean ascending) {
+        Objects.checkFromToIndex(start, end, input.length);
+        long[] keys = new long[end-start];
+        int[] output = new int[end-start];
+        fillKeys(input, start, end, ascending, keys, output);
+        if (keys.length < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() == 1) {
+            introsort(keys, output, 0, keys.length, maxDepth(keys.length));
+        } else {
+            ForkJoinPool.commonPool().invoke(new ParallelSortTask(keys, output, 0, keys.length, maxDepth(keys.length)));
         }
+        return output;
+    }
 
-        @Override
-        public int compareTo(SortDoubleTuple o) {
-            if (ascending) {
-                return Double.compare(value, o.value);
-            } else {
-                return Double.compare(o.value, value);
-            }
+    /**
+     * Returns the indices of the first k elements in sorted order, i.e., the first k
+     * elements of {@link #argsort(int[], boolean)}, so descending order returns the
+     * indices of the k largest elements.
+     * <p>
+     * Runs in O(n log k) time and O(k) space.
+     * @param input The input to sort.
+     * @param k The number of indices to return.
+     * @param ascending Should the sort be ascending or descending.
+     * @return The indices of the first k elements in sorted order.
+     */
+    public static int[] topK(int[] input, int k, boolean ascending) {
+        checkK(k, input.length);
+        KeyHeap heap = new KeyHeap(k);
+        for (int i = 0; i < input.length; i++) {
+            heap.offer(intKey(input[i], ascending), i);
         }
+        return heap.sortedIndices();
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            SortDoubleTuple that = (SortDoubleTuple) o;
-            return Double.compare(that.value, value) == 0;
+    /**
+     * Returns the indices of the first k elements in sorted order, i.e., the first k
+     * elements of {@link #argsort(double[], boolean)}, so descending order returns the
+     * indices of the k largest elements.
+     * <p>
+     * Runs in O(n log k) time and O(k) space.
+     * @param input The input to sort.
+     * @param k The number of indices to return.
+     * @param ascending Should the sort be ascending or descending.
+     * @return The indices of the first k elements in sorted order.
+     */
+    public static int[] topK(double[] input, int k, boolean ascending) {
+        checkK(k, input.length);
+        KeyHeap heap = new KeyHeap(k);
+        for (int i = 0; i < input.length; i++) {
+            heap.offer(doubleKey(input[i], ascending), i);
         }
+        return heap.sortedIndices();
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(value);
-        }
+    /**
+     * Returns a permutation of the indices which partitions the input around the k-th element.
+     * <p>
+     * The first k indices are those returned by {@link #topK(int[], int, boolean)}, and
+     * the remaining indices follow in increasing order. Every element referred to by the
+     * first k indices precedes (in the requested order) every element referred to by the rest.
+     * <p>
+     * Runs in O(n log k) time.
+     * @param input The input to partition.
+     * @param k The partition point.
+     * @param ascending Should the partition be ascending or descending.
+     * @return The partitioning indices.
+     */
+    public static int[] argpartition(int[] input, int k, boolean ascending) {
+        return completePartition(topK(input, k, ascending), input.length);
+    }
+
+    /**
+     * Returns a permutation of the indices which partitions the input around the k-th element.
+     * <p>
+     * The first k indices are those returned by {@link #topK(double[], int, boolean)}, and
+     * the remaining indices follow in increasing order. Every element referred to by the
+     * first k indices precedes (in the requested order) every element referred to by the rest.
+     * <p>
+     * Runs in O(n log k) time.
+     * @param input The input to partition.
+     * @param k The partition point.
+     * @param ascending Should the partition be ascending or descending.
+     * @return The partitioning indices.
+     */
+    public static int[] argpartition(double[] input, int k, boolean ascending) {
+        return completePartition(topK(input, k, ascending), input.length);
     }
 
     /**
@@ -385,4 +449,265 @@ public final class SortUtil {
             return Objects.hash(value);
         }
     }
+
+    /**
+     * Maps an int to a long whose signed ordering is the requested ordering.
+     */
+    private static long intKey(int value, boolean ascending) {
+        return ascending ? value : ~((long) value);
+    }
+
+    /**
+     * Maps a double to a long whose signed ordering matches {@link Double#compare} in the
+     * requested direction. Negative values have their magnitude bits flipped so they order
+     * in reverse, which also puts -0.0 before 0.0 and NaN after positive infinity.
+     */
+    private static long doubleKey(double value, boolean ascending) {
+        long bits = Double.doubleToLongBits(value);
+        long key = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        return ascending ? key : ~key;
+    }
+
+    /**
+     * Packs each value into the upper 32 bits of a long with its index in the lower 32 bits,
+     * so sorting the longs sorts by value, breaking ties by index.
+     */
+    private static long[] packIndices(int[] input, int start, int end, boolean ascending) {
+        Objects.checkFromToIndex(start, end, input.length);
+        long[] packed = new long[end-start];
+        for (int i = start; i < end; i++) {
+            int key = ascending ? input[i] : ~input[i];
+            packed[i-start] = (((long) key) << 32) | i;
+        }
+        return packed;
+    }
+
+    private static int[] unpackIndices(long[] packed) {
+        int[] output = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            output[i] = (int) packed[i];
+        }
+        return output;
+    }
+
+    private static void fillKeys(double[] input, int start, int end, boolean ascending, long[] keys, int[] indices) {
+        for (int i = start; i < end; i++) {
+            keys[i-start] = doubleKey(input[i], ascending);
+            indices[i-start] = i;
+        }
+    }
+
+    private static int maxDepth(int length) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(Math.max(length, 1)));
+    }
+
+    private static void checkK(int k, int length) {
+        if (k < 0 || k > length) {
+            throw new IllegalArgumentException("k must be between 0 and the input length " + length + ", found " + k);
+        }
+    }
+
+    private static int[] completePartition(int[] top, int length) {
+        boolean[] selected = new boolean[length];
+        for (int i : top) {
+            selected[i] = true;
+        }
+        int[] output = Arrays.copyOf(top, length);
+        int j = top.length;
+        for (int i = 0; i < length; i++) {
+            if (!selected[i]) {
+                output[j++] = i;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Is the pair (keyA, indexA) before the pair (keyB, indexB).
+     * <p>
+     * Breaking ties on the index makes every pair distinct, so the unstable sorts
+     * below produce the same output as a stable sort on the key.
+     */
+    private static boolean less(long keyA, int indexA, long keyB, int indexB) {
+        return keyA < keyB || (keyA == keyB && indexA < indexB);
+    }
+
+    private static void swap(long[] keys, int[] indices, int a, int b) {
+        long tmpKey = keys[a];
+        keys[a] = keys[b];
+        keys[b] = tmpKey;
+        int tmpIndex = indices[a];
+        indices[a] = indices[b];
+        indices[b] = tmpIndex;
+    }
+
+    /**
+     * Sorts the parallel arrays in the range [lo, hi) by (key, index), falling back to heapsort if the
+     * recursion gets too deep.
+     */
+    private static void introsort(long[] keys, int[] indices, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapsort(keys, indices, lo, hi);
+                return;
+            }
+            int p = partition(keys, indices, lo, hi);
+            // Recurse into the smaller side to bound the stack depth.
+            if (p - lo < hi - p) {
+                introsort(keys, indices, lo, p, depth);
+                lo = p + 1;
+            } else {
+                introsort(keys, indices, p + 1, hi, depth);
+                hi = p;
+            }
+        }
+        insertionSort(keys, indices, lo, hi);
+    }
+
+    /**
+     * Partitions [lo, hi) around the median of the first, middle and last pairs.
+     * @return The final position of the pivot.
+     */
+    private static int partition(long[] keys, int[] indices, int lo, int hi) {
+        int mid = (lo + hi) >>> 1;
+        int last = hi - 1;
+        if (less(keys[mid], indices[mid], keys[lo], indices[lo])) {
+            swap(keys, indices, mid, lo);
+        }
+        if (less(keys[last], indices[last], keys[lo], indices[lo])) {
+            swap(keys, indices, last, lo);
+        }
+        if (less(keys[mid], indices[mid], keys[last], indices[last])) {
+            swap(keys, indices, mid, last);
+        }
+        long pivotKey = keys[last];
+        int pivotIndex = indices[last];
+        int store = lo;
+        for (int i = lo; i < last; i++) {
+            if (less(keys[i], indices[i], pivotKey, pivotIndex)) {
+                swap(keys, indices, store++, i);
+            }
+        }
+        swap(keys, indices, store, last);
+        return store;
+    }
+
+    private static void insertionSort(long[] keys, int[] indices, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long key = keys[i];
+            int index = indices[i];
+            int j = i - 1;
+            while (j >= lo && less(key, index, keys[j], indices[j])) {
+                keys[j + 1] = keys[j];
+                indices[j + 1] = indices[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            indices[j + 1] = index;
+        }
+    }
+
+    private static void heapsort(long[] keys, int[] indices, int lo, int hi) {
+        int n = hi - lo;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(keys, indices, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, indices, lo, lo + end);
+            siftDown(keys, indices, lo, 0, end);
+        }
+    }
+
+    /**
+     * Sifts down the element at offset i of the max heap rooted at lo of size n.
+     */
+    private static void siftDown(long[] keys, int[] indices, int lo, int i, int n) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) {
+                return;
+            }
+            if (child + 1 < n && less(keys[lo + child], indices[lo + child], keys[lo + child + 1], indices[lo + child + 1])) {
+                child++;
+            }
+            if (!less(keys[lo + i], indices[lo + i], keys[lo + child], indices[lo + child])) {
+                return;
+            }
+            swap(keys, indices, lo + i, lo + child);
+            i = child;
+        }
+    }
+
+    /**
+     * Partitions a range and sorts both sides in parallel until they are small enough to sort sequentially.
+     */
+    private static final class ParallelSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] keys;
+        private final int[] indices;
+        private final int lo;
+        private final int hi;
+        private final int depth;
+
+        ParallelSortTask(long[] keys, int[] indices, int lo, int hi, int depth) {
+            this.keys = keys;
+            this.indices = indices;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo < PARALLEL_THRESHOLD || depth == 0) {
+                introsort(keys, indices, lo, hi, depth);
+            } else {
+                int p = partition(keys, indices, lo, hi);
+                invokeAll(new ParallelSortTask(keys, indices, lo, p, depth - 1),
+                          new ParallelSortTask(keys, indices, p + 1, hi, depth - 1));
+            }
+        }
+    }
+
+    /**
+     * A bounded max heap of (key, index) pairs which retains the k smallest pairs offered to it.
+     */
+    private static final class KeyHeap {
+        private final long[] keys;
+        private final int[] indices;
+        private int size = 0;
+
+        KeyHeap(int capacity) {
+            this.keys = new long[capacity];
+            this.indices = new int[capacity];
+        }
+
+        void offer(long key, int index) {
+            if (size < keys.length) {
+                // Sift up.
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) / 2;
+                    if (!less(keys[parent], indices[parent], key, index)) {
+                        break;
+                    }
+                    keys[i] = keys[parent];
+                    indices[i] = indices[parent];
+                    i = parent;
+                }
+                keys[i] = key;
+                indices[i] = index;
+            } else if (size > 0 && less(key, index, keys[0], indices[0])) {
+                keys[0] = key;
+                indices[0] = index;
+                siftDown(keys, indices, 0, 0, size);
+            }
+        }
+
+        int[] sortedIndices() {
+            heapsort(keys, indices, 0, size);
+            return Arrays.copyOf(indices, size);
+        }
+    }
 }
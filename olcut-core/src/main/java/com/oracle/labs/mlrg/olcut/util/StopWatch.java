@@ -34,6 +34,9 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * A class implementing a simple stop watch that can be used for timing.
+ * <p>
+ * It is not thread safe and only tracks the total time, use {@link LatencyHistogram}
+ * to record the distribution of times across threads.
  */
 public class StopWatch implements Serializable {
 
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * A thread safe double accumulator backed by a {@link DoubleAdder}, for sums which are
+ * updated from many threads.
+ * <p>
+ * Updates are spread over several cells so concurrent increments don't contend on
+ * a single memory location, at the cost of a slower read. As floating point addition
+ * isn't associative the sum may vary slightly with the order of concurrent updates.
+ * Unlike {@link MutableDouble} it has no multiply or divide, as those can't be applied
+ * to the cells independently, and {@link #set} is not atomic with respect to concurrent
+ * increments.
+ */
+public final class StripedDouble extends MutableNumber implements Comparable<StripedDouble> {
+    private static final long serialVersionUID = 1L;
+
+    private final DoubleAdder value = new DoubleAdder();
+
+    /**
+     * Constructs a striped double with the supplied value.
+     * @param value The initial value.
+     */
+    public StripedDouble(double value) {
+        this.value.add(value);
+    }
+
+    /**
+     * Constructs a striped double with initial value zero.
+     */
+    public StripedDouble() { }
+
+    /**
+     * Copies the supplied Number using {@link Number#doubleValue()}.
+     * @param other The value to copy.
+     */
+    public StripedDouble(Number other) {
+        this(other.doubleValue());
+    }
+
+    public void increment(double other) {
+        value.add(other);
+    }
+
+    public void increment(Number other) {
+        value.add(other.doubleValue());
+    }
+
+    public void increment() {
+        value.add(1.0);
+    }
+
+    public void decrement(double other) {
+        value.add(-other);
+    }
+
+    public void decrement(Number other) {
+        value.add(-other.doubleValue());
+    }
+
+    public void decrement() {
+        value.add(-1.0);
+    }
+
+    /**
+     * Sets the value, concurrent updates may be lost.
+     * @param other The new value.
+     */
+    public void set(double other) {
+        value.reset();
+        value.add(other);
+    }
+
+    /**
+     * Returns the current value and resets it to zero, concurrent updates may be lost.
+     * @return The value before the reset.
+     */
+    public double sumThenReset() {
+        return value.sumThenReset();
+    }
+
+    @Override
+    public int intValue() {
+        return (int) value.sum();
+    }
+
+    @Override
+    public long longValue() {
+        return (long) value.sum();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) value.sum();
+    }
+
+    @Override
+    public double doubleValue() {
+        return value.sum();
+    }
+
+    @Override
+    public String toString() {
+        return ""+value.sum();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StripedDouble that = (StripedDouble) o;
+        return Double.compare(value.sum(), that.value.sum()) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Double.hashCode(value.sum());
+    }
+
+    @Override
+    public StripedDouble copy() {
+        return new StripedDouble(value.sum());
+    }
+
+    @Override
+    public int compareTo(StripedDouble o) {
+        return Double.compare(value.sum(),o.value.sum());
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe long counter backed by a {@link LongAdder}, for counts which are
+ * updated from many threads.
+ * <p>
+ * Updates are spread over several cells so concurrent increments don't contend on
+ * a single memory location, at the cost of a slower read. Unlike {@link MutableLong}
+ * it has no multiply or divide, as those can't be applied to the cells independently,
+ * and {@link #set} is not atomic with respect to concurrent increments.
+ */
+public final class StripedLong extends MutableNumber implements Comparable<StripedLong> {
+    private static final long serialVersionUID = 1L;
+
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Constructs a striped long with the supplied value.
+     * @param value The initial value.
+     */
+    public StripedLong(long value) {
+        this.value.add(value);
+    }
+
+    /**
+     * Constructs a striped long with initial value zero.
+     */
+    public StripedLong() { }
+
+    /**
+     * Copies the supplied Number using {@link Number#longValue()}.
+     * @param other The value to copy.
+     */
+    public StripedLong(Number other) {
+        this(other.longValue());
+    }
+
+    public void increment(long other) {
+        value.add(other);
+    }
+
+    public void increment(Number other) {
+        value.add(other.longValue());
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void decrement(long other) {
+        value.add(-other);
+    }
+
+    public void decrement(Number other) {
+        value.add(-other.longValue());
+    }
+
+    public void decrement() {
+        value.decrement();
+    }
+
+    /**
+     * Sets the value, concurrent updates may be lost.
+     * @param other The new value.
+     */
+    public void set(long other) {
+        value.reset();
+        value.add(other);
+    }
+
+    /**
+     * Returns the current value and resets it to zero, concurrent updates may be lost.
+     * @return The value before the reset.
+     */
+    public long sumThenReset() {
+        return value.sumThenReset();
+    }
+
+    @Override
+    public int intValue() {
+        return (int) value.sum();
+    }
+
+    @Override
+    public long longValue() {
+        return value.sum();
+    }
+
+    @Override
+    public float floatValue() {
+        return value.sum();
+    }
+
+    @Override
+    public double doubleValue() {
+        return value.sum();
+    }
+
+    @Override
+    public String toString() {
+        return ""+value.sum();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StripedLong that = (StripedLong) o;
+        return value.sum() == that.value.sum();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value.sum());
+    }
+
+    @Override
+    public StripedLong copy() {
+        return new StripedLong(value.sum());
+    }
+
+    @Override
+    public int compareTo(StripedLong o) {
+        return Long.compare(value.sum(),o.value.sum());
+    }
+}
@@ -47,5 +47,6 @@ module com.oracle.labs.mlrg.olcut.core {
     exports com.oracle.labs.mlrg.olcut.provenance.io;
     exports com.oracle.labs.mlrg.olcut.provenance.impl;
     exports com.oracle.labs.mlrg.olcut.provenance.primitives;
+    exports com.oracle.labs.mlrg.olcut.provenance.store;
     exports com.oracle.labs.mlrg.olcut.util;
 }
\ No newline at end of file
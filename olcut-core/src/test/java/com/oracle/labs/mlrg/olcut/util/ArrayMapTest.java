@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArrayMapTest {
+
+    @Test
+    public void testCopyAndLookup() {
+        Map<String,Integer> hashMap = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            hashMap.put("key-" + i, i);
+        }
+        ArrayMap<Integer> map = ArrayMap.copyOf(hashMap);
+        assertEquals(hashMap, map);
+        assertEquals(map, hashMap);
+        assertEquals(hashMap.hashCode(), map.hashCode());
+        assertEquals(7, map.get("key-7"));
+        assertNull(map.get("missing"));
+        assertNull(map.get(5));
+        assertFalse(map.containsKey("missing"));
+        assertSame(map, ArrayMap.copyOf(map));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("a", 1));
+
+        List<String> keys = new ArrayList<>(map.keySet());
+        List<String> sorted = new ArrayList<>(keys);
+        sorted.sort(null);
+        assertEquals(sorted, keys);
+    }
+
+    @Test
+    public void testWithAndWithout() {
+        ArrayMap<String> empty = ArrayMap.empty();
+        ArrayMap<String> one = empty.with("b", "1");
+        ArrayMap<String> two = one.with("a", "2").with("c", "3");
+        ArrayMap<String> replaced = two.with("a", "4");
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertEquals(3, two.size());
+        assertEquals("2", two.get("a"));
+        assertEquals("4", replaced.get("a"));
+        assertEquals("2", two.get("a"));
+        assertEquals(2, two.without("b").size());
+        assertNull(two.without("b").get("b"));
+        assertSame(two, two.without("missing"));
+        assertTrue(one.without("b").isEmpty());
+    }
+
+    @Test
+    public void testInterning() {
+        String key = new String(new char[]{'k','e','y'});
+        ArrayMap<Integer> map = ArrayMap.<Integer>empty().with(key, 1);
+        assertSame("key", map.keySet().iterator().next());
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        ArrayMap<String> map = ArrayMap.<String>empty().with("a", "1").with("b", "2");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(map);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            Object deser = ois.readObject();
+            assertEquals(map, deser);
+            assertSame("a", ((Map<?,?>) deser).keySet().iterator().next());
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentCacheTest {
+
+    @Test
+    public void testLRUEviction() {
+        ConcurrentCache<String,Integer> cache = ConcurrentCache.<String,Integer>builder().maximumSize(3).build();
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        // Touch a so b becomes the eldest.
+        assertEquals(1, cache.getIfPresent("a"));
+        cache.cleanUp();
+        cache.put("d", 4);
+        assertEquals(3, cache.size());
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(1, cache.getIfPresent("a"));
+        assertEquals(4, cache.getIfPresent("d"));
+
+        assertEquals(4, cache.put("d", 5));
+        assertEquals(3, cache.size());
+        cache.invalidate("d");
+        assertNull(cache.getIfPresent("d"));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getEvictionCount());
+        assertEquals(3, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+
+        assertThrows(NullPointerException.class, () -> cache.put(null, 1));
+        assertThrows(NullPointerException.class, () -> cache.put("a", null));
+        assertThrows(IllegalStateException.class, () -> ConcurrentCache.<String,String>builder().maximumSize(1).maximumWeight(1, (k,v) -> 1));
+    }
+
+    @Test
+    public void testWeightedEviction() {
+        ConcurrentCache<String,String> cache = ConcurrentCache.<String,String>builder()
+                .maximumWeight(10, (k,v) -> v.length()).build();
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        assertEquals(8, cache.weightedSize());
+        cache.put("c", "cccccc");
+        assertEquals(10, cache.weightedSize());
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("bbbb", cache.getIfPresent("b"));
+        assertEquals("cccccc", cache.getIfPresent("c"));
+        assertEquals(4, cache.stats().getEvictionWeight());
+
+        // An entry heavier than the bound is never retained.
+        cache.put("d", "ddddddddddd");
+        assertNull(cache.getIfPresent("d"));
+        assertTrue(cache.weightedSize() <= 10);
+    }
+
+    @Test
+    public void testExpiry() {
+        AtomicLong time = new AtomicLong();
+        ConcurrentCache<String,Integer> writeCache = ConcurrentCache.<String,Integer>builder()
+                .expireAfterWrite(Duration.ofSeconds(10)).ticker(time::get).build();
+        writeCache.put("a", 1);
+        time.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        writeCache.put("b", 2);
+        assertEquals(1, writeCache.getIfPresent("a"));
+        time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertNull(writeCache.getIfPresent("a"));
+        assertEquals(2, writeCache.getIfPresent("b"));
+        time.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        writeCache.cleanUp();
+        assertEquals(0, writeCache.size());
+
+        time.set(0);
+        ConcurrentCache<String,Integer> accessCache = ConcurrentCache.<String,Integer>builder()
+                .expireAfterAccess(Duration.ofSeconds(10)).ticker(time::get).build();
+        accessCache.put("a", 1);
+        accessCache.put("b", 2);
+        for (int i = 0; i < 3; i++) {
+            time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+            assertEquals(1, accessCache.getIfPresent("a"));
+        }
+        assertNull(accessCache.getIfPresent("b"));
+        accessCache.cleanUp();
+        assertEquals(1, accessCache.size());
+        assertEquals(1, accessCache.stats().getEvictionCount());
+    }
+
+    @Test
+    public void testFrequencyAdmission() {
+        ConcurrentCache<Integer,Integer> cache = ConcurrentCache.<Integer,Integer>builder()
+                .maximumSize(100).policy(ConcurrentCache.Policy.FREQUENCY).build();
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+        for (int j = 0; j < 5; j++) {
+            for (int i = 0; i < 100; i++) {
+                assertNotNull(cache.getIfPresent(i));
+            }
+        }
+        cache.cleanUp();
+        // A scan of one-hit keys shouldn't displace the frequently used ones.
+        for (int i = 1000; i < 2000; i++) {
+            cache.put(i, i);
+        }
+        int retained = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.getIfPresent(i) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained > 90, "Only retained " + retained);
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    public void testSingleFlightLoading() throws Exception {
+        ConcurrentCache<String,Integer> cache = ConcurrentCache.<String,Integer>builder().maximumSize(10).build();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        int numThreads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("key", k -> {
+                        loads.incrementAndGet();
+                        try {
+                            Thread.sleep(100);
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                        return 42;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> f : futures) {
+                assertEquals(42, f.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().getLoadSuccessCount());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get("bad", k -> { throw new IllegalArgumentException(k); }));
+        assertNull(cache.get("null", k -> null));
+        assertEquals(2, cache.stats().getLoadFailureCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testFailedInsertReleasesWaiters() throws Exception {
+        ConcurrentCache<String,Integer> cache = ConcurrentCache.<String,Integer>builder()
+                .maximumWeight(10, (k,v) -> { throw new IllegalArgumentException("Bad weight for " + k); }).build();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> load = executor.submit(() -> cache.get("key", k -> {
+                loadStarted.countDown();
+                try {
+                    waiting.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return 1;
+            }));
+            loadStarted.await();
+            AtomicReference<Throwable> waiterResult = new AtomicReference<>();
+            Thread waiter = new Thread(() -> {
+                try {
+                    cache.get("key", k -> 2);
+                } catch (Throwable t) {
+                    waiterResult.set(t);
+                }
+            });
+            waiter.start();
+            while (waiter.getState() != Thread.State.WAITING && waiter.isAlive()) {
+                Thread.sleep(1);
+            }
+            waiting.countDown();
+            ExecutionException e = assertThrows(ExecutionException.class, () -> load.get(10, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+            waiter.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(waiter.isAlive(), "Waiting thread was not released");
+            assertTrue(waiterResult.get() instanceof IllegalArgumentException);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testRecursiveLoad() {
+        ConcurrentCache<String,Integer> cache = ConcurrentCache.<String,Integer>builder().maximumSize(10).build();
+        assertThrows(IllegalStateException.class, () -> cache.get("key", k -> cache.get(k, j -> 1)));
+        // Loading other keys from a loader is fine, and the failed load doesn't leave anything behind.
+        assertEquals(2, cache.get("key", k -> cache.get("other", j -> 1) + 1));
+        assertEquals(1, cache.getIfPresent("other"));
+    }
+
+    @Test
+    public void testInvalidateDuringLoad() throws Exception {
+        ConcurrentCache<String,Integer> cache = ConcurrentCache.<String,Integer>builder().maximumSize(10).build();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> load = executor.submit(() -> cache.get("key", k -> {
+                loadStarted.countDown();
+                try {
+                    invalidated.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return 1;
+            }));
+            loadStarted.await();
+            cache.invalidate("key");
+            invalidated.countDown();
+            // The loader still returns its value, but the invalidation wins.
+            assertEquals(1, load.get());
+        } finally {
+            executor.shutdown();
+        }
+        assertNull(cache.getIfPresent("key"));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.get("key", k -> 2));
+        assertEquals(2, cache.getIfPresent("key"));
+    }
+
+    @Test
+    public void testPutDuringLoad() throws Exception {
+        ConcurrentCache<String,Integer> cache = ConcurrentCache.<String,Integer>builder().maximumSize(10).build();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> load = executor.submit(() -> cache.get("key", k -> {
+                loadStarted.countDown();
+                try {
+                    written.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return 1;
+            }));
+            loadStarted.await();
+            assertNull(cache.put("key", 2));
+            written.countDown();
+            assertEquals(1, load.get());
+        } finally {
+            executor.shutdown();
+        }
+        // The stale load doesn't overwrite the newer write.
+        assertEquals(2, cache.getIfPresent("key"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.weightedSize());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        int maxSize = 500;
+        ConcurrentCache<Integer,Integer> cache = ConcurrentCache.<Integer,Integer>builder().maximumSize(maxSize).build();
+        int numThreads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    SplittableRandom rng = new SplittableRandom(seed);
+                    for (int i = 0; i < 50000; i++) {
+                        int key = rng.nextInt(2000);
+                        Integer value = cache.get(key, k -> k * 2);
+                        assertEquals(key * 2, value);
+                        if (i % 97 == 0) {
+                            cache.invalidate(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        cache.cleanUp();
+        assertTrue(cache.size() <= maxSize);
+        assertEquals(cache.size(), cache.weightedSize());
+        CacheStats stats = cache.stats();
+        assertEquals(numThreads * 50000L, stats.getRequestCount());
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CounterTest {
+
+    private static final int NUM_THREADS = 8;
+
+    @Test
+    public void testObjectLongCounter() {
+        ObjectLongCounter<String> counter = new ObjectLongCounter<>();
+        Map<String,Long> reference = new HashMap<>();
+        SplittableRandom rng = new SplittableRandom(1);
+        for (int i = 0; i < 100000; i++) {
+            String key = "key-" + rng.nextInt(2000);
+            int op = rng.nextInt(10);
+            if (op == 0) {
+                assertEquals(reference.getOrDefault(key, 0L).longValue(), counter.remove(key));
+                reference.remove(key);
+            } else if (op == 1) {
+                long value = rng.nextInt(100);
+                assertEquals(reference.merge(key, value, Math::max).longValue(), counter.merge(key, value, Math::max));
+            } else {
+                assertEquals(reference.merge(key, 1L, Long::sum).longValue(), counter.increment(key));
+            }
+        }
+        assertEquals(reference.size(), counter.size());
+        reference.forEach((k,v) -> assertEquals(v.longValue(), counter.get(k)));
+        counter.forEach((k,v) -> assertEquals(reference.get(k).longValue(), v));
+        assertEquals(0, counter.get("missing"));
+        assertEquals(-1, counter.getOrDefault("missing", -1));
+        assertFalse(counter.containsKey("missing"));
+
+        Map<String,MutableLong> map = counter.toMap();
+        assertEquals(reference.size(), map.size());
+        ObjectLongCounter<String> copy = new ObjectLongCounter<>(counter);
+        assertEquals(counter, copy);
+        assertEquals(counter.hashCode(), copy.hashCode());
+        copy.increment("key-0");
+        assertFalse(counter.equals(copy));
+
+        counter.clear();
+        assertTrue(counter.isEmpty());
+        assertThrows(NullPointerException.class, () -> counter.increment(null));
+    }
+
+    @Test
+    public void testObjectDoubleCounter() {
+        ObjectDoubleCounter<Integer> counter = new ObjectDoubleCounter<>(4);
+        for (int i = 0; i < 1000; i++) {
+            counter.increment(i % 100, 0.5);
+        }
+        assertEquals(100, counter.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(5.0, counter.get(i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(5.0, counter.remove(i));
+        }
+        assertEquals(50, counter.size());
+        assertEquals(0.0, counter.get(0));
+        assertEquals(5.0, counter.get(1));
+        assertEquals(2.0, counter.merge(1, 2.0, Math::min));
+        assertEquals(5.0, counter.toMap().get(3).doubleValue());
+    }
+
+    @Test
+    public void testIntLongCounter() {
+        IntLongCounter counter = new IntLongCounter();
+        Map<Integer,Long> reference = new HashMap<>();
+        SplittableRandom rng = new SplittableRandom(2);
+        for (int i = 0; i < 100000; i++) {
+            // Include zero, negative keys, and keys which are multiples of the table size.
+            int key = (rng.nextInt(600) - 100) * 1024;
+            if (rng.nextInt(10) == 0) {
+                assertEquals(reference.getOrDefault(key, 0L).longValue(), counter.remove(key));
+                reference.remove(key);
+            } else {
+                long delta = rng.nextInt(5);
+                assertEquals(reference.merge(key, delta, Long::sum).longValue(), counter.increment(key, delta));
+            }
+        }
+        assertEquals(reference.size(), counter.size());
+        reference.forEach((k,v) -> assertEquals(v.longValue(), counter.get(k)));
+        counter.forEach((k,v) -> assertEquals(reference.get(k).longValue(), v));
+        assertEquals(reference.containsKey(0), counter.containsKey(0));
+
+        counter.put(0, 7);
+        assertEquals(7, counter.get(0));
+        assertEquals(7, counter.remove(0));
+        assertFalse(counter.containsKey(0));
+        assertEquals(new IntLongCounter(counter), counter);
+    }
+
+    @Test
+    public void testStripedCounters() throws Exception {
+        StripedLong longCounter = new StripedLong();
+        StripedDouble doubleCounter = new StripedDouble(10.0);
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < NUM_THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        longCounter.increment();
+                        doubleCounter.increment(0.5);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(NUM_THREADS * 10000L, longCounter.longValue());
+        assertEquals(10.0 + NUM_THREADS * 5000.0, doubleCounter.doubleValue());
+        assertEquals(longCounter, longCounter.copy());
+        longCounter.set(5);
+        assertEquals(5, longCounter.sumThenReset());
+        assertEquals(0, longCounter.longValue());
+    }
+
+    @Test
+    public void testConcurrentCounters() throws Exception {
+        ConcurrentObjectLongCounter<String> objectCounter = new ConcurrentObjectLongCounter<>();
+        ConcurrentObjectDoubleCounter<String> doubleCounter = new ConcurrentObjectDoubleCounter<>();
+        ConcurrentIntLongCounter intCounter = new ConcurrentIntLongCounter();
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < NUM_THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        int key = i % 500;
+                        objectCounter.increment("key-" + key);
+                        doubleCounter.increment("key-" + key, 0.25);
+                        intCounter.increment(key);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long expected = NUM_THREADS * 20000L / 500;
+        assertEquals(500, objectCounter.size());
+        assertEquals(500, intCounter.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(expected, objectCounter.get("key-" + i));
+            assertEquals(expected * 0.25, doubleCounter.get("key-" + i));
+            assertEquals(expected, intCounter.get(i));
+        }
+        ObjectLongCounter<String> snapshot = objectCounter.snapshot();
+        assertEquals(500, snapshot.size());
+        assertEquals(expected, snapshot.get("key-0"));
+        assertEquals(expected, intCounter.toMap().get(0).longValue());
+        intCounter.clear();
+        assertTrue(intCounter.isEmpty());
+    }
+}
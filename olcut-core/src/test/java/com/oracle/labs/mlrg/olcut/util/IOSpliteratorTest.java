@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IOSpliteratorTest {
+
+    /**
+     * Produces the integers [0, size), optionally failing when it reaches failAt.
+     */
+    private static final class RangeSpliterator extends IOSpliterator<Integer> {
+        private final int size;
+        private final int failAt;
+        private int next = 0;
+
+        RangeSpliterator(int size, int batchSize, int maxBatchSize, long maxBatchBytes, int failAt) {
+            super(DEFAULT_CHARACTERISTICS, batchSize, maxBatchSize, maxBatchBytes, size);
+            this.size = size;
+            this.failAt = failAt;
+        }
+
+        RangeSpliterator(int size, int batchSize) {
+            this(size, batchSize, DEFAULT_MAX_BATCH_SIZE, -1, -1);
+        }
+
+        @Override
+        protected long estimateBytes(Integer element) {
+            return 16;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Integer> action) {
+            if (next == failAt) {
+                throw new IllegalStateException("Failed at " + next);
+            } else if (next < size) {
+                action.accept(next++);
+                return true;
+            } else {
+                return false;
+            }
+        }
+    }
+
+    private static List<Long> splitSizes(Spliterator<Integer> spliterator) {
+        List<Long> sizes = new ArrayList<>();
+        Spliterator<Integer> split;
+        while ((split = spliterator.trySplit()) != null) {
+            sizes.add(split.estimateSize());
+        }
+        return sizes;
+    }
+
+    @Test
+    public void testArithmeticGrowth() {
+        RangeSpliterator spliterator = new RangeSpliterator(100, 10);
+        assertEquals(List.of(10L, 20L, 30L, 40L), splitSizes(spliterator));
+        assertEquals(0, spliterator.estimateSize());
+        assertNull(spliterator.trySplit());
+
+        // A maximum equal to the batch size gives fixed batches.
+        assertEquals(List.of(30L, 30L, 30L, 10L), splitSizes(new RangeSpliterator(100, 30, 30, -1, -1)));
+
+        assertThrows(IllegalArgumentException.class, () -> new RangeSpliterator(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RangeSpliterator(10, 10, 5, -1, -1));
+    }
+
+    @Test
+    public void testByteBudget() {
+        // Each element is 16 bytes so batches are cut at 4 elements.
+        RangeSpliterator spliterator = new RangeSpliterator(10, 10, 100, 64, -1);
+        assertEquals(List.of(4L, 4L, 2L), splitSizes(spliterator));
+    }
+
+    @Test
+    public void testParallelStream() {
+        int size = 100000;
+        List<Integer> expected = IntStream.range(0, size).boxed().collect(Collectors.toList());
+        List<Integer> output = StreamSupport.stream(new RangeSpliterator(size, 64), true).map(i -> i).collect(Collectors.toList());
+        assertEquals(expected, output);
+    }
+
+    @Test
+    public void testReadAhead() {
+        int size = 100000;
+        List<Integer> expected = IntStream.range(0, size).boxed().collect(Collectors.toList());
+
+        IOSpliterator.ReadAheadSpliterator<Integer> parallel = new RangeSpliterator(size, 64).readAhead(4);
+        try (Stream<Integer> stream = StreamSupport.stream(parallel, true).onClose(parallel::close)) {
+            assertEquals(expected, stream.map(i -> i).collect(Collectors.toList()));
+        }
+
+        IOSpliterator.ReadAheadSpliterator<Integer> sequential = new RangeSpliterator(size, 64).readAhead(2);
+        List<Integer> output = new ArrayList<>();
+        sequential.forEachRemaining(output::add);
+        assertEquals(expected, output);
+        assertFalse(sequential.tryAdvance(output::add));
+
+        // Closing early stops the reader.
+        IOSpliterator.ReadAheadSpliterator<Integer> closed = new RangeSpliterator(size, 8).readAhead(1);
+        try (Stream<Integer> stream = StreamSupport.stream(closed, false).onClose(closed::close)) {
+            assertEquals(10, stream.limit(10).count());
+        }
+        assertNull(closed.trySplit());
+    }
+
+    @Test
+    public void testReadAheadMixedSplit() {
+        IOSpliterator.ReadAheadSpliterator<Integer> spliterator = new RangeSpliterator(100, 10, 10, -1, -1).readAhead(2);
+        List<Integer> output = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            spliterator.tryAdvance(output::add);
+        }
+        // The split returns the rest of the current batch before any later batches.
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(7, prefix.estimateSize());
+        prefix.forEachRemaining(output::add);
+        spliterator.tryAdvance(output::add);
+        Spliterator<Integer> next = spliterator.trySplit();
+        assertEquals(9, next.estimateSize());
+        next.forEachRemaining(output::add);
+        spliterator.forEachRemaining(output::add);
+        assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), output);
+        assertNull(spliterator.trySplit());
+    }
+
+    @Test
+    public void testReadAheadFailure() {
+        IOSpliterator.ReadAheadSpliterator<Integer> spliterator = new RangeSpliterator(1000, 10, 10, -1, 500).readAhead(2);
+        List<Integer> output = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> spliterator.forEachRemaining(output::add));
+        assertEquals(500, output.size());
+    }
+
+    @Test
+    public void testReadAheadCloseWakesConsumer() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        // A source which blocks until released, so the consumer waits on an empty queue.
+        IOSpliterator<Integer> blocking = new IOSpliterator<Integer>(IOSpliterator.DEFAULT_CHARACTERISTICS, 1, 1, -1, 1) {
+            @Override
+            protected long estimateBytes(Integer element) {
+                return 16;
+            }
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Integer> action) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        IOSpliterator.ReadAheadSpliterator<Integer> spliterator = blocking.readAhead(1);
+        AtomicReference<Boolean> advanced = new AtomicReference<>();
+        Thread consumer = new Thread(() -> advanced.set(spliterator.tryAdvance(i -> { })));
+        consumer.start();
+        try {
+            while (consumer.getState() != Thread.State.WAITING) {
+                assertTrue(consumer.isAlive());
+                Thread.sleep(5);
+            }
+            spliterator.close();
+            consumer.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(consumer.isAlive());
+            assertEquals(Boolean.FALSE, advanced.get());
+        } finally {
+            release.countDown();
+        }
+    }
+}
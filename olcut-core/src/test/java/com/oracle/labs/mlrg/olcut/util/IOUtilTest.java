@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IOUtilTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<String> referenceLines(String text) throws IOException {
+        return new BufferedReader(new StringReader(text)).lines().collect(Collectors.toList());
+    }
+
+    private Path write(String name, String text) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    private static List<String> read(Path path, boolean parallel, int regionSize) throws IOException {
+        try (Stream<String> lines = IOUtil.lines(path, parallel, regionSize)) {
+            return lines.collect(Collectors.toList());
+        }
+    }
+
+    private static String generate(int numLines, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        String[] endings = new String[]{"\n", "\r\n", "\n", "\r"};
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numLines; i++) {
+            sb.append("line ").append(i);
+            int extra = rng.nextInt(40);
+            for (int j = 0; j < extra; j++) {
+                sb.append(rng.nextInt(10) == 0 ? 'é' : (char) ('a' + rng.nextInt(26)));
+            }
+            if (rng.nextInt(50) == 0) {
+                sb.append("中文 😀");
+            }
+            sb.append(endings[rng.nextInt(endings.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testLineEndings() throws IOException {
+        String[] inputs = new String[]{"", "\n", "a", "a\n", "a\r\nb", "a\rb\r", "\n\nx\n\n", "héllo\nwörld\r\n中文"};
+        for (String input : inputs) {
+            Path path = write("small.txt", input);
+            List<String> expected = referenceLines(input);
+            assertEquals(expected, read(path, false, MappedLineSpliterator.DEFAULT_REGION_SIZE), "Failed on " + input);
+            assertEquals(expected, read(path, true, 16), "Failed on " + input);
+        }
+    }
+
+    @Test
+    public void testParallelMappedLines() throws IOException {
+        String text = generate(200000, 1);
+        Path path = write("large.txt", text);
+        List<String> expected = referenceLines(text);
+        assertEquals(expected, read(path, false, MappedLineSpliterator.DEFAULT_REGION_SIZE));
+        assertEquals(expected, read(path, true, MappedLineSpliterator.DEFAULT_REGION_SIZE));
+        // Small regions force the file to be split across many mappings.
+        assertEquals(expected, read(path, true, 1 << 12));
+        assertEquals(expected, read(path, false, 1 << 12));
+
+        try (Stream<String> lines = IOUtil.lines(path, true)) {
+            assertEquals(expected.size(), lines.count());
+        }
+
+        Path longLine = write("long.txt", "short\n" + "x".repeat(100) + "\nshort\n");
+        assertThrows(IOException.class, () -> read(longLine, false, 64));
+    }
+
+    @Test
+    public void testCarriageReturnLines() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("line ").append(i).append('\r');
+        }
+        String text = sb.toString();
+        Path path = write("cr.txt", text);
+        List<String> expected = referenceLines(text);
+        assertEquals(expected, read(path, false, 16));
+        assertEquals(expected, read(path, true, 16));
+        // A single large region is split at the '\r' line ends.
+        assertEquals(expected, read(path, true, MappedLineSpliterator.DEFAULT_REGION_SIZE));
+
+        // Regions of 8 bytes end between the '\r' and '\n' of "abcdefg\r\n".
+        String crlf = "abcdefg\r\nabcdefg\r\nabc\rdefg\r\n\r\n";
+        Path crlfPath = write("crlf.txt", crlf);
+        assertEquals(referenceLines(crlf), read(crlfPath, false, 8));
+        assertEquals(referenceLines(crlf), read(crlfPath, true, 8));
+    }
+
+    @Test
+    public void testGZIPLines() throws IOException {
+        String text = generate(50000, 2);
+        Path path = tempDir.resolve("lines.txt.gz");
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(path))) {
+            os.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        List<String> expected = referenceLines(text);
+        assertEquals(expected, read(path, false, MappedLineSpliterator.DEFAULT_REGION_SIZE));
+        assertEquals(expected, read(path, true, MappedLineSpliterator.DEFAULT_REGION_SIZE));
+
+        // Closing early releases the reader.
+        try (Stream<String> lines = IOUtil.lines(path)) {
+            assertEquals(expected.subList(0, 10), lines.limit(10).collect(Collectors.toList()));
+        }
+    }
+}
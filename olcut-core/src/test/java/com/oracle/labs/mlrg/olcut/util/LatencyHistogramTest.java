@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the 2-clause BSD license.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.labs.mlrg.olcut.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (int precision : new int[]{1, 3, 7}) {
+            int previous = -1;
+            long[] values = new long[]{0, 1, 2, 3, 127, 128, 129, 255, 256, 1000, 123456789L, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+            for (long value : values) {
+                int index = LatencyHistogram.bucketIndex(value, precision);
+                assertTrue(index >= previous);
+                previous = index;
+                long low = LatencyHistogram.lowestValue(index, precision);
+                long high = LatencyHistogram.highestValue(index, precision);
+                assertTrue(low <= value && value <= high, "value " + value + " not in [" + low + "," + high + "]");
+                assertEquals(index, LatencyHistogram.bucketIndex(low, precision));
+                assertEquals(index, LatencyHistogram.bucketIndex(high, precision));
+                assertTrue((high - low) <= Math.max(0, value >> precision));
+            }
+            // Buckets are contiguous.
+            for (int i = 0; i < ((64 - precision) << precision) - 1; i++) {
+                assertEquals(LatencyHistogram.highestValue(i, precision) + 1, LatencyHistogram.lowestValue(i + 1, precision));
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100000, snapshot.getCount());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(100000, snapshot.getMax());
+        assertEquals(50000.5, snapshot.getMean());
+        assertEquals(1, snapshot.getValueAtPercentile(0));
+        assertEquals(100000, snapshot.getValueAtPercentile(100));
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            double expected = p * 1000;
+            double actual = snapshot.getValueAtPercentile(p);
+            assertTrue(Math.abs(actual - expected) / expected < 1.0 / 128, "p" + p + " was " + actual);
+        }
+        Map<String,Double> summary = snapshot.toMap();
+        assertEquals(Arrays.asList("count", "min", "mean", "max", "p50", "p90", "p99", "p999"), new ArrayList<>(summary.keySet()));
+
+        long[] total = new long[1];
+        snapshot.forEachBucket((low, high, count) -> {
+            assertTrue(low <= high);
+            total[0] += count;
+        });
+        assertEquals(100000, total[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+        assertEquals(0, new LatencyHistogram().snapshot().getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testIntervalAndMerge() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10, TimeUnit.MICROSECONDS);
+        histogram.record(20, TimeUnit.MICROSECONDS);
+        LatencyHistogram.Snapshot first = histogram.intervalSnapshot();
+        assertEquals(2, first.getCount());
+        assertEquals(0, histogram.snapshot().getCount());
+
+        histogram.record(5_000_000);
+        LatencyHistogram.Snapshot second = histogram.intervalSnapshot();
+        assertEquals(1, second.getCount());
+        assertEquals(5_000_000, second.getMin());
+
+        LatencyHistogram.Snapshot merged = first.merge(second);
+        assertEquals(3, merged.getCount());
+        assertEquals(10_000, merged.getMin());
+        assertEquals(5_000_000, merged.getMax());
+        assertEquals(5_030_000, merged.getSum());
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new LatencyHistogram(3).snapshot()));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(merged);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(merged, ois.readObject());
+        }
+
+        try (LatencyHistogram.Timer t = histogram.time()) {
+            Thread.sleep(5);
+        }
+        LatencyHistogram.Snapshot timed = histogram.snapshot();
+        assertEquals(1, timed.getCount());
+        assertTrue(timed.getMin() >= TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int numThreads = 8;
+        int perThread = 50000;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        List<LatencyHistogram.Snapshot> intervals = new ArrayList<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    SplittableRandom rng = new SplittableRandom(seed);
+                    for (int i = 0; i < perThread; i++) {
+                        histogram.record(rng.nextLong(1, 1_000_000));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                while (!f.isDone()) {
+                    intervals.add(histogram.intervalSnapshot());
+                }
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        intervals.add(histogram.intervalSnapshot());
+        LatencyHistogram.Snapshot total = intervals.stream().reduce(LatencyHistogram.Snapshot::merge).get();
+        assertEquals((long) numThreads * perThread, total.getCount());
+        // The max may fall back to the bucket bound if it raced with an interval reset.
+        assertTrue(total.getMax() < 1_000_000 + (1_000_000 >> LatencyHistogram.DEFAULT_PRECISION));
+    }
+}
@@ -31,10 +31,13 @@ package com.oracle.labs.mlrg.olcut.util;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 /**
@@ -72,6 +75,67 @@ public class SortUtilTest {
         assertArrayEquals(new int[]{5, 4, 3, 0, 2, 1}, SortUtil.argsort(intArray,0,intArray.length-3,false), "int array range input with duplicates not sorted descending correctly.");
     }
 
+    private static int[] referenceArgsort(double[] input, boolean ascending) {
+        return IntStream.range(0, input.length).boxed()
+                .sorted((a, b) -> ascending ? Double.compare(input[a], input[b]) : Double.compare(input[b], input[a]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    public void testPrimitiveArgsort() {
+        double[] special = new double[]{0.0, Double.NaN, -0.0, Double.NEGATIVE_INFINITY, 1.5, -1.5, Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE, 0.0};
+        assertArrayEquals(referenceArgsort(special, true), SortUtil.argsort(special, true));
+        assertArrayEquals(referenceArgsort(special, false), SortUtil.argsort(special, false));
+
+        int[] extremes = new int[]{0, Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 1, Integer.MIN_VALUE, 0};
+        assertArrayEquals(new int[]{1, 5, 3, 0, 6, 4, 2}, SortUtil.argsort(extremes, true));
+        assertArrayEquals(new int[]{2, 4, 0, 6, 3, 1, 5}, SortUtil.argsort(extremes, false));
+
+        SplittableRandom rng = new SplittableRandom(42);
+        for (int size : new int[]{0, 1, 17, 1000, 100000}) {
+            // Use a small range of values so there are many ties.
+            double[] doubles = rng.ints(size, 0, 50).asDoubleStream().map(d -> d / 4).toArray();
+            int[] ints = rng.ints(size, -100, 100).toArray();
+            double[] intsAsDoubles = Arrays.stream(ints).asDoubleStream().toArray();
+            for (boolean ascending : new boolean[]{true, false}) {
+                int[] expectedDoubles = referenceArgsort(doubles, ascending);
+                assertArrayEquals(expectedDoubles, SortUtil.argsort(doubles, ascending));
+                assertArrayEquals(expectedDoubles, SortUtil.parallelArgsort(doubles, ascending));
+                int[] expectedInts = referenceArgsort(intsAsDoubles, ascending);
+                assertArrayEquals(expectedInts, SortUtil.argsort(ints, ascending));
+                assertArrayEquals(expectedInts, SortUtil.parallelArgsort(ints, ascending));
+            }
+        }
+
+        // Already sorted input shouldn't degrade the sort.
+        double[] sorted = IntStream.range(0, 200000).asDoubleStream().toArray();
+        assertArrayEquals(IntStream.range(0, sorted.length).toArray(), SortUtil.parallelArgsort(sorted, true));
+    }
+
+    @Test
+    public void testTopK() {
+        SplittableRandom rng = new SplittableRandom(7);
+        double[] doubles = rng.ints(5000, 0, 100).asDoubleStream().toArray();
+        int[] ints = rng.ints(5000, -1000, 1000).toArray();
+        for (boolean ascending : new boolean[]{true, false}) {
+            int[] doubleOrder = SortUtil.argsort(doubles, ascending);
+            int[] intOrder = SortUtil.argsort(ints, ascending);
+            for (int k : new int[]{0, 1, 10, 4999, 5000}) {
+                assertArrayEquals(Arrays.copyOf(doubleOrder, k), SortUtil.topK(doubles, k, ascending));
+                assertArrayEquals(Arrays.copyOf(intOrder, k), SortUtil.topK(ints, k, ascending));
+
+                int[] partition = SortUtil.argpartition(doubles, k, ascending);
+                assertArrayEquals(Arrays.copyOf(doubleOrder, k), Arrays.copyOf(partition, k));
+                int[] sortedPartition = partition.clone();
+                Arrays.sort(sortedPartition);
+                assertArrayEquals(IntStream.range(0, doubles.length).toArray(), sortedPartition);
+            }
+        }
+        assertArrayEquals(new int[]{4, 5, 2}, SortUtil.topK(new int[]{1, 3, 4, 3, 8, 8}, 3, false));
+        assertArrayEquals(new int[]{4, 5, 2, 0, 1, 3}, SortUtil.argpartition(new int[]{1, 3, 4, 3, 8, 8}, 3, false));
+        assertThrows(IllegalArgumentException.class, () -> SortUtil.topK(new int[3], 4, true));
+    }
+
     @Test
     public void testWhere() {
         int[] ix = SortUtil.where(Arrays.asList(1.0, 0.5, 0.001, 0.0, -1.0, 0.01), aDouble -> aDouble > 0.);